@@ -0,0 +1,118 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.benchmark;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.engine.client.internal.headless.NoOpGraphicWorld;
+import be.yildizgames.engine.client.internal.headless.NoOpPhysicWorld;
+import be.yildizgames.engine.client.world.ClientGameObject;
+import be.yildizgames.engine.client.world.ClientWorld;
+import be.yildizgames.engine.client.world.internal.GraphicPhysicWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the transform accessors of the game objects, for graphic master (movable) and physic master (dynamic) objects.
+ *
+ * @author Grégory Van den Borre
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientGameObjectBenchmark {
+
+    private ClientGameObject movable;
+
+    private ClientGameObject dynamic;
+
+    private final float[] transform = new float[3];
+
+    private float value;
+
+    @Setup
+    public void setup() {
+        ClientWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld());
+        this.movable = world.createObject().buildMovableObject();
+        this.dynamic = world.createObject().buildDynamicObject();
+    }
+
+    @Benchmark
+    public void setPositionMovable() {
+        this.value++;
+        this.movable.setPosition(this.value, 2, 3);
+    }
+
+    @Benchmark
+    public void setPositionDynamic() {
+        this.value++;
+        this.dynamic.setPosition(this.value, 2, 3);
+    }
+
+    @Benchmark
+    public void setDirectionMovable() {
+        this.movable.setDirection(0, 0, 1);
+    }
+
+    @Benchmark
+    public void setDirectionDynamic() {
+        this.dynamic.setDirection(0, 0, 1);
+    }
+
+    @Benchmark
+    public Point3D getPositionMovable() {
+        return this.movable.getPosition();
+    }
+
+    @Benchmark
+    public Point3D getPositionDynamic() {
+        return this.dynamic.getPosition();
+    }
+
+    @Benchmark
+    public float[] readPositionMovable() {
+        this.movable.readPosition(this.transform, 0);
+        return this.transform;
+    }
+
+    @Benchmark
+    public float[] readPositionDynamic() {
+        this.dynamic.readPosition(this.transform, 0);
+        return this.transform;
+    }
+}
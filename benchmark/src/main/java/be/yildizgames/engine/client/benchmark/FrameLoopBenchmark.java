@@ -0,0 +1,118 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.benchmark;
+
+import be.yildizgames.common.client.config.Configuration;
+import be.yildizgames.common.frame.StartFrameListener;
+import be.yildizgames.common.model.Version;
+import be.yildizgames.engine.client.GameEngineFactory;
+import be.yildizgames.engine.client.GameEngineOptions;
+import be.yildizgames.engine.client.HeadlessBackend;
+import be.yildizgames.engine.client.HeadlessGameEngine;
+import be.yildizgames.engine.client.HeadlessRunReport;
+import be.yildizgames.engine.client.world.ClientGameObjectTemplate;
+import be.yildizgames.engine.client.world.ClientWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the frame loop of a headless engine, with a variable number of frame listeners and of dynamic objects.
+ * The physic runs with a fixed step, so every dynamic object is interpolated each frame.
+ * Running it with objects=100000 is the load test of a full world.
+ *
+ * @author Grégory Van den Borre
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameLoopBenchmark {
+
+    private static final int FRAMES = 100;
+
+    private static final ClientGameObjectTemplate DYNAMIC = new ClientGameObjectTemplate() {
+        @Override
+        public boolean isDynamic() {
+            return true;
+        }
+    };
+
+    @Param({"0", "10", "100"})
+    private int listeners;
+
+    @Param({"0", "1000", "100000"})
+    private int objects;
+
+    private HeadlessGameEngine engine;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GameEngineOptions options = GameEngineOptions.defaultOptions()
+                .withUnlimitedFrameRate()
+                .withFixedPhysicStep(60, 5);
+        this.engine = GameEngineFactory.buildHeadless(Configuration.getInstance(),
+                new Version(Version.VersionType.RELEASE, 1, 0, 0, 0), options, HeadlessBackend.noOp());
+        for (int i = 0; i < this.listeners; i++) {
+            this.engine.addFrameListener(new StartFrameListener() {
+                @Override
+                public boolean frameStarted() {
+                    return true;
+                }
+            });
+        }
+        ClientWorld world = this.engine.createWorld();
+        for (int i = 0; i < this.objects; i++) {
+            world.createObject(DYNAMIC);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.engine.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    public HeadlessRunReport runFrames() {
+        return this.engine.runFrames(FRAMES);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.benchmark;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
+import be.yildizgames.engine.client.internal.headless.NoOpGraphicWorld;
+import be.yildizgames.engine.client.internal.headless.NoOpPhysicWorld;
+import be.yildizgames.engine.client.world.ClientGameObject;
+import be.yildizgames.engine.client.world.ClientGameObjectDescriptor;
+import be.yildizgames.engine.client.world.ClientGameObjectKind;
+import be.yildizgames.engine.client.world.ClientGameObjectTemplate;
+import be.yildizgames.engine.client.world.ClientWorld;
+import be.yildizgames.engine.client.world.internal.GraphicPhysicWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the object creation through the world, with no-op backends.
+ * The creation benchmarks delete the objects they build, so every invocation runs against the same world instead of
+ * a world growing by millions of objects, their scores include the deletion.
+ *
+ * @author Grégory Van den Borre
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldBenchmark {
+
+    private static final int BATCH = 1000;
+
+    private static final ClientGameObjectTemplate STATIC = new ClientGameObjectTemplate() {
+        @Override
+        public boolean isStatic() {
+            return true;
+        }
+    };
+
+    private static final ClientGameObjectTemplate DYNAMIC = new ClientGameObjectTemplate() {
+        @Override
+        public boolean isDynamic() {
+            return true;
+        }
+    };
+
+    private final Point3D position = Point3D.valueOf(1, 2, 3);
+
+    private final Point3D direction = Point3D.valueOf(0, 0, 1);
+
+    private final List<ClientGameObjectDescriptor> descriptors = new ArrayList<>(BATCH);
+
+    private final EntityId[] ids = new EntityId[BATCH];
+
+    private final FloatBuffer positions = FloatBuffer.allocate(BATCH * 3);
+
+    private final FloatBuffer directions = FloatBuffer.allocate(BATCH * 3);
+
+    private ClientWorld world;
+
+    private ClientWorld movedWorld;
+
+    private long id;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < BATCH; i++) {
+            this.descriptors.add(ClientGameObjectDescriptor.of(ClientGameObjectKind.MOVABLE)
+                    .withId(EntityId.valueOf(i))
+                    .atPosition(this.position)
+                    .withDirection(this.direction)
+                    .withMass(10));
+        }
+        List<ClientGameObjectDescriptor> moved = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            this.ids[i] = EntityId.valueOf(i);
+            ClientGameObjectKind kind = i % 2 == 0 ? ClientGameObjectKind.MOVABLE : ClientGameObjectKind.DYNAMIC;
+            moved.add(ClientGameObjectDescriptor.of(kind).withId(this.ids[i]));
+            this.positions.put(i).put(0).put(i);
+            this.directions.put(0).put(0).put(1);
+        }
+        this.movedWorld = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld());
+        this.movedWorld.createObjects(moved);
+    }
+
+    @Setup(Level.Iteration)
+    public void createWorld() {
+        this.world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld());
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearWorld() {
+        this.world.clear();
+    }
+
+    @Benchmark
+    public ClientGameObject createStaticFromTemplate() {
+        ClientGameObject object = this.world.createObject(STATIC);
+        object.delete();
+        return object;
+    }
+
+    @Benchmark
+    public ClientGameObject createDynamicFromTemplate() {
+        ClientGameObject object = this.world.createObject(DYNAMIC);
+        object.delete();
+        return object;
+    }
+
+    @Benchmark
+    public ClientGameObject builderChain() {
+        ClientGameObject object = this.world.createObject()
+                .withId(EntityId.valueOf(++this.id))
+                .atPosition(this.position)
+                .withDirection(this.direction)
+                .withMass(10)
+                .buildMovableObject();
+        object.delete();
+        return object;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<ClientGameObject> createBatch() {
+        List<ClientGameObject> objects = this.world.createObjects(this.descriptors);
+        for (int i = 0; i < objects.size(); i++) {
+            objects.get(i).delete();
+        }
+        return objects;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int getObject() {
+        int found = 0;
+        for (EntityId id : this.ids) {
+            if (this.movedWorld.getObject(id) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int applyTransforms() {
+        this.positions.clear();
+        this.directions.clear();
+        return this.movedWorld.applyTransforms(this.ids, this.positions, this.directions);
+    }
+}
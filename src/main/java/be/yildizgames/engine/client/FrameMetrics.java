@@ -0,0 +1,53 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client;
+
+/**
+ * Frame time measured by the engine, for the whole frame update and for every subsystem.
+ * Values can be read from any thread while the engine is running.
+ *
+ * @author Grégory Van den Borre
+ */
+public interface FrameMetrics {
+
+    /**
+     * @return The number of frames run since the engine started.
+     */
+    long getFrameCount();
+
+    /**
+     * @return The time spent to update all the subsystems of a frame [ensure not null].
+     */
+    FrameTimeStatistics getFrameTime();
+
+    /**
+     * Provide the time spent to update a subsystem.
+     *
+     * @param subsystem Subsystem to check.
+     * @return The time statistics of the subsystem [ensure not null].
+     */
+    FrameTimeStatistics getStageTime(EngineSubsystem subsystem);
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client;
+
+/**
+ * Current decisions of the engine frame pacing, values can be read from any thread.
+ *
+ * @author Grégory Van den Borre
+ */
+public interface FramePacingMetrics {
+
+    /**
+     * @return The pacing mode in use.
+     */
+    FramePacingMode getMode();
+
+    /**
+     * @return The current frame rate target, 0 if the frame rate is unlimited.
+     */
+    int getTargetFrameRate();
+
+    /**
+     * @return The time spent in the last frame updates, in nanoseconds.
+     */
+    long getLastFrameTime();
+
+    /**
+     * @return The number of frames that exceeded the frame time budget since the engine started.
+     */
+    long getMissedFrames();
+
+    /**
+     * @return The number of times the adaptive pacing lowered the target.
+     */
+    long getDecreases();
+
+    /**
+     * @return The number of times the adaptive pacing raised the target.
+     */
+    long getIncreases();
+}
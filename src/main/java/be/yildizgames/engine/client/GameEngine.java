@@ -36,6 +36,8 @@ import be.yildizgames.module.script.ScriptInterpreter;
 import be.yildizgames.module.window.WindowEngine;
 import be.yildizgames.shared.game.engine.Initializable;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Game engine API.
  * @author Grégory Van den Borre
@@ -94,6 +96,8 @@ public interface GameEngine extends FrameManager {
     /**
      * Add a resource path. This method also update the view to ensure the
      * application stays awake when multiple calls are made.
+     * It waits for the registration on the calling thread, which runs the graphic part, so it must be called from the frame thread,
+     * before the frames are started or from a frame listener.
      *
      * @param resource Resource group data.
      * @throws NullPointerException If resource is null.
@@ -101,6 +105,29 @@ public interface GameEngine extends FrameManager {
      */
     void addResourcePath(ResourcePath resource);
 
+    /**
+     * Add a resource path without blocking the caller, the frames keep running during the registration.
+     * The path is checked and registered in the audio engine on a loader thread, the graphic registration
+     * is run on the frame thread at the beginning of a frame.
+     * The future is only completed once a frame has run, so it must not be joined before the frames are started,
+     * nor on the frame thread, like in a frame listener: addResourcePath waits while running the graphic registration.
+     *
+     * @param resource Resource group data.
+     * @return A future completed with the resource once registered, or exceptionally with an IllegalStateException if the path does not exists.
+     * @throws NullPointerException If resource is null.
+     */
+    CompletableFuture<ResourcePath> addResourcePathAsync(ResourcePath resource);
+
+    /**
+     * Add a resource path without blocking the caller, and be notified of the registration progress.
+     *
+     * @param resource Resource group data.
+     * @param listener Listener notified when each step is done.
+     * @return A future completed with the resource once registered, or exceptionally with an IllegalStateException if the path does not exists.
+     * @throws NullPointerException If a parameter is null.
+     */
+    CompletableFuture<ResourcePath> addResourcePathAsync(ResourcePath resource, ResourceLoadListener listener);
+
     /**
      * Provide the configuration.
      * @return The configuration data [ensure not null].
@@ -126,4 +153,16 @@ public interface GameEngine extends FrameManager {
     Version getGameVersion();
 
     void close();
+
+    /**
+     * Provide the time spent by the frames and by every subsystem update.
+     * @return The frame metrics [ensure not null].
+     */
+    FrameMetrics getFrameMetrics();
+
+    /**
+     * Provide the current frame pacing decisions.
+     * @return The frame pacing metrics [ensure not null].
+     */
+    FramePacingMetrics getFramePacing();
 }
@@ -27,6 +27,7 @@ package be.yildizgames.engine.client;
 import be.yildizgames.common.client.config.Configuration;
 import be.yildizgames.common.model.Version;
 import be.yildizgames.engine.client.internal.SimpleGameEngine;
+import be.yildizgames.engine.client.internal.SimpleHeadlessGameEngine;
 
 /**
  * Create an instance of the client game engine.
@@ -51,4 +52,27 @@ public class GameEngineFactory {
         return new SimpleGameEngine(config, version);
     }
 
+    /**
+     * Create a new instance of the game engine with optional behaviors enabled.
+     * @param config Client configuration.
+     * @param version Game version.
+     * @param options Engine options.
+     * @return The created instance.
+     */
+    public static GameEngine build(Configuration config, Version version, GameEngineOptions options) {
+        return new SimpleGameEngine(config, version, options);
+    }
+
+    /**
+     * Create a new instance of the game engine without window nor rendering, the subsystems are provided by the backend.
+     * @param config Client configuration.
+     * @param version Game version.
+     * @param options Engine options.
+     * @param backend Subsystems to update, HeadlessBackend.noOp() to only run the frame loop.
+     * @return The created instance.
+     */
+    public static HeadlessGameEngine buildHeadless(Configuration config, Version version, GameEngineOptions options, HeadlessBackend backend) {
+        return new SimpleHeadlessGameEngine(config, version, options, backend);
+    }
+
 }
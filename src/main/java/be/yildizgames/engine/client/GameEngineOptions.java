@@ -0,0 +1,462 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Optional behaviors of the game engine, all of them are disabled by default.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class GameEngineOptions {
+
+    /**
+     * Frame rate target used when none is specified.
+     */
+    public static final int DEFAULT_FRAME_RATE = 60;
+
+    /**
+     * Size of the spatial index cells used when none is specified.
+     */
+    public static final float DEFAULT_SPATIAL_CELL_SIZE = 32;
+
+    /**
+     * Number of worker threads used to update the subsystems, 0 to update them sequentially on the frame thread.
+     */
+    private int updateWorkers;
+
+    /**
+     * For every subsystem, the subsystems that must be updated before it during a frame.
+     */
+    private final Map<EngineSubsystem, Set<EngineSubsystem>> updateDependencies = new EnumMap<>(EngineSubsystem.class);
+
+    /**
+     * Number of physic steps per second, 0 to run one physic step per frame.
+     */
+    private int physicTickRate;
+
+    /**
+     * Maximum number of physic steps run in a single frame when the physic is decoupled from the frame rate.
+     */
+    private int physicMaxCatchUp;
+
+    /**
+     * Frame pacing mode, null to use the default one.
+     */
+    private FramePacingMode pacingMode;
+
+    /**
+     * Frame rate target, or maximum target in adaptive mode.
+     */
+    private int frameRate = DEFAULT_FRAME_RATE;
+
+    /**
+     * Lowest frame rate target the adaptive mode can choose.
+     */
+    private int minFrameRate = DEFAULT_FRAME_RATE;
+
+    /**
+     * Number of consecutive frames missing, or fitting with headroom, the budget before the adaptive mode changes the target.
+     */
+    private int adaptiveFrames;
+
+    /**
+     * Directory where the frame spikes are dumped, null if the spike recorder is disabled.
+     */
+    private Path spikeDirectory;
+
+    /**
+     * Frame time above which a frame is considered as a spike, in milliseconds.
+     */
+    private long spikeThreshold;
+
+    /**
+     * Number of frames kept by the spike recorder.
+     */
+    private int spikeFrames;
+
+    /**
+     * Size of the cells of the worlds spatial index.
+     */
+    private float spatialCellSize = DEFAULT_SPATIAL_CELL_SIZE;
+
+    /**
+     * True to reuse the disposed worlds instead of creating new ones.
+     */
+    private boolean worldReuse;
+
+    /**
+     * True to move the physic bodies of the static and movable objects once per frame.
+     */
+    private boolean deferredTransformSync;
+
+    /**
+     * True to step the physic on a dedicated thread.
+     */
+    private boolean physicThread;
+
+    private GameEngineOptions() {
+        super();
+        for (EngineSubsystem subsystem : EngineSubsystem.values()) {
+            this.updateDependencies.put(subsystem, EnumSet.noneOf(EngineSubsystem.class));
+        }
+        this.updateDependencies.get(EngineSubsystem.PHYSIC).add(EngineSubsystem.WINDOW);
+        this.updateDependencies.get(EngineSubsystem.GRAPHIC).add(EngineSubsystem.WINDOW);
+        this.updateDependencies.get(EngineSubsystem.GRAPHIC).add(EngineSubsystem.PHYSIC);
+    }
+
+    /**
+     * Create the options with the default values: sequential update, physic after window, graphic after window and physic,
+     * network and sound independent.
+     *
+     * @return The default options.
+     */
+    public static GameEngineOptions defaultOptions() {
+        return new GameEngineOptions();
+    }
+
+    /**
+     * Update the independent subsystems in parallel on a pool of worker threads, the frame waits for all of them before ending.
+     * The window, physic and graphic subsystems are always updated on the frame thread.
+     *
+     * @param workers Number of worker threads, 0 to keep the sequential update.
+     * @return This object for chaining.
+     * @throws IllegalArgumentException If workers is negative.
+     */
+    public GameEngineOptions withParallelUpdate(int workers) {
+        if (workers < 0) {
+            throw new IllegalArgumentException("Negative worker number: " + workers);
+        }
+        this.updateWorkers = workers;
+        return this;
+    }
+
+    /**
+     * Declare that a subsystem must be updated after another one during a frame.
+     *
+     * @param subsystem  Subsystem to update later.
+     * @param dependency Subsystem to update first.
+     * @return This object for chaining.
+     * @throws NullPointerException     If a parameter is null.
+     * @throws IllegalArgumentException If subsystem and dependency are the same.
+     */
+    public GameEngineOptions withUpdateDependency(EngineSubsystem subsystem, EngineSubsystem dependency) {
+        Objects.requireNonNull(subsystem);
+        Objects.requireNonNull(dependency);
+        if (subsystem == dependency) {
+            throw new IllegalArgumentException("A subsystem cannot depend on itself: " + subsystem);
+        }
+        this.updateDependencies.get(subsystem).add(dependency);
+        return this;
+    }
+
+    /**
+     * Decouple the physic from the rendering: the physic is stepped at a fixed rate, as many times as needed to catch up
+     * with the elapsed time, and unless a frame pacing is chosen, the frames are no longer limited.
+     * The dynamic objects graphics are interpolated between the two last physic states.
+     *
+     * @param tickRate   Number of physic steps per second.
+     * @param maxCatchUp Maximum number of physic steps in a single frame, the remaining time is dropped.
+     * @return This object for chaining.
+     * @throws IllegalArgumentException If tickRate or maxCatchUp is not positive.
+     */
+    public GameEngineOptions withFixedPhysicStep(int tickRate, int maxCatchUp) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + tickRate);
+        }
+        if (maxCatchUp <= 0) {
+            throw new IllegalArgumentException("Max catch up must be positive: " + maxCatchUp);
+        }
+        this.physicTickRate = tickRate;
+        this.physicMaxCatchUp = maxCatchUp;
+        return this;
+    }
+
+    /**
+     * Limit the frame rate to a fixed target.
+     *
+     * @param frameRate Frame rate target.
+     * @return This object for chaining.
+     * @throws IllegalArgumentException If frameRate is not positive.
+     */
+    public GameEngineOptions withFixedFrameRate(int frameRate) {
+        checkFrameRate(frameRate);
+        this.pacingMode = FramePacingMode.FIXED;
+        this.frameRate = frameRate;
+        this.minFrameRate = frameRate;
+        return this;
+    }
+
+    /**
+     * Do not limit the frame rate.
+     *
+     * @return This object for chaining.
+     */
+    public GameEngineOptions withUnlimitedFrameRate() {
+        this.pacingMode = FramePacingMode.UNLIMITED;
+        return this;
+    }
+
+    /**
+     * Adapt the frame rate target to the measured frame time: the target is lowered when the frame time budget is missed
+     * for a number of consecutive frames, and raised when the frames fit with headroom in the budget of a higher target
+     * for the same number of frames.
+     *
+     * @param minFrameRate Lowest target.
+     * @param maxFrameRate Highest target, used when starting.
+     * @param frames       Number of consecutive frames before changing the target.
+     * @return This object for chaining.
+     * @throws IllegalArgumentException If a value is not positive or if minFrameRate is greater than maxFrameRate.
+     */
+    public GameEngineOptions withAdaptiveFrameRate(int minFrameRate, int maxFrameRate, int frames) {
+        checkFrameRate(minFrameRate);
+        checkFrameRate(maxFrameRate);
+        if (minFrameRate > maxFrameRate) {
+            throw new IllegalArgumentException("Min frame rate " + minFrameRate + " is greater than max frame rate " + maxFrameRate);
+        }
+        if (frames <= 0) {
+            throw new IllegalArgumentException("Frame number must be positive: " + frames);
+        }
+        this.pacingMode = FramePacingMode.ADAPTIVE;
+        this.minFrameRate = minFrameRate;
+        this.frameRate = maxFrameRate;
+        this.adaptiveFrames = frames;
+        return this;
+    }
+
+    private static void checkFrameRate(int frameRate) {
+        if (frameRate <= 0) {
+            throw new IllegalArgumentException("Frame rate must be positive: " + frameRate);
+        }
+    }
+
+    /**
+     * Provide the frame pacing mode, if none was chosen, the frame rate is unlimited with a fixed physic step, and fixed otherwise.
+     *
+     * @return The frame pacing mode.
+     */
+    public FramePacingMode getFramePacingMode() {
+        if (this.pacingMode == null) {
+            return this.isFixedPhysicStep() ? FramePacingMode.UNLIMITED : FramePacingMode.FIXED;
+        }
+        return this.pacingMode;
+    }
+
+    /**
+     * @return The frame rate target, or the highest target in adaptive mode.
+     */
+    public int getFrameRate() {
+        return this.frameRate;
+    }
+
+    /**
+     * @return The lowest frame rate target in adaptive mode.
+     */
+    public int getMinFrameRate() {
+        return this.minFrameRate;
+    }
+
+    /**
+     * @return The number of consecutive frames before the adaptive mode changes the target.
+     */
+    public int getAdaptiveFrames() {
+        return this.adaptiveFrames;
+    }
+
+    /**
+     * Keep the last frames records in memory, and dump them to a file when a frame exceeds a threshold.
+     * The dump contains the frames before and after the spike, and is read with SpikeDumpReader.
+     *
+     * @param directory Directory where the dump files are created.
+     * @param threshold Frame time above which a frame is considered as a spike, in milliseconds.
+     * @param frames    Number of frames in a dump.
+     * @return This object for chaining.
+     * @throws NullPointerException     If directory is null.
+     * @throws IllegalArgumentException If threshold or frames is not positive.
+     */
+    public GameEngineOptions withSpikeRecorder(Path directory, long threshold, int frames) {
+        Objects.requireNonNull(directory);
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        if (frames <= 0) {
+            throw new IllegalArgumentException("Frame number must be positive: " + frames);
+        }
+        this.spikeDirectory = directory;
+        this.spikeThreshold = threshold;
+        this.spikeFrames = frames;
+        return this;
+    }
+
+    /**
+     * @return The directory where the spikes are dumped, null if the spike recorder is disabled.
+     */
+    public Path getSpikeDirectory() {
+        return this.spikeDirectory;
+    }
+
+    /**
+     * @return The frame time above which a frame is considered as a spike, in milliseconds.
+     */
+    public long getSpikeThreshold() {
+        return this.spikeThreshold;
+    }
+
+    /**
+     * @return The number of frames in a spike dump.
+     */
+    public int getSpikeFrames() {
+        return this.spikeFrames;
+    }
+
+    /**
+     * Set the size of the cells of the spatial index used by the worlds region queries.
+     * Best results are around the size of the regions usually queried.
+     *
+     * @param cellSize Size of a cell side.
+     * @return This object for chaining.
+     * @throws IllegalArgumentException If cellSize is not positive.
+     */
+    public GameEngineOptions withSpatialCellSize(float cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.spatialCellSize = cellSize;
+        return this;
+    }
+
+    /**
+     * @return The size of the cells of the worlds spatial index.
+     */
+    public float getSpatialCellSize() {
+        return this.spatialCellSize;
+    }
+
+    /**
+     * Keep the disposed worlds, with their graphic and physic worlds and their pools, and provide them again when a
+     * world is created instead of building new ones, so loading a level does not pay for the backend allocations again.
+     * A reused world keeps the gravity, collision listeners, sky and ambient light of its previous use.
+     *
+     * @return This object for chaining.
+     */
+    public GameEngineOptions withWorldReuse() {
+        this.worldReuse = true;
+        return this;
+    }
+
+    /**
+     * @return True if the disposed worlds are reused.
+     */
+    public boolean isWorldReuse() {
+        return this.worldReuse;
+    }
+
+    /**
+     * Move the physic bodies of the static and movable objects once per frame, before the physic update, instead of
+     * after every move of their graphic. An object moved several times in a frame then only updates its physic body once,
+     * with its final transform, but the physic queries see the previous transform until the synchronization.
+     *
+     * @return This object for chaining.
+     */
+    public GameEngineOptions withDeferredTransformSync() {
+        this.deferredTransformSync = true;
+        return this;
+    }
+
+    /**
+     * @return True if the physic bodies of the static and movable objects are moved once per frame.
+     */
+    public boolean isDeferredTransformSync() {
+        return this.deferredTransformSync;
+    }
+
+    /**
+     * Step the physic on a dedicated thread instead of the frame thread. Each frame applies the transforms of the last
+     * finished step to the dynamic objects and requests a new step without waiting for it, so the dynamic objects graphics
+     * lag one step behind their bodies. The body changes are queued to the physic thread, and the collision listeners
+     * are notified on that thread.
+     * This implies the deferred transform synchronization, and replaces the fixed physic step and its interpolation.
+     *
+     * @return This object for chaining.
+     */
+    public GameEngineOptions withPhysicThread() {
+        this.physicThread = true;
+        this.deferredTransformSync = true;
+        return this;
+    }
+
+    /**
+     * @return True if the physic is stepped on a dedicated thread.
+     */
+    public boolean isPhysicThread() {
+        return this.physicThread;
+    }
+
+    /**
+     * @return True if the physic is stepped at a fixed rate, false if it is stepped once per frame or on a dedicated thread.
+     */
+    public boolean isFixedPhysicStep() {
+        return this.physicTickRate > 0 && !this.physicThread;
+    }
+
+    /**
+     * @return The number of physic steps per second, 0 if the physic is stepped once per frame.
+     */
+    public int getPhysicTickRate() {
+        return this.physicTickRate;
+    }
+
+    /**
+     * @return The maximum number of physic steps per frame.
+     */
+    public int getPhysicMaxCatchUp() {
+        return this.physicMaxCatchUp;
+    }
+
+    /**
+     * @return The number of update worker threads, 0 if the update is sequential.
+     */
+    public int getUpdateWorkers() {
+        return this.updateWorkers;
+    }
+
+    /**
+     * Provide the subsystems to update before a given one.
+     *
+     * @param subsystem Subsystem to check.
+     * @return The dependencies of the subsystem [ensure not null].
+     */
+    public Set<EngineSubsystem> getUpdateDependencies(EngineSubsystem subsystem) {
+        return Collections.unmodifiableSet(this.updateDependencies.get(subsystem));
+    }
+}
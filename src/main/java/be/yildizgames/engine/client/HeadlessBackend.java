@@ -0,0 +1,117 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client;
+
+import be.yildizgames.common.file.ResourcePath;
+import be.yildizgames.engine.client.internal.headless.NoOpEngine;
+import be.yildizgames.engine.client.internal.headless.NoOpGraphicWorld;
+import be.yildizgames.engine.client.internal.headless.NoOpPhysicWorld;
+import be.yildizgames.module.audio.AudioEngine;
+import be.yildizgames.module.graphic.GraphicEngine;
+import be.yildizgames.module.graphic.GraphicWorld;
+import be.yildizgames.module.network.client.NetworkClient;
+import be.yildizgames.module.physics.PhysicWorld;
+import be.yildizgames.module.script.ScriptInterpreter;
+import be.yildizgames.module.window.WindowEngine;
+
+/**
+ * Subsystems used by a headless engine, every method has a no-op default so only the subsystems needed
+ * by a test or a benchmark have to be provided.
+ * The default worlds build objects keeping their transform, without rendering nor simulation, so a world can be
+ * filled and updated without native engines. The scripting engine has no default, asking for it throws an UnsupportedOperationException.
+ *
+ * @author Grégory Van den Borre
+ */
+public interface HeadlessBackend {
+
+    /**
+     * Provide a backend where every subsystem update does nothing.
+     *
+     * @return A no-op backend.
+     */
+    static HeadlessBackend noOp() {
+        return new HeadlessBackend() {};
+    }
+
+    /**
+     * Update a subsystem, called once per frame for each subsystem, and once per physic step for the physic.
+     *
+     * @param subsystem Subsystem to update.
+     */
+    default void update(EngineSubsystem subsystem) {
+        //Does nothing by default.
+    }
+
+    /**
+     * @return A new graphic world, without rendering by default.
+     */
+    default GraphicWorld createGraphicWorld() {
+        return new NoOpGraphicWorld();
+    }
+
+    /**
+     * @return A new physic world, without simulation by default.
+     */
+    default PhysicWorld createPhysicWorld() {
+        return new NoOpPhysicWorld();
+    }
+
+    default ScriptInterpreter getScriptingEngine() {
+        throw new UnsupportedOperationException("No scripting engine provided by the headless backend.");
+    }
+
+    default AudioEngine getAudioEngine() {
+        return NoOpEngine.AUDIO;
+    }
+
+    default NetworkClient getNetworkEngine() {
+        return NoOpEngine.NETWORK;
+    }
+
+    default GraphicEngine getGraphicEngine() {
+        return NoOpEngine.GRAPHIC;
+    }
+
+    default WindowEngine getWindowEngine() {
+        return NoOpEngine.WINDOW;
+    }
+
+    /**
+     * Register a resource path, the path existence is already checked by the engine.
+     *
+     * @param resource Resource group data.
+     */
+    default void addResourcePath(ResourcePath resource) {
+        //Does nothing by default.
+    }
+
+    /**
+     * Release the subsystems, called once when the engine is closed.
+     */
+    default void close() {
+        //Does nothing by default.
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client;
+
+/**
+ * Throughput of a headless run.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class HeadlessRunReport {
+
+    /**
+     * Number of frames run.
+     */
+    private final int frames;
+
+    /**
+     * Time spent to run all the frames, in nanoseconds.
+     */
+    private final long elapsed;
+
+    /**
+     * Create a new report.
+     *
+     * @param frames  Number of frames run.
+     * @param elapsed Time spent to run all the frames, in nanoseconds.
+     */
+    public HeadlessRunReport(final int frames, final long elapsed) {
+        super();
+        if (frames < 0) {
+            throw new IllegalArgumentException("Frames cannot be negative.");
+        }
+        if (elapsed < 0) {
+            throw new IllegalArgumentException("Elapsed time cannot be negative.");
+        }
+        this.frames = frames;
+        this.elapsed = elapsed;
+    }
+
+    public int getFrames() {
+        return this.frames;
+    }
+
+    /**
+     * @return The time spent to run all the frames, in nanoseconds.
+     */
+    public long getElapsedTime() {
+        return this.elapsed;
+    }
+
+    /**
+     * @return The mean frame time, in nanoseconds, 0 if no frame was run.
+     */
+    public long getAverageFrameTime() {
+        return this.frames == 0 ? 0 : this.elapsed / this.frames;
+    }
+
+    /**
+     * @return The number of frames per second, 0 if no frame was run.
+     */
+    public double getFramesPerSecond() {
+        return this.elapsed == 0 ? 0 : this.frames * 1_000_000_000.0 / this.elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return this.frames + " frames in " + this.elapsed / 1_000_000 + "ms (" + Math.round(this.getFramesPerSecond()) + " fps)";
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Offline reader for the frame spike dumps written when GameEngineOptions.withSpikeRecorder is used,
+ * can be run from the command line with the dump file as argument to print it:
+ * java -p engine-client.jar -m be.yildizgames.engine.client/be.yildizgames.engine.client.SpikeDumpReader spike-120.bin
+ *
+ * @author Grégory Van den Borre
+ */
+public final class SpikeDumpReader {
+
+    /**
+     * First value of a dump file.
+     */
+    public static final int MAGIC = 0x5953504B;
+
+    /**
+     * Format version written by the engine.
+     */
+    public static final short VERSION = 1;
+
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Byte.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * Frame number of the spike.
+     */
+    private final long spikeFrame;
+
+    /**
+     * Spike threshold, in nanoseconds.
+     */
+    private final long threshold;
+
+    /**
+     * Frame records, oldest first.
+     */
+    private final List<FrameRecord> records;
+
+    private SpikeDumpReader(long spikeFrame, long threshold, List<FrameRecord> records) {
+        super();
+        this.spikeFrame = spikeFrame;
+        this.threshold = threshold;
+        this.records = Collections.unmodifiableList(records);
+    }
+
+    /**
+     * Read a dump file.
+     *
+     * @param file File to read.
+     * @return The dump content.
+     * @throws IOException           If the file cannot be read.
+     * @throws IllegalStateException If the file is not a spike dump, or has an unsupported version.
+     */
+    public static SpikeDumpReader read(Path file) throws IOException {
+        ByteBuffer b = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (b.remaining() < HEADER_SIZE || b.getInt() != MAGIC) {
+            throw new IllegalStateException("Not a frame spike dump: " + file);
+        }
+        short version = b.getShort();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported frame spike dump version: " + version);
+        }
+        int stages = b.get();
+        long threshold = b.getLong();
+        long spikeFrame = b.getLong();
+        int count = b.getInt();
+        if (b.remaining() < count * (Long.BYTES * (3 + stages) + Integer.BYTES * 2)) {
+            throw new IllegalStateException("Truncated frame spike dump: " + file);
+        }
+        List<FrameRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long frame = b.getLong();
+            long frameTime = b.getLong();
+            long interval = b.getLong();
+            long[] stageTimes = new long[stages];
+            for (int s = 0; s < stages; s++) {
+                stageTimes[s] = b.getLong();
+            }
+            records.add(new FrameRecord(frame, frameTime, interval, stageTimes, b.getInt(), b.getInt()));
+        }
+        return new SpikeDumpReader(spikeFrame, threshold, records);
+    }
+
+    /**
+     * Print the content of a dump file, one line per frame, times in microseconds.
+     *
+     * @param args Path of the dump file.
+     * @throws IOException If the file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.out.println("Usage: SpikeDumpReader <dump file>");
+            return;
+        }
+        SpikeDumpReader dump = read(Paths.get(args[0]));
+        System.out.println("Spike at frame " + dump.spikeFrame + ", threshold " + dump.threshold / 1000 + " us");
+        StringBuilder header = new StringBuilder("frame;time;interval");
+        for (EngineSubsystem subsystem : EngineSubsystem.values()) {
+            header.append(';').append(subsystem.name().toLowerCase());
+        }
+        System.out.println(header.append(";created;deleted"));
+        for (FrameRecord r : dump.records) {
+            StringBuilder line = new StringBuilder().append(r.frame).append(';').append(r.frameTime / 1000).append(';').append(r.interval / 1000);
+            for (long stageTime : r.stageTimes) {
+                line.append(';').append(stageTime / 1000);
+            }
+            System.out.println(line.append(';').append(r.created).append(';').append(r.deleted));
+        }
+    }
+
+    public long getSpikeFrame() {
+        return this.spikeFrame;
+    }
+
+    public long getThreshold() {
+        return this.threshold;
+    }
+
+    public List<FrameRecord> getRecords() {
+        return this.records;
+    }
+
+    /**
+     * Data recorded for one frame, times are in nanoseconds.
+     */
+    public static final class FrameRecord {
+
+        private final long frame;
+
+        private final long frameTime;
+
+        private final long interval;
+
+        /**
+         * Time of every subsystem, indexed by subsystem ordinal.
+         */
+        private final long[] stageTimes;
+
+        private final int created;
+
+        private final int deleted;
+
+        private FrameRecord(long frame, long frameTime, long interval, long[] stageTimes, int created, int deleted) {
+            super();
+            this.frame = frame;
+            this.frameTime = frameTime;
+            this.interval = interval;
+            this.stageTimes = stageTimes;
+            this.created = created;
+            this.deleted = deleted;
+        }
+
+        public long getFrame() {
+            return this.frame;
+        }
+
+        public long getFrameTime() {
+            return this.frameTime;
+        }
+
+        public long getInterval() {
+            return this.interval;
+        }
+
+        public long getStageTime(EngineSubsystem subsystem) {
+            return this.stageTimes[subsystem.ordinal()];
+        }
+
+        public int getCreated() {
+            return this.created;
+        }
+
+        public int getDeleted() {
+            return this.deleted;
+        }
+    }
+}
@@ -0,0 +1,463 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal;
+
+import be.yildizgames.common.client.config.Configuration;
+import be.yildizgames.common.file.ResourcePath;
+import be.yildizgames.common.model.Version;
+import be.yildizgames.engine.client.EngineSubsystem;
+import be.yildizgames.engine.client.FrameMetrics;
+import be.yildizgames.engine.client.FramePacingMetrics;
+import be.yildizgames.engine.client.FramePacingMode;
+import be.yildizgames.engine.client.GameEngine;
+import be.yildizgames.engine.client.GameEngineOptions;
+import be.yildizgames.engine.client.ResourceLoadListener;
+import be.yildizgames.engine.client.exception.InvalidClientVersionException;
+import be.yildizgames.engine.client.world.ClientWorld;
+import be.yildizgames.engine.client.world.internal.GraphicPhysicWorld;
+import be.yildizgames.engine.client.world.internal.PhysicThread;
+import be.yildizgames.module.graphic.GraphicWorld;
+import be.yildizgames.module.physics.PhysicWorld;
+import be.yildizgames.shared.game.engine.AbstractGameEngine;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Frame loop shared by the engine implementations, independent of the subsystem backends:
+ * subsystem scheduling, fixed physic step, metrics, frame pacing, spike recording and world tracking.
+ *
+ * @author Grégory Van den Borre
+ */
+abstract class BaseClientGameEngine extends AbstractGameEngine implements GameEngine {
+
+    private static final System.Logger LOGGER = System.getLogger(BaseClientGameEngine.class.getName());
+
+    /**
+     * Current configuration.
+     */
+    private final Configuration configuration;
+
+    /**
+     * True if the loop is currently running.
+     */
+    private boolean running;
+
+    /**
+     * Flag to check if the engines must run in debug mode or not.
+     */
+    private boolean debug;
+
+    /**
+     * Flag to check if engine is closed.
+     */
+    private boolean closed = false;
+
+    /**
+     * Run the subsystem updates of every frame.
+     */
+    private final FrameScheduler scheduler;
+
+    /**
+     * Physic steps accumulator, null if the physic is stepped once per frame.
+     */
+    private final FixedStepAccumulator physicAccumulator;
+
+    /**
+     * Thread stepping the physic, null if the physic is stepped on the frame thread.
+     */
+    private final PhysicThread physicThread;
+
+    /**
+     * Time spent by the frames and their subsystems.
+     */
+    private final FrameMetricsRecorder metrics = new FrameMetricsRecorder();
+
+    /**
+     * Choose the frame rate target.
+     */
+    private final FramePacer pacer;
+
+    /**
+     * Worlds created by this engine.
+     */
+    private final List<GraphicPhysicWorld> worlds = new ArrayList<>();
+
+    /**
+     * Disposed worlds ready to be reused, null if the worlds are not reused.
+     */
+    private final List<GraphicPhysicWorld> disposedWorlds;
+
+    /**
+     * True if the worlds move the physic bodies of their static and movable objects once per frame.
+     */
+    private final boolean deferredTransformSync;
+
+    /**
+     * Size of the cells of the worlds spatial index.
+     */
+    private final float spatialCellSize;
+
+    /**
+     * Keep the last frames and dump them when a spike occurs, null if disabled.
+     */
+    private final SpikeRecorder spikeRecorder;
+
+    /**
+     * Register the resource groups asynchronously.
+     */
+    private final ResourceLoader resourceLoader = new ResourceLoader(this::registerAudioResource, this::registerGraphicResource);
+
+    /**
+     * Start time of the previous frame, in nanoseconds.
+     */
+    private long previousFrameStart;
+
+    /**
+     * Objects created in all worlds, at the end of the previous frame.
+     */
+    private long previousCreated;
+
+    /**
+     * Objects deleted from all worlds, at the end of the previous frame.
+     */
+    private long previousDeleted;
+
+    /**
+     * Create the frame loop, the subsystem updates are only called once the frames are running.
+     *
+     * @param config      Configuration.
+     * @param gameVersion Version of the game.
+     * @param options     Optional engine behaviors.
+     */
+    BaseClientGameEngine(final Configuration config, final Version gameVersion, final GameEngineOptions options) {
+        super(gameVersion);
+        Objects.requireNonNull(config);
+        Objects.requireNonNull(options);
+        this.configuration = config;
+        Map<EngineSubsystem, Runnable> updates = new EnumMap<>(EngineSubsystem.class);
+        updates.put(EngineSubsystem.NETWORK, this::updateNetwork);
+        updates.put(EngineSubsystem.WINDOW, this::updateWindow);
+        updates.put(EngineSubsystem.SOUND, this::updateSound);
+        if (options.isPhysicThread()) {
+            this.physicAccumulator = null;
+            this.physicThread = new PhysicThread(this::updatePhysic);
+            updates.put(EngineSubsystem.PHYSIC, this::updateThreadedPhysic);
+        } else if (options.isFixedPhysicStep()) {
+            this.physicAccumulator = new FixedStepAccumulator(options.getPhysicTickRate(), options.getPhysicMaxCatchUp());
+            this.physicThread = null;
+            updates.put(EngineSubsystem.PHYSIC, this::updateFixedStepPhysic);
+        } else {
+            this.physicAccumulator = null;
+            this.physicThread = null;
+            updates.put(EngineSubsystem.PHYSIC, this::updateFramePhysic);
+        }
+        updates.put(EngineSubsystem.GRAPHIC, this::updateCulledGraphic);
+        this.scheduler = new FrameScheduler(updates, options, this.metrics);
+        this.pacer = new FramePacer(options);
+        this.spatialCellSize = options.getSpatialCellSize();
+        this.disposedWorlds = options.isWorldReuse() ? new ArrayList<>() : null;
+        this.deferredTransformSync = options.isDeferredTransformSync();
+        this.spikeRecorder = options.getSpikeDirectory() == null
+                ? null
+                : new SpikeRecorder(options.getSpikeDirectory(), options.getSpikeThreshold(), options.getSpikeFrames());
+    }
+
+    /**
+     * Process the network messages.
+     */
+    protected abstract void updateNetwork();
+
+    /**
+     * Process the window events and inputs.
+     */
+    protected abstract void updateWindow();
+
+    /**
+     * Update the sound sources.
+     */
+    protected abstract void updateSound();
+
+    /**
+     * Run one physic step.
+     */
+    protected abstract void updatePhysic();
+
+    /**
+     * Render the graphic frame.
+     */
+    protected abstract void updateGraphic();
+
+    /**
+     * @return A new graphic world to be used by a client world.
+     */
+    protected abstract GraphicWorld createGraphicWorld();
+
+    /**
+     * @return A new physic world to be used by a client world.
+     */
+    protected abstract PhysicWorld createPhysicWorld();
+
+    /**
+     * Register a resource group in the audio engine, called from a loader thread.
+     *
+     * @param resource Resource group data.
+     */
+    protected abstract void registerAudioResource(ResourcePath resource);
+
+    /**
+     * Register a resource group in the graphic engine, called from the frame thread.
+     *
+     * @param resource Resource group data.
+     */
+    protected abstract void registerGraphicResource(ResourcePath resource);
+
+    /**
+     * Close the subsystem backends.
+     */
+    protected abstract void closeSubsystems();
+
+    @Override
+    public final void start() {
+        this.initialize();
+        LOGGER.log(System.Logger.Level.INFO,"Game engine started.");
+        if (!this.running) {
+            this.running = true;
+            if (this.pacer.getMode() != FramePacingMode.UNLIMITED) {
+                this.setFrameLimiter(this.pacer.getTargetFrameRate());
+            }
+            while (this.running) {
+                this.runOneFrame();
+            }
+            this.close();
+        }
+    }
+
+    /**
+     * Make the loop started by start stop after the current frame.
+     */
+    protected final void stopLoop() {
+        this.running = false;
+    }
+
+    /**
+     * Run just graphic frame.
+     */
+    @Override
+    public final void runOneFrameImpl() {
+        long start = System.nanoTime();
+        this.resourceLoader.runFrameTasks();
+        for (int i = 0; i < this.worlds.size(); i++) {
+            this.worlds.get(i).stream();
+            this.worlds.get(i).syncTransforms();
+        }
+        this.scheduler.runFrame();
+        long frameTime = System.nanoTime() - start;
+        this.metrics.recordFrame(frameTime);
+        if (this.spikeRecorder != null) {
+            this.recordSpike(start, frameTime);
+        }
+        if (this.pacer.frameDone(frameTime) && this.running) {
+            this.setFrameLimiter(this.pacer.getTargetFrameRate());
+        }
+    }
+
+    /**
+     * Add the frame to the spike recorder.
+     *
+     * @param start     Frame start time, in nanoseconds.
+     * @param frameTime Time spent in the frame updates, in nanoseconds.
+     */
+    private void recordSpike(long start, long frameTime) {
+        long created = 0;
+        long deleted = 0;
+        for (int i = 0; i < this.worlds.size(); i++) {
+            created += this.worlds.get(i).getCreatedObjects();
+            deleted += this.worlds.get(i).getDeletedObjects();
+        }
+        long interval = this.previousFrameStart == 0 ? frameTime : start - this.previousFrameStart;
+        this.spikeRecorder.record(this.metrics.getFrameCount(), frameTime, interval, this.metrics,
+                (int) (created - this.previousCreated), (int) (deleted - this.previousDeleted));
+        this.previousFrameStart = start;
+        this.previousCreated = created;
+        this.previousDeleted = deleted;
+    }
+
+    /**
+     * Run one physic step for this frame, and notify the worlds their dynamic objects moved.
+     */
+    private void updateFramePhysic() {
+        this.updatePhysic();
+        for (int i = 0; i < this.worlds.size(); i++) {
+            this.worlds.get(i).physicUpdated();
+        }
+    }
+
+    /**
+     * Apply the last step done by the physic thread to the worlds, and request a new one if that thread is idle.
+     */
+    private void updateThreadedPhysic() {
+        this.physicThread.update(this.worlds);
+    }
+
+    /**
+     * Run the physic steps due since the previous frame, and interpolate the dynamic objects between the two last states.
+     */
+    private void updateFixedStepPhysic() {
+        int steps = this.physicAccumulator.advance(System.nanoTime());
+        for (int step = 0; step < steps; step++) {
+            this.updatePhysic();
+            for (int i = 0; i < this.worlds.size(); i++) {
+                this.worlds.get(i).storePhysicState();
+            }
+        }
+        float alpha = this.physicAccumulator.getAlpha();
+        for (int i = 0; i < this.worlds.size(); i++) {
+            this.worlds.get(i).interpolate(alpha);
+        }
+    }
+
+    /**
+     * Cull the worlds objects out of the camera view, and render the graphic frame.
+     */
+    private void updateCulledGraphic() {
+        for (int i = 0; i < this.worlds.size(); i++) {
+            this.worlds.get(i).cull();
+        }
+        this.updateGraphic();
+    }
+
+    @Override
+    public final void addResourcePath(final ResourcePath resource) {
+        this.resourceLoader.await(this.addResourcePathAsync(resource), this::updateWindow);
+    }
+
+    @Override
+    public final CompletableFuture<ResourcePath> addResourcePathAsync(final ResourcePath resource) {
+        return this.addResourcePathAsync(resource, (r, s) -> {});
+    }
+
+    @Override
+    public final CompletableFuture<ResourcePath> addResourcePathAsync(final ResourcePath resource, final ResourceLoadListener listener) {
+        return this.resourceLoader.load(resource, listener);
+    }
+
+    @Override
+    public final FrameMetrics getFrameMetrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public final FramePacingMetrics getFramePacing() {
+        return this.pacer;
+    }
+
+    @Override
+    public final ClientWorld createWorld() {
+        if (this.disposedWorlds != null && !this.disposedWorlds.isEmpty()) {
+            GraphicPhysicWorld world = this.disposedWorlds.remove(this.disposedWorlds.size() - 1);
+            world.reuse();
+            this.worlds.add(world);
+            return world;
+        }
+        GraphicWorld graphic = this.createGraphicWorld();
+        PhysicWorld physic = this.createPhysicWorld();
+
+        GraphicPhysicWorld world = new GraphicPhysicWorld(graphic, physic, this.physicAccumulator != null, this.spatialCellSize, this.deferredTransformSync);
+        if (this.physicThread != null) {
+            world.setPhysicThread(this.physicThread);
+        }
+        if (this.debug) {
+            world.setDebugMode();
+        }
+        world.setReusable(this.disposedWorlds != null);
+        world.setDisposeListener(this::worldDisposed);
+        this.worlds.add(world);
+        return world;
+    }
+
+    /**
+     * Stop updating a disposed world, and keep it to be reused if the worlds are reused.
+     *
+     * @param world Disposed world.
+     */
+    private void worldDisposed(GraphicPhysicWorld world) {
+        this.worlds.remove(world);
+        if (this.disposedWorlds != null) {
+            this.disposedWorlds.add(world);
+        }
+    }
+
+    @Override
+    public final Configuration getConfiguration() {
+        return this.configuration;
+    }
+
+    @Override
+    public final void checkVersion(final Version version) {
+        //TODO just make a call to the server and retrieve the expected version from there.
+        if (!this.getGameVersion().equals(version)) {
+            throw new InvalidClientVersionException(version, this.getGameVersion());
+        }
+    }
+
+    /**
+     * @return True if the engines run in debug mode.
+     */
+    protected final boolean isDebug() {
+        return this.debug;
+    }
+
+    /**
+     * Close all engines, ensure that the game loop is no longer running before using this.
+     */
+    @Override
+    public final void close() {
+        if (!this.closed) {
+            LOGGER.log(System.Logger.Level.INFO,"Closing engines...");
+            this.closed = true;
+            this.scheduler.close();
+            this.resourceLoader.close();
+            if (this.spikeRecorder != null) {
+                this.spikeRecorder.close();
+            }
+            if (this.physicThread != null) {
+                this.physicThread.close();
+            }
+            this.closeSubsystems();
+            LOGGER.log(System.Logger.Level.INFO,"Engines closed.");
+        }
+    }
+
+    @Override
+    public final boolean isClosed() {
+        return this.closed;
+    }
+}
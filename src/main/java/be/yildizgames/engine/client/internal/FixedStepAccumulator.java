@@ -0,0 +1,105 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal;
+
+/**
+ * Accumulate the elapsed frame time and convert it into a number of fixed length simulation steps.
+ * The time not yet consumed by a step is kept for the next frame and provides the interpolation factor between the
+ * two last simulation states.
+ *
+ * @author Grégory Van den Borre
+ */
+final class FixedStepAccumulator {
+
+    /**
+     * Duration of one step, in nanoseconds.
+     */
+    private final long stepDuration;
+
+    /**
+     * Maximum number of steps run in a single frame, to avoid a spiral of death when the frames are too slow.
+     */
+    private final int maxCatchUp;
+
+    /**
+     * Time not yet consumed by a step, in nanoseconds.
+     */
+    private long accumulated;
+
+    /**
+     * Time of the previous call to advance, in nanoseconds, negative before the first call.
+     */
+    private long previousTime = -1;
+
+    /**
+     * Create a new accumulator.
+     *
+     * @param tickRate   Number of steps per second.
+     * @param maxCatchUp Maximum number of steps per frame.
+     * @throws IllegalArgumentException If tickRate or maxCatchUp is not positive.
+     */
+    FixedStepAccumulator(int tickRate, int maxCatchUp) {
+        super();
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + tickRate);
+        }
+        if (maxCatchUp <= 0) {
+            throw new IllegalArgumentException("Max catch up must be positive: " + maxCatchUp);
+        }
+        this.stepDuration = 1_000_000_000L / tickRate;
+        this.maxCatchUp = maxCatchUp;
+    }
+
+    /**
+     * Add the time elapsed since the previous call and compute the steps to run.
+     * When more than the maximum catch up steps are due, the exceeding time is dropped and the simulation slows down.
+     *
+     * @param now Current time, in nanoseconds.
+     * @return The number of steps to run for this frame, between 0 and max catch up.
+     */
+    int advance(long now) {
+        if (this.previousTime < 0) {
+            this.previousTime = now;
+            return 1;
+        }
+        this.accumulated += now - this.previousTime;
+        this.previousTime = now;
+        long steps = this.accumulated / this.stepDuration;
+        if (steps > this.maxCatchUp) {
+            this.accumulated = 0;
+            return this.maxCatchUp;
+        }
+        this.accumulated -= steps * this.stepDuration;
+        return (int) steps;
+    }
+
+    /**
+     * @return The fraction of step already elapsed after the last step, between 0 and 1.
+     */
+    float getAlpha() {
+        return (float) this.accumulated / this.stepDuration;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event emitted once per frame with the time spent in every subsystem.
+ *
+ * @author Grégory Van den Borre
+ */
+@Name("be.yildizgames.engine.client.Frame")
+@Label("Frame")
+@Category("Yildiz Engine")
+@Description("Time spent to update the engine subsystems during a frame")
+@StackTrace(false)
+final class FrameEvent extends jdk.jfr.Event {
+
+    @Label("Frame number")
+    long frame;
+
+    @Label("Frame time")
+    @Timespan
+    long frameTime;
+
+    @Label("Network")
+    @Timespan
+    long network;
+
+    @Label("Window")
+    @Timespan
+    long window;
+
+    @Label("Sound")
+    @Timespan
+    long sound;
+
+    @Label("Physic")
+    @Timespan
+    long physic;
+
+    @Label("Graphic")
+    @Timespan
+    long graphic;
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal;
+
+import be.yildizgames.engine.client.EngineSubsystem;
+import be.yildizgames.engine.client.FrameMetrics;
+import be.yildizgames.engine.client.FrameTimeStatistics;
+import jdk.jfr.EventType;
+
+/**
+ * Record the time spent by the frames and their subsystem updates.
+ * Stages can be recorded from the update workers, the frame is recorded from the frame thread once all stages are done.
+ *
+ * @author Grégory Van den Borre
+ */
+final class FrameMetricsRecorder implements FrameMetrics {
+
+    private static final EventType FRAME_EVENT = EventType.getEventType(FrameEvent.class);
+
+    private final FrameTimeHistogram frameTime = new FrameTimeHistogram();
+
+    private final FrameTimeHistogram[] stageTimes = new FrameTimeHistogram[EngineSubsystem.values().length];
+
+    /**
+     * Time spent by every subsystem during the last frame, indexed by subsystem ordinal.
+     */
+    private final long[] lastStageTimes = new long[EngineSubsystem.values().length];
+
+    private volatile long frameCount;
+
+    FrameMetricsRecorder() {
+        super();
+        for (int i = 0; i < this.stageTimes.length; i++) {
+            this.stageTimes[i] = new FrameTimeHistogram();
+        }
+    }
+
+    /**
+     * Record the time spent by a subsystem update.
+     *
+     * @param subsystem Updated subsystem.
+     * @param time      Update time, in nanoseconds.
+     */
+    void recordStage(EngineSubsystem subsystem, long time) {
+        this.stageTimes[subsystem.ordinal()].record(time);
+        this.lastStageTimes[subsystem.ordinal()] = time;
+    }
+
+    /**
+     * Record the time spent by a frame, once all its stages are recorded, and emit the frame event if it is enabled.
+     *
+     * @param time Frame update time, in nanoseconds.
+     */
+    void recordFrame(long time) {
+        this.frameTime.record(time);
+        this.frameCount++;
+        if (FRAME_EVENT.isEnabled()) {
+            FrameEvent event = new FrameEvent();
+            event.frame = this.frameCount;
+            event.frameTime = time;
+            event.network = this.getLastStageTime(EngineSubsystem.NETWORK);
+            event.window = this.getLastStageTime(EngineSubsystem.WINDOW);
+            event.sound = this.getLastStageTime(EngineSubsystem.SOUND);
+            event.physic = this.getLastStageTime(EngineSubsystem.PHYSIC);
+            event.graphic = this.getLastStageTime(EngineSubsystem.GRAPHIC);
+            event.commit();
+        }
+    }
+
+    /**
+     * Provide the time spent by a subsystem during the last frame, to be called from the frame thread.
+     *
+     * @param subsystem Subsystem to check.
+     * @return The update time, in nanoseconds.
+     */
+    long getLastStageTime(EngineSubsystem subsystem) {
+        return this.lastStageTimes[subsystem.ordinal()];
+    }
+
+    @Override
+    public long getFrameCount() {
+        return this.frameCount;
+    }
+
+    @Override
+    public FrameTimeStatistics getFrameTime() {
+        return this.frameTime;
+    }
+
+    @Override
+    public FrameTimeStatistics getStageTime(EngineSubsystem subsystem) {
+        return this.stageTimes[subsystem.ordinal()];
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal;
+
+import be.yildizgames.engine.client.FramePacingMetrics;
+import be.yildizgames.engine.client.FramePacingMode;
+import be.yildizgames.engine.client.GameEngineOptions;
+
+/**
+ * Choose the frame rate target from the measured frame time.
+ * Only the frame thread updates the values, other threads can read them.
+ *
+ * @author Grégory Van den Borre
+ */
+final class FramePacer implements FramePacingMetrics {
+
+    /**
+     * A frame has headroom when it fits in this fraction of the budget of the next higher target.
+     */
+    private static final float HEADROOM = 0.8f;
+
+    private static final long ONE_SECOND = 1_000_000_000L;
+
+    private final FramePacingMode mode;
+
+    private final int minFrameRate;
+
+    private final int maxFrameRate;
+
+    private final int adaptiveFrames;
+
+    private volatile int targetFrameRate;
+
+    private volatile long lastFrameTime;
+
+    private volatile long missedFrames;
+
+    private volatile long decreases;
+
+    private volatile long increases;
+
+    /**
+     * Number of consecutive frames over the budget.
+     */
+    private int consecutiveMissed;
+
+    /**
+     * Number of consecutive frames with headroom.
+     */
+    private int consecutiveHeadroom;
+
+    /**
+     * Create a new pacer.
+     *
+     * @param options Pacing mode and frame rates [Requires not null].
+     */
+    FramePacer(GameEngineOptions options) {
+        super();
+        this.mode = options.getFramePacingMode();
+        this.minFrameRate = options.getMinFrameRate();
+        this.maxFrameRate = options.getFrameRate();
+        this.adaptiveFrames = options.getAdaptiveFrames();
+        this.targetFrameRate = this.mode == FramePacingMode.UNLIMITED ? 0 : this.maxFrameRate;
+    }
+
+    /**
+     * Take into account the time spent by a frame.
+     *
+     * @param frameTime Frame time, in nanoseconds.
+     * @return True if the target changed and must be applied to the frame limiter.
+     */
+    boolean frameDone(long frameTime) {
+        this.lastFrameTime = frameTime;
+        if (this.mode == FramePacingMode.UNLIMITED) {
+            return false;
+        }
+        int target = this.targetFrameRate;
+        boolean missed = frameTime > ONE_SECOND / target;
+        if (missed) {
+            this.missedFrames++;
+        }
+        if (this.mode == FramePacingMode.FIXED) {
+            return false;
+        }
+        if (missed) {
+            this.consecutiveHeadroom = 0;
+            this.consecutiveMissed++;
+            if (this.consecutiveMissed >= this.adaptiveFrames && target > this.minFrameRate) {
+                this.consecutiveMissed = 0;
+                this.targetFrameRate = Math.max(this.minFrameRate, target - step(target));
+                this.decreases++;
+                return true;
+            }
+            return false;
+        }
+        this.consecutiveMissed = 0;
+        int higher = Math.min(this.maxFrameRate, target + step(target));
+        if (higher > target && frameTime < ONE_SECOND / higher * HEADROOM) {
+            this.consecutiveHeadroom++;
+            if (this.consecutiveHeadroom >= this.adaptiveFrames) {
+                this.consecutiveHeadroom = 0;
+                this.targetFrameRate = higher;
+                this.increases++;
+                return true;
+            }
+        } else {
+            this.consecutiveHeadroom = 0;
+        }
+        return false;
+    }
+
+    /**
+     * The target changes by a tenth of its value, and at least by one frame.
+     *
+     * @param target Current target.
+     * @return The change to apply.
+     */
+    private static int step(int target) {
+        return Math.max(1, target / 10);
+    }
+
+    @Override
+    public FramePacingMode getMode() {
+        return this.mode;
+    }
+
+    @Override
+    public int getTargetFrameRate() {
+        return this.targetFrameRate;
+    }
+
+    @Override
+    public long getLastFrameTime() {
+        return this.lastFrameTime;
+    }
+
+    @Override
+    public long getMissedFrames() {
+        return this.missedFrames;
+    }
+
+    @Override
+    public long getDecreases() {
+        return this.decreases;
+    }
+
+    @Override
+    public long getIncreases() {
+        return this.increases;
+    }
+}
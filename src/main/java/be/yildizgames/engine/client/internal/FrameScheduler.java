@@ -0,0 +1,291 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal;
+
+import be.yildizgames.engine.client.EngineSubsystem;
+import be.yildizgames.engine.client.GameEngineOptions;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Run the subsystem updates of a frame following their declared dependencies.
+ * Without worker, the updates are run sequentially on the frame thread, in dependency order.
+ * With workers, the subsystems not bound to the frame thread are run on the pool as soon as their dependencies are done,
+ * the frame thread runs the others and waits until all the updates are complete.
+ *
+ * @author Grégory Van den Borre
+ */
+final class FrameScheduler {
+
+    /**
+     * Subsystems driving native windowing and rendering contexts, or sharing the scene with them,
+     * they must stay on the frame thread.
+     */
+    private static final Set<EngineSubsystem> FRAME_THREAD_BOUND = EnumSet.of(EngineSubsystem.WINDOW, EngineSubsystem.PHYSIC, EngineSubsystem.GRAPHIC);
+
+    /**
+     * Marker sent to the frame thread when the last update completes on a worker.
+     */
+    private final Stage wakeUp = new Stage(null, () -> {}, true);
+
+    /**
+     * Stages in dependency order.
+     */
+    private final Stage[] stages;
+
+    /**
+     * Stages without dependency, started first.
+     */
+    private final Stage[] roots;
+
+    /**
+     * Stages ready to be run on the frame thread.
+     */
+    private final BlockingQueue<Stage> frameThreadQueue;
+
+    /**
+     * Number of stages not yet complete in the current frame.
+     */
+    private final AtomicInteger remaining = new AtomicInteger();
+
+    /**
+     * First failure occurring during the current frame.
+     */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /**
+     * Pool running the updates, null when sequential.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Receive the time spent by every update.
+     */
+    private final FrameMetricsRecorder metrics;
+
+    /**
+     * Create a new scheduler.
+     *
+     * @param updates Update logic for every subsystem [Requires not null].
+     * @param options Dependencies between subsystems and number of workers [Requires not null].
+     * @param metrics Receive the time spent by every update [Requires not null].
+     * @throws IllegalArgumentException If the dependencies contain a cycle.
+     */
+    FrameScheduler(Map<EngineSubsystem, Runnable> updates, GameEngineOptions options, FrameMetricsRecorder metrics) {
+        super();
+        this.metrics = metrics;
+        List<EngineSubsystem> order = sort(updates.keySet(), options);
+        Stage[] byOrdinal = new Stage[EngineSubsystem.values().length];
+        this.stages = new Stage[order.size()];
+        for (int i = 0; i < order.size(); i++) {
+            EngineSubsystem subsystem = order.get(i);
+            this.stages[i] = new Stage(subsystem, updates.get(subsystem), FRAME_THREAD_BOUND.contains(subsystem));
+            byOrdinal[subsystem.ordinal()] = this.stages[i];
+        }
+        List<Stage> rootList = new ArrayList<>();
+        for (Stage stage : this.stages) {
+            List<Stage> dependents = new ArrayList<>();
+            for (Stage other : this.stages) {
+                if (options.getUpdateDependencies(other.subsystem).contains(stage.subsystem)) {
+                    dependents.add(other);
+                }
+            }
+            stage.dependents = dependents.toArray(new Stage[0]);
+            for (EngineSubsystem dependency : options.getUpdateDependencies(stage.subsystem)) {
+                if (byOrdinal[dependency.ordinal()] != null) {
+                    stage.dependencyCount++;
+                }
+            }
+            if (stage.dependencyCount == 0) {
+                rootList.add(stage);
+            }
+        }
+        this.roots = rootList.toArray(new Stage[0]);
+        this.frameThreadQueue = new ArrayBlockingQueue<>(this.stages.length + 2);
+        this.executor = options.getUpdateWorkers() == 0 ? null : Executors.newFixedThreadPool(options.getUpdateWorkers(), r -> {
+            Thread t = new Thread(r, "engine-update");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Sort the subsystems so every one comes after its dependencies, keeping the default order when possible.
+     *
+     * @param subsystems Subsystems to sort.
+     * @param options    Declared dependencies.
+     * @return The sorted subsystems.
+     * @throws IllegalArgumentException If the dependencies contain a cycle.
+     */
+    private static List<EngineSubsystem> sort(Set<EngineSubsystem> subsystems, GameEngineOptions options) {
+        List<EngineSubsystem> result = new ArrayList<>();
+        Set<EngineSubsystem> left = EnumSet.copyOf(subsystems);
+        while (!left.isEmpty()) {
+            EngineSubsystem next = null;
+            for (EngineSubsystem candidate : left) {
+                boolean ready = true;
+                for (EngineSubsystem dependency : options.getUpdateDependencies(candidate)) {
+                    if (left.contains(dependency)) {
+                        ready = false;
+                        break;
+                    }
+                }
+                if (ready) {
+                    next = candidate;
+                    break;
+                }
+            }
+            if (next == null) {
+                throw new IllegalArgumentException("Cyclic update dependencies between: " + left);
+            }
+            left.remove(next);
+            result.add(next);
+        }
+        return result;
+    }
+
+    /**
+     * Run all the updates for one frame and wait for them to complete.
+     * If an update failed, the first failure is rethrown once all the others are done.
+     */
+    void runFrame() {
+        if (this.executor == null) {
+            for (Stage stage : this.stages) {
+                this.runTimed(stage);
+            }
+            return;
+        }
+        this.remaining.set(this.stages.length);
+        for (Stage stage : this.stages) {
+            stage.pending.set(stage.dependencyCount);
+        }
+        for (Stage stage : this.roots) {
+            this.dispatch(stage);
+        }
+        try {
+            while (this.remaining.get() > 0) {
+                Stage stage = this.frameThreadQueue.take();
+                if (stage != this.wakeUp) {
+                    this.execute(stage);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the subsystem updates.", e);
+        }
+        Throwable t = this.failure.getAndSet(null);
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        } else if (t != null) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Stop the worker threads.
+     */
+    void close() {
+        if (this.executor != null) {
+            this.executor.shutdown();
+        }
+    }
+
+    private void dispatch(Stage stage) {
+        if (stage.frameThread) {
+            this.frameThreadQueue.offer(stage);
+        } else {
+            this.executor.execute(stage);
+        }
+    }
+
+    private void runTimed(Stage stage) {
+        long start = System.nanoTime();
+        stage.update.run();
+        this.metrics.recordStage(stage.subsystem, System.nanoTime() - start);
+    }
+
+    private void execute(Stage stage) {
+        try {
+            this.runTimed(stage);
+        } catch (Throwable t) {
+            this.failure.compareAndSet(null, t);
+        } finally {
+            for (Stage dependent : stage.dependents) {
+                if (dependent.pending.decrementAndGet() == 0) {
+                    this.dispatch(dependent);
+                }
+            }
+            if (this.remaining.decrementAndGet() == 0 && !stage.frameThread) {
+                this.frameThreadQueue.offer(this.wakeUp);
+            }
+        }
+    }
+
+    /**
+     * One subsystem update and its position in the dependency graph.
+     */
+    private final class Stage implements Runnable {
+
+        private final EngineSubsystem subsystem;
+
+        private final Runnable update;
+
+        private final boolean frameThread;
+
+        /**
+         * Dependencies not yet complete in the current frame.
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Stage[] dependents = new Stage[0];
+
+        private int dependencyCount;
+
+        private Stage(EngineSubsystem subsystem, Runnable update, boolean frameThread) {
+            super();
+            this.subsystem = subsystem;
+            this.update = update;
+            this.frameThread = frameThread;
+        }
+
+        @Override
+        public void run() {
+            FrameScheduler.this.execute(this);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal;
+
+import be.yildizgames.common.file.ResourcePath;
+import be.yildizgames.engine.client.ResourceLoadListener;
+import be.yildizgames.engine.client.ResourceLoadStep;
+
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Register the resource groups without blocking the frames.
+ * Several groups are loaded in parallel, each one is checked then registered in the audio engine on a loader thread,
+ * while its graphic registration waits for the next frame to run on the frame thread.
+ *
+ * @author Grégory Van den Borre
+ */
+final class ResourceLoader {
+
+    private static final System.Logger LOGGER = System.getLogger(ResourceLoader.class.getName());
+
+    /**
+     * Register a group in the audio engine, called from a loader thread.
+     */
+    private final Consumer<ResourcePath> audio;
+
+    /**
+     * Register a group in the graphic engine, called from the frame thread.
+     */
+    private final Consumer<ResourcePath> graphic;
+
+    /**
+     * Maximum time waited for a graphic registration before pumping the window again, in milliseconds.
+     */
+    private static final long PUMP_PERIOD = 10;
+
+    /**
+     * Graphic registrations waiting for the frame thread.
+     */
+    private final BlockingQueue<Runnable> frameTasks = new LinkedBlockingQueue<>();
+
+    private final ExecutorService loader = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "engine-resource-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Create a new loader.
+     *
+     * @param audio   Register a group in the audio engine, must be thread safe.
+     * @param graphic Register a group in the graphic engine.
+     */
+    ResourceLoader(Consumer<ResourcePath> audio, Consumer<ResourcePath> graphic) {
+        super();
+        this.audio = audio;
+        this.graphic = graphic;
+    }
+
+    /**
+     * Start the registration of a group.
+     *
+     * @param resource Resource group data.
+     * @param listener Listener notified when each step is done.
+     * @return A future completed once the group is registered in both engines.
+     */
+    CompletableFuture<ResourcePath> load(ResourcePath resource, ResourceLoadListener listener) {
+        Objects.requireNonNull(resource);
+        Objects.requireNonNull(listener);
+        CompletableFuture<ResourcePath> scanned = CompletableFuture.supplyAsync(() -> {
+            if (!resource.exists("")) {
+                throw new IllegalStateException("File not found: " + resource.getPath());
+            }
+            LOGGER.log(System.Logger.Level.INFO,"Registering resource group {0} ...", resource.getName());
+            listener.stepDone(resource, ResourceLoadStep.SCANNED);
+            return resource;
+        }, this.loader);
+        CompletableFuture<Void> audioDone = scanned.thenAcceptAsync(r -> {
+            this.audio.accept(r);
+            listener.stepDone(r, ResourceLoadStep.AUDIO_REGISTERED);
+        }, this.loader);
+        CompletableFuture<Void> graphicDone = scanned.thenAcceptAsync(r -> {
+            this.graphic.accept(r);
+            listener.stepDone(r, ResourceLoadStep.GRAPHIC_REGISTERED);
+        }, this.frameTasks::add);
+        return CompletableFuture.allOf(audioDone, graphicDone).thenApply(v -> {
+            LOGGER.log(System.Logger.Level.INFO,"Resource group {0} registered.", resource.getName());
+            return resource;
+        });
+    }
+
+    /**
+     * Run the graphic registrations ready to be done, to be called from the frame thread.
+     */
+    void runFrameTasks() {
+        Runnable task = this.frameTasks.poll();
+        while (task != null) {
+            task.run();
+            task = this.frameTasks.poll();
+        }
+    }
+
+    /**
+     * Wait for a registration on the frame thread, the graphic registrations are run as soon as they are ready,
+     * and the pump is called regularly to keep the application awake.
+     *
+     * @param registration Registration to wait for.
+     * @param pump         Called while waiting.
+     * @return The registered resource.
+     * @throws IllegalStateException If the registration failed, or if the thread is interrupted.
+     */
+    ResourcePath await(CompletableFuture<ResourcePath> registration, Runnable pump) {
+        try {
+            while (!registration.isDone()) {
+                pump.run();
+                Runnable task = this.frameTasks.poll(PUMP_PERIOD, TimeUnit.MILLISECONDS);
+                while (task != null) {
+                    task.run();
+                    task = this.frameTasks.poll();
+                }
+            }
+            return registration.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while registering resources.", e);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    void close() {
+        this.loader.shutdown();
+    }
+}
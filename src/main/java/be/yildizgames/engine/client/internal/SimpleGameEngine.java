@@ -29,10 +29,7 @@ import be.yildizgames.common.client.config.Configuration;
 import be.yildizgames.common.client.debug.DebugListener;
 import be.yildizgames.common.file.ResourcePath;
 import be.yildizgames.common.model.Version;
-import be.yildizgames.engine.client.GameEngine;
-import be.yildizgames.engine.client.exception.InvalidClientVersionException;
-import be.yildizgames.engine.client.world.ClientWorld;
-import be.yildizgames.engine.client.world.internal.GraphicPhysicWorld;
+import be.yildizgames.engine.client.GameEngineOptions;
 import be.yildizgames.module.audio.AudioEngine;
 import be.yildizgames.module.audio.BaseAudioEngine;
 import be.yildizgames.module.graphic.BaseGraphicEngine;
@@ -42,7 +39,6 @@ import be.yildizgames.module.physics.BasePhysicEngine;
 import be.yildizgames.module.physics.PhysicWorld;
 import be.yildizgames.module.script.ScriptInterpreter;
 import be.yildizgames.module.window.BaseWindowEngine;
-import be.yildizgames.shared.game.engine.AbstractGameEngine;
 import be.yildizgames.shared.protocol.EngineMessageFactory;
 
 import java.util.Objects;
@@ -52,15 +48,10 @@ import java.util.Objects;
  *
  * @author Grégory Van den Borre
  */
-public class SimpleGameEngine extends AbstractGameEngine implements GameEngine {
+public class SimpleGameEngine extends BaseClientGameEngine {
 
     private static final System.Logger LOGGER = System.getLogger(SimpleGameEngine.class.getName());
 
-    /**
-     * Maximum frame per seconds.
-     */
-    private static final int FPS = 60;
-
     private final ScriptInterpreter scriptInterpreter;
 
     private final BaseWindowEngine windowEngine;
@@ -82,26 +73,6 @@ public class SimpleGameEngine extends AbstractGameEngine implements GameEngine {
      */
     private final Client networkEngine;
 
-    /**
-     * Current configuration.
-     */
-    private final Configuration configuration;
-
-    /**
-     * True if the loop is currently running.
-     */
-    private boolean running;
-
-    /**
-     * Flag to check if the engines must run in debug mode or not.
-     */
-    private boolean debug;
-
-    /**
-     * Flag to check if engine is closed.
-     */
-    private boolean closed = false;
-
     private final EngineMessageFactory messageFactory = new EngineMessageFactory();
 
     /**
@@ -109,11 +80,10 @@ public class SimpleGameEngine extends AbstractGameEngine implements GameEngine {
      *
      * @param config      Configuration.
      * @param gameVersion Version of the game.
+     * @param options     Optional engine behaviors.
      */
-    public SimpleGameEngine(final Configuration config, final Version gameVersion) {
-        super(gameVersion);
-        Objects.requireNonNull(config);
-        this.configuration = config;
+    public SimpleGameEngine(final Configuration config, final Version gameVersion, final GameEngineOptions options) {
+        super(config, gameVersion, options);
         LOGGER.log(System.Logger.Level.INFO,"Initializing client game engine...");
         this.windowEngine = BaseWindowEngine.getEngine();
         this.graphicEngine = BaseGraphicEngine.getEngine(this.windowEngine);
@@ -126,6 +96,16 @@ public class SimpleGameEngine extends AbstractGameEngine implements GameEngine {
         LOGGER.log(System.Logger.Level.INFO,"Initializing client game engine complete.");
     }
 
+    /**
+     * Create an engine with the default options.
+     *
+     * @param config      Configuration.
+     * @param gameVersion Version of the game.
+     */
+    public SimpleGameEngine(final Configuration config, final Version gameVersion) {
+        this(config, gameVersion, GameEngineOptions.defaultOptions());
+    }
+
     public SimpleGameEngine(final Version gameVersion) {
         this(Configuration.getInstance(), gameVersion);
     }
@@ -155,73 +135,54 @@ public class SimpleGameEngine extends AbstractGameEngine implements GameEngine {
     }
 
     @Override
-    public final void start() {
-        this.initialize();
-        LOGGER.log(System.Logger.Level.INFO,"Game engine started.");
-        if (!this.running) {
-            this.running = true;
-            this.setFrameLimiter(SimpleGameEngine.FPS);
-            while (this.running) {
-                this.runOneFrame();
-            }
-            this.close();
-        }
+    protected final void updateNetwork() {
+        this.networkEngine.update();
     }
 
-    /**
-     * Run just graphic frame.
-     */
     @Override
-    public final void runOneFrameImpl() {
-        this.networkEngine.update();
+    protected final void updateWindow() {
         this.windowEngine.update();
+    }
+
+    @Override
+    protected final void updateSound() {
         this.soundEngine.update();
+    }
+
+    @Override
+    protected final void updatePhysic() {
         this.physicEngine.update();
-        this.graphicEngine.update();
     }
 
     @Override
-    public final void stop() {
-        this.networkEngine.sendMessage(messageFactory.closeSession());
-        this.running = false;
+    protected final void updateGraphic() {
+        this.graphicEngine.update();
     }
 
     @Override
-    public final void addResourcePath(final ResourcePath resource) {
-        Objects.requireNonNull(resource);
-        if (!resource.exists("")) {
-            throw new IllegalStateException("File not found: " + resource.getPath());
-        }
-        this.windowEngine.update();
-        LOGGER.log(System.Logger.Level.INFO,"Registering resource group {} ...", resource.getName());
-        this.soundEngine.addResourcePath(resource);
-        this.graphicEngine.addResourcePath(resource);
-        LOGGER.log(System.Logger.Level.INFO,"Resource group {} registered.", resource.getName());
+    protected final GraphicWorld createGraphicWorld() {
+        return this.graphicEngine.createWorld();
     }
 
     @Override
-    public final ClientWorld createWorld() {
-        GraphicWorld graphic = this.graphicEngine.createWorld();
-        PhysicWorld physic = this.physicEngine.createWorld();
+    protected final PhysicWorld createPhysicWorld() {
+        return this.physicEngine.createWorld();
+    }
 
-        ClientWorld world = new GraphicPhysicWorld(graphic, physic);
-        if (this.debug) {
-            world.setDebugMode();
-        }
-        return world;
+    @Override
+    public final void stop() {
+        this.networkEngine.sendMessage(messageFactory.closeSession());
+        this.stopLoop();
     }
 
     @Override
-    public final Configuration getConfiguration() {
-        return this.configuration;
+    protected final void registerAudioResource(final ResourcePath resource) {
+        this.soundEngine.addResourcePath(resource);
     }
 
     @Override
-    public final void checkVersion(final Version version) {
-        //TODO just make a call to the server and retrieve the expected version from there.
-        if (!this.getGameVersion().equals(version)) {
-            throw new InvalidClientVersionException(version, this.getGameVersion());
-        }
+    protected final void registerGraphicResource(final ResourcePath resource) {
+        this.graphicEngine.addResourcePath(resource);
     }
 
     @Override
@@ -237,29 +198,17 @@ public class SimpleGameEngine extends AbstractGameEngine implements GameEngine {
      */
     public final void setDebugListener(final DebugListener listener) {
         Objects.requireNonNull(listener);
-        if(this.debug) {
+        if(this.isDebug()) {
             this.addFrameListener(new FrameRateDisplayer(listener, this.graphicEngine));
             this.graphicEngine.getEventManager().setDebugListener(listener);
         }
     }
 
-    /**
-     * Close all engines, ensure that the game loop is no longer running before using this.
-     */
-    public final void close() {
-        if (!this.closed) {
-            LOGGER.log(System.Logger.Level.INFO,"Closing engines...");
-            this.closed = true;
-            this.graphicEngine.close();
-            this.physicEngine.close();
-            this.soundEngine.close();
-            this.networkEngine.close();
-            LOGGER.log(System.Logger.Level.INFO,"Engines closed.");
-        }
-    }
-
     @Override
-    public final boolean isClosed() {
-        return this.closed;
+    protected final void closeSubsystems() {
+        this.graphicEngine.close();
+        this.physicEngine.close();
+        this.soundEngine.close();
+        this.networkEngine.close();
     }
 }
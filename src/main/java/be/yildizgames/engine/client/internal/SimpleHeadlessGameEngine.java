@@ -0,0 +1,175 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal;
+
+import be.yildizgames.common.client.config.Configuration;
+import be.yildizgames.common.file.ResourcePath;
+import be.yildizgames.common.model.Version;
+import be.yildizgames.engine.client.EngineSubsystem;
+import be.yildizgames.engine.client.GameEngineOptions;
+import be.yildizgames.engine.client.HeadlessBackend;
+import be.yildizgames.engine.client.HeadlessGameEngine;
+import be.yildizgames.engine.client.HeadlessRunReport;
+import be.yildizgames.module.audio.AudioEngine;
+import be.yildizgames.module.graphic.GraphicEngine;
+import be.yildizgames.module.graphic.GraphicWorld;
+import be.yildizgames.module.network.client.NetworkClient;
+import be.yildizgames.module.physics.PhysicWorld;
+import be.yildizgames.module.script.ScriptInterpreter;
+import be.yildizgames.module.window.WindowEngine;
+
+import java.util.Objects;
+
+/**
+ * Engine running the client frame loop over an injected backend instead of the window, graphic, sound, physic and network engines.
+ *
+ * @author Grégory Van den Borre
+ */
+public class SimpleHeadlessGameEngine extends BaseClientGameEngine implements HeadlessGameEngine {
+
+    /**
+     * Subsystems updated by the frames.
+     */
+    private final HeadlessBackend backend;
+
+    /**
+     * True once the initializables have been run by runFrames.
+     */
+    private boolean initialized;
+
+    /**
+     * Create a new headless engine.
+     *
+     * @param config      Configuration.
+     * @param gameVersion Version of the game.
+     * @param options     Optional engine behaviors.
+     * @param backend     Subsystems to update.
+     */
+    public SimpleHeadlessGameEngine(final Configuration config, final Version gameVersion, final GameEngineOptions options, final HeadlessBackend backend) {
+        super(config, gameVersion, options);
+        Objects.requireNonNull(backend);
+        this.backend = backend;
+    }
+
+    @Override
+    public final HeadlessRunReport runFrames(final int frames) {
+        if (frames < 0) {
+            throw new IllegalArgumentException("Frames cannot be negative.");
+        }
+        if (this.isClosed()) {
+            throw new IllegalStateException("Engine is closed.");
+        }
+        if (!this.initialized) {
+            this.initialize();
+            this.initialized = true;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            this.runOneFrame();
+        }
+        return new HeadlessRunReport(frames, System.nanoTime() - start);
+    }
+
+    @Override
+    protected final void updateNetwork() {
+        this.backend.update(EngineSubsystem.NETWORK);
+    }
+
+    @Override
+    protected final void updateWindow() {
+        this.backend.update(EngineSubsystem.WINDOW);
+    }
+
+    @Override
+    protected final void updateSound() {
+        this.backend.update(EngineSubsystem.SOUND);
+    }
+
+    @Override
+    protected final void updatePhysic() {
+        this.backend.update(EngineSubsystem.PHYSIC);
+    }
+
+    @Override
+    protected final void updateGraphic() {
+        this.backend.update(EngineSubsystem.GRAPHIC);
+    }
+
+    @Override
+    protected final GraphicWorld createGraphicWorld() {
+        return this.backend.createGraphicWorld();
+    }
+
+    @Override
+    protected final PhysicWorld createPhysicWorld() {
+        return this.backend.createPhysicWorld();
+    }
+
+    @Override
+    public final void stop() {
+        this.stopLoop();
+    }
+
+    @Override
+    protected final void registerAudioResource(final ResourcePath resource) {
+        //The backend registers the whole group with the graphic part.
+    }
+
+    @Override
+    protected final void registerGraphicResource(final ResourcePath resource) {
+        this.backend.addResourcePath(resource);
+    }
+
+    @Override
+    public final ScriptInterpreter getScriptingEngine() {
+        return this.backend.getScriptingEngine();
+    }
+
+    @Override
+    public final AudioEngine getAudioEngine() {
+        return this.backend.getAudioEngine();
+    }
+
+    @Override
+    public final NetworkClient getNetworkEngine() {
+        return this.backend.getNetworkEngine();
+    }
+
+    @Override
+    public final GraphicEngine getGraphicEngine() {
+        return this.backend.getGraphicEngine();
+    }
+
+    @Override
+    public final WindowEngine getWindowEngine() {
+        return this.backend.getWindowEngine();
+    }
+
+    @Override
+    protected final void closeSubsystems() {
+        this.backend.close();
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal;
+
+import be.yildizgames.engine.client.EngineSubsystem;
+import be.yildizgames.engine.client.SpikeDumpReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keep the records of the last frames in a preallocated ring buffer.
+ * When a frame exceeds the threshold, the recorder waits for half of the buffer to be filled with the following frames,
+ * and then dumps the whole buffer to a file, on a background thread.
+ * The file format is read by SpikeDumpReader:
+ * header: magic int (SpikeDumpReader.MAGIC), version short (SpikeDumpReader.VERSION), subsystem count byte, threshold long (ns), spike frame long, record count int,
+ * then for every record, oldest first: frame long, frame time long (ns), frame interval long (ns),
+ * every subsystem time long (ns), objects created int, objects deleted int.
+ *
+ * @author Grégory Van den Borre
+ */
+final class SpikeRecorder {
+
+    static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Byte.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    static final int STAGES = EngineSubsystem.values().length;
+
+    static final int RECORD_SIZE = Long.BYTES * (3 + STAGES) + Integer.BYTES * 2;
+
+    private static final System.Logger LOGGER = System.getLogger(SpikeRecorder.class.getName());
+
+    private final Path directory;
+
+    private final long threshold;
+
+    private final int capacity;
+
+    private final long[] frames;
+
+    private final long[] frameTimes;
+
+    private final long[] intervals;
+
+    /**
+     * Subsystem times, STAGES values per record.
+     */
+    private final long[] stageTimes;
+
+    private final int[] created;
+
+    private final int[] deleted;
+
+    /**
+     * Index where the next record is written.
+     */
+    private int next;
+
+    /**
+     * Number of records in the buffer.
+     */
+    private int size;
+
+    /**
+     * Frames still to record before dumping, negative when no spike is pending.
+     */
+    private int beforeDump = -1;
+
+    /**
+     * Frame number of the pending spike.
+     */
+    private long spikeFrame;
+
+    /**
+     * Dump content, filled on the frame thread and written by the writer thread.
+     */
+    private final ByteBuffer dump;
+
+    /**
+     * True while the writer thread is using the dump buffer.
+     */
+    private final AtomicBoolean writing = new AtomicBoolean();
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "engine-spike-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Create a new recorder.
+     *
+     * @param directory Directory where the dumps are written.
+     * @param threshold Spike threshold, in milliseconds.
+     * @param capacity  Number of frames kept.
+     */
+    SpikeRecorder(Path directory, long threshold, int capacity) {
+        super();
+        this.directory = directory;
+        this.threshold = threshold * 1_000_000L;
+        this.capacity = capacity;
+        this.frames = new long[capacity];
+        this.frameTimes = new long[capacity];
+        this.intervals = new long[capacity];
+        this.stageTimes = new long[capacity * STAGES];
+        this.created = new int[capacity];
+        this.deleted = new int[capacity];
+        this.dump = ByteBuffer.allocateDirect(HEADER_SIZE + RECORD_SIZE * capacity);
+    }
+
+    /**
+     * Add a frame record, to be called from the frame thread.
+     *
+     * @param frame     Frame number.
+     * @param frameTime Time spent in the frame updates, in nanoseconds.
+     * @param interval  Time since the previous frame started, in nanoseconds.
+     * @param metrics   Provide the subsystems time of the frame.
+     * @param created   Number of objects created during the frame.
+     * @param deleted   Number of objects deleted during the frame.
+     */
+    void record(long frame, long frameTime, long interval, FrameMetricsRecorder metrics, int created, int deleted) {
+        int i = this.next;
+        this.frames[i] = frame;
+        this.frameTimes[i] = frameTime;
+        this.intervals[i] = interval;
+        for (EngineSubsystem subsystem : EngineSubsystem.values()) {
+            this.stageTimes[i * STAGES + subsystem.ordinal()] = metrics.getLastStageTime(subsystem);
+        }
+        this.created[i] = created;
+        this.deleted[i] = deleted;
+        this.next = (i + 1) % this.capacity;
+        this.size = Math.min(this.size + 1, this.capacity);
+        if (this.beforeDump < 0 && Math.max(frameTime, interval) > this.threshold) {
+            this.spikeFrame = frame;
+            this.beforeDump = this.capacity / 2;
+        }
+        if (this.beforeDump == 0) {
+            this.dump();
+        }
+        if (this.beforeDump >= 0) {
+            this.beforeDump--;
+        }
+    }
+
+    /**
+     * Copy the buffer content and write it on the writer thread, the dump is dropped if the previous one is still being written.
+     */
+    private void dump() {
+        if (!this.writing.compareAndSet(false, true)) {
+            LOGGER.log(System.Logger.Level.WARNING, "Frame spike {0} not dumped, previous dump still in progress.", this.spikeFrame);
+            return;
+        }
+        ByteBuffer b = this.dump;
+        b.clear();
+        b.putInt(SpikeDumpReader.MAGIC).putShort(SpikeDumpReader.VERSION).put((byte) STAGES).putLong(this.threshold).putLong(this.spikeFrame).putInt(this.size);
+        int first = (this.next - this.size + this.capacity) % this.capacity;
+        for (int n = 0; n < this.size; n++) {
+            int i = (first + n) % this.capacity;
+            b.putLong(this.frames[i]).putLong(this.frameTimes[i]).putLong(this.intervals[i]);
+            for (int s = 0; s < STAGES; s++) {
+                b.putLong(this.stageTimes[i * STAGES + s]);
+            }
+            b.putInt(this.created[i]).putInt(this.deleted[i]);
+        }
+        b.flip();
+        Path file = this.directory.resolve("spike-" + this.spikeFrame + ".bin");
+        this.writer.execute(() -> this.write(file));
+    }
+
+    private void write(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (this.dump.hasRemaining()) {
+                channel.write(this.dump);
+            }
+            LOGGER.log(System.Logger.Level.INFO, "Frame spike dumped in {0}", file);
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Cannot write frame spike dump " + file, e);
+        } finally {
+            this.writing.set(false);
+        }
+    }
+
+    /**
+     * Stop the writer thread, waiting up to one second for a dump in progress to be completed.
+     */
+    void close() {
+        this.writer.shutdown();
+        try {
+            if (!this.writer.awaitTermination(1, TimeUnit.SECONDS)) {
+                LOGGER.log(System.Logger.Level.WARNING, "Frame spike dump {0} not completed.", this.spikeFrame);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
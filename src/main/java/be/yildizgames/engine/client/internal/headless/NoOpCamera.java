@@ -0,0 +1,66 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal.headless;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.module.graphic.camera.Camera;
+
+/**
+ * Camera without rendering, it stays at the origin looking to negative Z.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class NoOpCamera implements Camera {
+
+    private static final Point3D DIRECTION = Point3D.valueOf(0, 0, -1);
+
+    private final String name;
+
+    /**
+     * Create a new camera.
+     *
+     * @param name Camera name.
+     */
+    public NoOpCamera(String name) {
+        super();
+        this.name = name;
+    }
+
+    @Override
+    public Point3D getPosition() {
+        return Point3D.ZERO;
+    }
+
+    @Override
+    public Point3D getDirection() {
+        return DIRECTION;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+}
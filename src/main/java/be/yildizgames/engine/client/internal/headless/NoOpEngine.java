@@ -0,0 +1,76 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal.headless;
+
+import be.yildizgames.module.audio.AudioEngine;
+import be.yildizgames.module.graphic.GraphicEngine;
+import be.yildizgames.module.network.client.NetworkClient;
+import be.yildizgames.module.window.WindowEngine;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+
+/**
+ * No-op engines, returned by the headless backends to the game code.
+ * The frame loop never calls them, so they are dynamic proxies following the engine interfaces:
+ * the methods returning the engine own type return the engine, the primitive methods return 0 or false, the others return null.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class NoOpEngine {
+
+    public static final AudioEngine AUDIO = create(AudioEngine.class);
+
+    public static final GraphicEngine GRAPHIC = create(GraphicEngine.class);
+
+    public static final NetworkClient NETWORK = create(NetworkClient.class);
+
+    public static final WindowEngine WINDOW = create(WindowEngine.class);
+
+    private NoOpEngine() {
+        super();
+    }
+
+    private static <T> T create(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(NoOpEngine.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Class<?> result = method.getReturnType();
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "NoOp" + type.getSimpleName();
+                default:
+                    break;
+            }
+            if (result.isPrimitive() && result != void.class) {
+                return Array.get(Array.newInstance(result, 1), 0);
+            }
+            return result.isInstance(proxy) ? proxy : null;
+        }));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal.headless;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
+import be.yildizgames.module.graphic.GraphicObject;
+import be.yildizgames.module.graphic.material.Material;
+
+/**
+ * Graphic object without rendering, it keeps its transform and its visibility.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class NoOpGraphicObject extends NoOpMaterialization implements GraphicObject {
+
+    private boolean visible = true;
+
+    private boolean castShadow;
+
+    /**
+     * Create a new graphic object.
+     *
+     * @param id        Object id, can be null.
+     * @param position  Initial position.
+     * @param direction Initial direction.
+     */
+    public NoOpGraphicObject(EntityId id, Point3D position, Point3D direction) {
+        super(id, position, direction);
+    }
+
+    @Override
+    public void show() {
+        this.visible = true;
+    }
+
+    @Override
+    public void hide() {
+        this.visible = false;
+    }
+
+    @Override
+    public boolean isVisible() {
+        return this.visible;
+    }
+
+    @Override
+    public void setCastShadow(boolean castShadow) {
+        this.castShadow = castShadow;
+    }
+
+    @Override
+    public boolean isCastingShadow() {
+        return this.castShadow;
+    }
+
+    @Override
+    public void setMaterial(Material material) {
+        //Does nothing.
+    }
+
+    @Override
+    public void setUnpickable() {
+        //Does nothing.
+    }
+
+    @Override
+    public void setParameter(int index, float v1, float v2, float v3, float v4) {
+        //Does nothing.
+    }
+
+    @Override
+    public void setRenderingDistance(int distance) {
+        //Does nothing.
+    }
+
+    @Override
+    public void setRenderBehind() {
+        //Does nothing.
+    }
+
+    @Override
+    public void rotate(float yaw, float pitch) {
+        //Does nothing.
+    }
+
+    @Override
+    public void lookAt(Point3D target) {
+        //Does nothing.
+    }
+}
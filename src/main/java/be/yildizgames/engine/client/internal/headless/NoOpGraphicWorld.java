@@ -0,0 +1,213 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal.headless;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.module.color.Color;
+import be.yildizgames.module.graphic.Font;
+import be.yildizgames.module.graphic.GraphicObjectBuilder;
+import be.yildizgames.module.graphic.GraphicWorld;
+import be.yildizgames.module.graphic.RayProvider;
+import be.yildizgames.module.graphic.billboard.BillboardSet;
+import be.yildizgames.module.graphic.camera.Camera;
+import be.yildizgames.module.graphic.light.DirectionalLight;
+import be.yildizgames.module.graphic.light.LensFlare;
+import be.yildizgames.module.graphic.light.Light;
+import be.yildizgames.module.graphic.light.PointLight;
+import be.yildizgames.module.graphic.light.SpotLight;
+import be.yildizgames.module.graphic.material.Material;
+import be.yildizgames.module.graphic.misc.ElectricArc;
+import be.yildizgames.module.graphic.misc.Explosion;
+import be.yildizgames.module.graphic.misc.Line;
+import be.yildizgames.module.graphic.misc.MovableText;
+import be.yildizgames.module.graphic.misc.Ocean;
+import be.yildizgames.module.graphic.misc.Sky;
+import be.yildizgames.module.graphic.misc.SkyBox;
+import be.yildizgames.module.graphic.particle.ParticleSystem;
+import be.yildizgames.module.graphic.query.GroundQuery;
+import be.yildizgames.module.graphic.query.Query;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Graphic world without rendering, the objects and the cameras can be created, the world settings are ignored.
+ * The lights, the effects and the queries have no no-op counterpart, creating them throws an UnsupportedOperationException.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class NoOpGraphicWorld implements GraphicWorld {
+
+    private static final String DEFAULT_CAMERA = "default";
+
+    private final Camera defaultCamera = new NoOpCamera(DEFAULT_CAMERA);
+
+    /**
+     * Created cameras, by name.
+     */
+    private final Map<String, Camera> cameras = new HashMap<>();
+
+    private boolean debug;
+
+    @Override
+    public Camera getDefaultCamera() {
+        return this.defaultCamera;
+    }
+
+    @Override
+    public Camera createCamera(String name) {
+        Camera camera = new NoOpCamera(name);
+        this.cameras.put(name, camera);
+        return camera;
+    }
+
+    @Override
+    public Camera getCamera(String name) {
+        if (DEFAULT_CAMERA.equals(name)) {
+            return this.defaultCamera;
+        }
+        return this.cameras.get(name);
+    }
+
+    @Override
+    public GraphicObjectBuilder createObject() {
+        return new NoOpGraphicObjectBuilder();
+    }
+
+    @Override
+    public void setSkybox(SkyBox skyBox) {
+        //Does nothing.
+    }
+
+    @Override
+    public void setDebugMode() {
+        this.debug = true;
+    }
+
+    @Override
+    public boolean isDebug() {
+        return this.debug;
+    }
+
+    @Override
+    public void setAmbientLight(Color color) {
+        //Does nothing.
+    }
+
+    @Override
+    public void serializeShapeFromMesh(String mesh, String file, String name) {
+        //Does nothing.
+    }
+
+    @Override
+    public void deleteLight(Light light) {
+        //Does nothing.
+    }
+
+    @Override
+    public void deleteLight(String name) {
+        //Does nothing.
+    }
+
+    @Override
+    public Light getLight(String name) {
+        return null;
+    }
+
+    @Override
+    public PointLight createPointLight(String name, Point3D position) {
+        throw unsupported("point light");
+    }
+
+    @Override
+    public SpotLight createSpotLight(String name, Point3D position, Point3D direction) {
+        throw unsupported("spot light");
+    }
+
+    @Override
+    public DirectionalLight createDirectionalLight(String name, Point3D position, Point3D direction) {
+        throw unsupported("directional light");
+    }
+
+    @Override
+    public LensFlare createLensFlare(LensFlare.LensFlareMaterial material, Point3D position) {
+        throw unsupported("lens flare");
+    }
+
+    @Override
+    public ElectricArc createElectricArc(Point3D origin, Point3D end, float width) {
+        throw unsupported("electric arc");
+    }
+
+    @Override
+    public Explosion createExplosion() {
+        throw unsupported("explosion");
+    }
+
+    @Override
+    public ParticleSystem createParticleSystem() {
+        throw unsupported("particle system");
+    }
+
+    @Override
+    public Sky createSky() {
+        throw unsupported("sky");
+    }
+
+    @Override
+    public Ocean createOcean() {
+        throw unsupported("ocean");
+    }
+
+    @Override
+    public Line create3DLine() {
+        throw unsupported("line");
+    }
+
+    @Override
+    public MovableText createMovableText(String name, String text, Font font) {
+        throw unsupported("movable text");
+    }
+
+    @Override
+    public BillboardSet createBillboardSet(Material material) {
+        throw unsupported("billboard set");
+    }
+
+    @Override
+    public Query createQuery(RayProvider provider) {
+        throw unsupported("query");
+    }
+
+    @Override
+    public GroundQuery createGroundQuery(RayProvider provider) {
+        throw unsupported("ground query");
+    }
+
+    private static UnsupportedOperationException unsupported(String type) {
+        return new UnsupportedOperationException("No " + type + " in the no-op graphic world.");
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal.headless;
+
+import be.yildizgames.common.gameobject.GameMaterialization;
+import be.yildizgames.common.gameobject.Movable;
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
+
+/**
+ * Object without rendering nor simulation, it only keeps the transform set on it, so the values read back are the last ones set.
+ * The parent and children links are ignored.
+ *
+ * @author Grégory Van den Borre
+ */
+abstract class NoOpMaterialization implements GameMaterialization {
+
+    private final EntityId id;
+
+    private float positionX;
+
+    private float positionY;
+
+    private float positionZ;
+
+    private float directionX;
+
+    private float directionY;
+
+    private float directionZ;
+
+    private float scaleX = 1;
+
+    private float scaleY = 1;
+
+    private float scaleZ = 1;
+
+    NoOpMaterialization(EntityId id, Point3D position, Point3D direction) {
+        super();
+        this.id = id;
+        this.setPosition(position);
+        this.setDirection(direction);
+    }
+
+    @Override
+    public final EntityId getId() {
+        return this.id;
+    }
+
+    @Override
+    public final Point3D getPosition() {
+        return Point3D.valueOf(this.positionX, this.positionY, this.positionZ);
+    }
+
+    @Override
+    public final Point3D getAbsolutePosition() {
+        return this.getPosition();
+    }
+
+    @Override
+    public final Point3D getDirection() {
+        return Point3D.valueOf(this.directionX, this.directionY, this.directionZ);
+    }
+
+    @Override
+    public final Point3D getAbsoluteDirection() {
+        return this.getDirection();
+    }
+
+    @Override
+    public final void setPosition(Point3D position) {
+        this.setPosition(position.x, position.y, position.z);
+    }
+
+    @Override
+    public final void setPosition(float posX, float posY, float posZ) {
+        this.positionX = posX;
+        this.positionY = posY;
+        this.positionZ = posZ;
+    }
+
+    @Override
+    public final void setDirection(Point3D direction) {
+        this.setDirection(direction.x, direction.y, direction.z);
+    }
+
+    @Override
+    public final void setDirection(float dirX, float dirY, float dirZ) {
+        this.directionX = dirX;
+        this.directionY = dirY;
+        this.directionZ = dirZ;
+    }
+
+    @Override
+    public final void rotate(float x, float y, float z, float w) {
+        //Does nothing.
+    }
+
+    @Override
+    public final void scale(float x, float y, float z) {
+        this.scaleX = x;
+        this.scaleY = y;
+        this.scaleZ = z;
+    }
+
+    @Override
+    public final Point3D getScaleSize() {
+        return Point3D.valueOf(this.scaleX, this.scaleY, this.scaleZ);
+    }
+
+    @Override
+    public final void sleep(boolean b) {
+        //Does nothing.
+    }
+
+    @Override
+    public final void attachTo(Movable other) {
+        //Does nothing.
+    }
+
+    @Override
+    public final void attachToOptional(Movable other) {
+        //Does nothing.
+    }
+
+    @Override
+    public final void addChild(Movable other) {
+        //Does nothing.
+    }
+
+    @Override
+    public final void addOptionalChild(Movable other) {
+        //Does nothing.
+    }
+
+    @Override
+    public final void removeChild(Movable child) {
+        //Does nothing.
+    }
+
+    @Override
+    public final void detachFromParent() {
+        //Does nothing.
+    }
+
+    @Override
+    public final Movable getInternal() {
+        return this;
+    }
+
+    @Override
+    public final void delete() {
+        //Does nothing.
+    }
+}
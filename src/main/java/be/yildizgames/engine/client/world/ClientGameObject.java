@@ -147,4 +147,36 @@ public interface ClientGameObject extends GameMaterialization, Deletable {
      */
     ClientGameObject setRenderBehind();
 
+    /**
+     * Provide the position X value without creating a Point3D.
+     * @return The position X value.
+     */
+    float getPositionX();
+
+    /**
+     * Provide the position Y value without creating a Point3D.
+     * @return The position Y value.
+     */
+    float getPositionY();
+
+    /**
+     * Provide the position Z value without creating a Point3D.
+     * @return The position Z value.
+     */
+    float getPositionZ();
+
+    /**
+     * Copy the position x, y and z values in an array, without creating a Point3D.
+     * @param dst Array to fill.
+     * @param offset Index of the x value in the array.
+     */
+    void readPosition(float[] dst, int offset);
+
+    /**
+     * Copy the direction x, y and z values in an array, without creating a Point3D.
+     * @param dst Array to fill.
+     * @param offset Index of the x value in the array.
+     */
+    void readDirection(float[] dst, int offset);
+
 }
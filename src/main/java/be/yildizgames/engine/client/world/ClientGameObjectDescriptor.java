@@ -0,0 +1,336 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
+import be.yildizgames.common.shape.Box;
+import be.yildizgames.common.shape.Plane;
+import be.yildizgames.common.shape.Sphere;
+import be.yildizgames.module.graphic.GraphicMesh;
+import be.yildizgames.module.graphic.material.Material;
+import be.yildizgames.module.physics.PhysicMesh;
+
+import java.util.Objects;
+
+/**
+ * Description of an object to build, to create many objects at once with ClientWorld.createObjects.
+ * Only the attributes set on the descriptor are applied to the builder.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class ClientGameObjectDescriptor {
+
+    /**
+     * Type of object to build.
+     */
+    private final ClientGameObjectKind kind;
+
+    /**
+     * Object unique id, null if not set.
+     */
+    private EntityId id;
+
+    /**
+     * Box shape for graphic and physic, null if not used.
+     */
+    private Box box;
+
+    /**
+     * Sphere shape for graphic and physic, null if not used.
+     */
+    private Sphere sphere;
+
+    /**
+     * Plane shape for graphic and physic, null if not used.
+     */
+    private Plane plane;
+
+    /**
+     * Graphic mesh, null if not used.
+     */
+    private GraphicMesh graphicMesh;
+
+    /**
+     * Physic mesh, null if not used.
+     */
+    private PhysicMesh physicMesh;
+
+    /**
+     * Material to apply on the model, null if not set.
+     */
+    private Material material;
+
+    /**
+     * Initial position.
+     */
+    private Point3D position = Point3D.ZERO;
+
+    /**
+     * Initial direction, null if not set.
+     */
+    private Point3D direction;
+
+    /**
+     * Object mass, only used by dynamic objects.
+     */
+    private float mass;
+
+    private ClientGameObjectDescriptor(final ClientGameObjectKind kind) {
+        super();
+        Objects.requireNonNull(kind);
+        this.kind = kind;
+    }
+
+    /**
+     * Create a new descriptor.
+     *
+     * @param kind Type of object to build.
+     * @return The created descriptor.
+     */
+    public static ClientGameObjectDescriptor of(ClientGameObjectKind kind) {
+        return new ClientGameObjectDescriptor(kind);
+    }
+
+    /**
+     * Specify the object unique id.
+     * @param id Unique id.
+     * @return This object for chaining.
+     */
+    public ClientGameObjectDescriptor withId(EntityId id) {
+        Objects.requireNonNull(id);
+        this.id = id;
+        return this;
+    }
+
+    /**
+     * Specify the shape of the graphic and the physic part.
+     * @param box Shape to use.
+     * @return This object for chaining.
+     */
+    public ClientGameObjectDescriptor withShape(Box box) {
+        Objects.requireNonNull(box);
+        this.clearShape();
+        this.box = box;
+        return this;
+    }
+
+    /**
+     * Specify the shape of the graphic and the physic part.
+     * @param sphere Shape to use.
+     * @return This object for chaining.
+     */
+    public ClientGameObjectDescriptor withShape(Sphere sphere) {
+        Objects.requireNonNull(sphere);
+        this.clearShape();
+        this.sphere = sphere;
+        return this;
+    }
+
+    /**
+     * Specify the shape of the graphic and the physic part.
+     * @param plane Shape to use.
+     * @return This object for chaining.
+     */
+    public ClientGameObjectDescriptor withShape(Plane plane) {
+        Objects.requireNonNull(plane);
+        this.clearShape();
+        this.plane = plane;
+        return this;
+    }
+
+    /**
+     * Specify the shape of the graphic and the physic part.
+     * @param graphicMesh Shape to use for graphic.
+     * @param physicMesh Shape to use for physic.
+     * @return This object for chaining.
+     */
+    public ClientGameObjectDescriptor withShape(GraphicMesh graphicMesh, PhysicMesh physicMesh) {
+        Objects.requireNonNull(graphicMesh);
+        Objects.requireNonNull(physicMesh);
+        this.clearShape();
+        this.graphicMesh = graphicMesh;
+        this.physicMesh = physicMesh;
+        return this;
+    }
+
+    /**
+     * Specify the material to apply on the model.
+     * @param material Material to set.
+     * @return This object for chaining.
+     */
+    public ClientGameObjectDescriptor withMaterial(Material material) {
+        Objects.requireNonNull(material);
+        this.material = material;
+        return this;
+    }
+
+    /**
+     * Specify the object initial position, default is Point3D.ZERO.
+     * @param position Initial position.
+     * @return This object for chaining.
+     */
+    public ClientGameObjectDescriptor atPosition(Point3D position) {
+        Objects.requireNonNull(position);
+        this.position = position;
+        return this;
+    }
+
+    /**
+     * Specify the object initial direction.
+     * @param direction Initial direction.
+     * @return This object for chaining.
+     */
+    public ClientGameObjectDescriptor withDirection(Point3D direction) {
+        Objects.requireNonNull(direction);
+        this.direction = direction;
+        return this;
+    }
+
+    /**
+     * Specify the object mass, only used by dynamic objects, default is 0.
+     * @param mass Object mass.
+     * @return This object for chaining.
+     */
+    public ClientGameObjectDescriptor withMass(float mass) {
+        this.mass = mass;
+        return this;
+    }
+
+    /**
+     * Set the descriptor attributes to a builder, the attributes not set in this descriptor are left untouched.
+     *
+     * @param builder Builder to set.
+     * @return The builder.
+     */
+    public ClientGameObjectBuilder applyTo(ClientGameObjectBuilder builder) {
+        if (this.id != null) {
+            builder.withId(this.id);
+        }
+        if (this.box != null) {
+            builder.withShape(this.box);
+        } else if (this.sphere != null) {
+            builder.withShape(this.sphere);
+        } else if (this.plane != null) {
+            builder.withShape(this.plane);
+        } else if (this.graphicMesh != null) {
+            builder.withShape(this.graphicMesh, this.physicMesh);
+        }
+        if (this.material != null) {
+            builder.withMaterial(this.material);
+        }
+        if (this.direction != null) {
+            builder.withDirection(this.direction);
+        }
+        return builder
+                .atPosition(this.position)
+                .withMass(this.mass);
+    }
+
+    /**
+     * Check if applying this descriptor to a builder overwrites every attribute applied by another one,
+     * the builder can then be reused without keeping any state from the other descriptor.
+     *
+     * @param other Descriptor previously applied.
+     * @return True if every attribute set in other is also set in this descriptor.
+     */
+    public boolean overrides(ClientGameObjectDescriptor other) {
+        return (other.id == null || this.id != null)
+                && (!other.hasShape() || this.hasShape())
+                && (other.material == null || this.material != null)
+                && (other.direction == null || this.direction != null);
+    }
+
+    /**
+     * Check if another descriptor builds the same model, the id and the transform are not compared.
+     *
+     * @param other Descriptor to compare.
+     * @return True if both descriptors have the same kind, shape, material and mass.
+     */
+    public boolean hasSameModel(ClientGameObjectDescriptor other) {
+        return this.kind == other.kind
+                && Objects.equals(this.box, other.box)
+                && Objects.equals(this.sphere, other.sphere)
+                && Objects.equals(this.plane, other.plane)
+                && Objects.equals(this.graphicMesh, other.graphicMesh)
+                && Objects.equals(this.physicMesh, other.physicMesh)
+                && Objects.equals(this.material, other.material)
+                && Float.compare(this.mass, other.mass) == 0;
+    }
+
+    /**
+     * Create a new descriptor with the same kind, shape, material and mass, the id and the transform are not copied.
+     *
+     * @return The created descriptor.
+     */
+    public ClientGameObjectDescriptor copyModel() {
+        ClientGameObjectDescriptor copy = new ClientGameObjectDescriptor(this.kind);
+        copy.box = this.box;
+        copy.sphere = this.sphere;
+        copy.plane = this.plane;
+        copy.graphicMesh = this.graphicMesh;
+        copy.physicMesh = this.physicMesh;
+        copy.material = this.material;
+        copy.mass = this.mass;
+        return copy;
+    }
+
+    public ClientGameObjectKind getKind() {
+        return this.kind;
+    }
+
+    public EntityId getId() {
+        return this.id;
+    }
+
+    public Material getMaterial() {
+        return this.material;
+    }
+
+    public Point3D getPosition() {
+        return this.position;
+    }
+
+    public Point3D getDirection() {
+        return this.direction;
+    }
+
+    public float getMass() {
+        return this.mass;
+    }
+
+    private boolean hasShape() {
+        return this.box != null || this.sphere != null || this.plane != null || this.graphicMesh != null;
+    }
+
+    private void clearShape() {
+        this.box = null;
+        this.sphere = null;
+        this.plane = null;
+        this.graphicMesh = null;
+        this.physicMesh = null;
+    }
+}
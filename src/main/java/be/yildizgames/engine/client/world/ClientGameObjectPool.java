@@ -0,0 +1,95 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world;
+
+import be.yildizgames.common.geometry.Point3D;
+
+/**
+ * Recycle the objects built from a template instead of deleting and rebuilding them.
+ * A released object is hidden, its body is put to sleep and it is parked until acquired again.
+ * The pool keeps at most high watermark parked objects, the extra released objects are deleted.
+ * It is pre-warmed up to its low watermark when created, and trimmed down to it on demand.
+ *
+ * @author Grégory Van den Borre
+ */
+public interface ClientGameObjectPool {
+
+    /**
+     * Provide an object, a parked one if any, a new one otherwise.
+     * The object is moved, woken up and shown.
+     *
+     * @param position  Object position.
+     * @param direction Object direction.
+     * @return The object [ensure not null].
+     */
+    ClientGameObject acquire(Point3D position, Point3D direction);
+
+    /**
+     * Give back an object acquired from this pool, it must not be used anymore until acquired again.
+     *
+     * @param object Object to release.
+     * @throws IllegalArgumentException If the object does not come from this pool.
+     * @throws IllegalStateException If the object is already released.
+     */
+    void release(ClientGameObject object);
+
+    /**
+     * Build objects until the given number of objects are parked, limited by the high watermark.
+     *
+     * @param count Number of parked objects expected.
+     */
+    void prewarm(int count);
+
+    /**
+     * Delete the parked objects above the low watermark.
+     */
+    void trim();
+
+    /**
+     * @return The template used to build the objects.
+     */
+    ClientGameObjectTemplate getTemplate();
+
+    /**
+     * @return The number of objects parked and ready to be acquired.
+     */
+    int getAvailable();
+
+    /**
+     * @return The number of acquisitions served by a parked object.
+     */
+    long getHits();
+
+    /**
+     * @return The number of acquisitions that had to build a new object.
+     */
+    long getMisses();
+
+    /**
+     * @return The number of released objects deleted because the pool was full.
+     */
+    long getDiscarded();
+}
@@ -12,21 +12,56 @@
 
 package be.yildizgames.engine.client.world;
 
+import java.util.Objects;
+
 /**
+ * Model of the objects built by ClientWorld.createObject(template) and by the pools.
+ * A template can provide a descriptor with the shape, material, mass and default transform of its objects,
+ * it is resolved once by the world and every object is then built from the same prototype.
+ *
  * @author Grégory Van den Borre
  */
 public interface ClientGameObjectTemplate {
 
+    /**
+     * Create a template from a descriptor.
+     *
+     * @param descriptor Description of the objects, it must not have an id.
+     * @return The created template.
+     */
+    static ClientGameObjectTemplate from(ClientGameObjectDescriptor descriptor) {
+        Objects.requireNonNull(descriptor);
+        return new ClientGameObjectTemplate() {
+            @Override
+            public ClientGameObjectDescriptor getDescriptor() {
+                return descriptor;
+            }
+        };
+    }
+
+    /**
+     * Provide the description of the objects built from this template, it is only read once by a world,
+     * when the template is first used.
+     *
+     * @return The objects description, without id, null to build objects without shape, material or mass.
+     */
+    default ClientGameObjectDescriptor getDescriptor() {
+        return null;
+    }
+
     default boolean isStatic() {
-        return false;
+        ClientGameObjectDescriptor descriptor = this.getDescriptor();
+        return descriptor != null && descriptor.getKind() == ClientGameObjectKind.STATIC;
     }
 
     default boolean isDynamic() {
-        return false;
+        ClientGameObjectDescriptor descriptor = this.getDescriptor();
+        return descriptor != null && descriptor.getKind() == ClientGameObjectKind.DYNAMIC;
     }
 
     default boolean isMovable() {
-        return false;
+        ClientGameObjectDescriptor descriptor = this.getDescriptor();
+        return descriptor != null && descriptor.getKind() == ClientGameObjectKind.MOVABLE;
     }
 
 }
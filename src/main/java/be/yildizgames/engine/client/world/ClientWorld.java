@@ -27,6 +27,7 @@ package be.yildizgames.engine.client.world;
 
 import be.yildizgames.common.gameobject.CollisionListener;
 import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
 import be.yildizgames.module.color.Color;
 import be.yildizgames.module.graphic.Font;
 import be.yildizgames.module.graphic.RayProvider;
@@ -50,6 +51,12 @@ import be.yildizgames.module.graphic.query.GroundQuery;
 import be.yildizgames.module.graphic.query.Query;
 import be.yildizgames.module.physics.Gravity;
 
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * @author Grégory Van den Borre
  */
@@ -64,14 +71,241 @@ public interface ClientWorld {
     void addGhostCollisionListener(CollisionListener l);
 
 
+    /**
+     * Delete, in one pass, every object built in this world, every light and every camera but the default one.
+     * The objects acquired from a pool are released to it instead, so the pools stay warm for the next level.
+     * The culling and the streaming are disabled, the gravity, collision listeners, sky and ambient light are kept.
+     * The cameras are removed as with removeCamera, so their graphic cameras are reused by the next cameras with the same names.
+     */
+    void clear();
+
+    /**
+     * Clear the world, remove the collision listeners and delete the pools parked objects, the world must no longer be used.
+     * If the engine reuses the worlds, the world backends and pools are kept for the next created world instead,
+     * the gravity is then removed when the world is reused.
+     */
+    void dispose();
+
     /**
      * Create a new game object builder.
      * @return The game object builder.
      */
     ClientGameObjectBuilder createObject();
 
+    /**
+     * Build an object from a template, at the template default transform.
+     * The template is resolved the first time it is used in this world, its descriptor is not read again afterwards.
+     * @param template Template to build the object.
+     * @return The built object.
+     * @throws IllegalArgumentException If the template is used for the first time and its descriptor is invalid.
+     */
     ClientGameObject createObject(ClientGameObjectTemplate template);
 
+    /**
+     * Resolve a template before its first use, for example during a level load, so the first object built from it costs the same as the next ones.
+     * @param template Template to resolve.
+     * @throws IllegalArgumentException If the template descriptor has an id, an invalid mass, or a kind not matching the template flags.
+     */
+    void prepareTemplate(ClientGameObjectTemplate template);
+
+    /**
+     * Provide an object built in this world from its id, deleted objects and objects parked in a pool are not provided.
+     * If several objects were built with the same id, the last one is provided.
+     * @param id Object id.
+     * @return The object, null if no object has this id.
+     */
+    ClientGameObject getObject(EntityId id);
+
+    /**
+     * Call an action for every object built in this world with an id, not deleted and not parked in a pool, in no particular order.
+     * Objects must not be created or deleted by the action.
+     * @param action Action to call.
+     */
+    void forEachObject(Consumer<? super ClientGameObject> action);
+
+    /**
+     * @return The number of objects with an id in this world, the objects parked in a pool are not counted.
+     */
+    int getObjectCount();
+
+    /**
+     * Create many objects at once, the builders are reused between descriptors instead of being created for every object.
+     * @param descriptors Description of the objects to create.
+     * @return The created objects, in the descriptors order.
+     */
+    List<ClientGameObject> createObjects(List<ClientGameObjectDescriptor> descriptors);
+
+    /**
+     * Write the world content in a binary snapshot file: the objects, the lights, the sky and the ocean.
+     * Shapes and materials are not written, an object is written as the index of the palette descriptor with the same model, and its id and transform.
+     * The model of an object is the kind, shape, material and mass it was built with, from a descriptor, a template or a builder.
+     * @param file File to write, replaced if it exists.
+     * @param palette Descriptors of the models used in the world, the same palette must be provided to read the snapshot.
+     * @return The number of objects written.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalStateException If an object was built with separate graphic and physic shapes, or with a model not matching any palette descriptor, nothing is written then.
+     */
+    int writeSnapshot(Path file, List<ClientGameObjectDescriptor> palette) throws IOException;
+
+    /**
+     * Build the content of a snapshot file in this world, the objects are created in batches with createObjects.
+     * @param file File to read.
+     * @param palette Descriptors of the models, as provided to write the snapshot.
+     * @return The number of objects created.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalStateException If the file is not a snapshot, has an unsupported version or is truncated, or if the palette is too small.
+     */
+    int readSnapshot(Path file, List<ClientGameObjectDescriptor> palette) throws IOException;
+
+    /**
+     * Create a pool to recycle the objects built from a template, it is pre-warmed up to its low watermark.
+     * @param template Template to build the objects.
+     * @param lowWatermark Number of parked objects kept after a trim.
+     * @param highWatermark Maximum number of parked objects.
+     * @return The created pool.
+     * @throws IllegalArgumentException If the watermarks are negative or low is greater than high.
+     * @throws IllegalStateException If a pool already exists for this template.
+     */
+    ClientGameObjectPool createPool(ClientGameObjectTemplate template, int lowWatermark, int highWatermark);
+
+    /**
+     * Provide the pool created for a template.
+     * @param template Template used to create the pool.
+     * @return The pool, null if none was created for this template.
+     */
+    ClientGameObjectPool getPool(ClientGameObjectTemplate template);
+
+    /**
+     * Find the objects whose position is inside an axis aligned box, without scanning all the objects.
+     * @param minX Box lowest X value.
+     * @param minY Box lowest Y value.
+     * @param minZ Box lowest Z value.
+     * @param maxX Box highest X value.
+     * @param maxY Box highest Y value.
+     * @param maxZ Box highest Z value.
+     * @param result List receiving the objects, it is cleared first, so the same list can be reused for every query.
+     * @return The number of objects found.
+     */
+    int queryBox(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, List<? super ClientGameObject> result);
+
+    /**
+     * Find the objects whose position is inside a sphere, without scanning all the objects.
+     * @param x Sphere center X value.
+     * @param y Sphere center Y value.
+     * @param z Sphere center Z value.
+     * @param radius Sphere radius.
+     * @param result List receiving the objects, it is cleared first, so the same list can be reused for every query.
+     * @return The number of objects found.
+     */
+    int querySphere(float x, float y, float z, float radius, List<? super ClientGameObject> result);
+
+    /**
+     * Find the objects nearest to a point.
+     * @param x Point X value.
+     * @param y Point Y value.
+     * @param z Point Z value.
+     * @param k Maximum number of objects to find.
+     * @param result List receiving the objects, nearest first, it is cleared first, so the same list can be reused for every query.
+     * @return The number of objects found, k unless the world contains less objects.
+     */
+    int nearestK(float x, float y, float z, int k, List<? super ClientGameObject> result);
+
+    /**
+     * Hide the objects out of a camera view every frame, and show them back when they enter it.
+     * Only the objects whose visibility changed are shown or hidden, an object hidden with hide stays hidden.
+     * Calling it again replaces the previous camera and projection, for example when the window is resized.
+     * @param camera Camera created in this world.
+     * @param fieldOfView Camera vertical field of view, in degrees.
+     * @param aspectRatio Camera view width divided by height.
+     * @param near Camera near clip distance.
+     * @param far Camera far clip distance.
+     * @param boundingRadius Radius of a sphere around the objects positions containing the whole objects, bigger objects may be culled while partially visible.
+     * @throws IllegalArgumentException If the camera was not created in this world or a projection value is invalid.
+     */
+    void enableCulling(BehavioredCamera camera, float fieldOfView, float aspectRatio, float near, float far, float boundingRadius);
+
+    /**
+     * Stop the culling, the objects hidden by the culling are shown back.
+     */
+    void disableCulling();
+
+    /**
+     * Provide the culling result of the last frame.
+     * @return The culling metrics [ensure not null].
+     */
+    CullingMetrics getCullingMetrics();
+
+    /**
+     * Provide the deferred transform synchronization state.
+     * @return The transform synchronization metrics [ensure not null].
+     */
+    TransformSyncMetrics getTransformSyncMetrics();
+
+    /**
+     * Build the world progressively around a camera, the world is divided in square cells on the X and Z axis.
+     * The cells in the radius are read on loader threads, then their objects are built on the frame thread within a
+     * time budget every frame, nearest cell first. The cells leaving the radius by more than one cell are unloaded,
+     * their objects are deleted. The streamed objects must not be deleted directly.
+     * Calling it again unloads the cells streamed so far and starts streaming with the new parameters.
+     * @param camera Camera created in this world, around which the cells are streamed.
+     * @param source Provide the content of the cells.
+     * @param cellSize Size of a cell side.
+     * @param radius Distance from the camera to the cells center under which the cells are loaded.
+     * @param frameBudget Maximum time spent building or deleting objects every frame, in microseconds.
+     * @throws IllegalArgumentException If the camera was not created in this world or a value is not positive.
+     */
+    void enableStreaming(BehavioredCamera camera, WorldCellSource source, float cellSize, float radius, long frameBudget);
+
+    /**
+     * Stop the streaming, the streamed objects are deleted.
+     */
+    void disableStreaming();
+
+    /**
+     * Provide the streaming state.
+     * @return The streaming metrics [ensure not null].
+     */
+    StreamingMetrics getStreamingMetrics();
+
+    /**
+     * Move many objects at once, for example from a server snapshot.
+     * The values are read from the buffers current positions, 3 floats per id, and the buffers positions are moved after the last value.
+     * @param ids Ids of the objects to move, the ids not matching any object of this world are ignored.
+     * @param positions New positions, x, y, z for each id.
+     * @param directions New directions, x, y, z for each id, null to only update the positions.
+     * @return The number of objects moved.
+     * @throws java.nio.BufferUnderflowException If a buffer has not enough remaining values, nothing is moved then.
+     */
+    int applyTransforms(EntityId[] ids, FloatBuffer positions, FloatBuffer directions);
+
+    /**
+     * Move many objects at once, with the first ids of an array, so the same arrays can be reused when the number of objects changes.
+     * @param ids Ids of the objects to move, the ids not matching any object of this world are ignored.
+     * @param count Number of ids to use, from the beginning of the array.
+     * @param positions New positions, x, y, z for each id.
+     * @param directions New directions, x, y, z for each id, null to only update the positions.
+     * @return The number of objects moved.
+     * @throws java.nio.BufferUnderflowException If a buffer has not enough remaining values, nothing is moved then.
+     * @throws IndexOutOfBoundsException If count is negative or greater than the number of ids.
+     */
+    int applyTransforms(EntityId[] ids, int count, FloatBuffer positions, FloatBuffer directions);
+
+    /**
+     * Copy the positions of objects in a buffer, 3 floats per object, from the buffer current position.
+     * @param objects Objects to read, a random access list to avoid creating an iterator.
+     * @param dst Buffer to fill, its position is moved after the last written value.
+     * @throws java.nio.BufferOverflowException If the buffer has not enough remaining space, nothing is written then.
+     */
+    void readPositions(List<? extends ClientGameObject> objects, FloatBuffer dst);
+
+    /**
+     * Copy the positions and directions of objects in a buffer, 6 floats per object, position then direction, from the buffer current position.
+     * @param objects Objects to read, a random access list to avoid creating an iterator.
+     * @param dst Buffer to fill, its position is moved after the last written value.
+     * @throws java.nio.BufferOverflowException If the buffer has not enough remaining space, nothing is written then.
+     */
+    void readTransforms(List<? extends ClientGameObject> objects, FloatBuffer dst);
+
     /**
      * Create a new camera.
      * @param name Camera name, must be unique.
@@ -79,6 +313,37 @@ public interface ClientWorld {
      */
     BehavioredCamera createCamera(String name);
 
+    /**
+     * Create a new camera, and provide its handle, to retrieve it without a lookup by name.
+     * @param name Camera name, must be unique.
+     * @return The created camera handle.
+     * @throws IllegalStateException If a camera already uses this name.
+     */
+    int createCameraHandle(String name);
+
+    /**
+     * Provide a camera from its handle.
+     * @param handle Camera handle.
+     * @return The camera, null if the handle is invalid or the camera was removed.
+     */
+    BehavioredCamera getCamera(int handle);
+
+    /**
+     * Provide the handle of a camera created in this world, or of the default camera.
+     * @param camera Camera to find.
+     * @return The camera handle, -1 if the camera was not created in this world or was removed.
+     */
+    int getCameraHandle(BehavioredCamera camera);
+
+    /**
+     * Remove a camera from this world, its name and handle are no longer valid, and the culling is disabled if it used this camera.
+     * The graphic camera cannot be destroyed, it is kept and reused, with its last transform, by the next camera created with the same name.
+     * @param handle Camera handle.
+     * @return True if the camera was removed, false if the handle is invalid or the camera was already removed.
+     * @throws IllegalArgumentException If the handle is the default camera one.
+     */
+    boolean removeCamera(int handle);
+
     /**
      * Set the current sky box.
      * @param sky Sky box to set.
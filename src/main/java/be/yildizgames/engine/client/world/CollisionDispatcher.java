@@ -0,0 +1,430 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world;
+
+import be.yildizgames.common.frame.StartFrameListener;
+import be.yildizgames.common.gameobject.CollisionListener;
+import be.yildizgames.common.gameobject.CollisionResult;
+import be.yildizgames.common.model.EntityId;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Collect the contacts reported by the physic world, and deliver them once per frame as begin, persist and end events
+ * per pair of objects. It is meant to be registered as a collision listener in a world and as a frame listener in the
+ * game engine. The contacts are received on the thread stepping the physic, which is the frame thread unless the
+ * physic runs on its own thread, so the contacts and the frame collection are synchronized. The listeners are called
+ * once the lock is released, so they can build objects or change the physic world without blocking the physic step.
+ * A pair is only kept if one object category matches the first mask and the other one the second mask, the categories
+ * are set by entity id. The contacts of a pair are counted, so several contacts between the same objects give a single
+ * begin and a single end event. The events are written in two reused arrays, one is filled while the other one is delivered.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class CollisionDispatcher extends StartFrameListener implements CollisionListener {
+
+    /**
+     * Mask to match for the first object of a pair.
+     */
+    private final int firstMask;
+
+    /**
+     * Mask to match for the second object of a pair.
+     */
+    private final int secondMask;
+
+    /**
+     * Category of the objects, by id.
+     */
+    private final Map<EntityId, Integer> categories = new HashMap<>();
+
+    /**
+     * Pairs touching or changed since the previous frame.
+     */
+    private final Map<Pair, Pair> pairs = new HashMap<>();
+
+    /**
+     * Key used to find a pair without creating one.
+     */
+    private final Pair probe = new Pair();
+
+    /**
+     * Pairs touching at the previous frame.
+     */
+    private final List<Pair> active = new ArrayList<>();
+
+    /**
+     * Pairs whose contacts changed since the previous frame.
+     */
+    private final List<Pair> changed = new ArrayList<>();
+
+    /**
+     * Ended pairs, reused for the next ones.
+     */
+    private final Deque<Pair> free = new ArrayDeque<>();
+
+    private final List<CollisionBatchListener> listeners = new ArrayList<>();
+
+    /**
+     * Category of the objects without one.
+     */
+    private int defaultCategory = -1;
+
+    /**
+     * True to send a persist event every frame for the pairs still touching.
+     */
+    private boolean persistEvents;
+
+    /**
+     * Events being collected.
+     */
+    private CollisionEvent[] events;
+
+    /**
+     * Events of the last collection, delivered out of the lock.
+     */
+    private CollisionEvent[] delivering;
+
+    private long contacts;
+
+    private long filteredContacts;
+
+    private long deliveredEvents;
+
+    /**
+     * Create a new dispatcher.
+     *
+     * @param firstMask  Categories of the first object of a pair.
+     * @param secondMask Categories of the second object of a pair.
+     * @throws IllegalArgumentException If a mask is 0.
+     */
+    public CollisionDispatcher(final int firstMask, final int secondMask) {
+        super();
+        if (firstMask == 0 || secondMask == 0) {
+            throw new IllegalArgumentException("Masks cannot be empty.");
+        }
+        this.firstMask = firstMask;
+        this.secondMask = secondMask;
+        this.events = grow(new CollisionEvent[0], 64);
+        this.delivering = grow(new CollisionEvent[0], 64);
+    }
+
+    public void addListener(CollisionBatchListener listener) {
+        Objects.requireNonNull(listener);
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(CollisionBatchListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Set the category bits of an object.
+     *
+     * @param id       Object id.
+     * @param category Category bits.
+     */
+    public synchronized void setCategory(EntityId id, int category) {
+        Objects.requireNonNull(id);
+        this.categories.put(id, category);
+    }
+
+    /**
+     * Forget the category of an object, for example once deleted, it then uses the default category.
+     *
+     * @param id Object id.
+     */
+    public synchronized void removeCategory(EntityId id) {
+        this.categories.remove(id);
+    }
+
+    /**
+     * Set the category of the objects without one, default is every category.
+     *
+     * @param category Category bits.
+     */
+    public synchronized void setDefaultCategory(int category) {
+        this.defaultCategory = category;
+    }
+
+    /**
+     * Send a persist event every frame for each pair still touching, disabled by default.
+     *
+     * @param persistEvents True to send the persist events.
+     */
+    public synchronized void setPersistEvents(boolean persistEvents) {
+        this.persistEvents = persistEvents;
+    }
+
+    @Override
+    public synchronized void newCollision(CollisionResult result) {
+        Pair pair = this.pair(result, true);
+        if (pair != null) {
+            pair.contacts++;
+            if (pair.contacts == 1) {
+                pair.touched = true;
+            }
+            this.changed(pair);
+        }
+    }
+
+    @Override
+    public synchronized void lostCollision(CollisionResult result) {
+        Pair pair = this.pair(result, false);
+        if (pair != null && pair.contacts > 0) {
+            pair.contacts--;
+            this.changed(pair);
+        }
+    }
+
+    /**
+     * Deliver the events since the previous frame, the listeners are called without holding the contacts lock.
+     *
+     * @return true.
+     */
+    @Override
+    public boolean frameStarted() {
+        CollisionEvent[] batch;
+        int count;
+        synchronized (this) {
+            count = this.collect();
+            batch = this.events;
+            this.events = this.delivering;
+            this.delivering = batch;
+            this.deliveredEvents += count;
+        }
+        if (count > 0) {
+            for (int i = 0; i < this.listeners.size(); i++) {
+                this.listeners.get(i).collisions(batch, count);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write the events since the previous frame and update the pairs states, to be called with the lock held.
+     *
+     * @return The number of events written.
+     */
+    private int collect() {
+        int count = 0;
+        if (this.persistEvents) {
+            for (int i = 0; i < this.active.size(); i++) {
+                Pair pair = this.active.get(i);
+                if (pair.contacts > 0) {
+                    count = this.add(count, CollisionEvent.Type.PERSIST, pair);
+                }
+            }
+        }
+        for (int i = 0; i < this.changed.size(); i++) {
+            Pair pair = this.changed.get(i);
+            boolean touching = pair.contacts > 0;
+            if (!pair.wasTouching && (touching || pair.touched)) {
+                count = this.add(count, CollisionEvent.Type.BEGIN, pair);
+            }
+            if (!touching && (pair.wasTouching || pair.touched)) {
+                count = this.add(count, CollisionEvent.Type.END, pair);
+            }
+            pair.touched = false;
+            pair.listed = false;
+            if (touching && !pair.wasTouching) {
+                pair.activeIndex = this.active.size();
+                this.active.add(pair);
+            } else if (!touching && pair.wasTouching) {
+                int last = this.active.size() - 1;
+                Pair moved = this.active.get(last);
+                this.active.set(pair.activeIndex, moved);
+                moved.activeIndex = pair.activeIndex;
+                this.active.remove(last);
+            }
+            pair.wasTouching = touching;
+            if (!touching) {
+                this.pairs.remove(pair);
+                pair.set(null, null);
+                this.free.push(pair);
+            }
+        }
+        this.changed.clear();
+        return count;
+    }
+
+    private int add(int count, CollisionEvent.Type type, Pair pair) {
+        if (count == this.events.length) {
+            this.events = grow(this.events, count * 2);
+        }
+        this.events[count].set(type, pair.first, pair.second);
+        return count + 1;
+    }
+
+    private static CollisionEvent[] grow(CollisionEvent[] events, int capacity) {
+        CollisionEvent[] result = Arrays.copyOf(events, capacity);
+        for (int i = events.length; i < capacity; i++) {
+            result[i] = new CollisionEvent();
+        }
+        return result;
+    }
+
+    private void changed(Pair pair) {
+        if (!pair.listed) {
+            pair.listed = true;
+            this.changed.add(pair);
+        }
+    }
+
+    /**
+     * Find the pair of a contact, with the objects in the masks order.
+     *
+     * @param result Contact.
+     * @param create True to create the pair if it does not exist.
+     * @return The pair, null if it is filtered out, or does not exist and is not created.
+     */
+    private Pair pair(CollisionResult result, boolean create) {
+        this.contacts++;
+        EntityId id1 = result.object1;
+        EntityId id2 = result.object2;
+        if (id1 == null || id2 == null) {
+            this.filteredContacts++;
+            return null;
+        }
+        int category1 = this.categories.getOrDefault(id1, this.defaultCategory);
+        int category2 = this.categories.getOrDefault(id2, this.defaultCategory);
+        boolean direct = (category1 & this.firstMask) != 0 && (category2 & this.secondMask) != 0;
+        boolean reverse = (category2 & this.firstMask) != 0 && (category1 & this.secondMask) != 0;
+        if (!direct && !reverse) {
+            this.filteredContacts++;
+            return null;
+        }
+        if (!direct || reverse && id2.value < id1.value) {
+            EntityId swap = id1;
+            id1 = id2;
+            id2 = swap;
+        }
+        this.probe.set(id1, id2);
+        Pair pair = this.pairs.get(this.probe);
+        if (pair == null && create) {
+            pair = this.free.isEmpty() ? new Pair() : this.free.pop();
+            pair.set(id1, id2);
+            this.pairs.put(pair, pair);
+        }
+        return pair;
+    }
+
+    /**
+     * @return The number of pairs touching at the last frame.
+     */
+    public synchronized int getActivePairs() {
+        return this.active.size();
+    }
+
+    /**
+     * @return The number of contacts received, begun and lost.
+     */
+    public synchronized long getContacts() {
+        return this.contacts;
+    }
+
+    /**
+     * @return The number of contacts ignored because of the categories.
+     */
+    public synchronized long getFilteredContacts() {
+        return this.filteredContacts;
+    }
+
+    /**
+     * @return The number of events delivered.
+     */
+    public synchronized long getDeliveredEvents() {
+        return this.deliveredEvents;
+    }
+
+    /**
+     * Contact state of two objects.
+     */
+    private static final class Pair {
+
+        private EntityId first;
+
+        private EntityId second;
+
+        /**
+         * Number of contacts between the objects.
+         */
+        private int contacts;
+
+        /**
+         * True if the objects were touching at the previous frame.
+         */
+        private boolean wasTouching;
+
+        /**
+         * True if the objects started to touch since the previous frame.
+         */
+        private boolean touched;
+
+        /**
+         * True if the pair is in the changed list.
+         */
+        private boolean listed;
+
+        /**
+         * Index in the active list.
+         */
+        private int activeIndex;
+
+        private void set(EntityId first, EntityId second) {
+            this.first = first;
+            this.second = second;
+            this.contacts = 0;
+            this.wasTouching = false;
+            this.touched = false;
+            this.listed = false;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Pair)) {
+                return false;
+            }
+            Pair pair = (Pair) o;
+            return this.first.value == pair.first.value && this.second.value == pair.second.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(this.first.value) * 31 + Long.hashCode(this.second.value);
+        }
+    }
+}
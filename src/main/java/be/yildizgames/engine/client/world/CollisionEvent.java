@@ -0,0 +1,97 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world;
+
+import be.yildizgames.common.model.EntityId;
+
+/**
+ * Change of the contact state between two objects, delivered by a CollisionDispatcher.
+ * The events are reused by the dispatcher, they must not be kept after the listener call.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class CollisionEvent {
+
+    /**
+     * Contact state change.
+     */
+    public enum Type {
+
+        /**
+         * The objects started to touch.
+         */
+        BEGIN,
+
+        /**
+         * The objects are still touching.
+         */
+        PERSIST,
+
+        /**
+         * The objects stopped to touch.
+         */
+        END
+    }
+
+    private Type type;
+
+    private EntityId first;
+
+    private EntityId second;
+
+    CollisionEvent() {
+        super();
+    }
+
+    void set(Type type, EntityId first, EntityId second) {
+        this.type = type;
+        this.first = first;
+        this.second = second;
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * @return The object matching the dispatcher first category mask.
+     */
+    public EntityId getFirst() {
+        return this.first;
+    }
+
+    /**
+     * @return The object matching the dispatcher second category mask.
+     */
+    public EntityId getSecond() {
+        return this.second;
+    }
+
+    @Override
+    public String toString() {
+        return this.type + " " + this.first + " " + this.second;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world;
+
+/**
+ * Result of the camera view culling of a world, for the last culled frame.
+ * Values can be read from any thread while the engine is running.
+ *
+ * @author Grégory Van den Borre
+ */
+public interface CullingMetrics {
+
+    /**
+     * @return True if the culling is enabled in the world.
+     */
+    boolean isCullingEnabled();
+
+    /**
+     * @return The number of objects in the camera view.
+     */
+    int getVisibleObjects();
+
+    /**
+     * @return The number of objects out of the camera view.
+     */
+    int getCulledObjects();
+
+    /**
+     * @return The number of objects shown or hidden because they entered or left the camera view.
+     */
+    int getVisibilityChanges();
+
+    /**
+     * @return The time spent to cull the objects, in nanoseconds.
+     */
+    long getCullingTime();
+}
@@ -0,0 +1,560 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world;
+
+import be.yildizgames.common.frame.StartFrameListener;
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Move many objects along a constant velocity or a path of waypoints, meant for the movable objects.
+ * It is meant to be registered as a frame listener in the game engine, every frame the moving objects are advanced
+ * by the time elapsed since the previous frame and their new transforms are sent to the world with a single
+ * applyTransforms call. The motion state is kept in primitive arrays, one per attribute, with the moving objects
+ * first, so the idle ones are not visited. On large counts the moving objects are advanced in parallel chunks.
+ * The mover owns the transform of the moving objects, a position set by the game logic is replaced at the next frame.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class KinematicMover extends StartFrameListener {
+
+    /**
+     * Minimum number of moving objects to advance the chunks in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * Longest time advanced in one frame, in seconds, so a stalled frame does not make the objects jump.
+     */
+    private static final float MAX_STEP = 0.25f;
+
+    private static final byte IDLE = 0;
+
+    private static final byte LINEAR = 1;
+
+    private static final byte PATH = 2;
+
+    private final ClientWorld world;
+
+    /**
+     * Index of every managed object in the arrays.
+     */
+    private final Map<ClientGameObject, Integer> indexes = new IdentityHashMap<>();
+
+    /**
+     * Chunks of moving objects, advanced in parallel.
+     */
+    private final Chunk[] chunks;
+
+    private ClientGameObject[] objects;
+
+    private EntityId[] ids;
+
+    private byte[] modes;
+
+    private float[] posX;
+
+    private float[] posY;
+
+    private float[] posZ;
+
+    /**
+     * Normalized movement direction.
+     */
+    private float[] dirX;
+
+    private float[] dirY;
+
+    private float[] dirZ;
+
+    /**
+     * Speed along the direction, in units per second.
+     */
+    private float[] speeds;
+
+    /**
+     * Waypoints of the path objects, x, y, z for each waypoint.
+     */
+    private float[][] paths;
+
+    /**
+     * Index of the next waypoint of the path objects.
+     */
+    private int[] waypoints;
+
+    /**
+     * True for the objects which reached their last waypoint during the current update.
+     */
+    private boolean[] arrived;
+
+    /**
+     * New positions, x, y, z for each moving object.
+     */
+    private float[] positions;
+
+    /**
+     * New directions, x, y, z for each moving object.
+     */
+    private float[] directions;
+
+    private FloatBuffer positionBuffer;
+
+    private FloatBuffer directionBuffer;
+
+    /**
+     * Number of managed objects.
+     */
+    private int size;
+
+    /**
+     * Number of moving objects, they are the first ones in the arrays.
+     */
+    private int moving;
+
+    /**
+     * Time of the previous frame, 0 before the first one.
+     */
+    private long previousFrame;
+
+    private volatile long updateTime;
+
+    /**
+     * Create a new mover.
+     *
+     * @param world World of the moved objects.
+     */
+    public KinematicMover(final ClientWorld world) {
+        super();
+        Objects.requireNonNull(world);
+        this.world = world;
+        int count = ForkJoinPool.getCommonPoolParallelism() * 4;
+        this.chunks = new Chunk[count];
+        for (int i = 0; i < count; i++) {
+            this.chunks[i] = new Chunk();
+        }
+        this.allocate(16);
+    }
+
+    /**
+     * Manage an object, it stays idle until a movement is given.
+     * An object must be removed from the mover before being deleted or released to a pool.
+     *
+     * @param object Object to manage.
+     * @throws IllegalArgumentException If the object has no id.
+     * @throws IllegalStateException    If the object is already managed.
+     */
+    public void add(ClientGameObject object) {
+        Objects.requireNonNull(object);
+        if (object.getId() == null) {
+            throw new IllegalArgumentException("Object without id cannot be moved.");
+        }
+        if (this.indexes.containsKey(object)) {
+            throw new IllegalStateException("Object already managed.");
+        }
+        if (this.size == this.objects.length) {
+            this.allocate(this.size * 2);
+        }
+        int index = this.size++;
+        this.objects[index] = object;
+        this.ids[index] = object.getId();
+        this.modes[index] = IDLE;
+        this.indexes.put(object, index);
+    }
+
+    /**
+     * Stop managing an object, it stays where it is.
+     *
+     * @param object Object to remove.
+     * @return True if the object was managed.
+     */
+    public boolean remove(ClientGameObject object) {
+        Integer index = this.indexes.get(object);
+        if (index == null) {
+            return false;
+        }
+        int i = index;
+        if (i < this.moving) {
+            this.moving--;
+            this.swap(i, this.moving);
+            i = this.moving;
+        }
+        this.size--;
+        this.swap(i, this.size);
+        this.indexes.remove(object);
+        this.objects[this.size] = null;
+        this.ids[this.size] = null;
+        this.paths[this.size] = null;
+        return true;
+    }
+
+    /**
+     * Move an object at a constant velocity from its current position, until it is stopped, facing the movement direction.
+     *
+     * @param object   Object to move.
+     * @param velocity Movement per second.
+     * @throws IllegalStateException If the object is not managed.
+     */
+    public void moveLinear(ClientGameObject object, Point3D velocity) {
+        Objects.requireNonNull(velocity);
+        int i = this.start(object);
+        float length = (float) Math.sqrt(velocity.x * velocity.x + velocity.y * velocity.y + velocity.z * velocity.z);
+        this.modes[i] = LINEAR;
+        this.speeds[i] = length;
+        if (length > 0) {
+            this.dirX[i] = velocity.x / length;
+            this.dirY[i] = velocity.y / length;
+            this.dirZ[i] = velocity.z / length;
+        }
+    }
+
+    /**
+     * Move an object through waypoints from its current position, facing the movement direction, it stops at the last one.
+     *
+     * @param object    Object to move.
+     * @param waypoints Positions to go through, in order.
+     * @param speed     Movement per second.
+     * @throws IllegalArgumentException If there is no waypoint or the speed is not positive.
+     * @throws IllegalStateException    If the object is not managed.
+     */
+    public void moveAlong(ClientGameObject object, List<Point3D> waypoints, float speed) {
+        Objects.requireNonNull(waypoints);
+        if (waypoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one waypoint is required.");
+        }
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Speed must be positive: " + speed);
+        }
+        float[] path = new float[waypoints.size() * 3];
+        for (int w = 0; w < waypoints.size(); w++) {
+            Point3D waypoint = waypoints.get(w);
+            path[w * 3] = waypoint.x;
+            path[w * 3 + 1] = waypoint.y;
+            path[w * 3 + 2] = waypoint.z;
+        }
+        int i = this.start(object);
+        this.modes[i] = PATH;
+        this.speeds[i] = speed;
+        this.paths[i] = path;
+        this.waypoints[i] = 0;
+    }
+
+    /**
+     * Stop moving an object, it stays managed.
+     *
+     * @param object Object to stop.
+     * @throws IllegalStateException If the object is not managed.
+     */
+    public void stop(ClientGameObject object) {
+        int i = this.indexOf(object);
+        if (i < this.moving) {
+            this.idle(i);
+        }
+    }
+
+    /**
+     * @param object Object to check.
+     * @return True if the object is managed and moving.
+     */
+    public boolean isMoving(ClientGameObject object) {
+        Integer index = this.indexes.get(object);
+        return index != null && index < this.moving;
+    }
+
+    /**
+     * Advance the moving objects by the time elapsed since the previous frame.
+     *
+     * @return true.
+     */
+    @Override
+    public boolean frameStarted() {
+        long now = System.nanoTime();
+        float seconds = this.previousFrame == 0 ? 0 : Math.min(MAX_STEP, (now - this.previousFrame) / 1_000_000_000f);
+        this.previousFrame = now;
+        this.update(seconds);
+        return true;
+    }
+
+    /**
+     * Advance the moving objects, and move them in the world.
+     *
+     * @param seconds Time to advance, in seconds.
+     */
+    public void update(float seconds) {
+        int count = this.moving;
+        if (count == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (count < PARALLEL_THRESHOLD) {
+            this.advance(0, count, seconds);
+        } else {
+            int used = this.chunks.length;
+            for (int c = 0; c < used; c++) {
+                this.chunks[c].reinitialize();
+                this.chunks[c].prepare((int) ((long) count * c / used), (int) ((long) count * (c + 1) / used), seconds);
+            }
+            ForkJoinTask.invokeAll(this.chunks);
+        }
+        this.positionBuffer.clear();
+        this.directionBuffer.clear();
+        this.world.applyTransforms(this.ids, count, this.positionBuffer, this.directionBuffer);
+        for (int i = count - 1; i >= 0; i--) {
+            if (this.arrived[i]) {
+                this.arrived[i] = false;
+                this.idle(i);
+            }
+        }
+        this.updateTime = System.nanoTime() - start;
+    }
+
+    /**
+     * Advance a range of moving objects and write their new transform.
+     *
+     * @param from    First object index.
+     * @param to      Index after the last object.
+     * @param seconds Time to advance.
+     */
+    private void advance(int from, int to, float seconds) {
+        for (int i = from; i < to; i++) {
+            float distance = this.speeds[i] * seconds;
+            if (this.modes[i] == LINEAR) {
+                this.posX[i] += this.dirX[i] * distance;
+                this.posY[i] += this.dirY[i] * distance;
+                this.posZ[i] += this.dirZ[i] * distance;
+            } else {
+                this.follow(i, distance);
+            }
+            int o = i * 3;
+            this.positions[o] = this.posX[i];
+            this.positions[o + 1] = this.posY[i];
+            this.positions[o + 2] = this.posZ[i];
+            this.directions[o] = this.dirX[i];
+            this.directions[o + 1] = this.dirY[i];
+            this.directions[o + 2] = this.dirZ[i];
+        }
+    }
+
+    /**
+     * Move an object along its path, through as many waypoints as the distance allows.
+     *
+     * @param i        Object index.
+     * @param distance Distance to move.
+     */
+    private void follow(int i, float distance) {
+        float[] path = this.paths[i];
+        int w = this.waypoints[i];
+        while (true) {
+            float dx = path[w * 3] - this.posX[i];
+            float dy = path[w * 3 + 1] - this.posY[i];
+            float dz = path[w * 3 + 2] - this.posZ[i];
+            float length = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+            if (length > 0) {
+                this.dirX[i] = dx / length;
+                this.dirY[i] = dy / length;
+                this.dirZ[i] = dz / length;
+            }
+            if (length > distance) {
+                this.posX[i] += this.dirX[i] * distance;
+                this.posY[i] += this.dirY[i] * distance;
+                this.posZ[i] += this.dirZ[i] * distance;
+                break;
+            }
+            this.posX[i] = path[w * 3];
+            this.posY[i] = path[w * 3 + 1];
+            this.posZ[i] = path[w * 3 + 2];
+            distance -= length;
+            w++;
+            if (w * 3 == path.length) {
+                this.arrived[i] = true;
+                break;
+            }
+        }
+        this.waypoints[i] = w;
+    }
+
+    /**
+     * Make an object moving, from its current transform.
+     *
+     * @param object Object to move.
+     * @return The object index, in the moving objects.
+     */
+    private int start(ClientGameObject object) {
+        int i = this.indexOf(object);
+        if (i >= this.moving) {
+            this.swap(i, this.moving);
+            i = this.moving;
+            this.moving++;
+        }
+        float[] transform = this.positions;
+        int o = i * 3;
+        object.readPosition(transform, o);
+        this.posX[i] = transform[o];
+        this.posY[i] = transform[o + 1];
+        this.posZ[i] = transform[o + 2];
+        object.readDirection(transform, o);
+        this.dirX[i] = transform[o];
+        this.dirY[i] = transform[o + 1];
+        this.dirZ[i] = transform[o + 2];
+        this.paths[i] = null;
+        this.arrived[i] = false;
+        return i;
+    }
+
+    /**
+     * Move an object from the moving ones to the idle ones.
+     *
+     * @param i Object index, in the moving objects.
+     */
+    private void idle(int i) {
+        this.moving--;
+        this.swap(i, this.moving);
+        this.modes[this.moving] = IDLE;
+        this.paths[this.moving] = null;
+    }
+
+    private int indexOf(ClientGameObject object) {
+        Integer index = this.indexes.get(object);
+        if (index == null) {
+            throw new IllegalStateException("Object not managed.");
+        }
+        return index;
+    }
+
+    private void swap(int a, int b) {
+        if (a == b) {
+            return;
+        }
+        ClientGameObject object = this.objects[a];
+        this.objects[a] = this.objects[b];
+        this.objects[b] = object;
+        EntityId id = this.ids[a];
+        this.ids[a] = this.ids[b];
+        this.ids[b] = id;
+        byte mode = this.modes[a];
+        this.modes[a] = this.modes[b];
+        this.modes[b] = mode;
+        swap(this.posX, a, b);
+        swap(this.posY, a, b);
+        swap(this.posZ, a, b);
+        swap(this.dirX, a, b);
+        swap(this.dirY, a, b);
+        swap(this.dirZ, a, b);
+        swap(this.speeds, a, b);
+        float[] path = this.paths[a];
+        this.paths[a] = this.paths[b];
+        this.paths[b] = path;
+        int waypoint = this.waypoints[a];
+        this.waypoints[a] = this.waypoints[b];
+        this.waypoints[b] = waypoint;
+        boolean arrival = this.arrived[a];
+        this.arrived[a] = this.arrived[b];
+        this.arrived[b] = arrival;
+        this.indexes.put(this.objects[a], a);
+        this.indexes.put(this.objects[b], b);
+    }
+
+    private static void swap(float[] values, int a, int b) {
+        float value = values[a];
+        values[a] = values[b];
+        values[b] = value;
+    }
+
+    private void allocate(int capacity) {
+        this.objects = this.objects == null ? new ClientGameObject[capacity] : Arrays.copyOf(this.objects, capacity);
+        this.ids = this.ids == null ? new EntityId[capacity] : Arrays.copyOf(this.ids, capacity);
+        this.modes = this.modes == null ? new byte[capacity] : Arrays.copyOf(this.modes, capacity);
+        this.posX = this.posX == null ? new float[capacity] : Arrays.copyOf(this.posX, capacity);
+        this.posY = this.posY == null ? new float[capacity] : Arrays.copyOf(this.posY, capacity);
+        this.posZ = this.posZ == null ? new float[capacity] : Arrays.copyOf(this.posZ, capacity);
+        this.dirX = this.dirX == null ? new float[capacity] : Arrays.copyOf(this.dirX, capacity);
+        this.dirY = this.dirY == null ? new float[capacity] : Arrays.copyOf(this.dirY, capacity);
+        this.dirZ = this.dirZ == null ? new float[capacity] : Arrays.copyOf(this.dirZ, capacity);
+        this.speeds = this.speeds == null ? new float[capacity] : Arrays.copyOf(this.speeds, capacity);
+        this.paths = this.paths == null ? new float[capacity][] : Arrays.copyOf(this.paths, capacity);
+        this.waypoints = this.waypoints == null ? new int[capacity] : Arrays.copyOf(this.waypoints, capacity);
+        this.arrived = this.arrived == null ? new boolean[capacity] : Arrays.copyOf(this.arrived, capacity);
+        this.positions = new float[capacity * 3];
+        this.directions = new float[capacity * 3];
+        this.positionBuffer = FloatBuffer.wrap(this.positions);
+        this.directionBuffer = FloatBuffer.wrap(this.directions);
+    }
+
+    /**
+     * @return The number of managed objects.
+     */
+    public int getObjectCount() {
+        return this.size;
+    }
+
+    /**
+     * @return The number of moving objects.
+     */
+    public int getMovingCount() {
+        return this.moving;
+    }
+
+    /**
+     * @return The time spent in the last update, in nanoseconds.
+     */
+    public long getUpdateTime() {
+        return this.updateTime;
+    }
+
+    /**
+     * Range of moving objects advanced in parallel.
+     */
+    private final class Chunk extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private int from;
+
+        private int to;
+
+        private float seconds;
+
+        void prepare(int from, int to, float seconds) {
+            this.from = from;
+            this.to = to;
+            this.seconds = seconds;
+        }
+
+        @Override
+        protected void compute() {
+            KinematicMover.this.advance(this.from, this.to, this.seconds);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world;
+
+import be.yildizgames.common.frame.StartFrameListener;
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.module.graphic.camera.BehavioredCamera;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Classify objects by their distance to a camera, and apply to them the state of their level of detail tier.
+ * It is meant to be registered as a frame listener in the game engine, every frame the objects are visited from where
+ * the previous frame stopped, until all were visited or the frame time budget is consumed, so a pass over many
+ * objects is spread on several frames.
+ * The tier state is only applied when an object changes tier, the managed objects visibility is then owned by the manager.
+ * Their physic body is only put asleep when entering an asleep tier, and woken up when leaving it.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class LevelOfDetailManager extends StartFrameListener {
+
+    /**
+     * Number of objects visited between two clock reads.
+     */
+    private static final int CLOCK_CHECK_INTERVAL = 32;
+
+    /**
+     * Tiers, sorted by distance.
+     */
+    private final LevelOfDetailTier[] tiers;
+
+    /**
+     * Squared distance from where each tier is used.
+     */
+    private final float[] squaredDistances;
+
+    /**
+     * Squared distance to move farther than to enter each tier, with the hysteresis.
+     */
+    private final float[] farSquaredDistances;
+
+    /**
+     * Squared distance to move nearer than to leave each tier, with the hysteresis.
+     */
+    private final float[] nearSquaredDistances;
+
+    /**
+     * Managed objects, visited in this order.
+     */
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Managed objects entries, to remove them without a scan.
+     */
+    private final Map<ClientGameObject, Entry> entriesByObject = new IdentityHashMap<>();
+
+    /**
+     * Maximum time spent every frame, in nanoseconds.
+     */
+    private final long frameBudget;
+
+    /**
+     * Camera used to compute the distances.
+     */
+    private BehavioredCamera camera;
+
+    /**
+     * Index of the next object to visit.
+     */
+    private int cursor;
+
+    /**
+     * Number of times an object changed tier.
+     */
+    private long tierChanges;
+
+    /**
+     * Number of complete passes over all the objects.
+     */
+    private long passes;
+
+    /**
+     * Create a new manager.
+     *
+     * @param camera      Camera used to compute the distances.
+     * @param tiers       Level of detail tiers, in any order, the nearest one is also used for objects nearer than its distance.
+     * @param frameBudget Maximum time spent every frame, in microseconds.
+     * @throws NullPointerException     If a parameter is null.
+     * @throws IllegalArgumentException If there is no tier or the budget is not positive.
+     */
+    public LevelOfDetailManager(final BehavioredCamera camera, final List<LevelOfDetailTier> tiers, final long frameBudget) {
+        super();
+        Objects.requireNonNull(camera);
+        Objects.requireNonNull(tiers);
+        if (tiers.isEmpty()) {
+            throw new IllegalArgumentException("At least one tier is required.");
+        }
+        if (frameBudget <= 0) {
+            throw new IllegalArgumentException("Frame budget must be positive: " + frameBudget);
+        }
+        this.camera = camera;
+        this.frameBudget = frameBudget * 1000;
+        this.tiers = tiers.toArray(new LevelOfDetailTier[0]);
+        Arrays.sort(this.tiers, Comparator.comparingDouble(LevelOfDetailTier::getDistance));
+        this.squaredDistances = new float[this.tiers.length];
+        this.farSquaredDistances = new float[this.tiers.length];
+        this.nearSquaredDistances = new float[this.tiers.length];
+        this.setHysteresis(0);
+    }
+
+    /**
+     * Set a margin around the tiers distances, an object only changes tier once it crossed the distance by more
+     * than this margin, to avoid switching back and forth when it stays around the distance.
+     *
+     * @param hysteresis Margin distance.
+     * @throws IllegalArgumentException If the margin is negative.
+     */
+    public void setHysteresis(float hysteresis) {
+        if (hysteresis < 0 || Float.isNaN(hysteresis)) {
+            throw new IllegalArgumentException("Hysteresis must be positive: " + hysteresis);
+        }
+        for (int i = 0; i < this.tiers.length; i++) {
+            float distance = this.tiers[i].getDistance();
+            float near = Math.max(0, distance - hysteresis);
+            this.squaredDistances[i] = distance * distance;
+            this.farSquaredDistances[i] = (distance + hysteresis) * (distance + hysteresis);
+            this.nearSquaredDistances[i] = near * near;
+        }
+    }
+
+    /**
+     * Change the camera used to compute the distances.
+     *
+     * @param camera New camera.
+     */
+    public void setCamera(BehavioredCamera camera) {
+        Objects.requireNonNull(camera);
+        this.camera = camera;
+    }
+
+    /**
+     * Manage an object, its tier is applied when it is visited for the first time.
+     * An object must be removed from the manager before being deleted or released to a pool.
+     *
+     * @param object Object to manage.
+     * @throws IllegalStateException If the object is already managed.
+     */
+    public void add(ClientGameObject object) {
+        Objects.requireNonNull(object);
+        if (this.entriesByObject.containsKey(object)) {
+            throw new IllegalStateException("Object already managed.");
+        }
+        Entry entry = new Entry(object, this.entries.size());
+        this.entries.add(entry);
+        this.entriesByObject.put(object, entry);
+    }
+
+    /**
+     * Stop managing an object, its state is not changed.
+     *
+     * @param object Object to remove.
+     * @return True if the object was managed.
+     */
+    public boolean remove(ClientGameObject object) {
+        Entry entry = this.entriesByObject.remove(object);
+        if (entry == null) {
+            return false;
+        }
+        int hole = entry.index;
+        if (hole < this.cursor) {
+            this.cursor--;
+            this.move(this.cursor, hole);
+            hole = this.cursor;
+        }
+        int last = this.entries.size() - 1;
+        this.move(last, hole);
+        this.entries.remove(last);
+        if (this.cursor == last && last > 0) {
+            this.cursor = 0;
+            this.passes++;
+        }
+        return true;
+    }
+
+    /**
+     * Move an entry to another index, the entries visited in the current pass stay before the cursor.
+     *
+     * @param from Index of the entry to move.
+     * @param to   Index to move it to, its previous entry is overwritten.
+     */
+    private void move(int from, int to) {
+        if (from != to) {
+            Entry moved = this.entries.get(from);
+            this.entries.set(to, moved);
+            moved.index = to;
+        }
+    }
+
+    /**
+     * Visit the objects until all were visited or the frame budget is consumed.
+     *
+     * @return true.
+     */
+    @Override
+    public boolean frameStarted() {
+        int size = this.entries.size();
+        if (size == 0) {
+            return true;
+        }
+        long start = System.nanoTime();
+        Point3D position = this.camera.getPosition();
+        for (int visited = 1; visited <= size; visited++) {
+            this.update(this.entries.get(this.cursor), position.x, position.y, position.z);
+            this.cursor++;
+            if (this.cursor == size) {
+                this.cursor = 0;
+                this.passes++;
+            }
+            if (visited % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() - start >= this.frameBudget) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the tier of an object, and apply it if it changed.
+     *
+     * @param entry Object to update.
+     * @param x Camera X position.
+     * @param y Camera Y position.
+     * @param z Camera Z position.
+     */
+    private void update(Entry entry, float x, float y, float z) {
+        ClientGameObject object = entry.object;
+        float dx = object.getPositionX() - x;
+        float dy = object.getPositionY() - y;
+        float dz = object.getPositionZ() - z;
+        float squaredDistance = dx * dx + dy * dy + dz * dz;
+        int current = entry.tier;
+        int tier = 0;
+        while (tier + 1 < this.tiers.length && squaredDistance >= this.squaredDistances[tier + 1]) {
+            tier++;
+        }
+        if (current >= 0) {
+            if (tier > current) {
+                while (tier > current && squaredDistance < this.farSquaredDistances[tier]) {
+                    tier--;
+                }
+            } else if (tier < current && squaredDistance >= this.nearSquaredDistances[current]) {
+                tier = current;
+            }
+        }
+        if (tier != current) {
+            this.tiers[tier].applyTo(object, current < 0 ? null : this.tiers[current]);
+            entry.tier = tier;
+            this.tierChanges++;
+        }
+    }
+
+    /**
+     * Provide the tier currently applied to an object.
+     *
+     * @param object Managed object.
+     * @return The tier, null if the object is not managed or not visited yet.
+     */
+    public LevelOfDetailTier getTier(ClientGameObject object) {
+        Entry entry = this.entriesByObject.get(object);
+        if (entry == null || entry.tier < 0) {
+            return null;
+        }
+        return this.tiers[entry.tier];
+    }
+
+    /**
+     * @return The number of managed objects.
+     */
+    public int getObjectCount() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return The number of times an object changed tier.
+     */
+    public long getTierChanges() {
+        return this.tierChanges;
+    }
+
+    /**
+     * @return The number of complete passes over all the managed objects.
+     */
+    public long getPasses() {
+        return this.passes;
+    }
+
+    /**
+     * Managed object and its current tier.
+     */
+    private static final class Entry {
+
+        private final ClientGameObject object;
+
+        /**
+         * Index in the entries list.
+         */
+        private int index;
+
+        /**
+         * Current tier index, -1 if not visited yet.
+         */
+        private int tier = -1;
+
+        private Entry(ClientGameObject object, int index) {
+            this.object = object;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world;
+
+import be.yildizgames.module.graphic.material.Material;
+
+import java.util.Objects;
+
+/**
+ * State applied by a LevelOfDetailManager to the objects from a given distance of the camera.
+ * The objects are visible unless specified, the material and shadows are only changed if set on the tier.
+ * The physic bodies are put asleep when entering an asleep tier and woken up when leaving it for an awake one,
+ * a body put asleep by the game is not woken up by the other tiers.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class LevelOfDetailTier {
+
+    /**
+     * Distance from where this tier is used.
+     */
+    private final float distance;
+
+    /**
+     * Material to apply, null to keep the current one.
+     */
+    private Material material;
+
+    /**
+     * True if the shadow casting is changed by this tier.
+     */
+    private boolean shadowSet;
+
+    /**
+     * Shadow casting to apply, only used if shadowSet is true.
+     */
+    private boolean castShadow;
+
+    /**
+     * True to hide the objects.
+     */
+    private boolean hidden;
+
+    /**
+     * True to put the objects physic body asleep.
+     */
+    private boolean asleep;
+
+    private LevelOfDetailTier(final float distance) {
+        super();
+        if (distance < 0 || Float.isNaN(distance)) {
+            throw new IllegalArgumentException("Distance must be positive: " + distance);
+        }
+        this.distance = distance;
+    }
+
+    /**
+     * Create a new tier.
+     *
+     * @param distance Distance to the camera from where the tier is used.
+     * @return The created tier.
+     * @throws IllegalArgumentException If the distance is negative.
+     */
+    public static LevelOfDetailTier from(float distance) {
+        return new LevelOfDetailTier(distance);
+    }
+
+    /**
+     * Specify the material to apply to the objects entering this tier.
+     * @param material Material to set.
+     * @return This object for chaining.
+     */
+    public LevelOfDetailTier withMaterial(Material material) {
+        Objects.requireNonNull(material);
+        this.material = material;
+        return this;
+    }
+
+    /**
+     * Specify if the objects entering this tier cast shadows.
+     * @param cast <code>true</code> to cast shadows, <code>false</code> to stop casting shadows.
+     * @return This object for chaining.
+     */
+    public LevelOfDetailTier withCastShadow(boolean cast) {
+        this.shadowSet = true;
+        this.castShadow = cast;
+        return this;
+    }
+
+    /**
+     * Hide the objects entering this tier.
+     * @return This object for chaining.
+     */
+    public LevelOfDetailTier hidden() {
+        this.hidden = true;
+        return this;
+    }
+
+    /**
+     * Put asleep the physic body of the objects entering this tier.
+     * @return This object for chaining.
+     */
+    public LevelOfDetailTier asleep() {
+        this.asleep = true;
+        return this;
+    }
+
+    /**
+     * @return The distance to the camera from where the tier is used.
+     */
+    public float getDistance() {
+        return this.distance;
+    }
+
+    /**
+     * Change an object state to match this tier.
+     * @param object Object entering the tier.
+     * @param previous Tier the object leaves, null if it had none.
+     */
+    void applyTo(ClientGameObject object, LevelOfDetailTier previous) {
+        if (this.material != null) {
+            object.setMaterial(this.material);
+        }
+        if (this.shadowSet) {
+            object.setCastShadow(this.castShadow);
+        }
+        object.setVisible(!this.hidden);
+        boolean wasAsleep = previous != null && previous.asleep;
+        if (this.asleep != wasAsleep) {
+            object.sleep(this.asleep);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world;
+
+/**
+ * Result of the deferred transform synchronization of a world, where the physic bodies of the objects moved by the
+ * game logic follow their graphic once per frame instead of after every move.
+ * Values can be read from any thread while the engine is running.
+ *
+ * @author Grégory Van den Borre
+ */
+public interface TransformSyncMetrics {
+
+    /**
+     * @return True if the transforms are synchronized once per frame.
+     */
+    boolean isDeferredTransformSync();
+
+    /**
+     * @return The number of objects synchronized in the last pass.
+     */
+    int getLastSyncedObjects();
+
+    /**
+     * @return The total number of objects synchronized.
+     */
+    long getSyncedObjects();
+
+    /**
+     * @return The total number of transform changes not sent to the physic bodies because the object was moved again before the synchronization.
+     */
+    long getSavedUpdates();
+}
@@ -37,23 +37,184 @@ abstract class BaseClientGameObject implements ClientGameObject {
 
     private final GraphicObject graphicObject;
 
+    /**
+     * Last known position then direction.
+     */
+    private final float[] transform = new float[6];
+
+    /**
+     * True if the position in the transform is up to date.
+     */
+    private boolean positionCached;
+
+    /**
+     * True if the direction in the transform is up to date.
+     */
+    private boolean directionCached;
+
+    /**
+     * Transform stamp when the position was cached.
+     */
+    private long positionStamp;
+
+    /**
+     * Transform stamp when the direction was cached.
+     */
+    private long directionStamp;
+
+    /**
+     * False if the object was hidden with hide, true if it was shown with show.
+     */
+    private boolean shown = true;
+
+    /**
+     * True if the object is hidden because it is out of the camera view.
+     */
+    private boolean culled;
+
     protected BaseClientGameObject(GraphicObject graphicObject) {
         super();
         this.graphicObject = graphicObject;
     }
 
+    /**
+     * Provide the stamp of the transform changes not done through this object, like the physic moving the graphic.
+     * The cached transform is read again from the graphic object once the stamp changed.
+     *
+     * @return The current transform stamp, constant by default.
+     */
+    protected long getTransformStamp() {
+        return 0;
+    }
+
+    @Override
+    public final float getPositionX() {
+        this.refreshPosition();
+        return this.transform[0];
+    }
+
+    @Override
+    public final float getPositionY() {
+        this.refreshPosition();
+        return this.transform[1];
+    }
+
+    @Override
+    public final float getPositionZ() {
+        this.refreshPosition();
+        return this.transform[2];
+    }
+
+    @Override
+    public final void readPosition(float[] dst, int offset) {
+        this.refreshPosition();
+        System.arraycopy(this.transform, 0, dst, offset, 3);
+    }
+
+    @Override
+    public final void readDirection(float[] dst, int offset) {
+        this.refreshDirection();
+        System.arraycopy(this.transform, 3, dst, offset, 3);
+    }
+
+    /**
+     * Keep the position set on the graphic object.
+     */
+    protected final void cachePosition(float x, float y, float z) {
+        this.transform[0] = x;
+        this.transform[1] = y;
+        this.transform[2] = z;
+        this.positionCached = true;
+        this.positionStamp = this.getTransformStamp();
+    }
+
+    /**
+     * Keep the direction set on the graphic object.
+     */
+    protected final void cacheDirection(float x, float y, float z) {
+        this.transform[3] = x;
+        this.transform[4] = y;
+        this.transform[5] = z;
+        this.directionCached = true;
+        this.directionStamp = this.getTransformStamp();
+    }
+
+    /**
+     * The graphic object was moved in a way not known by this object, the position must be read again.
+     */
+    protected final void invalidatePosition() {
+        this.positionCached = false;
+    }
+
+    /**
+     * The graphic object was rotated in a way not known by this object, the direction must be read again.
+     */
+    protected final void invalidateDirection() {
+        this.directionCached = false;
+    }
+
+    private void refreshPosition() {
+        if (!this.positionCached || this.positionStamp != this.getTransformStamp()) {
+            Point3D position = this.graphicObject.getPosition();
+            this.cachePosition(position.x, position.y, position.z);
+        }
+    }
+
+    private void refreshDirection() {
+        if (!this.directionCached || this.directionStamp != this.getTransformStamp()) {
+            Point3D direction = this.graphicObject.getDirection();
+            this.cacheDirection(direction.x, direction.y, direction.z);
+        }
+    }
+
     @Override
     public final BaseClientGameObject show() {
-        this.graphicObject.show();
+        this.shown = true;
+        if (!this.culled) {
+            this.graphicObject.show();
+        }
         return this;
     }
 
     @Override
     public final BaseClientGameObject hide() {
+        this.shown = false;
         this.graphicObject.hide();
         return this;
     }
 
+    /**
+     * @return True if the object is hidden because it is out of the camera view.
+     */
+    final boolean isCulled() {
+        return this.culled;
+    }
+
+    /**
+     * Hide or show the object when it leaves or enters the camera view, an object hidden with hide stays hidden.
+     *
+     * @param culled True if the object is out of the camera view.
+     */
+    final void setCulled(boolean culled) {
+        if (this.culled != culled) {
+            this.culled = culled;
+            if (this.shown) {
+                if (culled) {
+                    this.graphicObject.hide();
+                } else {
+                    this.graphicObject.show();
+                }
+            }
+        }
+    }
+
+    /**
+     * Forget the culling state without changing the visibility, for an object no longer tested by the culling.
+     */
+    final void clearCulled() {
+        this.culled = false;
+    }
+
     @Override
     public final boolean isVisible() {
         return this.graphicObject.isVisible();
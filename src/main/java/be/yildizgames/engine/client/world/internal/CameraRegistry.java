@@ -0,0 +1,226 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Cameras of a world, by name and by handle.
+ * A handle is an int made of a slot index and the slot generation, the slots of the removed cameras are reused
+ * with a new generation, so a handle of a removed camera never provides the camera created after in its slot.
+ * Not thread safe.
+ *
+ * @param <C> Camera type.
+ * @author Grégory Van den Borre
+ */
+final class CameraRegistry<C> {
+
+    /**
+     * Number of bits of the slot index in a handle.
+     */
+    private static final int SLOT_BITS = 16;
+
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+    /**
+     * Highest generation, so a handle is never negative.
+     */
+    private static final int GENERATION_MASK = (1 << (Integer.SIZE - 1 - SLOT_BITS)) - 1;
+
+    /**
+     * Cameras, by slot, null if the slot is free.
+     */
+    private C[] cameras = newCameras(8);
+
+    /**
+     * Camera names, by slot.
+     */
+    private String[] names = new String[8];
+
+    /**
+     * Generation of every slot, incremented when the camera in the slot is removed.
+     */
+    private int[] generations = new int[8];
+
+    /**
+     * Free slots, the last freed is reused first.
+     */
+    private int[] freeSlots = new int[8];
+
+    private int freeCount;
+
+    /**
+     * Number of slots used at least once.
+     */
+    private int slotCount;
+
+    /**
+     * Slots, by camera name.
+     */
+    private final Map<String, Integer> slotsByName = new HashMap<>();
+
+    /**
+     * Slots, by camera.
+     */
+    private final Map<C, Integer> slotsByCamera = new IdentityHashMap<>();
+
+    /**
+     * Add a camera.
+     *
+     * @param name   Camera name, null if the camera can only be found by handle.
+     * @param camera Camera to add.
+     * @return The camera handle.
+     * @throws IllegalStateException If a camera already uses this name.
+     */
+    int add(String name, C camera) {
+        if (name != null && this.slotsByName.containsKey(name)) {
+            throw new IllegalStateException("Camera name already used: " + name);
+        }
+        int slot;
+        if (this.freeCount > 0) {
+            this.freeCount--;
+            slot = this.freeSlots[this.freeCount];
+        } else {
+            if (this.slotCount > SLOT_MASK) {
+                throw new IllegalStateException("Too many cameras.");
+            }
+            slot = this.slotCount;
+            this.slotCount++;
+            if (slot == this.cameras.length) {
+                int capacity = slot * 2;
+                this.cameras = Arrays.copyOf(this.cameras, capacity);
+                this.names = Arrays.copyOf(this.names, capacity);
+                this.generations = Arrays.copyOf(this.generations, capacity);
+            }
+        }
+        this.cameras[slot] = camera;
+        this.names[slot] = name;
+        if (name != null) {
+            this.slotsByName.put(name, slot);
+        }
+        this.slotsByCamera.put(camera, slot);
+        return this.generations[slot] << SLOT_BITS | slot;
+    }
+
+    /**
+     * Provide a camera from its handle.
+     *
+     * @param handle Camera handle.
+     * @return The camera, null if the handle is invalid or the camera was removed.
+     */
+    C get(int handle) {
+        int slot = handle & SLOT_MASK;
+        if (slot >= this.slotCount || this.generations[slot] != handle >>> SLOT_BITS) {
+            return null;
+        }
+        return this.cameras[slot];
+    }
+
+    /**
+     * Provide a camera from its name.
+     *
+     * @param name Camera name.
+     * @return The camera, null if no camera has this name.
+     */
+    C get(String name) {
+        Integer slot = this.slotsByName.get(name);
+        return slot == null ? null : this.cameras[slot];
+    }
+
+    /**
+     * Provide the handle of a camera.
+     *
+     * @param camera Camera to find.
+     * @return The camera handle, -1 if the camera is not registered.
+     */
+    int getHandle(C camera) {
+        Integer slot = this.slotsByCamera.get(camera);
+        return slot == null ? -1 : this.generations[slot] << SLOT_BITS | slot;
+    }
+
+    /**
+     * @param camera Camera to check.
+     * @return True if the camera is registered.
+     */
+    boolean contains(C camera) {
+        return this.slotsByCamera.containsKey(camera);
+    }
+
+    /**
+     * Remove a camera, its slot is freed for the next camera.
+     *
+     * @param handle Camera handle.
+     * @return The removed camera, null if the handle is invalid or the camera was already removed.
+     */
+    C remove(int handle) {
+        C camera = this.get(handle);
+        if (camera == null) {
+            return null;
+        }
+        int slot = handle & SLOT_MASK;
+        if (this.names[slot] != null) {
+            this.slotsByName.remove(this.names[slot]);
+        }
+        this.slotsByCamera.remove(camera);
+        this.cameras[slot] = null;
+        this.names[slot] = null;
+        this.generations[slot] = (this.generations[slot] + 1) & GENERATION_MASK;
+        if (this.freeCount == this.freeSlots.length) {
+            this.freeSlots = Arrays.copyOf(this.freeSlots, this.freeCount * 2);
+        }
+        this.freeSlots[this.freeCount] = slot;
+        this.freeCount++;
+        return camera;
+    }
+
+    /**
+     * Remove all the cameras but one.
+     *
+     * @param kept Camera to keep.
+     */
+    void removeAllBut(C kept) {
+        for (int slot = 0; slot < this.slotCount; slot++) {
+            if (this.cameras[slot] != null && this.cameras[slot] != kept) {
+                this.remove(this.generations[slot] << SLOT_BITS | slot);
+            }
+        }
+    }
+
+    /**
+     * @return The number of registered cameras.
+     */
+    int size() {
+        return this.slotsByCamera.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C> C[] newCameras(int size) {
+        return (C[]) new Object[size];
+    }
+}
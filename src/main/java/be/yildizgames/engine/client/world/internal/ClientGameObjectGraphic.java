@@ -47,12 +47,14 @@ class ClientGameObjectGraphic extends BaseClientGameObject {
     @Override
     public final ClientGameObject rotate(float yaw, float pitch) {
         this.graphicObject.rotate(yaw, pitch);
+        this.invalidateDirection();
         return this;
     }
 
     @Override
     public final ClientGameObject lookAt(Point3D target) {
         this.graphicObject.lookAt(target);
+        this.invalidateDirection();
         return this;
     }
 
@@ -65,6 +67,7 @@ class ClientGameObjectGraphic extends BaseClientGameObject {
     @Override
     public final void rotate(float x, float y, float z, float w) {
         this.graphicObject.rotate(x, y , z ,w);
+        this.invalidateDirection();
     }
 
     @Override
@@ -85,6 +88,8 @@ class ClientGameObjectGraphic extends BaseClientGameObject {
     @Override
     public final void attachTo(Movable other) {
         this.graphicObject.attachTo(other);
+        this.invalidatePosition();
+        this.invalidateDirection();
     }
 
     @Override
@@ -100,31 +105,39 @@ class ClientGameObjectGraphic extends BaseClientGameObject {
     @Override
     public final void attachToOptional(Movable other) {
         this.graphicObject.attachToOptional(other);
+        this.invalidatePosition();
+        this.invalidateDirection();
     }
 
     @Override
     public final void detachFromParent() {
         this.graphicObject.detachFromParent();
+        this.invalidatePosition();
+        this.invalidateDirection();
     }
 
     @Override
     public final void setPosition(Point3D newPosition) {
         this.graphicObject.setPosition(newPosition);
+        this.cachePosition(newPosition.x, newPosition.y, newPosition.z);
     }
 
     @Override
     public final void setDirection(Point3D newDirection) {
         this.graphicObject.setDirection(newDirection);
+        this.cacheDirection(newDirection.x, newDirection.y, newDirection.z);
     }
 
     @Override
     public final void setPosition(float posX, float posY, float posZ) {
         this.graphicObject.setPosition(posX, posY, posZ);
+        this.cachePosition(posX, posY, posZ);
     }
 
     @Override
     public final void setDirection(float dirX, float dirY, float dirZ) {
         this.graphicObject.setDirection(dirX, dirY, dirZ);
+        this.cacheDirection(dirX, dirY, dirZ);
     }
 
     @Override
@@ -29,6 +29,7 @@ import be.yildizgames.common.gameobject.Movable;
 import be.yildizgames.common.geometry.Point3D;
 import be.yildizgames.common.model.EntityId;
 import be.yildizgames.engine.client.world.ClientGameObject;
+import be.yildizgames.engine.client.world.ClientGameObjectDescriptor;
 import be.yildizgames.module.graphic.GraphicObject;
 import be.yildizgames.module.physics.BaseBody;
 
@@ -46,31 +47,447 @@ class ClientGameObjectGraphicPhysic extends BaseClientGameObject {
      */
     private final boolean physicMaster;
 
-    private ClientGameObjectGraphicPhysic(BaseBody physicBody, GraphicObject graphicObject, boolean physicMaster) {
+    /**
+     * Means the graphic is not attached to the physic body but interpolated between the two last physic states.
+     */
+    private final boolean interpolated;
+
+    /**
+     * True if the physic body follows the graphic once per frame, instead of being its child.
+     */
+    private final boolean deferredSync;
+
+    /**
+     * True if the graphic is moved by the physic body it is attached to, its cached transform is then only valid
+     * until the next physic update.
+     */
+    private final boolean movedByPhysic;
+
+    /**
+     * True while the object is in the world dirty list.
+     */
+    private boolean dirty;
+
+    /**
+     * True if the object is attached to a parent in deferred synchronization, its graphic can then be moved by the parent,
+     * so its physic body follows the graphic absolute transform at every synchronization.
+     */
+    private boolean attached;
+
+    /**
+     * True while the object is in the world list of attached objects.
+     */
+    private boolean followed;
+
+    /**
+     * World this object belongs to.
+     */
+    private final GraphicPhysicWorld world;
+
+    /**
+     * Physic states used for the interpolation, position then direction, previous state then current state.
+     */
+    private final float[] states = new float[12];
+
+    /**
+     * True when the next physic state must replace both the previous and the current states.
+     */
+    private boolean stateReset = true;
+
+    /**
+     * Entry of this object in the world spatial index.
+     */
+    private SpatialGrid.Entry<ClientGameObjectGraphicPhysic> spatialEntry;
+
+    /**
+     * Index of this object in the world interpolated or physic driven objects, -1 if in none.
+     */
+    private int updateIndex = -1;
+
+    /**
+     * Pool this object was built for, null if not pooled.
+     */
+    private TemplateObjectPool pool;
+
+    /**
+     * True while the object is parked in its pool.
+     */
+    private boolean parked;
+
+    /**
+     * Descriptor this object was built from, null if built from the builder or from a template.
+     */
+    private ClientGameObjectDescriptor descriptor;
+
+    /**
+     * Thread stepping the physic, null if the physic is stepped on the frame thread.
+     * The body changes are then queued to this thread, and a physic master graphic follows the published physic steps.
+     */
+    private final PhysicThread physicThread;
+
+    /**
+     * Last physic step requested when the body was moved by the game logic, the steps up to this one do not include the move.
+     */
+    private long teleportStep = -1;
+
+    /**
+     * True once the object is deleted.
+     */
+    private boolean deleted;
+
+    private ClientGameObjectGraphicPhysic(GraphicPhysicWorld world, BaseBody physicBody, GraphicObject graphicObject, boolean physicMaster, boolean interpolated) {
         super(graphicObject);
+        this.world = world;
         this.physicBody = physicBody;
         this.graphicObject = graphicObject;
         this.physicMaster = physicMaster;
-        if(physicMaster) {
-            this.physicBody.addChild(graphicObject);
-        } else {
+        this.interpolated = interpolated;
+        this.deferredSync = !physicMaster && world.isTransformSyncDeferred();
+        this.physicThread = world.getPhysicThread();
+        this.movedByPhysic = physicMaster && !interpolated && this.physicThread == null;
+        if (interpolated) {
+            this.storePhysicState();
+        } else if(physicMaster) {
+            if (this.physicThread == null) {
+                this.physicBody.addChild(graphicObject);
+            }
+        } else if (!this.deferredSync) {
             this.graphicObject.addChild(physicBody);
         }
     }
 
-    static ClientGameObject withDynamicMaster(BaseBody physicBody, GraphicObject graphicObject) {
-        return new ClientGameObjectGraphicPhysic(physicBody, graphicObject, true);
+    static ClientGameObjectGraphicPhysic withDynamicMaster(GraphicPhysicWorld world, BaseBody physicBody, GraphicObject graphicObject) {
+        return new ClientGameObjectGraphicPhysic(world, physicBody, graphicObject, true, world.isPhysicInterpolated());
+    }
+
+
+    static ClientGameObjectGraphicPhysic withGraphicMaster(GraphicPhysicWorld world, BaseBody physicBody, GraphicObject graphicObject) {
+        return new ClientGameObjectGraphicPhysic(world, physicBody, graphicObject, false, false);
+    }
+
+    /**
+     * @return True if the graphic is interpolated between the physic states instead of following the physic body.
+     */
+    final boolean isInterpolated() {
+        return this.interpolated;
+    }
+
+    /**
+     * @return True if the physic body leads the object.
+     */
+    final boolean isPhysicMaster() {
+        return this.physicMaster;
+    }
+
+    /**
+     * Set the position and the direction at once, a physic master object is only reset once.
+     *
+     * @param posX Position X value.
+     * @param posY Position Y value.
+     * @param posZ Position Z value.
+     * @param dirX Direction X value.
+     * @param dirY Direction Y value.
+     * @param dirZ Direction Z value.
+     */
+    final void setTransform(float posX, float posY, float posZ, float dirX, float dirY, float dirZ) {
+        if(!physicMaster) {
+            this.graphicObject.setPosition(posX, posY, posZ);
+            this.graphicObject.setDirection(dirX, dirY, dirZ);
+            this.cachePosition(posX, posY, posZ);
+            this.cacheDirection(dirX, dirY, dirZ);
+            this.moved(posX, posY, posZ);
+            this.changed();
+        } else if (this.physicThread != null) {
+            this.queue(new PhysicCommand(PhysicCommand.TRANSFORM, this.physicBody).withValues(posX, posY, posZ).withDirection(dirX, dirY, dirZ));
+            this.graphicObject.setPosition(posX, posY, posZ);
+            this.graphicObject.setDirection(dirX, dirY, dirZ);
+            this.cachePosition(posX, posY, posZ);
+            this.cacheDirection(dirX, dirY, dirZ);
+            this.moved(posX, posY, posZ);
+        } else {
+            this.physicBody.setPosition(posX, posY, posZ);
+            this.physicBody.setDirection(dirX, dirY, dirZ);
+            this.teleported(posX, posY, posZ);
+        }
+    }
+
+    final boolean isDirty() {
+        return this.dirty;
+    }
+
+    final void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    final boolean isAttached() {
+        return this.attached;
+    }
+
+    final boolean isFollowed() {
+        return this.followed;
+    }
+
+    final void setFollowed(boolean followed) {
+        this.followed = followed;
     }
 
+    /**
+     * Read the transform to send to the physic body, the absolute one when attached to a parent.
+     *
+     * @param transform Buffer to fill with the position and the direction.
+     */
+    final void readSyncTransform(float[] transform) {
+        if (this.attached) {
+            Point3D position = this.graphicObject.getAbsolutePosition();
+            Point3D direction = this.graphicObject.getAbsoluteDirection();
+            transform[0] = position.x;
+            transform[1] = position.y;
+            transform[2] = position.z;
+            transform[3] = direction.x;
+            transform[4] = direction.y;
+            transform[5] = direction.z;
+        } else {
+            this.readPosition(transform, 0);
+            this.readDirection(transform, 3);
+        }
+    }
 
-    static ClientGameObject withGraphicMaster(BaseBody physicBody, GraphicObject graphicObject) {
-        return new ClientGameObjectGraphicPhysic(physicBody, graphicObject, false);
+    /**
+     * Move the physic body to the graphic transform, in deferred synchronization.
+     *
+     * @param transform Position and direction.
+     */
+    final void syncPhysic(float[] transform) {
+        if (this.physicThread != null) {
+            this.physicThread.queue(new PhysicCommand(PhysicCommand.TRANSFORM, this.physicBody)
+                    .withValues(transform[0], transform[1], transform[2])
+                    .withDirection(transform[3], transform[4], transform[5]));
+        } else {
+            this.physicBody.setPosition(transform[0], transform[1], transform[2]);
+            this.physicBody.setDirection(transform[3], transform[4], transform[5]);
+        }
+    }
+
+    /**
+     * Queue a change of a physic master body, unless it is deleted, the published physic steps not including it are ignored by this object.
+     *
+     * @param command Body change.
+     */
+    private void queue(PhysicCommand command) {
+        if (this.deleted) {
+            return;
+        }
+        this.physicThread.queue(command);
+        this.teleportStep = this.physicThread.getRequests();
+    }
+
+    /**
+     * Read the physic body transform on the physic thread, after a step.
+     *
+     * @param dst Buffer to fill with the position and the direction.
+     * @param offset Index of the first value.
+     */
+    final void readPhysicState(float[] dst, int offset) {
+        Point3D position = this.physicBody.getPosition();
+        Point3D direction = this.physicBody.getDirection();
+        dst[offset] = position.x;
+        dst[offset + 1] = position.y;
+        dst[offset + 2] = position.z;
+        dst[offset + 3] = direction.x;
+        dst[offset + 4] = direction.y;
+        dst[offset + 5] = direction.z;
+    }
+
+    /**
+     * Move the graphic to a transform published by the physic thread, if the object was not moved by the game logic since the step was requested.
+     *
+     * @param step Published step.
+     * @param src Position and direction.
+     * @param offset Index of the first value.
+     */
+    final void applyPhysicState(long step, float[] src, int offset) {
+        if (this.deleted || this.parked || step <= this.teleportStep) {
+            return;
+        }
+        float posX = src[offset];
+        float posY = src[offset + 1];
+        float posZ = src[offset + 2];
+        this.graphicObject.setPosition(posX, posY, posZ);
+        this.graphicObject.setDirection(src[offset + 3], src[offset + 4], src[offset + 5]);
+        this.cachePosition(posX, posY, posZ);
+        this.cacheDirection(src[offset + 3], src[offset + 4], src[offset + 5]);
+    }
+
+    /**
+     * The graphic transform changed, the physic body will follow at the next synchronization, in deferred synchronization.
+     */
+    private void changed() {
+        if (this.deferredSync) {
+            this.world.transformChanged(this);
+        }
+    }
+
+    /**
+     * The object is attached to a parent, in deferred synchronization its physic body follows it at every synchronization.
+     */
+    private void attached() {
+        if (this.deferredSync) {
+            this.attached = true;
+            this.world.transformFollowed(this);
+        }
+    }
+
+    final SpatialGrid.Entry<ClientGameObjectGraphicPhysic> getSpatialEntry() {
+        return this.spatialEntry;
+    }
+
+    final void setSpatialEntry(SpatialGrid.Entry<ClientGameObjectGraphicPhysic> entry) {
+        this.spatialEntry = entry;
+    }
+
+    /**
+     * Move the object to its current position in the spatial index, for the dynamic objects moved by the physic.
+     *
+     * @param buffer Buffer receiving the position.
+     */
+    final void refreshSpatialPosition(float[] buffer) {
+        this.readPosition(buffer, 0);
+        this.moved(buffer[0], buffer[1], buffer[2]);
+    }
+
+    /**
+     * Update the object position in the world spatial index.
+     */
+    private void moved(float x, float y, float z) {
+        if (this.spatialEntry != null) {
+            this.world.moved(this.spatialEntry, x, y, z);
+        }
+    }
+
+    final int getUpdateIndex() {
+        return this.updateIndex;
+    }
+
+    final void setUpdateIndex(int updateIndex) {
+        this.updateIndex = updateIndex;
+    }
+
+    final TemplateObjectPool getPool() {
+        return this.pool;
+    }
+
+    final void setPool(TemplateObjectPool pool) {
+        this.pool = pool;
+    }
+
+    final ClientGameObjectDescriptor getDescriptor() {
+        return this.descriptor;
+    }
+
+    final void setDescriptor(ClientGameObjectDescriptor descriptor) {
+        this.descriptor = descriptor;
+    }
+
+    final boolean isParked() {
+        return this.parked;
+    }
+
+    /**
+     * Park or unpark the object, a parked object is not returned by the world lookups and queries, nor updated every frame.
+     *
+     * @param parked True to park the object.
+     */
+    final void setParked(boolean parked) {
+        this.parked = parked;
+        if (parked) {
+            this.world.park(this);
+        } else {
+            this.world.unpark(this);
+        }
+    }
+
+    /**
+     * Keep the physic body state after a physic step, the previous one is kept for the interpolation.
+     */
+    final void storePhysicState() {
+        Point3D position = this.physicBody.getPosition();
+        Point3D direction = this.physicBody.getDirection();
+        if (this.stateReset) {
+            this.stateReset = false;
+            this.setState(0, position, direction);
+        } else {
+            System.arraycopy(this.states, 6, this.states, 0, 6);
+        }
+        this.setState(6, position, direction);
+    }
+
+    /**
+     * Move the graphic between the two last physic states.
+     *
+     * @param alpha Interpolation factor, 0 for the previous state, 1 for the current one.
+     */
+    final void interpolate(float alpha) {
+        float[] s = this.states;
+        float posX = s[0] + (s[6] - s[0]) * alpha;
+        float posY = s[1] + (s[7] - s[1]) * alpha;
+        float posZ = s[2] + (s[8] - s[2]) * alpha;
+        float dirX = s[3] + (s[9] - s[3]) * alpha;
+        float dirY = s[4] + (s[10] - s[4]) * alpha;
+        float dirZ = s[5] + (s[11] - s[5]) * alpha;
+        this.graphicObject.setPosition(posX, posY, posZ);
+        this.graphicObject.setDirection(dirX, dirY, dirZ);
+        this.cachePosition(posX, posY, posZ);
+        this.cacheDirection(dirX, dirY, dirZ);
+    }
+
+    private void setState(int offset, Point3D position, Point3D direction) {
+        this.states[offset] = position.x;
+        this.states[offset + 1] = position.y;
+        this.states[offset + 2] = position.z;
+        this.states[offset + 3] = direction.x;
+        this.states[offset + 4] = direction.y;
+        this.states[offset + 5] = direction.z;
+    }
+
+    /**
+     * The body was moved outside of the simulation, the graphic must follow it without interpolation.
+     */
+    private void teleported(float posX, float posY, float posZ) {
+        if (this.interpolated) {
+            this.stateReset = true;
+            this.storePhysicState();
+            this.interpolate(1);
+        } else {
+            this.invalidatePosition();
+            this.invalidateDirection();
+        }
+        this.moved(posX, posY, posZ);
+    }
+
+    /**
+     * The body was rotated outside of the simulation, the graphic must follow it without interpolation.
+     */
+    private void turned() {
+        if (this.interpolated) {
+            this.stateReset = true;
+            this.storePhysicState();
+            this.interpolate(1);
+        } else {
+            this.invalidateDirection();
+        }
+    }
+
+    @Override
+    protected final long getTransformStamp() {
+        return this.movedByPhysic ? this.world.getPhysicUpdates() : 0;
     }
 
     @Override
     public final ClientGameObject rotate(float yaw, float pitch) {
         if(!physicMaster) {
             this.graphicObject.rotate(yaw, pitch);
+            this.invalidateDirection();
+            this.changed();
         }
         return this;
     }
@@ -79,6 +496,8 @@ class ClientGameObjectGraphicPhysic extends BaseClientGameObject {
     public final ClientGameObject lookAt(Point3D target) {
         if(!physicMaster) {
             this.graphicObject.lookAt(target);
+            this.invalidateDirection();
+            this.changed();
         }
         return this;
     }
@@ -93,37 +512,69 @@ class ClientGameObjectGraphicPhysic extends BaseClientGameObject {
     public final void rotate(float x, float y, float z, float w) {
         if(!physicMaster) {
             this.graphicObject.rotate(x, y, z, w);
+            this.invalidateDirection();
+            this.changed();
         }
     }
 
     @Override
     public final void scale(float x, float y, float z) {
         this.graphicObject.scale(x, y, z);
-        this.physicBody.scale(x, y, z);
+        if (this.physicThread != null) {
+            if (this.deleted) {
+                return;
+            }
+            this.physicThread.queue(new PhysicCommand(PhysicCommand.SCALE, this.physicBody).withValues(x, y, z));
+        } else {
+            this.physicBody.scale(x, y, z);
+        }
     }
 
     @Override
     public final void delete() {
+        if (this.parked) {
+            this.pool.forget(this);
+        }
+        this.dirty = false;
+        this.attached = false;
+        this.deleted = true;
+        this.world.remove(this);
+        this.parked = false;
         this.graphicObject.delete();
-        this.physicBody.delete();
+        if (this.physicThread != null) {
+            this.physicThread.queue(new PhysicCommand(PhysicCommand.DELETE, this.physicBody));
+        } else {
+            this.physicBody.delete();
+        }
     }
 
     @Override
     public final void sleep(boolean b) {
-        this.physicBody.sleep(b);
+        if (this.physicThread != null) {
+            if (this.deleted) {
+                return;
+            }
+            this.physicThread.queue(new PhysicCommand(PhysicCommand.SLEEP, this.physicBody).withFlag(b));
+        } else {
+            this.physicBody.sleep(b);
+        }
     }
 
     @Override
     public final void attachTo(Movable other) {
         if(!physicMaster) {
             this.graphicObject.attachTo(other);
+            this.invalidatePosition();
+            this.invalidateDirection();
+            this.attached();
+            this.changed();
         }
         //a dynamic body cannot have parent.
     }
 
     @Override
     public final void addChild(Movable other) {
-        if(!physicMaster) {
+        if(!physicMaster || this.physicThread != null) {
             this.graphicObject.addChild(other);
         } else {
             this.physicBody.addChild(other);
@@ -132,7 +583,7 @@ class ClientGameObjectGraphicPhysic extends BaseClientGameObject {
 
     @Override
     public void removeChild(Movable child) {
-        if(!physicMaster) {
+        if(!physicMaster || this.physicThread != null) {
             this.graphicObject.removeChild(child);
         } else {
             this.physicBody.removeChild(child);
@@ -143,6 +594,10 @@ class ClientGameObjectGraphicPhysic extends BaseClientGameObject {
     public final void attachToOptional(Movable other) {
         if(!physicMaster) {
             this.graphicObject.attachToOptional(other);
+            this.invalidatePosition();
+            this.invalidateDirection();
+            this.attached();
+            this.changed();
         }
         //a dynamic body cannot have parent.
     }
@@ -151,6 +606,10 @@ class ClientGameObjectGraphicPhysic extends BaseClientGameObject {
     public final void detachFromParent() {
         if(!physicMaster) {
             this.graphicObject.detachFromParent();
+            this.attached = false;
+            this.invalidatePosition();
+            this.invalidateDirection();
+            this.changed();
         }
         //a dynamic body cannot have parent.
     }
@@ -159,8 +618,17 @@ class ClientGameObjectGraphicPhysic extends BaseClientGameObject {
     public void setPosition(Point3D newPosition) {
         if(!physicMaster) {
             this.graphicObject.setPosition(newPosition);
+            this.cachePosition(newPosition.x, newPosition.y, newPosition.z);
+            this.moved(newPosition.x, newPosition.y, newPosition.z);
+            this.changed();
+        } else if (this.physicThread != null) {
+            this.queue(new PhysicCommand(PhysicCommand.POSITION, this.physicBody).withValues(newPosition.x, newPosition.y, newPosition.z));
+            this.graphicObject.setPosition(newPosition);
+            this.cachePosition(newPosition.x, newPosition.y, newPosition.z);
+            this.moved(newPosition.x, newPosition.y, newPosition.z);
         } else {
             this.physicBody.setPosition(newPosition);
+            this.teleported(newPosition.x, newPosition.y, newPosition.z);
         }
     }
 
@@ -168,8 +636,15 @@ class ClientGameObjectGraphicPhysic extends BaseClientGameObject {
     public final void setDirection(Point3D newDirection) {
         if(!physicMaster) {
             this.graphicObject.setDirection(newDirection);
+            this.cacheDirection(newDirection.x, newDirection.y, newDirection.z);
+            this.changed();
+        } else if (this.physicThread != null) {
+            this.queue(new PhysicCommand(PhysicCommand.DIRECTION, this.physicBody).withValues(newDirection.x, newDirection.y, newDirection.z));
+            this.graphicObject.setDirection(newDirection);
+            this.cacheDirection(newDirection.x, newDirection.y, newDirection.z);
         } else {
             this.physicBody.setDirection(newDirection);
+            this.turned();
         }
     }
 
@@ -177,8 +652,17 @@ class ClientGameObjectGraphicPhysic extends BaseClientGameObject {
     public final void setPosition(float posX, float posY, float posZ) {
         if(!physicMaster) {
             this.graphicObject.setPosition(posX, posY, posZ);
+            this.cachePosition(posX, posY, posZ);
+            this.moved(posX, posY, posZ);
+            this.changed();
+        } else if (this.physicThread != null) {
+            this.queue(new PhysicCommand(PhysicCommand.POSITION, this.physicBody).withValues(posX, posY, posZ));
+            this.graphicObject.setPosition(posX, posY, posZ);
+            this.cachePosition(posX, posY, posZ);
+            this.moved(posX, posY, posZ);
         } else {
             this.physicBody.setPosition(posX, posY, posZ);
+            this.teleported(posX, posY, posZ);
         }
     }
 
@@ -186,14 +670,21 @@ class ClientGameObjectGraphicPhysic extends BaseClientGameObject {
     public final void setDirection(float dirX, float dirY, float dirZ) {
         if(!physicMaster) {
             this.graphicObject.setDirection(dirX, dirY, dirZ);
+            this.cacheDirection(dirX, dirY, dirZ);
+            this.changed();
+        } else if (this.physicThread != null) {
+            this.queue(new PhysicCommand(PhysicCommand.DIRECTION, this.physicBody).withValues(dirX, dirY, dirZ));
+            this.graphicObject.setDirection(dirX, dirY, dirZ);
+            this.cacheDirection(dirX, dirY, dirZ);
         } else {
             this.physicBody.setDirection(dirX, dirY, dirZ);
+            this.turned();
         }
     }
 
     @Override
     public final void addOptionalChild(Movable child) {
-        if(!physicMaster) {
+        if(!physicMaster || this.physicThread != null) {
             this.graphicObject.addOptionalChild(child);
         } else {
             this.physicBody.addOptionalChild(child);
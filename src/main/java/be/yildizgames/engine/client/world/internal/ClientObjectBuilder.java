@@ -31,8 +31,9 @@ import be.yildizgames.common.model.EntityId;
 import be.yildizgames.common.shape.Box;
 import be.yildizgames.common.shape.Plane;
 import be.yildizgames.common.shape.Sphere;
-import be.yildizgames.engine.client.world.ClientGameObject;
 import be.yildizgames.engine.client.world.ClientGameObjectBuilder;
+import be.yildizgames.engine.client.world.ClientGameObjectDescriptor;
+import be.yildizgames.engine.client.world.ClientGameObjectKind;
 import be.yildizgames.module.graphic.GraphicMesh;
 import be.yildizgames.module.graphic.GraphicObjectBuilder;
 import be.yildizgames.module.graphic.material.Material;
@@ -42,11 +43,42 @@ import be.yildizgames.module.physics.PhysicObjectBuilder;
 
 class ClientObjectBuilder implements ClientGameObjectBuilder {
 
+    private final GraphicPhysicWorld world;
+
     private final PhysicObjectBuilder physicObjectBuilder;
 
     private final GraphicObjectBuilder graphicObjectBuilder;
 
-    ClientObjectBuilder(PhysicObjectBuilder physicObjectBuilder, GraphicObjectBuilder graphicObjectBuilder) {
+    /**
+     * Shared shape set on the builder, at most one is not null.
+     */
+    private Box box;
+
+    private Sphere sphere;
+
+    private Plane plane;
+
+    private GraphicMesh graphicMesh;
+
+    private PhysicMesh physicMesh;
+
+    private Material material;
+
+    private float mass;
+
+    /**
+     * True if the graphic and the physic shapes were set separately, the model cannot be described then.
+     */
+    private boolean splitShape;
+
+    /**
+     * Model of the last built object, kept by the built objects to be written in a world snapshot,
+     * null if the model changed since.
+     */
+    private ClientGameObjectDescriptor model;
+
+    ClientObjectBuilder(GraphicPhysicWorld world, PhysicObjectBuilder physicObjectBuilder, GraphicObjectBuilder graphicObjectBuilder) {
+        this.world = world;
         this.physicObjectBuilder = physicObjectBuilder;
         this.graphicObjectBuilder = graphicObjectBuilder;
     }
@@ -61,48 +93,64 @@ class ClientObjectBuilder implements ClientGameObjectBuilder {
     @Override
     public final ClientGameObjectBuilder withGraphicShape(Box box) {
         this.graphicObjectBuilder.withShape(box);
+        this.splitShape = true;
+        this.model = null;
         return this;
     }
 
     @Override
     public final ClientGameObjectBuilder withGraphicShape(Sphere sphere) {
         this.graphicObjectBuilder.withShape(sphere);
+        this.splitShape = true;
+        this.model = null;
         return this;
     }
 
     @Override
     public final ClientGameObjectBuilder withGraphicShape(Plane plane) {
         this.graphicObjectBuilder.withShape(plane);
+        this.splitShape = true;
+        this.model = null;
         return this;
     }
 
     @Override
     public final ClientGameObjectBuilder withGraphicShape(GraphicMesh mesh) {
         this.graphicObjectBuilder.withShape(mesh);
+        this.splitShape = true;
+        this.model = null;
         return this;
     }
 
     @Override
     public final ClientGameObjectBuilder withPhysicShape(Box box) {
         this.physicObjectBuilder.withShape(box);
+        this.splitShape = true;
+        this.model = null;
         return this;
     }
 
     @Override
     public final ClientGameObjectBuilder withPhysicShape(Sphere sphere) {
         this.physicObjectBuilder.withShape(sphere);
+        this.splitShape = true;
+        this.model = null;
         return this;
     }
 
     @Override
     public final ClientGameObjectBuilder withPhysicShape(Plane plane) {
         this.physicObjectBuilder.withShape(plane);
+        this.splitShape = true;
+        this.model = null;
         return this;
     }
 
     @Override
     public final ClientGameObjectBuilder withPhysicShape(PhysicMesh mesh) {
         this.physicObjectBuilder.withShape(mesh);
+        this.splitShape = true;
+        this.model = null;
         return this;
     }
 
@@ -110,6 +158,8 @@ class ClientObjectBuilder implements ClientGameObjectBuilder {
     public final ClientGameObjectBuilder withShape(Box box) {
         this.physicObjectBuilder.withShape(box);
         this.graphicObjectBuilder.withShape(box);
+        this.clearShape();
+        this.box = box;
         return this;
     }
 
@@ -117,6 +167,8 @@ class ClientObjectBuilder implements ClientGameObjectBuilder {
     public final ClientGameObjectBuilder withShape(Sphere sphere) {
         this.physicObjectBuilder.withShape(sphere);
         this.graphicObjectBuilder.withShape(sphere);
+        this.clearShape();
+        this.sphere = sphere;
         return this;
     }
 
@@ -124,6 +176,8 @@ class ClientObjectBuilder implements ClientGameObjectBuilder {
     public final ClientGameObjectBuilder withShape(Plane plane) {
         this.physicObjectBuilder.withShape(plane);
         this.graphicObjectBuilder.withShape(plane);
+        this.clearShape();
+        this.plane = plane;
         return this;
     }
 
@@ -131,12 +185,17 @@ class ClientObjectBuilder implements ClientGameObjectBuilder {
     public final ClientGameObjectBuilder withShape(GraphicMesh graphicMesh, PhysicMesh physicMesh) {
         this.graphicObjectBuilder.withShape(graphicMesh);
         this.physicObjectBuilder.withShape(physicMesh);
+        this.clearShape();
+        this.graphicMesh = graphicMesh;
+        this.physicMesh = physicMesh;
         return this;
     }
 
     @Override
     public final ClientGameObjectBuilder withMaterial(Material material) {
         this.graphicObjectBuilder.withMaterial(material);
+        this.material = material;
+        this.model = null;
         return this;
     }
 
@@ -157,27 +216,133 @@ class ClientObjectBuilder implements ClientGameObjectBuilder {
     @Override
     public final ClientGameObjectBuilder withMass(float mass) {
         this.physicObjectBuilder.withMass(mass);
+        this.mass = mass;
+        this.model = null;
         return this;
     }
 
     @Override
     public final GhostObject buildGhost() {
-        return this.physicObjectBuilder.buildGhost();
+        this.world.lockPhysic();
+        try {
+            return this.physicObjectBuilder.buildGhost();
+        } finally {
+            this.world.unlockPhysic();
+        }
     }
 
     @Override
-    public final ClientGameObject buildMovableObject() {
-        return ClientGameObjectGraphicPhysic.withGraphicMaster(this.physicObjectBuilder.buildKinematic(), this.graphicObjectBuilder.buildMovable());
+    public final ClientGameObjectGraphicPhysic buildMovableObject() {
+        ClientGameObjectGraphicPhysic object = this.buildMovable();
+        object.setDescriptor(this.model(ClientGameObjectKind.MOVABLE));
+        return object;
     }
 
     @Override
-    public final ClientGameObject buildStaticObject() {
-        return ClientGameObjectGraphicPhysic.withGraphicMaster(this.physicObjectBuilder.buildStatic(), this.graphicObjectBuilder.buildStatic());
+    public final ClientGameObjectGraphicPhysic buildStaticObject() {
+        ClientGameObjectGraphicPhysic object = this.buildStatic();
+        object.setDescriptor(this.model(ClientGameObjectKind.STATIC));
+        return object;
     }
 
     @Override
-    public final ClientGameObject buildDynamicObject() {
-        return ClientGameObjectGraphicPhysic.withDynamicMaster(this.physicObjectBuilder.buildStatic(), this.graphicObjectBuilder.buildStatic());
+    public final ClientGameObjectGraphicPhysic buildDynamicObject() {
+        ClientGameObjectGraphicPhysic object = this.buildDynamic();
+        object.setDescriptor(this.model(ClientGameObjectKind.DYNAMIC));
+        return object;
     }
 
+    private ClientGameObjectGraphicPhysic buildMovable() {
+        this.world.lockPhysic();
+        try {
+            return this.world.register(ClientGameObjectGraphicPhysic.withGraphicMaster(this.world, this.physicObjectBuilder.buildKinematic(), this.graphicObjectBuilder.buildMovable()));
+        } finally {
+            this.world.unlockPhysic();
+        }
+    }
+
+    private ClientGameObjectGraphicPhysic buildStatic() {
+        this.world.lockPhysic();
+        try {
+            return this.world.register(ClientGameObjectGraphicPhysic.withGraphicMaster(this.world, this.physicObjectBuilder.buildStatic(), this.graphicObjectBuilder.buildStatic()));
+        } finally {
+            this.world.unlockPhysic();
+        }
+    }
+
+    private ClientGameObjectGraphicPhysic buildDynamic() {
+        this.world.lockPhysic();
+        try {
+            return this.world.register(ClientGameObjectGraphicPhysic.withDynamicMaster(this.world, this.physicObjectBuilder.buildStatic(), this.graphicObjectBuilder.buildStatic()));
+        } finally {
+            this.world.unlockPhysic();
+        }
+    }
+
+    /**
+     * Build an object from a descriptor, the builder keeps the descriptor attributes afterwards.
+     * The object keeps the descriptor, so it can be written in a world snapshot.
+     *
+     * @param descriptor Object description.
+     * @return The built object.
+     */
+    final ClientGameObjectGraphicPhysic build(ClientGameObjectDescriptor descriptor) {
+        descriptor.applyTo(this);
+        ClientGameObjectGraphicPhysic object;
+        switch (descriptor.getKind()) {
+            case DYNAMIC:
+                object = this.buildDynamic();
+                break;
+            case MOVABLE:
+                object = this.buildMovable();
+                break;
+            default:
+                object = this.buildStatic();
+                break;
+        }
+        object.setDescriptor(descriptor);
+        return object;
+    }
+
+    /**
+     * Describe the model set on this builder, the descriptor is shared by the objects built with the same model.
+     *
+     * @param kind Kind of the built object.
+     * @return The model descriptor, null if the graphic and physic shapes were set separately.
+     */
+    private ClientGameObjectDescriptor model(ClientGameObjectKind kind) {
+        if (this.splitShape) {
+            return null;
+        }
+        if (this.model == null || this.model.getKind() != kind) {
+            ClientGameObjectDescriptor descriptor = ClientGameObjectDescriptor.of(kind);
+            if (this.box != null) {
+                descriptor.withShape(this.box);
+            } else if (this.sphere != null) {
+                descriptor.withShape(this.sphere);
+            } else if (this.plane != null) {
+                descriptor.withShape(this.plane);
+            } else if (this.graphicMesh != null) {
+                descriptor.withShape(this.graphicMesh, this.physicMesh);
+            }
+            if (this.material != null) {
+                descriptor.withMaterial(this.material);
+            }
+            if (kind == ClientGameObjectKind.DYNAMIC) {
+                descriptor.withMass(this.mass);
+            }
+            this.model = descriptor;
+        }
+        return this.model;
+    }
+
+    private void clearShape() {
+        this.box = null;
+        this.sphere = null;
+        this.plane = null;
+        this.graphicMesh = null;
+        this.physicMesh = null;
+        this.splitShape = false;
+        this.model = null;
+    }
 }
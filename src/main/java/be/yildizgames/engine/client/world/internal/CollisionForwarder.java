@@ -0,0 +1,93 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.common.gameobject.CollisionListener;
+import be.yildizgames.common.gameobject.CollisionResult;
+
+import java.util.Arrays;
+
+/**
+ * Single listener registered by a world on its physic world, forwarding the collisions to the listeners added to the world.
+ * The physic world keeps its listeners as long as it lives, so a reused world empties this one instead of registering again.
+ * Listeners are added and removed on the frame thread and notified on the physic thread if any, the notification uses
+ * the listeners array at that time.
+ *
+ * @author Grégory Van den Borre
+ */
+final class CollisionForwarder implements CollisionListener {
+
+    private static final CollisionListener[] NONE = new CollisionListener[0];
+
+    private volatile CollisionListener[] listeners = NONE;
+
+    /**
+     * True once registered on the physic world.
+     */
+    private boolean registered;
+
+    /**
+     * Add a listener to notify.
+     *
+     * @param listener Listener to add.
+     * @return True if this forwarder must be registered on the physic world, only the first time.
+     */
+    boolean add(CollisionListener listener) {
+        CollisionListener[] current = this.listeners;
+        CollisionListener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        this.listeners = updated;
+        boolean first = !this.registered;
+        this.registered = true;
+        return first;
+    }
+
+    /**
+     * Remove all the listeners, the collisions are no longer notified.
+     */
+    void clear() {
+        this.listeners = NONE;
+    }
+
+    int size() {
+        return this.listeners.length;
+    }
+
+    @Override
+    public void newCollision(CollisionResult result) {
+        CollisionListener[] current = this.listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].newCollision(result);
+        }
+    }
+
+    @Override
+    public void lostCollision(CollisionResult result) {
+        CollisionListener[] current = this.listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].lostCollision(result);
+        }
+    }
+}
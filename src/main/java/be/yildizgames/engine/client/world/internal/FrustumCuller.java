@@ -0,0 +1,301 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.engine.client.world.CullingMetrics;
+import be.yildizgames.module.graphic.camera.BehavioredCamera;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Hide the objects out of a camera view, and show them back when they enter it.
+ * The objects are tested by cells of the spatial index, a cell fully outside or inside the view is decided without
+ * testing its objects. On large worlds the cells are split in chunks tested in parallel, the visibility changes are
+ * then applied on the calling thread, only for the objects whose state changed.
+ *
+ * @author Grégory Van den Borre
+ */
+final class FrustumCuller implements CullingMetrics {
+
+    /**
+     * Minimum number of objects to test the chunks in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    private final ViewFrustum frustum = new ViewFrustum();
+
+    /**
+     * Chunks of cells, tested in parallel.
+     */
+    private final Chunk[] chunks;
+
+    /**
+     * Camera whose view is used, null when the culling is disabled.
+     */
+    private BehavioredCamera camera;
+
+    /**
+     * Vertical field of view, in radians.
+     */
+    private float fieldOfView;
+
+    private float aspectRatio;
+
+    private float near;
+
+    private float far;
+
+    /**
+     * Radius of the sphere around every object position, containing the whole object.
+     */
+    private float boundingRadius;
+
+    private volatile int visible;
+
+    private volatile int culled;
+
+    private volatile int changes;
+
+    private volatile long time;
+
+    FrustumCuller() {
+        super();
+        int count = ForkJoinPool.getCommonPoolParallelism() * 4;
+        this.chunks = new Chunk[count];
+        for (int i = 0; i < count; i++) {
+            this.chunks[i] = new Chunk();
+        }
+    }
+
+    /**
+     * Start culling with a camera view.
+     *
+     * @param camera         Camera to use.
+     * @param fieldOfView    Vertical field of view, in degrees.
+     * @param aspectRatio    Width divided by height.
+     * @param near           Near clip distance.
+     * @param far            Far clip distance.
+     * @param boundingRadius Radius of the sphere around every object position, containing the whole object.
+     */
+    void enable(BehavioredCamera camera, float fieldOfView, float aspectRatio, float near, float far, float boundingRadius) {
+        if (fieldOfView <= 0 || fieldOfView >= 180) {
+            throw new IllegalArgumentException("Field of view must be between 0 and 180: " + fieldOfView);
+        }
+        if (aspectRatio <= 0) {
+            throw new IllegalArgumentException("Aspect ratio must be positive: " + aspectRatio);
+        }
+        if (near < 0 || far <= near) {
+            throw new IllegalArgumentException("Invalid clip distances: " + near + ", " + far);
+        }
+        if (boundingRadius < 0) {
+            throw new IllegalArgumentException("Bounding radius must be positive: " + boundingRadius);
+        }
+        this.camera = camera;
+        this.fieldOfView = (float) Math.toRadians(fieldOfView);
+        this.aspectRatio = aspectRatio;
+        this.near = near;
+        this.far = far;
+        this.boundingRadius = boundingRadius;
+    }
+
+    /**
+     * Stop culling, the culled objects are shown back.
+     *
+     * @param grid Spatial index containing the culled objects.
+     */
+    void disable(SpatialGrid<ClientGameObjectGraphicPhysic> grid) {
+        if (this.camera == null) {
+            return;
+        }
+        this.reset();
+        grid.visitCells(0, grid.getCellCount(), new SpatialGrid.CellVisitor<>() {
+
+            @Override
+            public int visitCell(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+                return ViewFrustum.INSIDE;
+            }
+
+            @Override
+            public void visitObject(ClientGameObjectGraphicPhysic object, float x, float y, float z, int cellResult) {
+                object.setCulled(false);
+            }
+        });
+    }
+
+    /**
+     * Stop culling without showing back the culled objects, for when all the objects are about to be deleted or parked.
+     */
+    void reset() {
+        this.camera = null;
+        this.visible = 0;
+        this.culled = 0;
+        this.changes = 0;
+        this.time = 0;
+    }
+
+    /**
+     * Test all the indexed objects against the camera view, and show or hide the ones whose state changed.
+     * Does nothing if the culling is disabled.
+     *
+     * @param grid Spatial index containing the objects to cull.
+     */
+    void cull(SpatialGrid<ClientGameObjectGraphicPhysic> grid) {
+        if (this.camera == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        Point3D position = this.camera.getPosition();
+        Point3D direction = this.camera.getDirection();
+        this.frustum.set(position.x, position.y, position.z, direction.x, direction.y, direction.z,
+                this.fieldOfView, this.aspectRatio, this.near, this.far);
+        int cellCount = grid.getCellCount();
+        int used;
+        if (grid.size() < PARALLEL_THRESHOLD) {
+            used = 1;
+            this.chunks[0].prepare(grid, 0, cellCount);
+            this.chunks[0].compute();
+        } else {
+            used = this.chunks.length;
+            for (int i = 0; i < used; i++) {
+                this.chunks[i].reinitialize();
+                this.chunks[i].prepare(grid, (int) ((long) cellCount * i / used), (int) ((long) cellCount * (i + 1) / used));
+            }
+            ForkJoinTask.invokeAll(this.chunks);
+        }
+        int visibleCount = 0;
+        int culledCount = 0;
+        int changeCount = 0;
+        for (int i = 0; i < used; i++) {
+            Chunk chunk = this.chunks[i];
+            visibleCount += chunk.visibleCount;
+            culledCount += chunk.culledCount;
+            changeCount += chunk.changed.size();
+            for (int j = 0; j < chunk.changed.size(); j++) {
+                ClientGameObjectGraphicPhysic object = chunk.changed.get(j);
+                object.setCulled(!object.isCulled());
+            }
+            chunk.changed.clear();
+        }
+        this.visible = visibleCount;
+        this.culled = culledCount;
+        this.changes = changeCount;
+        this.time = System.nanoTime() - start;
+    }
+
+    /**
+     * @param camera Camera to check.
+     * @return True if the culling is enabled with this camera view.
+     */
+    boolean isCullingWith(BehavioredCamera camera) {
+        return this.camera == camera;
+    }
+
+    @Override
+    public boolean isCullingEnabled() {
+        return this.camera != null;
+    }
+
+    @Override
+    public int getVisibleObjects() {
+        return this.visible;
+    }
+
+    @Override
+    public int getCulledObjects() {
+        return this.culled;
+    }
+
+    @Override
+    public int getVisibilityChanges() {
+        return this.changes;
+    }
+
+    @Override
+    public long getCullingTime() {
+        return this.time;
+    }
+
+    /**
+     * Range of cells tested by one task, collecting the objects whose visibility changed.
+     */
+    private final class Chunk extends RecursiveAction implements SpatialGrid.CellVisitor<ClientGameObjectGraphicPhysic> {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Objects whose visibility changed, reused from one frame to the next.
+         */
+        private final transient List<ClientGameObjectGraphicPhysic> changed = new ArrayList<>();
+
+        private transient SpatialGrid<ClientGameObjectGraphicPhysic> grid;
+
+        private int from;
+
+        private int to;
+
+        private int visibleCount;
+
+        private int culledCount;
+
+        private void prepare(SpatialGrid<ClientGameObjectGraphicPhysic> grid, int from, int to) {
+            this.grid = grid;
+            this.from = from;
+            this.to = to;
+            this.visibleCount = 0;
+            this.culledCount = 0;
+        }
+
+        @Override
+        protected void compute() {
+            this.grid.visitCells(this.from, this.to, this);
+        }
+
+        @Override
+        public int visitCell(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+            float r = boundingRadius;
+            return frustum.classifyBox(minX - r, minY - r, minZ - r, maxX + r, maxY + r, maxZ + r);
+        }
+
+        @Override
+        public void visitObject(ClientGameObjectGraphicPhysic object, float x, float y, float z, int cellResult) {
+            boolean inView = cellResult == ViewFrustum.INSIDE
+                    || cellResult == ViewFrustum.INTERSECTING && frustum.intersectsSphere(x, y, z, boundingRadius);
+            if (inView) {
+                this.visibleCount++;
+            } else {
+                this.culledCount++;
+            }
+            if (inView == object.isCulled()) {
+                this.changed.add(object);
+            }
+        }
+    }
+}
@@ -27,10 +27,18 @@ package be.yildizgames.engine.client.world.internal;
 
 import be.yildizgames.common.gameobject.CollisionListener;
 import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
+import be.yildizgames.engine.client.GameEngineOptions;
 import be.yildizgames.engine.client.world.ClientGameObject;
 import be.yildizgames.engine.client.world.ClientGameObjectBuilder;
+import be.yildizgames.engine.client.world.ClientGameObjectDescriptor;
+import be.yildizgames.engine.client.world.ClientGameObjectPool;
 import be.yildizgames.engine.client.world.ClientGameObjectTemplate;
 import be.yildizgames.engine.client.world.ClientWorld;
+import be.yildizgames.engine.client.world.CullingMetrics;
+import be.yildizgames.engine.client.world.StreamingMetrics;
+import be.yildizgames.engine.client.world.TransformSyncMetrics;
+import be.yildizgames.engine.client.world.WorldCellSource;
 import be.yildizgames.module.color.Color;
 import be.yildizgames.module.graphic.Font;
 import be.yildizgames.module.graphic.GraphicWorld;
@@ -57,70 +65,1143 @@ import be.yildizgames.module.graphic.query.Query;
 import be.yildizgames.module.physics.Gravity;
 import be.yildizgames.module.physics.PhysicWorld;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.FloatBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * @author Grégory Van den Borre
  */
 public class GraphicPhysicWorld implements ClientWorld {
 
-    private final Map<Camera, BehavioredCamera> cameras = new HashMap<>();
+    /**
+     * Cameras created in this world, by name and handle.
+     */
+    private final CameraRegistry<BehavioredCamera> cameras = new CameraRegistry<>();
+
+    /**
+     * Backend cameras created in this world, by name, the graphic world has no way to destroy them,
+     * so the camera created again with a removed name reuses its backend camera.
+     */
+    private final Map<String, Camera> graphicCameras = new HashMap<>();
+
+    /**
+     * Graphic world default camera.
+     */
+    private final Camera defaultGraphicCamera;
+
+    /**
+     * Behaviored default camera, it has no name in the registry as its name is chosen by the graphic world.
+     */
+    private final BehavioredCamera defaultCamera;
 
     private final GraphicWorld graphicWorld;
 
     private final PhysicWorld physicWorld;
 
+    /**
+     * True if the dynamic objects graphics are interpolated between the physic states instead of following their body.
+     */
+    private final boolean physicInterpolation;
+
+    /**
+     * Dynamic objects whose graphic is interpolated.
+     */
+    private final List<ClientGameObjectGraphicPhysic> interpolatedObjects = new ArrayList<>();
+
+    /**
+     * Object pools, by template.
+     */
+    private final Map<ClientGameObjectTemplate, TemplateObjectPool> pools = new HashMap<>();
+
+    /**
+     * Resolved templates.
+     */
+    private final Map<ClientGameObjectTemplate, ObjectPrototype> prototypes = new HashMap<>();
+
+    /**
+     * Index of the objects by position.
+     */
+    private final SpatialGrid<ClientGameObjectGraphicPhysic> spatialIndex;
+
+    /**
+     * Dynamic objects following their physic body without interpolation.
+     */
+    private final List<ClientGameObjectGraphicPhysic> physicDrivenObjects = new ArrayList<>();
+
+    /**
+     * True if the dynamic objects were moved by the physic since their position was last refreshed in the spatial index,
+     * the index is only refreshed when it is used.
+     */
+    private boolean spatialIndexStale;
+
+    /**
+     * Number of physic updates, the transforms of the dynamic objects not interpolated cached before the last one are outdated.
+     */
+    private long physicUpdates;
+
+    /**
+     * Hide the objects out of the camera view, when enabled.
+     */
+    private final FrustumCuller culler = new FrustumCuller();
+
+    /**
+     * Objects waiting for their physic body to follow their graphic, in deferred transform synchronization.
+     */
+    private final TransformSync transformSync;
+
+    /**
+     * Objects with an id, by id value.
+     */
+    private final LongObjectMap<ClientGameObjectGraphicPhysic> objects = new LongObjectMap<>();
+
+    /**
+     * Build the objects around a camera, null if the streaming is disabled.
+     */
+    private WorldStreamer streamer;
+
+    /**
+     * Lights created in this world, by name.
+     */
+    private final Map<String, WorldLight> lights = new LinkedHashMap<>();
+
+    /**
+     * True once the sky was created.
+     */
+    private boolean sky;
+
+    /**
+     * True once the ocean was created.
+     */
+    private boolean ocean;
+
+    /**
+     * Objects to delete or park during a clear, reused from one clear to the next.
+     */
+    private final List<ClientGameObjectGraphicPhysic> cleared = new ArrayList<>();
+
+    /**
+     * True while the world is cleared, the deleted objects are then removed from the object lists in one pass at the end.
+     */
+    private boolean clearing;
+
+    /**
+     * True once disposed, until reused.
+     */
+    private boolean disposed;
+
+    /**
+     * True to keep the pools when disposed, for the world to be reused.
+     */
+    private boolean reusable;
+
+    /**
+     * Notified when the world is disposed, null if none.
+     */
+    private Consumer<GraphicPhysicWorld> disposeListener;
+
+    /**
+     * Listeners of the collisions, registered once on the physic world, emptied when this world is disposed.
+     */
+    private final CollisionForwarder collisionListeners = new CollisionForwarder();
+
+    /**
+     * Listeners of the ghost objects collisions, registered once on the physic world, emptied when this world is disposed.
+     */
+    private final CollisionForwarder ghostCollisionListeners = new CollisionForwarder();
+
+    /**
+     * True if the gravity was set since the world creation or reuse.
+     */
+    private boolean gravitySet;
+
+    /**
+     * Physic master objects found during a bulk update, applied after the graphic master ones.
+     */
+    private ClientGameObjectGraphicPhysic[] physicMasters = new ClientGameObjectGraphicPhysic[16];
+
+    /**
+     * Index in the bulk update of every physic master object found.
+     */
+    private int[] physicMasterIndexes = new int[16];
+
+    /**
+     * Transform of one object, used by the bulk reads.
+     */
+    private final float[] transform = new float[6];
+
+    /**
+     * Number of objects built in this world.
+     */
+    private long createdObjects;
+
+    /**
+     * Number of objects deleted from this world.
+     */
+    private long deletedObjects;
+
+    /**
+     * Thread stepping the physic, null if the physic is stepped on the frame thread.
+     */
+    private PhysicThread physicThread;
+
+    /**
+     * Transforms of the physic driven objects after the last step done by the physic thread, read by the frame thread.
+     */
+    private PhysicStepBuffer published = new PhysicStepBuffer();
+
+    /**
+     * Transforms being filled by the physic thread.
+     */
+    private PhysicStepBuffer back = new PhysicStepBuffer();
+
+    /**
+     * Last step applied to the objects.
+     */
+    private long appliedStep;
+
     public GraphicPhysicWorld(GraphicWorld graphicWorld, PhysicWorld physicWorld) {
+        this(graphicWorld, physicWorld, false);
+    }
+
+    /**
+     * Create a new world.
+     *
+     * @param graphicWorld        Graphic part of the world.
+     * @param physicWorld         Physic part of the world.
+     * @param physicInterpolation True to interpolate the dynamic objects graphics between the two last physic states,
+     *                            the engine must then call storePhysicState after every physic step and interpolate once per frame.
+     */
+    public GraphicPhysicWorld(GraphicWorld graphicWorld, PhysicWorld physicWorld, boolean physicInterpolation) {
+        this(graphicWorld, physicWorld, physicInterpolation, GameEngineOptions.DEFAULT_SPATIAL_CELL_SIZE);
+    }
+
+    /**
+     * Create a new world.
+     *
+     * @param graphicWorld        Graphic part of the world.
+     * @param physicWorld         Physic part of the world.
+     * @param physicInterpolation True to interpolate the dynamic objects graphics between the two last physic states.
+     * @param spatialCellSize     Size of the cells of the spatial index used by the region queries.
+     */
+    public GraphicPhysicWorld(GraphicWorld graphicWorld, PhysicWorld physicWorld, boolean physicInterpolation, float spatialCellSize) {
+        this(graphicWorld, physicWorld, physicInterpolation, spatialCellSize, false);
+    }
+
+    /**
+     * Create a new world.
+     *
+     * @param graphicWorld        Graphic part of the world.
+     * @param physicWorld         Physic part of the world.
+     * @param physicInterpolation True to interpolate the dynamic objects graphics between the two last physic states.
+     * @param spatialCellSize     Size of the cells of the spatial index used by the region queries.
+     * @param deferredSync        True to move the physic bodies of the static and movable objects once per frame,
+     *                            the engine must then call syncTransforms before every physic update.
+     */
+    public GraphicPhysicWorld(GraphicWorld graphicWorld, PhysicWorld physicWorld, boolean physicInterpolation, float spatialCellSize, boolean deferredSync) {
+        this.transformSync = new TransformSync(deferredSync);
+        this.spatialIndex = new SpatialGrid<>(spatialCellSize);
         this.graphicWorld = graphicWorld;
         this.physicWorld = physicWorld;
-        this.cameras.put(this.graphicWorld.getDefaultCamera(), new BehavioredCamera(this.graphicWorld.getDefaultCamera()));
+        this.physicInterpolation = physicInterpolation;
+        this.defaultGraphicCamera = this.graphicWorld.getDefaultCamera();
+        this.defaultCamera = new BehavioredCamera(this.defaultGraphicCamera);
+        this.cameras.add(null, this.defaultCamera);
+    }
+
+    /**
+     * @return True if the dynamic objects graphics are interpolated between the physic states.
+     */
+    public final boolean isPhysicInterpolated() {
+        return this.physicInterpolation;
+    }
+
+    /**
+     * Step the physic of this world on a dedicated thread, to be called before any object is built.
+     * The physic driven objects then follow the transforms published by the physic thread, and the body changes are queued to it.
+     *
+     * @param thread Thread stepping the physic.
+     * @throws NullPointerException If thread is null.
+     * @throws IllegalStateException If objects were already built, if the transform synchronization is not deferred, or if the physic is interpolated.
+     */
+    public final void setPhysicThread(PhysicThread thread) {
+        Objects.requireNonNull(thread);
+        if (this.createdObjects > 0) {
+            throw new IllegalStateException("The physic thread must be set before building objects.");
+        }
+        if (!this.isTransformSyncDeferred()) {
+            throw new IllegalStateException("The physic thread requires a deferred transform synchronization.");
+        }
+        if (this.physicInterpolation) {
+            throw new IllegalStateException("The physic thread cannot be used with physic interpolation.");
+        }
+        this.physicThread = thread;
+    }
+
+    /**
+     * @return True if the physic of this world is stepped on a dedicated thread.
+     */
+    public final boolean isPhysicThreaded() {
+        return this.physicThread != null;
+    }
+
+    /**
+     * @return The thread stepping the physic, null if the physic is stepped on the frame thread.
+     */
+    final PhysicThread getPhysicThread() {
+        return this.physicThread;
+    }
+
+    /**
+     * Wait for the current physic step to end before changing the physic world, does nothing if the physic is not threaded.
+     */
+    final void lockPhysic() {
+        if (this.physicThread != null) {
+            this.physicThread.lock();
+        }
+    }
+
+    final void unlockPhysic() {
+        if (this.physicThread != null) {
+            this.physicThread.unlock();
+        }
+    }
+
+    /**
+     * Keep the physic driven objects to publish at the end of the requested step, called on the frame thread.
+     *
+     * @param step Requested step.
+     */
+    final void preparePhysicStep(long step) {
+        PhysicStepBuffer buffer = this.back;
+        int size = this.physicDrivenObjects.size();
+        buffer.ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            buffer.objects[i] = this.physicDrivenObjects.get(i);
+        }
+        for (int i = size; i < buffer.count; i++) {
+            buffer.objects[i] = null;
+        }
+        buffer.count = size;
+        buffer.step = step;
+    }
+
+    /**
+     * Read the bodies transforms once the step is done and publish them, called on the physic thread.
+     */
+    final void capturePhysicStep() {
+        PhysicStepBuffer buffer = this.back;
+        for (int i = 0; i < buffer.count; i++) {
+            buffer.objects[i].readPhysicState(buffer.transforms, i * 6);
+        }
+        this.back = this.published;
+        this.published = buffer;
+    }
+
+    /**
+     * Move the physic driven objects to the transforms of the last published step, called on the frame thread while the physic thread is idle.
+     */
+    final void applyPhysicStep() {
+        PhysicStepBuffer buffer = this.published;
+        if (buffer.step <= this.appliedStep) {
+            return;
+        }
+        this.appliedStep = buffer.step;
+        this.spatialIndexStale = true;
+        for (int i = 0; i < buffer.count; i++) {
+            buffer.objects[i].applyPhysicState(buffer.step, buffer.transforms, i * 6);
+        }
+    }
+
+    /**
+     * @return True if the physic bodies of the static and movable objects follow their graphic once per frame.
+     */
+    public final boolean isTransformSyncDeferred() {
+        return this.transformSync.isDeferredTransformSync();
+    }
+
+    /**
+     * Move the physic body of every object moved since the previous call to its final transform, in deferred transform synchronization.
+     */
+    public final void syncTransforms() {
+        this.transformSync.sync();
+    }
+
+    /**
+     * Add an object in the dirty list, its physic body follows at the next synchronization.
+     *
+     * @param object Moved object.
+     */
+    final void transformChanged(ClientGameObjectGraphicPhysic object) {
+        this.transformSync.changed(object);
+    }
+
+    /**
+     * Add an object attached to a parent, its physic body follows it at every synchronization until it is detached.
+     *
+     * @param object Attached object.
+     */
+    final void transformFollowed(ClientGameObjectGraphicPhysic object) {
+        this.transformSync.follow(object);
+    }
+
+    /**
+     * Keep the state of every interpolated object, to be called after each physic step.
+     */
+    public final void storePhysicState() {
+        for (int i = 0; i < this.interpolatedObjects.size(); i++) {
+            this.interpolatedObjects.get(i).storePhysicState();
+        }
+    }
+
+    /**
+     * Move the interpolated objects graphics between their two last physic states, to be called once per frame.
+     *
+     * @param alpha Interpolation factor, 0 for the previous state, 1 for the current one.
+     */
+    public final void interpolate(float alpha) {
+        this.spatialIndexStale = true;
+        for (int i = 0; i < this.interpolatedObjects.size(); i++) {
+            this.interpolatedObjects.get(i).interpolate(alpha);
+        }
+    }
+
+    /**
+     * Notify the dynamic objects not interpolated were moved by their physic body, to be called after a physic update.
+     * Their cached transform is read again from their graphic once, and their position in the spatial index is
+     * refreshed the next time the index is used.
+     */
+    public final void physicUpdated() {
+        this.physicUpdates++;
+        this.spatialIndexStale = true;
+    }
+
+    /**
+     * @return The number of physic updates notified with physicUpdated.
+     */
+    final long getPhysicUpdates() {
+        return this.physicUpdates;
+    }
+
+    /**
+     * Move the dynamic objects to their current position in the spatial index, if the physic moved them since the last refresh.
+     */
+    private void refreshSpatialIndex() {
+        if (!this.spatialIndexStale) {
+            return;
+        }
+        this.spatialIndexStale = false;
+        for (int i = 0; i < this.interpolatedObjects.size(); i++) {
+            this.interpolatedObjects.get(i).refreshSpatialPosition(this.transform);
+        }
+        for (int i = 0; i < this.physicDrivenObjects.size(); i++) {
+            this.physicDrivenObjects.get(i).refreshSpatialPosition(this.transform);
+        }
+    }
+
+    /**
+     * Show the objects entering the culling camera view and hide the ones leaving it, to be called once per frame
+     * before rendering. Does nothing if the culling is not enabled.
+     */
+    public final void cull() {
+        if (this.culler.isCullingEnabled()) {
+            this.refreshSpatialIndex();
+            this.culler.cull(this.spatialIndex);
+        }
+    }
+
+    /**
+     * Load the cells entering the streaming radius, unload the ones leaving it, and build or delete the streamed objects
+     * within the streaming frame budget, to be called once per frame. Does nothing if the streaming is not enabled.
+     */
+    public final void stream() {
+        if (this.streamer != null) {
+            this.streamer.update();
+        }
+    }
+
+    /**
+     * @return The number of objects built in this world since its creation.
+     */
+    public final long getCreatedObjects() {
+        return this.createdObjects;
+    }
+
+    /**
+     * @return The number of objects deleted from this world since its creation.
+     */
+    public final long getDeletedObjects() {
+        return this.deletedObjects;
+    }
+
+    /**
+     * Keep track of an object built in this world.
+     *
+     * @param object Built object.
+     * @return The object.
+     */
+    final ClientGameObjectGraphicPhysic register(ClientGameObjectGraphicPhysic object) {
+        this.createdObjects++;
+        this.track(object);
+        return object;
+    }
+
+    /**
+     * Stop tracking a deleted object, a parked object is already no longer tracked.
+     *
+     * @param object Deleted object.
+     */
+    final void remove(ClientGameObjectGraphicPhysic object) {
+        this.deletedObjects++;
+        if (!object.isParked()) {
+            this.untrack(object);
+        }
+    }
+
+    /**
+     * Stop tracking an object parked in its pool, it is no longer returned by the world lookups and queries, nor
+     * updated every frame, until it is acquired again.
+     *
+     * @param object Parked object.
+     */
+    final void park(ClientGameObjectGraphicPhysic object) {
+        this.untrack(object);
+    }
+
+    /**
+     * Track again an object acquired from its pool.
+     *
+     * @param object Acquired object.
+     */
+    final void unpark(ClientGameObjectGraphicPhysic object) {
+        this.track(object);
+        if (object.isAttached()) {
+            this.transformSync.follow(object);
+        }
+    }
+
+    /**
+     * Add an object in the registry, the update lists and the spatial index.
+     *
+     * @param object Object to track.
+     */
+    private void track(ClientGameObjectGraphicPhysic object) {
+        EntityId id = object.getId();
+        if (id != null) {
+            this.objects.put(id.value, object);
+        }
+        if (object.isInterpolated()) {
+            object.setUpdateIndex(this.interpolatedObjects.size());
+            this.interpolatedObjects.add(object);
+        } else if (object.isPhysicMaster()) {
+            object.setUpdateIndex(this.physicDrivenObjects.size());
+            this.physicDrivenObjects.add(object);
+        }
+        this.index(object);
+    }
+
+    /**
+     * Remove an object from the registry, the update lists and the spatial index. While clearing, the update lists are
+     * emptied at once at the end instead.
+     *
+     * @param object Object to forget.
+     */
+    private void untrack(ClientGameObjectGraphicPhysic object) {
+        EntityId id = object.getId();
+        if (id != null) {
+            this.objects.remove(id.value, object);
+        }
+        if (!this.clearing) {
+            if (object.isInterpolated()) {
+                swapRemove(this.interpolatedObjects, object);
+            } else if (object.isPhysicMaster()) {
+                swapRemove(this.physicDrivenObjects, object);
+            }
+        }
+        this.unindex(object);
+    }
+
+    /**
+     * Remove an object from a list by moving the last one in its place.
+     *
+     * @param objects List containing the object at its update index.
+     * @param object  Object to remove, nothing is done if it is not in a list.
+     */
+    private static void swapRemove(List<ClientGameObjectGraphicPhysic> objects, ClientGameObjectGraphicPhysic object) {
+        int index = object.getUpdateIndex();
+        if (index < 0) {
+            return;
+        }
+        ClientGameObjectGraphicPhysic last = objects.remove(objects.size() - 1);
+        if (last != object) {
+            objects.set(index, last);
+            last.setUpdateIndex(index);
+        }
+        object.setUpdateIndex(-1);
+    }
+
+    /**
+     * Remove all the objects from an update list at once.
+     *
+     * @param objects List to empty.
+     */
+    private static void untrackAll(List<ClientGameObjectGraphicPhysic> objects) {
+        for (int i = 0; i < objects.size(); i++) {
+            objects.get(i).setUpdateIndex(-1);
+        }
+        objects.clear();
+    }
+
+    /**
+     * Keep the pools when disposed, so their parked objects are still available once the world is reused.
+     *
+     * @param reusable True to keep the pools.
+     */
+    public final void setReusable(boolean reusable) {
+        this.reusable = reusable;
+    }
+
+    /**
+     * Set the listener notified when this world is disposed.
+     *
+     * @param listener Listener to notify.
+     */
+    public final void setDisposeListener(Consumer<GraphicPhysicWorld> listener) {
+        this.disposeListener = listener;
+    }
+
+    /**
+     * Make a disposed world usable again, it is empty but keeps its pools if it is reusable.
+     * The gravity set before the world was disposed is removed, its collision listeners were already removed by dispose.
+     */
+    public final void reuse() {
+        if (this.gravitySet) {
+            this.lockPhysic();
+            try {
+                this.physicWorld.setGravity(0, 0, 0);
+                this.gravitySet = false;
+            } finally {
+                this.unlockPhysic();
+            }
+        }
+        this.disposed = false;
+    }
+
+    /**
+     * @return True if the world was disposed and not reused.
+     */
+    public final boolean isDisposed() {
+        return this.disposed;
+    }
+
+    private void checkNotDisposed() {
+        if (this.disposed) {
+            throw new IllegalStateException("World disposed.");
+        }
+    }
+
+    /**
+     * Every object is visited once, the objects are removed from the object lists in a single pass at the end
+     * instead of one by one, and the culling is stopped without showing back the culled objects.
+     */
+    @Override
+    public void clear() {
+        this.culler.reset();
+        if (this.streamer != null) {
+            this.streamer.forget();
+            this.streamer = null;
+        }
+        this.spatialIndex.collectAll(this.cleared);
+        this.clearing = true;
+        try {
+            for (int i = 0; i < this.cleared.size(); i++) {
+                ClientGameObjectGraphicPhysic object = this.cleared.get(i);
+                if (object.getPool() == null) {
+                    object.delete();
+                } else {
+                    object.getPool().release(object);
+                }
+            }
+        } finally {
+            this.clearing = false;
+            this.cleared.clear();
+        }
+        untrackAll(this.interpolatedObjects);
+        untrackAll(this.physicDrivenObjects);
+        for (WorldLight light : this.lights.values()) {
+            this.graphicWorld.deleteLight(light.light);
+        }
+        this.lights.clear();
+        this.cameras.removeAllBut(this.defaultCamera);
+        this.transformSync.sync();
+    }
 
+    @Override
+    public void dispose() {
+        if (this.disposed) {
+            return;
+        }
+        this.clear();
+        this.lockPhysic();
+        try {
+            this.collisionListeners.clear();
+            this.ghostCollisionListeners.clear();
+        } finally {
+            this.unlockPhysic();
+        }
+        if (!this.reusable) {
+            for (TemplateObjectPool pool : this.pools.values()) {
+                pool.clear();
+            }
+            this.pools.clear();
+            this.prototypes.clear();
+            this.graphicCameras.clear();
+        }
+        this.disposed = true;
+        if (this.disposeListener != null) {
+            this.disposeListener.accept(this);
+        }
     }
 
     @Override
     public void setGravity(float x, float y, float z) {
-        this.physicWorld.setGravity(x, y, z);
+        this.lockPhysic();
+        try {
+            this.physicWorld.setGravity(x, y, z);
+            this.gravitySet = true;
+        } finally {
+            this.unlockPhysic();
+        }
     }
 
     @Override
     public void setGravity(Gravity g) {
-        this.physicWorld.setGravity(g);
+        this.lockPhysic();
+        try {
+            this.physicWorld.setGravity(g);
+            this.gravitySet = true;
+        } finally {
+            this.unlockPhysic();
+        }
     }
 
+    /**
+     * With a physic thread, the listener is notified on that thread.
+     */
     @Override
     public void addCollisionListener(CollisionListener l) {
-        this.physicWorld.addCollisionListener(l);
+        Objects.requireNonNull(l);
+        this.lockPhysic();
+        try {
+            if (this.collisionListeners.add(l)) {
+                this.physicWorld.addCollisionListener(this.collisionListeners);
+            }
+        } finally {
+            this.unlockPhysic();
+        }
     }
 
+    /**
+     * With a physic thread, the listener is notified on that thread.
+     */
     @Override
     public void addGhostCollisionListener(CollisionListener l) {
-        this.physicWorld.addGhostCollisionListener(l);
+        Objects.requireNonNull(l);
+        this.lockPhysic();
+        try {
+            if (this.ghostCollisionListeners.add(l)) {
+                this.physicWorld.addGhostCollisionListener(this.ghostCollisionListeners);
+            }
+        } finally {
+            this.unlockPhysic();
+        }
+    }
+
+    /**
+     * @return The number of collision listeners and ghost collision listeners added to this world.
+     */
+    final int getCollisionListenerCount() {
+        return this.collisionListeners.size() + this.ghostCollisionListeners.size();
     }
 
     @Override
     public ClientGameObjectBuilder createObject() {
-        return new ClientObjectBuilder(this.physicWorld.createObject(), this.graphicWorld.createObject());
+        this.checkNotDisposed();
+        return this.newBuilder();
+    }
+
+    /**
+     * Objects are built one after the other in the same builder, a new builder is only created when a descriptor
+     * does not override every attribute set by the previous one, so no state leaks from an object to the next.
+     */
+    @Override
+    public List<ClientGameObject> createObjects(List<ClientGameObjectDescriptor> descriptors) {
+        Objects.requireNonNull(descriptors);
+        this.checkNotDisposed();
+        List<ClientGameObject> result = new ArrayList<>(descriptors.size());
+        ClientObjectBuilder builder = null;
+        ClientGameObjectDescriptor previous = null;
+        for (int i = 0; i < descriptors.size(); i++) {
+            ClientGameObjectDescriptor descriptor = descriptors.get(i);
+            if (builder == null || !descriptor.overrides(previous)) {
+                builder = this.newBuilder();
+            }
+            result.add(builder.build(descriptor));
+            previous = descriptor;
+        }
+        return result;
+    }
+
+    @Override
+    public int writeSnapshot(Path file, List<ClientGameObjectDescriptor> palette) throws IOException {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(palette);
+        this.checkNotDisposed();
+        return WorldSnapshot.write(this, file, palette);
+    }
+
+    @Override
+    public int readSnapshot(Path file, List<ClientGameObjectDescriptor> palette) throws IOException {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(palette);
+        this.checkNotDisposed();
+        return WorldSnapshot.read(file).replay(this, palette);
+    }
+
+    /**
+     * Provide the objects currently in the world, the parked objects are not included.
+     *
+     * @param result List to fill.
+     */
+    final void collectObjects(List<ClientGameObjectGraphicPhysic> result) {
+        this.spatialIndex.collectAll(result);
+    }
+
+    /**
+     * @return The lights created in this world, in creation order.
+     */
+    final Collection<WorldLight> getLights() {
+        return this.lights.values();
+    }
+
+    final boolean hasSky() {
+        return this.sky;
+    }
+
+    final boolean hasOcean() {
+        return this.ocean;
+    }
+
+    private ClientObjectBuilder newBuilder() {
+        return new ClientObjectBuilder(this, this.physicWorld.createObject(), this.graphicWorld.createObject());
     }
 
     @Override
     public ClientGameObject createObject(ClientGameObjectTemplate template) {
-        ClientGameObjectBuilder builder = this.createObject();
-        if(template.isDynamic()) {
-            return builder.buildDynamicObject();
-        } else if (template.isMovable()) {
-            return builder.buildMovableObject();
+        this.checkNotDisposed();
+        return this.build(template);
+    }
+
+    @Override
+    public void prepareTemplate(ClientGameObjectTemplate template) {
+        Objects.requireNonNull(template);
+        this.checkNotDisposed();
+        this.prototype(template);
+    }
+
+    /**
+     * Build an object from a template, the template is resolved the first time it is used.
+     *
+     * @param template Template to use.
+     * @return The built object.
+     */
+    final ClientGameObjectGraphicPhysic build(ClientGameObjectTemplate template) {
+        return this.prototype(template).build();
+    }
+
+    private ObjectPrototype prototype(ClientGameObjectTemplate template) {
+        ObjectPrototype prototype = this.prototypes.get(template);
+        if (prototype == null) {
+            prototype = new ObjectPrototype(template, this.newBuilder());
+            this.prototypes.put(template, prototype);
+        }
+        return prototype;
+    }
+
+    @Override
+    public ClientGameObject getObject(EntityId id) {
+        return this.objects.get(id.value);
+    }
+
+    @Override
+    public void forEachObject(Consumer<? super ClientGameObject> action) {
+        Objects.requireNonNull(action);
+        for (int slot = 0; slot < this.objects.getCapacity(); slot++) {
+            ClientGameObjectGraphicPhysic object = this.objects.getValueAt(slot);
+            if (object != null) {
+                action.accept(object);
+            }
+        }
+    }
+
+    @Override
+    public int getObjectCount() {
+        return this.objects.size();
+    }
+
+    @Override
+    public ClientGameObjectPool createPool(ClientGameObjectTemplate template, int lowWatermark, int highWatermark) {
+        Objects.requireNonNull(template);
+        this.checkNotDisposed();
+        if (this.pools.containsKey(template)) {
+            throw new IllegalStateException("A pool already exists for this template.");
+        }
+        TemplateObjectPool pool = new TemplateObjectPool(this, template, lowWatermark, highWatermark);
+        this.pools.put(template, pool);
+        pool.prewarm(lowWatermark);
+        return pool;
+    }
+
+    @Override
+    public ClientGameObjectPool getPool(ClientGameObjectTemplate template) {
+        return this.pools.get(template);
+    }
+
+    /**
+     * Add an object in the spatial index, at its current position.
+     *
+     * @param object Object to add.
+     */
+    final void index(ClientGameObjectGraphicPhysic object) {
+        object.readPosition(this.transform, 0);
+        object.setSpatialEntry(this.spatialIndex.add(object, this.transform[0], this.transform[1], this.transform[2]));
+    }
+
+    /**
+     * Remove an object from the spatial index, it is no longer returned by the region queries.
+     *
+     * @param object Object to remove.
+     */
+    final void unindex(ClientGameObjectGraphicPhysic object) {
+        if (object.getSpatialEntry() != null) {
+            this.spatialIndex.remove(object.getSpatialEntry());
+            object.setSpatialEntry(null);
+            object.clearCulled();
+        }
+    }
+
+    /**
+     * Update the position of an object in the spatial index.
+     *
+     * @param entry Object spatial index entry.
+     * @param x     Position X value.
+     * @param y     Position Y value.
+     * @param z     Position Z value.
+     */
+    final void moved(SpatialGrid.Entry<ClientGameObjectGraphicPhysic> entry, float x, float y, float z) {
+        this.spatialIndex.move(entry, x, y, z);
+    }
+
+    @Override
+    public void enableCulling(BehavioredCamera camera, float fieldOfView, float aspectRatio, float near, float far, float boundingRadius) {
+        Objects.requireNonNull(camera);
+        if (!this.cameras.contains(camera)) {
+            throw new IllegalArgumentException("Camera not created in this world.");
+        }
+        this.culler.enable(camera, fieldOfView, aspectRatio, near, far, boundingRadius);
+    }
+
+    @Override
+    public void enableStreaming(BehavioredCamera camera, WorldCellSource source, float cellSize, float radius, long frameBudget) {
+        Objects.requireNonNull(camera);
+        Objects.requireNonNull(source);
+        if (!this.cameras.contains(camera)) {
+            throw new IllegalArgumentException("Camera not created in this world.");
+        }
+        WorldStreamer created = new WorldStreamer(this, camera::getPosition, source, cellSize, radius, frameBudget);
+        this.disableStreaming();
+        this.streamer = created;
+    }
+
+    @Override
+    public void disableStreaming() {
+        if (this.streamer != null) {
+            this.streamer.close();
+            this.streamer = null;
+        }
+    }
+
+    @Override
+    public StreamingMetrics getStreamingMetrics() {
+        return this.streamer == null ? WorldStreamer.DISABLED : this.streamer;
+    }
+
+    @Override
+    public void disableCulling() {
+        this.culler.disable(this.spatialIndex);
+    }
+
+    @Override
+    public CullingMetrics getCullingMetrics() {
+        return this.culler;
+    }
+
+    @Override
+    public TransformSyncMetrics getTransformSyncMetrics() {
+        return this.transformSync;
+    }
+
+    @Override
+    public int queryBox(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, List<? super ClientGameObject> result) {
+        this.refreshSpatialIndex();
+        return this.spatialIndex.queryBox(minX, minY, minZ, maxX, maxY, maxZ, result);
+    }
+
+    @Override
+    public int querySphere(float x, float y, float z, float radius, List<? super ClientGameObject> result) {
+        this.refreshSpatialIndex();
+        return this.spatialIndex.querySphere(x, y, z, radius, result);
+    }
+
+    @Override
+    public int nearestK(float x, float y, float z, int k, List<? super ClientGameObject> result) {
+        this.refreshSpatialIndex();
+        return this.spatialIndex.nearest(x, y, z, k, result);
+    }
+
+    /**
+     * The graphic master objects are moved first, then the physic master ones, so each backend receives its updates in a row.
+     */
+    @Override
+    public int applyTransforms(EntityId[] ids, FloatBuffer positions, FloatBuffer directions) {
+        Objects.requireNonNull(ids);
+        return this.applyTransforms(ids, ids.length, positions, directions);
+    }
+
+    @Override
+    public int applyTransforms(EntityId[] ids, int count, FloatBuffer positions, FloatBuffer directions) {
+        Objects.requireNonNull(ids);
+        Objects.checkFromIndexSize(0, count, ids.length);
+        if (positions.remaining() < count * 3 || (directions != null && directions.remaining() < count * 3)) {
+            throw new BufferUnderflowException();
+        }
+        if (this.physicMasters.length < count) {
+            this.physicMasters = new ClientGameObjectGraphicPhysic[count];
+            this.physicMasterIndexes = new int[count];
+        }
+        int positionStart = positions.position();
+        int directionStart = directions == null ? 0 : directions.position();
+        int applied = 0;
+        int deferred = 0;
+        for (int i = 0; i < count; i++) {
+            ClientGameObjectGraphicPhysic object = this.objects.get(ids[i].value);
+            if (object != null) {
+                applied++;
+                if (object.isPhysicMaster()) {
+                    this.physicMasters[deferred] = object;
+                    this.physicMasterIndexes[deferred] = i;
+                    deferred++;
+                } else {
+                    this.applyTransform(object, i, positions, positionStart, directions, directionStart);
+                }
+            }
+        }
+        for (int i = 0; i < deferred; i++) {
+            this.applyTransform(this.physicMasters[i], this.physicMasterIndexes[i], positions, positionStart, directions, directionStart);
+            this.physicMasters[i] = null;
+        }
+        positions.position(positionStart + count * 3);
+        if (directions != null) {
+            directions.position(directionStart + count * 3);
+        }
+        return applied;
+    }
+
+    private void applyTransform(ClientGameObjectGraphicPhysic object, int index, FloatBuffer positions, int positionStart, FloatBuffer directions, int directionStart) {
+        int p = positionStart + index * 3;
+        if (directions == null) {
+            object.setPosition(positions.get(p), positions.get(p + 1), positions.get(p + 2));
         } else {
-            return builder.buildStaticObject();
+            int d = directionStart + index * 3;
+            object.setTransform(positions.get(p), positions.get(p + 1), positions.get(p + 2),
+                    directions.get(d), directions.get(d + 1), directions.get(d + 2));
+        }
+    }
+
+    @Override
+    public void readPositions(List<? extends ClientGameObject> objects, FloatBuffer dst) {
+        if (dst.remaining() < objects.size() * 3) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            objects.get(i).readPosition(this.transform, 0);
+            dst.put(this.transform, 0, 3);
+        }
+    }
+
+    @Override
+    public void readTransforms(List<? extends ClientGameObject> objects, FloatBuffer dst) {
+        if (dst.remaining() < objects.size() * 6) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            ClientGameObject object = objects.get(i);
+            object.readPosition(this.transform, 0);
+            object.readDirection(this.transform, 3);
+            dst.put(this.transform, 0, 6);
         }
     }
 
     @Override
     public BehavioredCamera createCamera(String name) {
-        Camera cam = this.graphicWorld.createCamera(name);
-        BehavioredCamera bCam = new BehavioredCamera(cam);
-        this.cameras.put(cam, bCam);
-        return bCam;
+        return this.cameras.get(this.createCameraHandle(name));
+    }
+
+    @Override
+    public int createCameraHandle(String name) {
+        Objects.requireNonNull(name);
+        if (this.cameras.get(name) != null) {
+            throw new IllegalStateException("Camera name already used: " + name);
+        }
+        Camera cam = this.graphicCameras.computeIfAbsent(name, this.graphicWorld::createCamera);
+        return this.cameras.add(name, new BehavioredCamera(cam));
+    }
+
+    @Override
+    public BehavioredCamera getCamera(int handle) {
+        return this.cameras.get(handle);
+    }
+
+    @Override
+    public int getCameraHandle(BehavioredCamera camera) {
+        return this.cameras.getHandle(camera);
+    }
+
+    @Override
+    public boolean removeCamera(int handle) {
+        BehavioredCamera camera = this.cameras.get(handle);
+        if (camera == this.defaultCamera) {
+            throw new IllegalArgumentException("The default camera cannot be removed.");
+        }
+        if (camera == null) {
+            return false;
+        }
+        if (this.culler.isCullingWith(camera)) {
+            this.culler.disable(this.spatialIndex);
+        }
+        this.cameras.remove(handle);
+        return true;
     }
 
     @Override
@@ -140,7 +1221,9 @@ public class GraphicPhysicWorld implements ClientWorld {
 
     @Override
     public PointLight createPointLight(String name, Point3D position) {
-        return this.graphicWorld.createPointLight(name, position);
+        PointLight light = this.graphicWorld.createPointLight(name, position);
+        this.lights.put(name, new WorldLight(light, WorldLight.POINT, name, position, Point3D.ZERO));
+        return light;
     }
 
     @Override
@@ -160,17 +1243,21 @@ public class GraphicPhysicWorld implements ClientWorld {
 
     @Override
     public Sky createSky() {
-        return this.graphicWorld.createSky();
+        Sky result = this.graphicWorld.createSky();
+        this.sky = true;
+        return result;
     }
 
     @Override
     public Ocean createOcean() {
-        return this.graphicWorld.createOcean();
+        Ocean result = this.graphicWorld.createOcean();
+        this.ocean = true;
+        return result;
     }
 
     @Override
     public BehavioredCamera getDefaultCamera() {
-        return this.cameras.get(this.graphicWorld.getDefaultCamera());
+        return this.defaultCamera;
     }
 
     @Override
@@ -185,12 +1272,16 @@ public class GraphicPhysicWorld implements ClientWorld {
 
     @Override
     public SpotLight createSpotLight(String name, Point3D position, Point3D direction) {
-        return this.graphicWorld.createSpotLight(name, position, direction);
+        SpotLight light = this.graphicWorld.createSpotLight(name, position, direction);
+        this.lights.put(name, new WorldLight(light, WorldLight.SPOT, name, position, direction));
+        return light;
     }
 
     @Override
     public DirectionalLight createDirectionalLight(String name, Point3D position, Point3D direction) {
-        return this.graphicWorld.createDirectionalLight(name, position, direction);
+        DirectionalLight light = this.graphicWorld.createDirectionalLight(name, position, direction);
+        this.lights.put(name, new WorldLight(light, WorldLight.DIRECTIONAL, name, position, direction));
+        return light;
     }
 
     @Override
@@ -205,12 +1296,17 @@ public class GraphicPhysicWorld implements ClientWorld {
 
     @Override
     public void deleteLight(Light light) {
+        this.lights.values().removeIf(l -> l.light == light);
         this.graphicWorld.deleteLight(light);
     }
 
     @Override
     public BehavioredCamera getCamera(String name) {
-        return this.cameras.get(this.graphicWorld.getCamera(name));
+        BehavioredCamera camera = this.cameras.get(name);
+        if (camera == null && this.graphicWorld.getCamera(name) == this.defaultGraphicCamera) {
+            return this.defaultCamera;
+        }
+        return camera;
     }
 
     @Override
@@ -220,6 +1316,7 @@ public class GraphicPhysicWorld implements ClientWorld {
 
     @Override
     public void deleteLight(String name) {
+        this.lights.remove(name);
         this.graphicWorld.deleteLight(name);
     }
 
@@ -242,4 +1339,26 @@ public class GraphicPhysicWorld implements ClientWorld {
     public GroundQuery createGroundQuery(RayProvider provider) {
         return this.graphicWorld.createGroundQuery(provider);
     }
+
+    /**
+     * Objects and transforms of one physic step, 6 values per object.
+     */
+    private static final class PhysicStepBuffer {
+
+        private ClientGameObjectGraphicPhysic[] objects = new ClientGameObjectGraphicPhysic[16];
+
+        private float[] transforms = new float[16 * 6];
+
+        private int count;
+
+        private long step;
+
+        private void ensureCapacity(int size) {
+            if (this.objects.length < size) {
+                int length = Math.max(size, this.objects.length * 2);
+                this.objects = Arrays.copyOf(this.objects, length);
+                this.transforms = new float[length * 6];
+            }
+        }
+    }
 }
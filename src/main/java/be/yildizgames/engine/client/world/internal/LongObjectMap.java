@@ -0,0 +1,264 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import java.util.Arrays;
+
+/**
+ * Map with primitive long keys and open addressing, to index values without boxing the keys.
+ * Collisions are resolved by linear probing, removals shift the following entries back so no tombstone is needed.
+ * Null values are not supported, a null value marks an empty slot.
+ * The slots can be iterated without allocation with getCapacity and getValueAt.
+ * Not thread safe.
+ *
+ * @param <V> Value type.
+ * @author Grégory Van den Borre
+ */
+final class LongObjectMap<V> {
+
+    /**
+     * Minimum number of slots.
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Keys, by slot.
+     */
+    private long[] keys;
+
+    /**
+     * Values, by slot, null if the slot is empty.
+     */
+    private V[] values;
+
+    /**
+     * Number of values.
+     */
+    private int size;
+
+    /**
+     * Capacity - 1, to compute the slot of a hash.
+     */
+    private int mask;
+
+    /**
+     * Size above which the map grows, 3/4 of the capacity.
+     */
+    private int threshold;
+
+    LongObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Create a new map.
+     *
+     * @param expectedSize Number of values the map can contain without growing.
+     */
+    LongObjectMap(int expectedSize) {
+        super();
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        this.allocate(capacity);
+    }
+
+    /**
+     * Provide the value for a key.
+     *
+     * @param key Key to find.
+     * @return The value, null if the key is not in the map.
+     */
+    V get(long key) {
+        int slot = this.slot(key);
+        V value = this.values[slot];
+        while (value != null) {
+            if (this.keys[slot] == key) {
+                return value;
+            }
+            slot = (slot + 1) & this.mask;
+            value = this.values[slot];
+        }
+        return null;
+    }
+
+    /**
+     * Set the value for a key.
+     *
+     * @param key   Key.
+     * @param value Value, not null.
+     * @return The previous value, null if none.
+     */
+    V put(long key, V value) {
+        int slot = this.slot(key);
+        while (this.values[slot] != null) {
+            if (this.keys[slot] == key) {
+                V previous = this.values[slot];
+                this.values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        this.size++;
+        if (this.size > this.threshold) {
+            this.grow();
+        }
+        return null;
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @param key Key to remove.
+     * @return The removed value, null if the key was not in the map.
+     */
+    V remove(long key) {
+        int slot = this.slot(key);
+        V value = this.values[slot];
+        while (value != null) {
+            if (this.keys[slot] == key) {
+                this.removeSlot(slot);
+                return value;
+            }
+            slot = (slot + 1) & this.mask;
+            value = this.values[slot];
+        }
+        return null;
+    }
+
+    /**
+     * Remove a key only if it is mapped to a given value.
+     *
+     * @param key   Key to remove.
+     * @param value Expected value.
+     * @return True if the key was removed.
+     */
+    boolean remove(long key, V value) {
+        int slot = this.slot(key);
+        V current = this.values[slot];
+        while (current != null) {
+            if (this.keys[slot] == key) {
+                if (current != value) {
+                    return false;
+                }
+                this.removeSlot(slot);
+                return true;
+            }
+            slot = (slot + 1) & this.mask;
+            current = this.values[slot];
+        }
+        return false;
+    }
+
+    /**
+     * Remove all values, the capacity is kept.
+     */
+    void clear() {
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * @return The number of slots, to iterate with getValueAt.
+     */
+    int getCapacity() {
+        return this.values.length;
+    }
+
+    /**
+     * Provide the value in a slot.
+     *
+     * @param slot Slot index, from 0 to capacity - 1.
+     * @return The value, null if the slot is empty.
+     */
+    V getValueAt(int slot) {
+        return this.values[slot];
+    }
+
+    /**
+     * Provide the key in a slot.
+     *
+     * @param slot Slot index, from 0 to capacity - 1, the slot must not be empty.
+     * @return The key.
+     */
+    long getKeyAt(int slot) {
+        return this.keys[slot];
+    }
+
+    private void removeSlot(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & this.mask;
+        while (this.values[next] != null) {
+            int ideal = this.slot(this.keys[next]);
+            //Move the entry back if its ideal slot is not between the hole and its current slot.
+            if (((next - ideal) & this.mask) >= ((next - hole) & this.mask)) {
+                this.keys[hole] = this.keys[next];
+                this.values[hole] = this.values[next];
+                hole = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+        this.values[hole] = null;
+        this.size--;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & this.mask;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = (V[]) new Object[capacity];
+        this.mask = capacity - 1;
+        this.threshold = capacity * 3 / 4;
+    }
+
+    private void grow() {
+        long[] oldKeys = this.keys;
+        V[] oldValues = this.values;
+        this.allocate(oldValues.length << 1);
+        for (int i = 0; i < oldValues.length; i++) {
+            V value = oldValues[i];
+            if (value != null) {
+                int slot = this.slot(oldKeys[i]);
+                while (this.values[slot] != null) {
+                    slot = (slot + 1) & this.mask;
+                }
+                this.keys[slot] = oldKeys[i];
+                this.values[slot] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.engine.client.world.ClientGameObjectDescriptor;
+import be.yildizgames.engine.client.world.ClientGameObjectKind;
+import be.yildizgames.engine.client.world.ClientGameObjectTemplate;
+
+/**
+ * Template resolved by a world: the descriptor is validated and applied once to a builder kept for the template,
+ * every object is then built by this builder, without applying the template attributes again.
+ *
+ * @author Grégory Van den Borre
+ */
+final class ObjectPrototype {
+
+    private final ClientGameObjectKind kind;
+
+    /**
+     * Builder with the template attributes, only used to build this template objects.
+     */
+    private final ClientObjectBuilder builder;
+
+    /**
+     * Number of objects built from this prototype.
+     */
+    private long instances;
+
+    /**
+     * Resolve a template.
+     *
+     * @param template Template to resolve.
+     * @param builder New builder, kept by the prototype.
+     * @throws IllegalArgumentException If the template descriptor has an id, an invalid mass, or a kind not matching the template flags.
+     */
+    ObjectPrototype(ClientGameObjectTemplate template, ClientObjectBuilder builder) {
+        super();
+        ClientGameObjectDescriptor descriptor = template.getDescriptor();
+        if (descriptor == null) {
+            this.kind = template.isDynamic() ? ClientGameObjectKind.DYNAMIC : template.isMovable() ? ClientGameObjectKind.MOVABLE : ClientGameObjectKind.STATIC;
+        } else {
+            if (descriptor.getId() != null) {
+                throw new IllegalArgumentException("A template descriptor cannot have an id.");
+            }
+            if (!(descriptor.getMass() >= 0)) {
+                throw new IllegalArgumentException("Invalid template mass: " + descriptor.getMass());
+            }
+            this.kind = descriptor.getKind();
+            if (template.isDynamic() != (this.kind == ClientGameObjectKind.DYNAMIC) || template.isMovable() != (this.kind == ClientGameObjectKind.MOVABLE)) {
+                throw new IllegalArgumentException("Template flags do not match its descriptor kind: " + this.kind);
+            }
+            descriptor.applyTo(builder);
+        }
+        this.builder = builder;
+    }
+
+    /**
+     * Build an object at the template default transform.
+     *
+     * @return The built object.
+     */
+    ClientGameObjectGraphicPhysic build() {
+        this.instances++;
+        switch (this.kind) {
+            case DYNAMIC:
+                return this.builder.buildDynamicObject();
+            case MOVABLE:
+                return this.builder.buildMovableObject();
+            default:
+                return this.builder.buildStaticObject();
+        }
+    }
+
+    ClientGameObjectKind getKind() {
+        return this.kind;
+    }
+
+    long getInstances() {
+        return this.instances;
+    }
+}
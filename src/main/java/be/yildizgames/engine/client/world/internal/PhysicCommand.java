@@ -0,0 +1,125 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.module.physics.BaseBody;
+
+/**
+ * Change of a physic body requested by the frame thread, run on the physic thread before the next step.
+ *
+ * @author Grégory Van den Borre
+ */
+final class PhysicCommand {
+
+    static final byte POSITION = 0;
+
+    static final byte DIRECTION = 1;
+
+    static final byte TRANSFORM = 2;
+
+    static final byte SCALE = 3;
+
+    static final byte SLEEP = 4;
+
+    static final byte DELETE = 5;
+
+    /**
+     * Marks the end of the commands to run before a step.
+     */
+    static final PhysicCommand STEP = new PhysicCommand((byte) -1, null);
+
+    private final byte type;
+
+    private final BaseBody body;
+
+    private float x;
+
+    private float y;
+
+    private float z;
+
+    private float dirX;
+
+    private float dirY;
+
+    private float dirZ;
+
+    private boolean flag;
+
+    PhysicCommand(byte type, BaseBody body) {
+        super();
+        this.type = type;
+        this.body = body;
+    }
+
+    PhysicCommand withValues(float x, float y, float z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    PhysicCommand withDirection(float dirX, float dirY, float dirZ) {
+        this.dirX = dirX;
+        this.dirY = dirY;
+        this.dirZ = dirZ;
+        return this;
+    }
+
+    PhysicCommand withFlag(boolean flag) {
+        this.flag = flag;
+        return this;
+    }
+
+    /**
+     * Apply the change to the body, on the physic thread.
+     */
+    void run() {
+        switch (this.type) {
+            case POSITION:
+                this.body.setPosition(this.x, this.y, this.z);
+                break;
+            case DIRECTION:
+                this.body.setDirection(this.x, this.y, this.z);
+                break;
+            case TRANSFORM:
+                this.body.setPosition(this.x, this.y, this.z);
+                this.body.setDirection(this.dirX, this.dirY, this.dirZ);
+                break;
+            case SCALE:
+                this.body.scale(this.x, this.y, this.z);
+                break;
+            case SLEEP:
+                this.body.sleep(this.flag);
+                break;
+            case DELETE:
+                this.body.delete();
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dedicated thread stepping the physic, so the physic cost does not land on the frame thread.
+ * Once per frame, when the previous step is done, the frame thread applies the transforms published by that step
+ * and requests a new one, the frames do not wait for the physic: a slow step only delays the next request.
+ * The body changes requested by the frame thread are queued without lock and run before the next step, the body
+ * creations and the physic world changes wait for the current step to end.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class PhysicThread {
+
+    private static final System.Logger LOGGER = System.getLogger(PhysicThread.class.getName());
+
+    /**
+     * Physic update, stepping every physic world.
+     */
+    private final Runnable update;
+
+    private final Thread thread;
+
+    /**
+     * Body changes, followed by a STEP marker for each requested step.
+     */
+    private final Queue<PhysicCommand> commands = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Held by the physic thread during a step.
+     */
+    private final ReentrantLock stepLock = new ReentrantLock();
+
+    /**
+     * True from a step request until the step is done.
+     */
+    private final AtomicBoolean busy = new AtomicBoolean();
+
+    /**
+     * Worlds to publish at the end of the requested step, only changed while the thread is not busy.
+     */
+    private GraphicPhysicWorld[] worlds = new GraphicPhysicWorld[0];
+
+    private int worldCount;
+
+    /**
+     * Number of requested steps, only used on the frame thread.
+     */
+    private long requests;
+
+    private volatile boolean running = true;
+
+    private volatile boolean requested;
+
+    private volatile long steps;
+
+    private volatile long skippedRequests;
+
+    private volatile long stepTime;
+
+    /**
+     * Create and start the physic thread.
+     *
+     * @param update Physic update, stepping every physic world.
+     */
+    public PhysicThread(Runnable update) {
+        super();
+        Objects.requireNonNull(update);
+        this.update = update;
+        this.thread = new Thread(this::run, "engine-physic");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Apply the transforms of the last step to the worlds objects, and request a new step if the previous one is done,
+     * to be called once per frame on the frame thread.
+     *
+     * @param frameWorlds Worlds to step.
+     * @return True if a step was requested, false if the previous one is still running.
+     */
+    public boolean update(List<GraphicPhysicWorld> frameWorlds) {
+        if (this.busy.get()) {
+            this.skippedRequests++;
+            return false;
+        }
+        for (int i = 0; i < this.worldCount; i++) {
+            this.worlds[i].applyPhysicStep();
+        }
+        if (this.worlds.length < frameWorlds.size()) {
+            this.worlds = new GraphicPhysicWorld[frameWorlds.size()];
+        }
+        for (int i = 0; i < this.worldCount; i++) {
+            this.worlds[i] = null;
+        }
+        this.worldCount = frameWorlds.size();
+        this.requests++;
+        for (int i = 0; i < this.worldCount; i++) {
+            GraphicPhysicWorld world = frameWorlds.get(i);
+            this.worlds[i] = world;
+            world.preparePhysicStep(this.requests);
+        }
+        this.commands.add(PhysicCommand.STEP);
+        this.busy.set(true);
+        this.requested = true;
+        LockSupport.unpark(this.thread);
+        return true;
+    }
+
+    /**
+     * @return The number of the last requested step, the changes queued from now are run at the step after it.
+     */
+    long getRequests() {
+        return this.requests;
+    }
+
+    /**
+     * Queue a body change, it is run before the next step.
+     *
+     * @param command Change to run.
+     */
+    void queue(PhysicCommand command) {
+        this.commands.add(command);
+    }
+
+    /**
+     * Wait for the current step to end, and prevent a new one from starting until unlock is called.
+     */
+    void lock() {
+        this.stepLock.lock();
+    }
+
+    void unlock() {
+        this.stepLock.unlock();
+    }
+
+    private void run() {
+        while (this.running) {
+            if (!this.requested) {
+                LockSupport.park(this);
+                continue;
+            }
+            this.requested = false;
+            long start = System.nanoTime();
+            this.stepLock.lock();
+            try {
+                this.step();
+            } catch (RuntimeException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Physic step failed", e);
+            } finally {
+                this.stepLock.unlock();
+            }
+            this.stepTime = System.nanoTime() - start;
+            this.steps++;
+            this.busy.set(false);
+        }
+    }
+
+    private void step() {
+        PhysicCommand command = this.commands.poll();
+        while (command != null && command != PhysicCommand.STEP) {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                //Keep draining up to the marker, or every later change would be run one step late.
+                LOGGER.log(System.Logger.Level.ERROR, "Physic body change failed", e);
+            }
+            command = this.commands.poll();
+        }
+        this.update.run();
+        for (int i = 0; i < this.worldCount; i++) {
+            this.worlds[i].capturePhysicStep();
+        }
+    }
+
+    /**
+     * Stop the thread, after the current step.
+     */
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.thread);
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return True if a step is running or requested.
+     */
+    public boolean isBusy() {
+        return this.busy.get();
+    }
+
+    /**
+     * @return The number of steps done.
+     */
+    public long getSteps() {
+        return this.steps;
+    }
+
+    /**
+     * @return The number of frames which could not request a step because the previous one was still running.
+     */
+    public long getSkippedRequests() {
+        return this.skippedRequests;
+    }
+
+    /**
+     * @return The time spent in the last step, with the queued changes, in nanoseconds.
+     */
+    public long getStepTime() {
+        return this.stepTime;
+    }
+}
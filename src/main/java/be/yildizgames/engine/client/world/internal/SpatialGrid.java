@@ -0,0 +1,735 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uniform grid indexing the objects by position, to find the objects in a region without scanning all of them.
+ * The cells are stored in a map by packed cell coordinates, so only the cells containing objects, or having contained some, exist.
+ * The empty cells are dropped once they are the majority, so the objects moving through the world do not leave every cell they crossed.
+ * Not thread safe.
+ *
+ * @param <T> Indexed object type.
+ * @author Grégory Van den Borre
+ */
+final class SpatialGrid<T> {
+
+    /**
+     * Number of bits for each cell coordinate in a cell key.
+     */
+    private static final int KEY_BITS = 21;
+
+    /**
+     * Lowest cell coordinate.
+     */
+    private static final int MIN_CELL = -(1 << (KEY_BITS - 1));
+
+    /**
+     * Highest cell coordinate.
+     */
+    private static final int MAX_CELL = (1 << (KEY_BITS - 1)) - 1;
+
+    /**
+     * Number of empty cells kept whatever the grid size, so a few objects moving back and forth do not recreate their cells.
+     */
+    private static final int MIN_PRUNED_CELLS = 64;
+
+    /**
+     * Cells, by packed coordinates.
+     */
+    private final LongObjectMap<Cell<T>> cells = new LongObjectMap<>();
+
+    /**
+     * Cells containing at least one object, or having contained some, to scan them when it is faster than scanning a region.
+     */
+    private final List<Cell<T>> cellList = new ArrayList<>();
+
+    /**
+     * Size of a cell side.
+     */
+    private final float cellSize;
+
+    /**
+     * 1 / cellSize.
+     */
+    private final float inverseCellSize;
+
+    /**
+     * Lowest and highest cell coordinates used so far, to stop the nearest search.
+     */
+    private int minCellX = MAX_CELL;
+    private int minCellY = MAX_CELL;
+    private int minCellZ = MAX_CELL;
+    private int maxCellX = MIN_CELL;
+    private int maxCellY = MIN_CELL;
+    private int maxCellZ = MIN_CELL;
+
+    /**
+     * Number of indexed objects.
+     */
+    private int size;
+
+    /**
+     * Number of cells without object.
+     */
+    private int emptyCells;
+
+    /**
+     * Nearest search candidates, max heap on the squared distance.
+     */
+    private Entry<T>[] heap = newEntries(16);
+
+    /**
+     * Squared distances of the nearest search candidates.
+     */
+    private float[] heapDistances = new float[16];
+
+    /**
+     * Create a new grid.
+     *
+     * @param cellSize Size of a cell side, ideally around the size of the regions usually queried.
+     */
+    SpatialGrid(float cellSize) {
+        super();
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive.");
+        }
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1f / cellSize;
+    }
+
+    /**
+     * Index an object.
+     *
+     * @param object Object to index.
+     * @param x      Object position X value.
+     * @param y      Object position Y value.
+     * @param z      Object position Z value.
+     * @return The object entry, to move or remove it.
+     */
+    Entry<T> add(T object, float x, float y, float z) {
+        Entry<T> entry = new Entry<>(object);
+        this.place(entry, x, y, z);
+        this.size++;
+        return entry;
+    }
+
+    /**
+     * Update the position of an indexed object.
+     *
+     * @param entry Object entry.
+     * @param x     New position X value.
+     * @param y     New position Y value.
+     * @param z     New position Z value.
+     */
+    void move(Entry<T> entry, float x, float y, float z) {
+        if (entry.cell == null) {
+            return;
+        }
+        int cx = this.toCell(x);
+        int cy = this.toCell(y);
+        int cz = this.toCell(z);
+        Cell<T> cell = entry.cell;
+        if (cell.x == cx && cell.y == cy && cell.z == cz) {
+            entry.x = x;
+            entry.y = y;
+            entry.z = z;
+        } else {
+            cell.remove(entry);
+            this.place(entry, x, y, z);
+            this.removedFrom(cell);
+        }
+    }
+
+    /**
+     * Stop indexing an object.
+     *
+     * @param entry Object entry.
+     */
+    void remove(Entry<T> entry) {
+        if (entry.cell != null) {
+            Cell<T> cell = entry.cell;
+            cell.remove(entry);
+            entry.cell = null;
+            this.size--;
+            this.removedFrom(cell);
+        }
+    }
+
+    /**
+     * Count a cell an object left, and drop the empty cells once they are the majority.
+     *
+     * @param cell Cell an object was removed from.
+     */
+    private void removedFrom(Cell<T> cell) {
+        if (cell.count > 0) {
+            return;
+        }
+        this.emptyCells++;
+        if (this.emptyCells > MIN_PRUNED_CELLS && this.emptyCells * 2 > this.cellList.size()) {
+            this.pruneEmptyCells();
+        }
+    }
+
+    /**
+     * Remove the empty cells, and shrink the used cell coordinates to the remaining ones.
+     */
+    private void pruneEmptyCells() {
+        this.minCellX = MAX_CELL;
+        this.minCellY = MAX_CELL;
+        this.minCellZ = MAX_CELL;
+        this.maxCellX = MIN_CELL;
+        this.maxCellY = MIN_CELL;
+        this.maxCellZ = MIN_CELL;
+        int kept = 0;
+        for (int i = 0; i < this.cellList.size(); i++) {
+            Cell<T> cell = this.cellList.get(i);
+            if (cell.count == 0) {
+                this.cells.remove(key(cell.x, cell.y, cell.z));
+            } else {
+                this.cellList.set(kept, cell);
+                kept++;
+                this.extendBounds(cell.x, cell.y, cell.z);
+            }
+        }
+        this.cellList.subList(kept, this.cellList.size()).clear();
+        this.emptyCells = 0;
+    }
+
+    /**
+     * Remove all objects, the cells are kept for reuse.
+     */
+    void clear() {
+        for (int i = 0; i < this.cellList.size(); i++) {
+            this.cellList.get(i).clear();
+        }
+        this.emptyCells = this.cellList.size();
+        this.size = 0;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Provide all the indexed objects.
+     *
+     * @param result List to fill, it is cleared first.
+     */
+    void collectAll(List<? super T> result) {
+        result.clear();
+        for (int i = 0; i < this.cellList.size(); i++) {
+            Cell<T> cell = this.cellList.get(i);
+            for (int j = 0; j < cell.count; j++) {
+                result.add(cell.entries[j].object);
+            }
+        }
+    }
+
+    /**
+     * @return The number of cells, including the empty ones.
+     */
+    int getCellCount() {
+        return this.cellList.size();
+    }
+
+    /**
+     * Visit the objects of a range of cells, every cell bounds are given to the visitor before the cell objects,
+     * so a whole cell can be classified at once. Several ranges can be visited in parallel as long as the grid is not modified.
+     *
+     * @param from    Index of the first cell to visit.
+     * @param to      Index after the last cell to visit.
+     * @param visitor Visitor receiving the cells and their objects.
+     */
+    void visitCells(int from, int to, CellVisitor<? super T> visitor) {
+        for (int i = from; i < to; i++) {
+            Cell<T> cell = this.cellList.get(i);
+            if (cell.count == 0) {
+                continue;
+            }
+            float minX = cell.x * this.cellSize;
+            float minY = cell.y * this.cellSize;
+            float minZ = cell.z * this.cellSize;
+            int result = visitor.visitCell(minX, minY, minZ, minX + this.cellSize, minY + this.cellSize, minZ + this.cellSize);
+            for (int j = 0; j < cell.count; j++) {
+                Entry<T> e = cell.entries[j];
+                visitor.visitObject(e.object, e.x, e.y, e.z, result);
+            }
+        }
+    }
+
+    /**
+     * Find the objects inside an axis aligned box.
+     *
+     * @param minX   Box lowest X value.
+     * @param minY   Box lowest Y value.
+     * @param minZ   Box lowest Z value.
+     * @param maxX   Box highest X value.
+     * @param maxY   Box highest Y value.
+     * @param maxZ   Box highest Z value.
+     * @param result List to fill, it is cleared first.
+     * @return The number of objects found.
+     */
+    int queryBox(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, List<? super T> result) {
+        result.clear();
+        int cminX = Math.max(this.toCell(minX), this.minCellX);
+        int cminY = Math.max(this.toCell(minY), this.minCellY);
+        int cminZ = Math.max(this.toCell(minZ), this.minCellZ);
+        int cmaxX = Math.min(this.toCell(maxX), this.maxCellX);
+        int cmaxY = Math.min(this.toCell(maxY), this.maxCellY);
+        int cmaxZ = Math.min(this.toCell(maxZ), this.maxCellZ);
+        if (cminX > cmaxX || cminY > cmaxY || cminZ > cmaxZ) {
+            return 0;
+        }
+        long regionCells = (long) (cmaxX - cminX + 1) * (cmaxY - cminY + 1) * (cmaxZ - cminZ + 1);
+        if (regionCells > this.cellList.size()) {
+            for (int i = 0; i < this.cellList.size(); i++) {
+                Cell<T> cell = this.cellList.get(i);
+                if (cell.x >= cminX && cell.x <= cmaxX && cell.y >= cminY && cell.y <= cmaxY && cell.z >= cminZ && cell.z <= cmaxZ) {
+                    cell.collectInBox(minX, minY, minZ, maxX, maxY, maxZ, result);
+                }
+            }
+        } else {
+            for (int cx = cminX; cx <= cmaxX; cx++) {
+                for (int cy = cminY; cy <= cmaxY; cy++) {
+                    for (int cz = cminZ; cz <= cmaxZ; cz++) {
+                        Cell<T> cell = this.cells.get(key(cx, cy, cz));
+                        if (cell != null) {
+                            cell.collectInBox(minX, minY, minZ, maxX, maxY, maxZ, result);
+                        }
+                    }
+                }
+            }
+        }
+        return result.size();
+    }
+
+    /**
+     * Find the objects inside a sphere.
+     *
+     * @param x      Sphere center X value.
+     * @param y      Sphere center Y value.
+     * @param z      Sphere center Z value.
+     * @param radius Sphere radius.
+     * @param result List to fill, it is cleared first.
+     * @return The number of objects found.
+     */
+    int querySphere(float x, float y, float z, float radius, List<? super T> result) {
+        result.clear();
+        float squaredRadius = radius * radius;
+        int cminX = Math.max(this.toCell(x - radius), this.minCellX);
+        int cminY = Math.max(this.toCell(y - radius), this.minCellY);
+        int cminZ = Math.max(this.toCell(z - radius), this.minCellZ);
+        int cmaxX = Math.min(this.toCell(x + radius), this.maxCellX);
+        int cmaxY = Math.min(this.toCell(y + radius), this.maxCellY);
+        int cmaxZ = Math.min(this.toCell(z + radius), this.maxCellZ);
+        if (cminX > cmaxX || cminY > cmaxY || cminZ > cmaxZ) {
+            return 0;
+        }
+        long regionCells = (long) (cmaxX - cminX + 1) * (cmaxY - cminY + 1) * (cmaxZ - cminZ + 1);
+        if (regionCells > this.cellList.size()) {
+            for (int i = 0; i < this.cellList.size(); i++) {
+                this.cellList.get(i).collectInSphere(x, y, z, squaredRadius, result);
+            }
+        } else {
+            for (int cx = cminX; cx <= cmaxX; cx++) {
+                for (int cy = cminY; cy <= cmaxY; cy++) {
+                    for (int cz = cminZ; cz <= cmaxZ; cz++) {
+                        Cell<T> cell = this.cells.get(key(cx, cy, cz));
+                        if (cell != null) {
+                            cell.collectInSphere(x, y, z, squaredRadius, result);
+                        }
+                    }
+                }
+            }
+        }
+        return result.size();
+    }
+
+    /**
+     * Find the objects nearest to a point, by growing shells of cells around the point cell
+     * until the next shell cannot contain a nearer object.
+     *
+     * @param x      Point X value.
+     * @param y      Point Y value.
+     * @param z      Point Z value.
+     * @param k      Maximum number of objects to find.
+     * @param result List to fill, it is cleared first, the nearest object first.
+     * @return The number of objects found.
+     */
+    int nearest(float x, float y, float z, int k, List<? super T> result) {
+        result.clear();
+        if (k <= 0 || this.size == 0) {
+            return 0;
+        }
+        if (this.heap.length < k) {
+            this.heap = newEntries(k);
+            this.heapDistances = new float[k];
+        }
+        int cx = this.toCell(x);
+        int cy = this.toCell(y);
+        int cz = this.toCell(z);
+        int maxRing = Math.max(
+                Math.max(Math.max(cx - this.minCellX, this.maxCellX - cx), Math.max(cy - this.minCellY, this.maxCellY - cy)),
+                Math.max(cz - this.minCellZ, this.maxCellZ - cz));
+        //The rings closer than the used cells are empty.
+        int firstRing = Math.max(
+                Math.max(Math.max(this.minCellX - cx, cx - this.maxCellX), Math.max(this.minCellY - cy, cy - this.maxCellY)),
+                Math.max(Math.max(this.minCellZ - cz, cz - this.maxCellZ), 0));
+        int found = 0;
+        for (int ring = firstRing; ring <= maxRing; ring++) {
+            if (found == k) {
+                //Every object in this ring is at least (ring - 1) cells away from the point.
+                float reach = (ring - 1) * this.cellSize;
+                if (reach > 0 && reach * reach > this.heapDistances[0]) {
+                    break;
+                }
+            }
+            if (this.ringVolume(cx, cy, cz, ring) > this.cellList.size()) {
+                //Probing the ring would cost more than scanning the cells not searched yet.
+                found = this.searchOutside(x, y, z, cx, cy, cz, ring, k, found);
+                break;
+            }
+            found = this.searchRing(x, y, z, cx, cy, cz, ring, k, found);
+        }
+        for (int i = found - 1; i >= 0; i--) {
+            //Pop the farthest first, and insert it in front of the nearer ones.
+            result.add(this.heap[0].object);
+            this.heap[0] = this.heap[i];
+            this.heapDistances[0] = this.heapDistances[i];
+            this.heap[i] = null;
+            this.siftDown(0, i);
+        }
+        reverse(result, found);
+        return found;
+    }
+
+    /**
+     * @return The number of cells of a ring box inside the used cell coordinates.
+     */
+    private long ringVolume(int cx, int cy, int cz, int ring) {
+        long sizeX = Math.min(cx + ring, this.maxCellX) - Math.max(cx - ring, this.minCellX) + 1L;
+        long sizeY = Math.min(cy + ring, this.maxCellY) - Math.max(cy - ring, this.minCellY) + 1L;
+        long sizeZ = Math.min(cz + ring, this.maxCellZ) - Math.max(cz - ring, this.minCellZ) + 1L;
+        return Math.max(sizeX, 0) * Math.max(sizeY, 0) * Math.max(sizeZ, 0);
+    }
+
+    /**
+     * Search the cells of a ring, only inside the used cell coordinates.
+     */
+    private int searchRing(float x, float y, float z, int cx, int cy, int cz, int ring, int k, int found) {
+        int minX = Math.max(-ring, this.minCellX - cx);
+        int maxX = Math.min(ring, this.maxCellX - cx);
+        int minY = Math.max(-ring, this.minCellY - cy);
+        int maxY = Math.min(ring, this.maxCellY - cy);
+        int minZ = Math.max(-ring, this.minCellZ - cz);
+        int maxZ = Math.min(ring, this.maxCellZ - cz);
+        for (int dx = minX; dx <= maxX; dx++) {
+            for (int dy = minY; dy <= maxY; dy++) {
+                if (Math.abs(dx) == ring || Math.abs(dy) == ring) {
+                    for (int dz = minZ; dz <= maxZ; dz++) {
+                        found = this.offer(cx + dx, cy + dy, cz + dz, x, y, z, k, found);
+                    }
+                } else {
+                    if (minZ == -ring) {
+                        found = this.offer(cx + dx, cy + dy, cz - ring, x, y, z, k, found);
+                    }
+                    if (maxZ == ring) {
+                        found = this.offer(cx + dx, cy + dy, cz + ring, x, y, z, k, found);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Search every cell from a ring outwards, by scanning the cell list.
+     */
+    private int searchOutside(float x, float y, float z, int cx, int cy, int cz, int ring, int k, int found) {
+        for (int i = 0; i < this.cellList.size(); i++) {
+            Cell<T> cell = this.cellList.get(i);
+            int distance = Math.max(Math.max(Math.abs(cell.x - cx), Math.abs(cell.y - cy)), Math.abs(cell.z - cz));
+            if (distance >= ring) {
+                found = this.offer(cell, x, y, z, k, found);
+            }
+        }
+        return found;
+    }
+
+    private int offer(int cellX, int cellY, int cellZ, float x, float y, float z, int k, int found) {
+        Cell<T> cell = this.cells.get(key(cellX, cellY, cellZ));
+        if (cell != null) {
+            return this.offer(cell, x, y, z, k, found);
+        }
+        return found;
+    }
+
+    private int offer(Cell<T> cell, float x, float y, float z, int k, int found) {
+        for (int i = 0; i < cell.count; i++) {
+            Entry<T> entry = cell.entries[i];
+            float distance = entry.squaredDistance(x, y, z);
+            if (found < k) {
+                this.heap[found] = entry;
+                this.heapDistances[found] = distance;
+                this.siftUp(found);
+                found++;
+            } else if (distance < this.heapDistances[0]) {
+                this.heap[0] = entry;
+                this.heapDistances[0] = distance;
+                this.siftDown(0, found);
+            }
+        }
+        return found;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (this.heapDistances[parent] >= this.heapDistances[index]) {
+                return;
+            }
+            this.swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index, int heapSize) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                return;
+            }
+            if (child + 1 < heapSize && this.heapDistances[child + 1] > this.heapDistances[child]) {
+                child++;
+            }
+            if (this.heapDistances[index] >= this.heapDistances[child]) {
+                return;
+            }
+            this.swap(index, child);
+            index = child;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Entry<T> entry = this.heap[i];
+        this.heap[i] = this.heap[j];
+        this.heap[j] = entry;
+        float distance = this.heapDistances[i];
+        this.heapDistances[i] = this.heapDistances[j];
+        this.heapDistances[j] = distance;
+    }
+
+    private static <T> void reverse(List<T> list, int count) {
+        int start = list.size() - count;
+        for (int i = start, j = list.size() - 1; i < j; i++, j--) {
+            list.set(i, list.set(j, list.get(i)));
+        }
+    }
+
+    private void place(Entry<T> entry, float x, float y, float z) {
+        int cx = this.toCell(x);
+        int cy = this.toCell(y);
+        int cz = this.toCell(z);
+        long key = key(cx, cy, cz);
+        Cell<T> cell = this.cells.get(key);
+        if (cell == null) {
+            cell = new Cell<>(cx, cy, cz);
+            this.cells.put(key, cell);
+            this.cellList.add(cell);
+            this.extendBounds(cx, cy, cz);
+        } else if (cell.count == 0) {
+            this.emptyCells--;
+        }
+        entry.x = x;
+        entry.y = y;
+        entry.z = z;
+        cell.add(entry);
+    }
+
+    private void extendBounds(int cx, int cy, int cz) {
+        this.minCellX = Math.min(this.minCellX, cx);
+        this.minCellY = Math.min(this.minCellY, cy);
+        this.minCellZ = Math.min(this.minCellZ, cz);
+        this.maxCellX = Math.max(this.maxCellX, cx);
+        this.maxCellY = Math.max(this.maxCellY, cy);
+        this.maxCellZ = Math.max(this.maxCellZ, cz);
+    }
+
+    private int toCell(float value) {
+        float cell = (float) Math.floor(value * this.inverseCellSize);
+        if (cell < MIN_CELL) {
+            return MIN_CELL;
+        }
+        if (cell > MAX_CELL) {
+            return MAX_CELL;
+        }
+        return (int) cell;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Entry<T>[] newEntries(int size) {
+        return (Entry<T>[]) new Entry[size];
+    }
+
+    private static long key(int x, int y, int z) {
+        long mask = (1L << KEY_BITS) - 1;
+        return ((x & mask) << (2 * KEY_BITS)) | ((y & mask) << KEY_BITS) | (z & mask);
+    }
+
+    /**
+     * Receive the cells and objects visited by visitCells.
+     *
+     * @param <T> Indexed object type.
+     */
+    interface CellVisitor<T> {
+
+        /**
+         * Visit a cell, before its objects.
+         *
+         * @return A value given back with every object of the cell.
+         */
+        int visitCell(float minX, float minY, float minZ, float maxX, float maxY, float maxZ);
+
+        /**
+         * Visit an object of the last visited cell.
+         *
+         * @param object     Indexed object.
+         * @param x          Object position X value.
+         * @param y          Object position Y value.
+         * @param z          Object position Z value.
+         * @param cellResult Value returned when visiting the cell.
+         */
+        void visitObject(T object, float x, float y, float z, int cellResult);
+    }
+
+    /**
+     * Position of an indexed object.
+     */
+    static final class Entry<T> {
+
+        private final T object;
+
+        /**
+         * Cell containing the object, null once removed.
+         */
+        private Cell<T> cell;
+
+        /**
+         * Index of this entry in the cell.
+         */
+        private int index;
+
+        private float x;
+
+        private float y;
+
+        private float z;
+
+        private Entry(T object) {
+            super();
+            this.object = object;
+        }
+
+        private float squaredDistance(float px, float py, float pz) {
+            float dx = this.x - px;
+            float dy = this.y - py;
+            float dz = this.z - pz;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    /**
+     * Objects in a cell, removed by swapping with the last one.
+     */
+    private static final class Cell<T> {
+
+        private final int x;
+
+        private final int y;
+
+        private final int z;
+
+        private Entry<T>[] entries = newEntries(4);
+
+        private int count;
+
+        private Cell(int x, int y, int z) {
+            super();
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        private void add(Entry<T> entry) {
+            if (this.count == this.entries.length) {
+                Entry<T>[] grown = newEntries(this.count * 2);
+                System.arraycopy(this.entries, 0, grown, 0, this.count);
+                this.entries = grown;
+            }
+            entry.cell = this;
+            entry.index = this.count;
+            this.entries[this.count] = entry;
+            this.count++;
+        }
+
+        private void remove(Entry<T> entry) {
+            this.count--;
+            Entry<T> last = this.entries[this.count];
+            this.entries[entry.index] = last;
+            last.index = entry.index;
+            this.entries[this.count] = null;
+        }
+
+        private void clear() {
+            for (int i = 0; i < this.count; i++) {
+                this.entries[i].cell = null;
+                this.entries[i] = null;
+            }
+            this.count = 0;
+        }
+
+        private void collectInBox(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, List<? super T> result) {
+            for (int i = 0; i < this.count; i++) {
+                Entry<T> e = this.entries[i];
+                if (e.x >= minX && e.x <= maxX && e.y >= minY && e.y <= maxY && e.z >= minZ && e.z <= maxZ) {
+                    result.add(e.object);
+                }
+            }
+        }
+
+        private void collectInSphere(float x, float y, float z, float squaredRadius, List<? super T> result) {
+            for (int i = 0; i < this.count; i++) {
+                Entry<T> e = this.entries[i];
+                if (e.squaredDistance(x, y, z) <= squaredRadius) {
+                    result.add(e.object);
+                }
+            }
+        }
+    }
+}
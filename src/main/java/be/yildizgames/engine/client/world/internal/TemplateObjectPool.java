@@ -0,0 +1,198 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.engine.client.world.ClientGameObject;
+import be.yildizgames.engine.client.world.ClientGameObjectPool;
+import be.yildizgames.engine.client.world.ClientGameObjectTemplate;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+
+/**
+ * Pool of objects built from a template in a world, not thread safe, to be used from the frame thread.
+ * The most recently parked object is acquired first.
+ *
+ * @author Grégory Van den Borre
+ */
+final class TemplateObjectPool implements ClientGameObjectPool {
+
+    /**
+     * World building the objects.
+     */
+    private final GraphicPhysicWorld world;
+
+    /**
+     * Template used to build the objects.
+     */
+    private final ClientGameObjectTemplate template;
+
+    /**
+     * Number of parked objects kept after a trim.
+     */
+    private final int lowWatermark;
+
+    /**
+     * Maximum number of parked objects.
+     */
+    private final int highWatermark;
+
+    /**
+     * Objects ready to be acquired.
+     */
+    private final Deque<ClientGameObjectGraphicPhysic> parked;
+
+    private long hits;
+
+    private long misses;
+
+    private long discarded;
+
+    TemplateObjectPool(GraphicPhysicWorld world, ClientGameObjectTemplate template, int lowWatermark, int highWatermark) {
+        super();
+        if (lowWatermark < 0) {
+            throw new IllegalArgumentException("Low watermark cannot be negative.");
+        }
+        if (highWatermark < lowWatermark) {
+            throw new IllegalArgumentException("High watermark cannot be lower than the low watermark.");
+        }
+        this.world = world;
+        this.template = template;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.parked = new ArrayDeque<>(lowWatermark);
+    }
+
+    @Override
+    public ClientGameObject acquire(Point3D position, Point3D direction) {
+        Objects.requireNonNull(position);
+        Objects.requireNonNull(direction);
+        ClientGameObjectGraphicPhysic object = this.parked.pollLast();
+        if (object == null) {
+            this.misses++;
+            object = this.build();
+        } else {
+            this.hits++;
+            object.setParked(false);
+            object.sleep(false);
+        }
+        object.setPosition(position);
+        object.setDirection(direction);
+        object.show();
+        return object;
+    }
+
+    @Override
+    public void release(ClientGameObject object) {
+        Objects.requireNonNull(object);
+        if (!(object instanceof ClientGameObjectGraphicPhysic) || ((ClientGameObjectGraphicPhysic) object).getPool() != this) {
+            throw new IllegalArgumentException("Object does not come from this pool.");
+        }
+        ClientGameObjectGraphicPhysic pooled = (ClientGameObjectGraphicPhysic) object;
+        if (pooled.isParked()) {
+            throw new IllegalStateException("Object already released.");
+        }
+        if (this.parked.size() >= this.highWatermark) {
+            this.discarded++;
+            pooled.delete();
+        } else {
+            this.park(pooled);
+        }
+    }
+
+    @Override
+    public void prewarm(int count) {
+        int expected = Math.min(count, this.highWatermark);
+        while (this.parked.size() < expected) {
+            this.park(this.build());
+        }
+    }
+
+    @Override
+    public void trim() {
+        while (this.parked.size() > this.lowWatermark) {
+            this.parked.peekFirst().delete();
+        }
+    }
+
+    /**
+     * Delete all the parked objects.
+     */
+    void clear() {
+        while (!this.parked.isEmpty()) {
+            this.parked.peekFirst().delete();
+        }
+    }
+
+    /**
+     * Stop tracking a deleted parked object, the oldest parked object is found first.
+     *
+     * @param object Deleted object.
+     */
+    void forget(ClientGameObjectGraphicPhysic object) {
+        this.parked.remove(object);
+    }
+
+    private ClientGameObjectGraphicPhysic build() {
+        ClientGameObjectGraphicPhysic object = this.world.build(this.template);
+        object.setPool(this);
+        return object;
+    }
+
+    private void park(ClientGameObjectGraphicPhysic object) {
+        object.hide();
+        object.sleep(true);
+        object.setParked(true);
+        this.parked.addLast(object);
+    }
+
+    @Override
+    public ClientGameObjectTemplate getTemplate() {
+        return this.template;
+    }
+
+    @Override
+    public int getAvailable() {
+        return this.parked.size();
+    }
+
+    @Override
+    public long getHits() {
+        return this.hits;
+    }
+
+    @Override
+    public long getMisses() {
+        return this.misses;
+    }
+
+    @Override
+    public long getDiscarded() {
+        return this.discarded;
+    }
+}
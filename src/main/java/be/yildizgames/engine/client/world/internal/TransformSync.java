@@ -0,0 +1,166 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.engine.client.world.TransformSyncMetrics;
+
+import java.util.Arrays;
+
+/**
+ * Objects moved by the game logic since the last synchronization, their physic body is updated once per frame
+ * with their final transform. An object is only listed once, however many times it is moved.
+ * The objects attached to a parent can be moved by it without being notified, so they are synchronized at every pass
+ * until they are detached.
+ *
+ * @author Grégory Van den Borre
+ */
+final class TransformSync implements TransformSyncMetrics {
+
+    private final boolean enabled;
+
+    /**
+     * Objects to synchronize, the first size entries are used.
+     */
+    private ClientGameObjectGraphicPhysic[] dirty = new ClientGameObjectGraphicPhysic[16];
+
+    private int size;
+
+    /**
+     * Objects attached to a parent, the first followerCount entries are used.
+     */
+    private ClientGameObjectGraphicPhysic[] followers = new ClientGameObjectGraphicPhysic[4];
+
+    private int followerCount;
+
+    /**
+     * Transform changes since the creation, only used on the frame thread.
+     */
+    private long changes;
+
+    /**
+     * Position and direction buffer.
+     */
+    private final float[] transform = new float[6];
+
+    private volatile int lastSynced;
+
+    private volatile long synced;
+
+    private volatile long saved;
+
+    TransformSync(boolean enabled) {
+        super();
+        this.enabled = enabled;
+    }
+
+    /**
+     * Flag an object transform as changed, it is added to the dirty list if not already in.
+     *
+     * @param object Changed object.
+     */
+    void changed(ClientGameObjectGraphicPhysic object) {
+        this.changes++;
+        if (object.isDirty()) {
+            return;
+        }
+        object.setDirty(true);
+        if (this.size == this.dirty.length) {
+            this.dirty = Arrays.copyOf(this.dirty, this.size * 2);
+        }
+        this.dirty[this.size++] = object;
+    }
+
+    /**
+     * Flag an object attached to a parent as changed at every synchronization, until it is detached, parked or deleted.
+     *
+     * @param object Attached object.
+     */
+    void follow(ClientGameObjectGraphicPhysic object) {
+        if (object.isFollowed()) {
+            return;
+        }
+        object.setFollowed(true);
+        if (this.followerCount == this.followers.length) {
+            this.followers = Arrays.copyOf(this.followers, this.followerCount * 2);
+        }
+        this.followers[this.followerCount++] = object;
+    }
+
+    /**
+     * Send the transform of every dirty object to its physic body, the objects deleted since they were flagged are ignored.
+     */
+    void sync() {
+        for (int i = this.followerCount - 1; i >= 0; i--) {
+            ClientGameObjectGraphicPhysic object = this.followers[i];
+            if (object.isAttached() && !object.isParked()) {
+                this.changed(object);
+            } else {
+                object.setFollowed(false);
+                this.followers[i] = this.followers[--this.followerCount];
+                this.followers[this.followerCount] = null;
+            }
+        }
+        if (this.size == 0) {
+            return;
+        }
+        int count = 0;
+        for (int i = 0; i < this.size; i++) {
+            ClientGameObjectGraphicPhysic object = this.dirty[i];
+            this.dirty[i] = null;
+            if (object.isDirty()) {
+                object.setDirty(false);
+                object.readSyncTransform(this.transform);
+                object.syncPhysic(this.transform);
+                count++;
+            }
+        }
+        this.size = 0;
+        long total = this.synced + count;
+        this.lastSynced = count;
+        this.synced = total;
+        this.saved = this.changes - total;
+    }
+
+    @Override
+    public boolean isDeferredTransformSync() {
+        return this.enabled;
+    }
+
+    @Override
+    public int getLastSyncedObjects() {
+        return this.lastSynced;
+    }
+
+    @Override
+    public long getSyncedObjects() {
+        return this.synced;
+    }
+
+    @Override
+    public long getSavedUpdates() {
+        return this.saved;
+    }
+}
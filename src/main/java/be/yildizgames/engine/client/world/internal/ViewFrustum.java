@@ -0,0 +1,170 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+/**
+ * Volume seen by a perspective camera, as 6 planes whose normals point inside the volume.
+ * The camera is expected to have the Y axis as up vector.
+ *
+ * @author Grégory Van den Borre
+ */
+final class ViewFrustum {
+
+    /**
+     * The tested volume is fully outside the frustum.
+     */
+    static final int OUTSIDE = 0;
+
+    /**
+     * The tested volume is partially inside the frustum.
+     */
+    static final int INTERSECTING = 1;
+
+    /**
+     * The tested volume is fully inside the frustum.
+     */
+    static final int INSIDE = 2;
+
+    private static final int PLANES = 6;
+
+    /**
+     * Planes normals x, y and z values, and distance to the origin, 4 floats per plane.
+     */
+    private final float[] planes = new float[PLANES * 4];
+
+    /**
+     * Compute the frustum planes.
+     *
+     * @param px          Camera position X value.
+     * @param py          Camera position Y value.
+     * @param pz          Camera position Z value.
+     * @param dx          Camera direction X value.
+     * @param dy          Camera direction Y value.
+     * @param dz          Camera direction Z value.
+     * @param fieldOfView Vertical field of view, in radians.
+     * @param aspectRatio Width divided by height.
+     * @param near        Near clip distance.
+     * @param far         Far clip distance.
+     */
+    void set(float px, float py, float pz, float dx, float dy, float dz, float fieldOfView, float aspectRatio, float near, float far) {
+        float length = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+        if (length == 0) {
+            dz = -1;
+        } else {
+            dx /= length;
+            dy /= length;
+            dz /= length;
+        }
+        // right = forward x up, with up = Y, or Z when looking straight up or down.
+        float rx;
+        float ry;
+        float rz;
+        if (Math.abs(dy) > 0.999f) {
+            rx = dy;
+            ry = -dx;
+            rz = 0;
+        } else {
+            rx = -dz;
+            ry = 0;
+            rz = dx;
+        }
+        float rLength = (float) Math.sqrt(rx * rx + ry * ry + rz * rz);
+        rx /= rLength;
+        ry /= rLength;
+        rz /= rLength;
+        // up = right x forward.
+        float ux = ry * dz - rz * dy;
+        float uy = rz * dx - rx * dz;
+        float uz = rx * dy - ry * dx;
+        float halfHeight = (float) Math.tan(fieldOfView * 0.5f);
+        float halfWidth = halfHeight * aspectRatio;
+        this.setPlane(0, dx, dy, dz, -(dx * px + dy * py + dz * pz) - near);
+        this.setPlane(1, -dx, -dy, -dz, dx * px + dy * py + dz * pz + far);
+        this.setSidePlane(2, dx * halfWidth - rx, dy * halfWidth - ry, dz * halfWidth - rz, px, py, pz);
+        this.setSidePlane(3, dx * halfWidth + rx, dy * halfWidth + ry, dz * halfWidth + rz, px, py, pz);
+        this.setSidePlane(4, dx * halfHeight - ux, dy * halfHeight - uy, dz * halfHeight - uz, px, py, pz);
+        this.setSidePlane(5, dx * halfHeight + ux, dy * halfHeight + uy, dz * halfHeight + uz, px, py, pz);
+    }
+
+    private void setSidePlane(int index, float nx, float ny, float nz, float px, float py, float pz) {
+        float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+        nx /= length;
+        ny /= length;
+        nz /= length;
+        this.setPlane(index, nx, ny, nz, -(nx * px + ny * py + nz * pz));
+    }
+
+    private void setPlane(int index, float nx, float ny, float nz, float distance) {
+        int i = index * 4;
+        this.planes[i] = nx;
+        this.planes[i + 1] = ny;
+        this.planes[i + 2] = nz;
+        this.planes[i + 3] = distance;
+    }
+
+    /**
+     * Check if a sphere is at least partially inside the frustum.
+     *
+     * @param x      Sphere center X value.
+     * @param y      Sphere center Y value.
+     * @param z      Sphere center Z value.
+     * @param radius Sphere radius.
+     * @return True if the sphere is not fully outside.
+     */
+    boolean intersectsSphere(float x, float y, float z, float radius) {
+        float[] p = this.planes;
+        for (int i = 0; i < PLANES * 4; i += 4) {
+            if (p[i] * x + p[i + 1] * y + p[i + 2] * z + p[i + 3] < -radius) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Classify an axis aligned box.
+     *
+     * @return OUTSIDE, INTERSECTING or INSIDE.
+     */
+    int classifyBox(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        float[] p = this.planes;
+        int result = INSIDE;
+        for (int i = 0; i < PLANES * 4; i += 4) {
+            float nx = p[i];
+            float ny = p[i + 1];
+            float nz = p[i + 2];
+            float farthest = nx * (nx > 0 ? maxX : minX) + ny * (ny > 0 ? maxY : minY) + nz * (nz > 0 ? maxZ : minZ) + p[i + 3];
+            if (farthest < 0) {
+                return OUTSIDE;
+            }
+            float nearest = nx * (nx > 0 ? minX : maxX) + ny * (ny > 0 ? minY : maxY) + nz * (nz > 0 ? minZ : maxZ) + p[i + 3];
+            if (nearest < 0) {
+                result = INTERSECTING;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.module.graphic.light.Light;
+
+/**
+ * Light created in a world, with the parameters it was created with.
+ *
+ * @author Grégory Van den Borre
+ */
+final class WorldLight {
+
+    static final byte POINT = 0;
+
+    static final byte SPOT = 1;
+
+    static final byte DIRECTIONAL = 2;
+
+    final Light light;
+
+    /**
+     * Light type, POINT, SPOT or DIRECTIONAL.
+     */
+    final byte type;
+
+    final String name;
+
+    final Point3D position;
+
+    /**
+     * Light direction, Point3D.ZERO for a point light.
+     */
+    final Point3D direction;
+
+    WorldLight(Light light, byte type, String name, Point3D position, Point3D direction) {
+        super();
+        this.light = light;
+        this.type = type;
+        this.name = name;
+        this.position = position;
+        this.direction = direction;
+    }
+}
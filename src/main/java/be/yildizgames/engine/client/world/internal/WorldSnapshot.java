@@ -0,0 +1,311 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
+import be.yildizgames.engine.client.world.ClientGameObjectDescriptor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary snapshot of a world content, to load a level without building it from code.
+ * The file starts with a header: magic, version, sky and ocean flags, palette size, object count and light count.
+ * Lights follow, with their type, name, position and direction, then the objects, each one as a fixed size record
+ * with its palette index, id and transform. The shapes and the materials are backend resources, they are not written:
+ * the palette provides them when the snapshot is read.
+ *
+ * @author Grégory Van den Borre
+ */
+final class WorldSnapshot {
+
+    static final int MAGIC = 0x5957534E;
+
+    static final short VERSION = 1;
+
+    static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Byte.BYTES + Integer.BYTES + Integer.BYTES + Integer.BYTES;
+
+    /**
+     * Palette index, id flag, id, position and direction.
+     */
+    static final int OBJECT_SIZE = Integer.BYTES + Byte.BYTES + Long.BYTES + Float.BYTES * 6;
+
+    /**
+     * Light size without its name.
+     */
+    private static final int LIGHT_SIZE = Byte.BYTES + Short.BYTES + Float.BYTES * 6;
+
+    private static final byte SKY = 1;
+
+    private static final byte OCEAN = 2;
+
+    /**
+     * Number of objects created with one createObjects call when the snapshot is replayed.
+     */
+    private static final int BATCH = 1024;
+
+    private final byte flags;
+
+    private final int paletteSize;
+
+    private final int objectCount;
+
+    private final List<WorldLight> lights;
+
+    /**
+     * Mapped file content, positioned on the first object.
+     */
+    private final ByteBuffer objects;
+
+    private WorldSnapshot(byte flags, int paletteSize, int objectCount, List<WorldLight> lights, ByteBuffer objects) {
+        super();
+        this.flags = flags;
+        this.paletteSize = paletteSize;
+        this.objectCount = objectCount;
+        this.lights = lights;
+        this.objects = objects;
+    }
+
+    /**
+     * Write the world content in a snapshot file.
+     *
+     * @param world World to write.
+     * @param file File to write, replaced if it exists.
+     * @param palette Descriptors of the models used in the world.
+     * @return The number of objects written.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalStateException If an object has no model or a model not in the palette, nothing is written then.
+     */
+    static int write(GraphicPhysicWorld world, Path file, List<ClientGameObjectDescriptor> palette) throws IOException {
+        List<ClientGameObjectGraphicPhysic> content = new ArrayList<>();
+        world.collectObjects(content);
+        Map<ClientGameObjectDescriptor, Integer> indexes = new IdentityHashMap<>();
+        int withoutModel = 0;
+        int notInPalette = 0;
+        for (int o = 0; o < content.size(); o++) {
+            ClientGameObjectDescriptor descriptor = content.get(o).getDescriptor();
+            if (descriptor == null) {
+                withoutModel++;
+            } else if (indexes.computeIfAbsent(descriptor, d -> paletteIndex(palette, d)) < 0) {
+                notInPalette++;
+            }
+        }
+        if (withoutModel + notInPalette > 0) {
+            throw new IllegalStateException("Cannot write " + (withoutModel + notInPalette) + " of " + content.size() + " objects: "
+                    + withoutModel + " built with separate graphic and physic shapes, " + notInPalette + " with a model not in the palette.");
+        }
+        Collection<WorldLight> worldLights = world.getLights();
+        List<byte[]> names = new ArrayList<>(worldLights.size());
+        int size = HEADER_SIZE + OBJECT_SIZE * content.size();
+        for (WorldLight light : worldLights) {
+            byte[] name = light.name.getBytes(StandardCharsets.UTF_8);
+            if (name.length > 0xFFFF) {
+                throw new IllegalArgumentException("Light name too long: " + light.name);
+            }
+            names.add(name);
+            size += LIGHT_SIZE + name.length;
+        }
+        ByteBuffer b = ByteBuffer.allocate(size);
+        byte flags = (byte) ((world.hasSky() ? SKY : 0) | (world.hasOcean() ? OCEAN : 0));
+        b.putInt(MAGIC).putShort(VERSION).put(flags).putInt(palette.size());
+        int countPosition = b.position();
+        b.putInt(0).putInt(worldLights.size());
+        int i = 0;
+        for (WorldLight light : worldLights) {
+            byte[] name = names.get(i++);
+            b.put(light.type).putShort((short) name.length).put(name);
+            b.putFloat(light.position.x).putFloat(light.position.y).putFloat(light.position.z);
+            b.putFloat(light.direction.x).putFloat(light.direction.y).putFloat(light.direction.z);
+        }
+        float[] transform = new float[6];
+        int count = 0;
+        for (int o = 0; o < content.size(); o++) {
+            ClientGameObjectGraphicPhysic object = content.get(o);
+            int index = indexes.get(object.getDescriptor());
+            object.readPosition(transform, 0);
+            object.readDirection(transform, 3);
+            EntityId id = object.getId();
+            b.putInt(index).put((byte) (id == null ? 0 : 1)).putLong(id == null ? 0 : id.value);
+            for (int t = 0; t < transform.length; t++) {
+                b.putFloat(transform[t]);
+            }
+            count++;
+        }
+        b.putInt(countPosition, count);
+        b.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (b.hasRemaining()) {
+                channel.write(b);
+            }
+        }
+        return count;
+    }
+
+    private static int paletteIndex(List<ClientGameObjectDescriptor> palette, ClientGameObjectDescriptor descriptor) {
+        for (int i = 0; i < palette.size(); i++) {
+            if (palette.get(i).hasSameModel(descriptor)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Map a snapshot file and read its header and its lights, the objects are read when the snapshot is replayed.
+     *
+     * @param file File to read.
+     * @return The snapshot.
+     * @throws IOException           If the file cannot be read.
+     * @throws IllegalStateException If the file is not a snapshot, has an unsupported version or is truncated.
+     */
+    static WorldSnapshot read(Path file) throws IOException {
+        MappedByteBuffer b;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            b = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (b.remaining() < HEADER_SIZE || b.getInt() != MAGIC) {
+            throw new IllegalStateException("Not a world snapshot: " + file);
+        }
+        short version = b.getShort();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported world snapshot version: " + version);
+        }
+        byte flags = b.get();
+        int paletteSize = b.getInt();
+        int objectCount = b.getInt();
+        int lightCount = b.getInt();
+        if (paletteSize < 0 || objectCount < 0 || lightCount < 0) {
+            throw new IllegalStateException("Corrupted world snapshot: " + file);
+        }
+        List<WorldLight> lights = new ArrayList<>(Math.min(lightCount, b.remaining() / LIGHT_SIZE));
+        for (int i = 0; i < lightCount; i++) {
+            if (b.remaining() < LIGHT_SIZE) {
+                throw new IllegalStateException("Truncated world snapshot: " + file);
+            }
+            byte type = b.get();
+            byte[] name = new byte[b.getShort() & 0xFFFF];
+            if (b.remaining() < name.length + Float.BYTES * 6) {
+                throw new IllegalStateException("Truncated world snapshot: " + file);
+            }
+            b.get(name);
+            Point3D position = Point3D.valueOf(b.getFloat(), b.getFloat(), b.getFloat());
+            Point3D direction = Point3D.valueOf(b.getFloat(), b.getFloat(), b.getFloat());
+            lights.add(new WorldLight(null, type, new String(name, StandardCharsets.UTF_8), position, direction));
+        }
+        if ((long) b.remaining() < (long) objectCount * OBJECT_SIZE) {
+            throw new IllegalStateException("Truncated world snapshot: " + file);
+        }
+        return new WorldSnapshot(flags, paletteSize, objectCount, lights, b.slice());
+    }
+
+    /**
+     * Build the snapshot content in a world: the sky, the ocean, the lights, and the objects in batches.
+     *
+     * @param world World to fill.
+     * @param palette Descriptors of the models, as provided to write the snapshot.
+     * @return The number of objects created.
+     * @throws IllegalStateException If the palette is smaller than the one used to write the snapshot.
+     */
+    int replay(GraphicPhysicWorld world, List<ClientGameObjectDescriptor> palette) {
+        if (palette.size() < this.paletteSize) {
+            throw new IllegalStateException("Snapshot written with " + this.paletteSize + " palette descriptors, only " + palette.size() + " provided.");
+        }
+        if ((this.flags & SKY) != 0) {
+            world.createSky();
+        }
+        if ((this.flags & OCEAN) != 0) {
+            world.createOcean();
+        }
+        for (int i = 0; i < this.lights.size(); i++) {
+            WorldLight light = this.lights.get(i);
+            switch (light.type) {
+                case WorldLight.POINT:
+                    world.createPointLight(light.name, light.position);
+                    break;
+                case WorldLight.SPOT:
+                    world.createSpotLight(light.name, light.position, light.direction);
+                    break;
+                case WorldLight.DIRECTIONAL:
+                    world.createDirectionalLight(light.name, light.position, light.direction);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown light type: " + light.type);
+            }
+        }
+        ByteBuffer b = this.objects;
+        List<ClientGameObjectDescriptor> batch = new ArrayList<>(Math.min(BATCH, this.objectCount));
+        for (int i = 0; i < this.objectCount; i++) {
+            int index = b.getInt();
+            if (index < 0 || index >= this.paletteSize) {
+                throw new IllegalStateException("Invalid palette index: " + index);
+            }
+            ClientGameObjectDescriptor descriptor = palette.get(index).copyModel();
+            boolean hasId = b.get() != 0;
+            long id = b.getLong();
+            if (hasId) {
+                descriptor.withId(EntityId.valueOf(id));
+            }
+            descriptor.atPosition(Point3D.valueOf(b.getFloat(), b.getFloat(), b.getFloat()));
+            descriptor.withDirection(Point3D.valueOf(b.getFloat(), b.getFloat(), b.getFloat()));
+            batch.add(descriptor);
+            if (batch.size() == BATCH) {
+                world.createObjects(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            world.createObjects(batch);
+        }
+        return this.objectCount;
+    }
+
+    int getObjectCount() {
+        return this.objectCount;
+    }
+
+    int getLightCount() {
+        return this.lights.size();
+    }
+
+    boolean hasSky() {
+        return (this.flags & SKY) != 0;
+    }
+
+    boolean hasOcean() {
+        return (this.flags & OCEAN) != 0;
+    }
+}
@@ -0,0 +1,486 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.engine.client.world.ClientGameObject;
+import be.yildizgames.engine.client.world.ClientGameObjectDescriptor;
+import be.yildizgames.engine.client.world.ClientWorld;
+import be.yildizgames.engine.client.world.StreamingMetrics;
+import be.yildizgames.engine.client.world.WorldCellSource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Build and delete the objects of the world cells around a camera.
+ * When the camera enters a new cell, the cells in the streaming radius are read on loader threads, and the cells farther
+ * than the radius plus one cell are unloaded. Every frame, the objects of the unloaded cells are deleted, then the objects
+ * of the read cells are built, nearest cell first, until the frame time budget is consumed.
+ * The streamed objects are owned by the streamer, they must not be deleted directly.
+ *
+ * @author Grégory Van den Borre
+ */
+final class WorldStreamer implements StreamingMetrics {
+
+    private static final System.Logger LOGGER = System.getLogger(WorldStreamer.class.getName());
+
+    /**
+     * Metrics of a world without streaming.
+     */
+    static final StreamingMetrics DISABLED = new StreamingMetrics() {
+
+        @Override
+        public boolean isStreamingEnabled() {
+            return false;
+        }
+
+        @Override
+        public int getLoadedCells() {
+            return 0;
+        }
+
+        @Override
+        public int getPendingCells() {
+            return 0;
+        }
+
+        @Override
+        public int getStreamedObjects() {
+            return 0;
+        }
+
+        @Override
+        public long getStreamingTime() {
+            return 0;
+        }
+    };
+
+    /**
+     * Number of objects built or deleted between two clock reads.
+     */
+    private static final int BATCH = 16;
+
+    private final ClientWorld world;
+
+    /**
+     * Position of the camera around which the cells are streamed.
+     */
+    private final Supplier<Point3D> camera;
+
+    private final WorldCellSource source;
+
+    private final float cellSize;
+
+    /**
+     * Squared distance from the camera to a cell center under which the cell is loaded.
+     */
+    private final float squaredLoadRadius;
+
+    /**
+     * Squared distance from the camera to a cell center above which the cell is unloaded.
+     */
+    private final float squaredUnloadRadius;
+
+    /**
+     * Number of cells between the camera cell and the farthest loaded cell, on each axis.
+     */
+    private final int cellRadius;
+
+    /**
+     * Maximum time spent every frame, in nanoseconds.
+     */
+    private final long frameBudget;
+
+    /**
+     * Cells read, being read or built, by packed coordinates.
+     */
+    private final LongObjectMap<Cell> cells = new LongObjectMap<>();
+
+    /**
+     * Same cells as the map, to iterate them.
+     */
+    private final List<Cell> cellList = new ArrayList<>();
+
+    /**
+     * Cells read by the loader threads, waiting for the frame thread.
+     */
+    private final Queue<Cell> readCells = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Read cells whose objects are not all built yet.
+     */
+    private final List<Cell> buildQueue = new ArrayList<>();
+
+    /**
+     * Objects of the unloaded cells, waiting to be deleted.
+     */
+    private final Deque<ClientGameObject> deleteQueue = new ArrayDeque<>();
+
+    private final ExecutorService loader;
+
+    /**
+     * Camera cell at the last update.
+     */
+    private int cameraCellX;
+
+    private int cameraCellZ;
+
+    /**
+     * False until the first update.
+     */
+    private boolean started;
+
+    private volatile int loadedCells;
+
+    private volatile int streamedObjects;
+
+    private volatile long time;
+
+    /**
+     * Create a new streamer.
+     *
+     * @param world       World to build the objects in.
+     * @param camera      Position of the camera around which the cells are streamed.
+     * @param source      Provide the cells content.
+     * @param cellSize    Size of a cell side.
+     * @param radius      Distance from the camera under which the cells are loaded.
+     * @param frameBudget Maximum time spent every frame, in microseconds.
+     */
+    WorldStreamer(ClientWorld world, Supplier<Point3D> camera, WorldCellSource source, float cellSize, float radius, long frameBudget) {
+        this(world, camera, source, cellSize, radius, frameBudget, Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), r -> {
+            Thread t = new Thread(r, "engine-world-streamer");
+            t.setDaemon(true);
+            return t;
+        }));
+    }
+
+    /**
+     * Create a new streamer reading the cells with the given executor.
+     *
+     * @param world       World to build the objects in.
+     * @param camera      Position of the camera around which the cells are streamed.
+     * @param source      Provide the cells content.
+     * @param cellSize    Size of a cell side.
+     * @param radius      Distance from the camera under which the cells are loaded.
+     * @param frameBudget Maximum time spent every frame, in microseconds.
+     * @param loader      Executor reading the cells, shut down when the streaming stops.
+     */
+    WorldStreamer(ClientWorld world, Supplier<Point3D> camera, WorldCellSource source, float cellSize, float radius, long frameBudget, ExecutorService loader) {
+        super();
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius must be positive: " + radius);
+        }
+        if (frameBudget <= 0) {
+            throw new IllegalArgumentException("Frame budget must be positive: " + frameBudget);
+        }
+        this.world = world;
+        this.camera = camera;
+        this.source = source;
+        this.cellSize = cellSize;
+        this.squaredLoadRadius = radius * radius;
+        this.squaredUnloadRadius = (radius + cellSize) * (radius + cellSize);
+        this.cellRadius = (int) Math.ceil(radius / cellSize);
+        this.frameBudget = frameBudget * 1000;
+        this.loader = loader;
+    }
+
+    /**
+     * Request the cells entering the radius, unload the ones leaving it, and build or delete objects until the frame budget is consumed.
+     * To be called once per frame on the frame thread.
+     */
+    void update() {
+        long start = System.nanoTime();
+        Point3D position = this.camera.get();
+        int cx = this.toCell(position.x);
+        int cz = this.toCell(position.z);
+        if (!this.started || cx != this.cameraCellX || cz != this.cameraCellZ) {
+            this.started = true;
+            this.cameraCellX = cx;
+            this.cameraCellZ = cz;
+            this.refresh(position.x, position.z);
+        }
+        Cell read = this.readCells.poll();
+        while (read != null) {
+            this.cellRead(read);
+            read = this.readCells.poll();
+        }
+        boolean working = true;
+        while (working && System.nanoTime() - start < this.frameBudget) {
+            working = this.step(position.x, position.z);
+        }
+        this.time = System.nanoTime() - start;
+    }
+
+    /**
+     * Request the missing cells in the load radius, and unload the cells out of the unload radius.
+     */
+    private void refresh(float x, float z) {
+        for (int i = this.cellList.size() - 1; i >= 0; i--) {
+            Cell cell = this.cellList.get(i);
+            if (this.squaredDistance(cell, x, z) > this.squaredUnloadRadius) {
+                this.unload(cell);
+            }
+        }
+        for (int i = this.cameraCellX - this.cellRadius; i <= this.cameraCellX + this.cellRadius; i++) {
+            for (int j = this.cameraCellZ - this.cellRadius; j <= this.cameraCellZ + this.cellRadius; j++) {
+                long key = key(i, j);
+                if (this.cells.get(key) == null) {
+                    Cell cell = new Cell(i, j);
+                    if (this.squaredDistance(cell, x, z) <= this.squaredLoadRadius) {
+                        this.request(key, cell);
+                    }
+                }
+            }
+        }
+    }
+
+    private void request(long key, Cell cell) {
+        this.cells.put(key, cell);
+        cell.index = this.cellList.size();
+        this.cellList.add(cell);
+        this.loader.execute(() -> {
+            try {
+                cell.descriptors = this.source.loadCell(cell.x, cell.z);
+            } catch (RuntimeException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Cannot load the world cell " + cell.x + ", " + cell.z, e);
+            }
+            this.readCells.add(cell);
+        });
+    }
+
+    /**
+     * A cell was read by a loader thread, queue it for building unless it was unloaded in the meanwhile.
+     */
+    private void cellRead(Cell cell) {
+        if (cell.unloaded) {
+            return;
+        }
+        if (cell.descriptors == null || cell.descriptors.isEmpty()) {
+            cell.state = CellState.LOADED;
+            this.loadedCells++;
+        } else {
+            cell.state = CellState.BUILDING;
+            this.buildQueue.add(cell);
+        }
+    }
+
+    /**
+     * Delete or build a batch of objects.
+     *
+     * @return False if there was nothing to do.
+     */
+    private boolean step(float x, float z) {
+        if (!this.deleteQueue.isEmpty()) {
+            for (int i = 0; i < BATCH && !this.deleteQueue.isEmpty(); i++) {
+                this.deleteQueue.pollFirst().delete();
+                this.streamedObjects--;
+            }
+            return true;
+        }
+        if (this.buildQueue.isEmpty()) {
+            return false;
+        }
+        int nearest = 0;
+        float nearestDistance = Float.MAX_VALUE;
+        for (int i = 0; i < this.buildQueue.size(); i++) {
+            float distance = this.squaredDistance(this.buildQueue.get(i), x, z);
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        Cell cell = this.buildQueue.get(nearest);
+        int end = Math.min(cell.built + BATCH, cell.descriptors.size());
+        cell.objects.addAll(this.world.createObjects(cell.descriptors.subList(cell.built, end)));
+        this.streamedObjects += end - cell.built;
+        cell.built = end;
+        if (end == cell.descriptors.size()) {
+            cell.state = CellState.LOADED;
+            cell.descriptors = null;
+            this.buildQueue.remove(nearest);
+            this.loadedCells++;
+        }
+        return true;
+    }
+
+    /**
+     * Forget a cell and queue its built objects for deletion.
+     */
+    private void unload(Cell cell) {
+        cell.unloaded = true;
+        this.cells.remove(key(cell.x, cell.z));
+        Cell last = this.cellList.remove(this.cellList.size() - 1);
+        if (last != cell) {
+            this.cellList.set(cell.index, last);
+            last.index = cell.index;
+        }
+        if (cell.state == CellState.LOADED) {
+            this.loadedCells--;
+        } else if (cell.state == CellState.BUILDING) {
+            this.buildQueue.remove(cell);
+        }
+        this.deleteQueue.addAll(cell.objects);
+        cell.objects.clear();
+    }
+
+    /**
+     * Stop streaming and delete all the streamed objects.
+     */
+    void close() {
+        this.loader.shutdownNow();
+        for (int i = this.cellList.size() - 1; i >= 0; i--) {
+            this.unload(this.cellList.get(i));
+        }
+        while (!this.deleteQueue.isEmpty()) {
+            this.deleteQueue.pollFirst().delete();
+        }
+        this.streamedObjects = 0;
+    }
+
+    /**
+     * Stop streaming without deleting the streamed objects, for when they were already deleted.
+     */
+    void forget() {
+        this.loader.shutdownNow();
+        this.cells.clear();
+        this.cellList.clear();
+        this.buildQueue.clear();
+        this.deleteQueue.clear();
+        this.loadedCells = 0;
+        this.streamedObjects = 0;
+    }
+
+    private int toCell(float value) {
+        return (int) Math.floor(value / this.cellSize);
+    }
+
+    private float squaredDistance(Cell cell, float x, float z) {
+        float dx = (cell.x + 0.5f) * this.cellSize - x;
+        float dz = (cell.z + 0.5f) * this.cellSize - z;
+        return dx * dx + dz * dz;
+    }
+
+    private static long key(int x, int z) {
+        return ((long) x << Integer.SIZE) | (z & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public boolean isStreamingEnabled() {
+        return !this.loader.isShutdown();
+    }
+
+    @Override
+    public int getLoadedCells() {
+        return this.loadedCells;
+    }
+
+    @Override
+    public int getPendingCells() {
+        return this.cellList.size() - this.loadedCells;
+    }
+
+    @Override
+    public int getStreamedObjects() {
+        return this.streamedObjects;
+    }
+
+    @Override
+    public long getStreamingTime() {
+        return this.time;
+    }
+
+    private enum CellState {
+
+        /**
+         * Being read by a loader thread.
+         */
+        READING,
+
+        /**
+         * Read, its objects are being built.
+         */
+        BUILDING,
+
+        /**
+         * All objects built.
+         */
+        LOADED
+    }
+
+    /**
+     * Streamed cell.
+     */
+    private static final class Cell {
+
+        private final int x;
+
+        private final int z;
+
+        /**
+         * Objects built in this cell.
+         */
+        private final List<ClientGameObject> objects = new ArrayList<>();
+
+        private CellState state = CellState.READING;
+
+        /**
+         * Content read by the loader thread, null once built or if the read failed.
+         */
+        private List<ClientGameObjectDescriptor> descriptors;
+
+        /**
+         * Number of descriptors built.
+         */
+        private int built;
+
+        /**
+         * Index in the cell list.
+         */
+        private int index;
+
+        /**
+         * True once unloaded, a cell read after being unloaded is ignored.
+         */
+        private boolean unloaded;
+
+        private Cell(int x, int z) {
+            super();
+            this.x = x;
+            this.z = z;
+        }
+    }
+}
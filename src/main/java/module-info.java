@@ -39,6 +39,7 @@ module be.yildizgames.engine.client {
     requires be.yildizgames.module.window;
     requires be.yildizgames.module.network;
     requires be.yildizgames.common.mapping;
+    requires jdk.jfr;
 
     exports be.yildizgames.engine.client;
     exports be.yildizgames.engine.client.world;
@@ -1,7 +1,73 @@
 package be.yildizgames.engine.client;
 
+import be.yildizgames.common.client.config.Configuration;
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
+import be.yildizgames.common.model.Version;
+import be.yildizgames.engine.client.world.ClientGameObject;
+import be.yildizgames.engine.client.world.ClientWorld;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
 public class GameEngineFactoryTest {
 
+    @Nested
+    public class BuildHeadless {
+
+        @Test
+        public void runFrames() {
+            Map<EngineSubsystem, Integer> updates = new EnumMap<>(EngineSubsystem.class);
+            HeadlessBackend backend = new HeadlessBackend() {
+                @Override
+                public void update(EngineSubsystem subsystem) {
+                    updates.merge(subsystem, 1, Integer::sum);
+                }
+            };
+            HeadlessGameEngine engine = GameEngineFactory.buildHeadless(Configuration.getInstance(),
+                    new Version(Version.VersionType.RELEASE, 1, 0, 0, 0), GameEngineOptions.defaultOptions(), backend);
+            HeadlessRunReport report = engine.runFrames(10);
+            Assertions.assertEquals(10, report.getFrames());
+            Assertions.assertTrue(report.getElapsedTime() >= 0);
+            Assertions.assertEquals(10, engine.getFrameMetrics().getFrameCount());
+            for (EngineSubsystem subsystem : EngineSubsystem.values()) {
+                Assertions.assertEquals(10, updates.get(subsystem), subsystem.name());
+            }
+            engine.close();
+            Assertions.assertTrue(engine.isClosed());
+        }
+
+        @Test
+        public void noOpBackend() {
+            HeadlessGameEngine engine = GameEngineFactory.buildHeadless(Configuration.getInstance(),
+                    new Version(Version.VersionType.RELEASE, 1, 0, 0, 0), GameEngineOptions.defaultOptions(), HeadlessBackend.noOp());
+            Assertions.assertEquals(0, engine.runFrames(0).getFrames());
+            Assertions.assertEquals(3, engine.runFrames(3).getFrames());
+            Assertions.assertNotNull(engine.getAudioEngine());
+            Assertions.assertThrows(UnsupportedOperationException.class, engine::getScriptingEngine);
+            engine.close();
+        }
+
+        @Test
+        public void noOpBackendWorld() {
+            HeadlessGameEngine engine = GameEngineFactory.buildHeadless(Configuration.getInstance(),
+                    new Version(Version.VersionType.RELEASE, 1, 0, 0, 0), GameEngineOptions.defaultOptions(), HeadlessBackend.noOp());
+            ClientWorld world = engine.createWorld();
+            ClientGameObject object = world.createObject()
+                    .withId(EntityId.valueOf(1))
+                    .atPosition(Point3D.valueOf(1, 2, 3))
+                    .buildMovableObject();
+            Assertions.assertEquals(3, engine.runFrames(3).getFrames());
+            object.setPosition(4, 5, 6);
+            Assertions.assertEquals(Point3D.valueOf(4, 5, 6), object.getPosition());
+            Assertions.assertSame(object, world.getObject(EntityId.valueOf(1)));
+            engine.close();
+        }
+    }
+
   /*  @Nested
     public class Build {
 
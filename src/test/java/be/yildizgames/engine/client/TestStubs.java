@@ -0,0 +1,121 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client;
+
+import be.yildizgames.common.geometry.Point3D;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+
+/**
+ * Stubs of the engine and backend interfaces for the tests.
+ * A stub answers the calls with a test provided function, the equals, hashCode and toString methods use the stub identity.
+ * When the function returns DEFAULT, the call returns 0 or false for the primitives, Point3D.ZERO for the points, and null otherwise.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class TestStubs {
+
+    /**
+     * Answer of a function letting the stub return the default value.
+     */
+    public static final Object DEFAULT = new Object();
+
+    private TestStubs() {
+        super();
+    }
+
+    /**
+     * Create a stub answering every call with its default value.
+     *
+     * @param type Interface to implement.
+     * @param <T>  Interface type.
+     * @return The stub.
+     */
+    public static <T> T noOp(Class<T> type) {
+        return stub(type, (method, args) -> DEFAULT);
+    }
+
+    /**
+     * Create a stub answering the calls with a function.
+     *
+     * @param type   Interface to implement.
+     * @param answer Function called with the method name and the arguments, an empty array if there is none.
+     * @param <T>    Interface type.
+     * @return The stub.
+     */
+    public static <T> T stub(Class<T> type, Answer answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object[] arguments = args == null ? new Object[0] : args;
+            switch (method.getName()) {
+                case "equals":
+                    if (arguments.length == 1) {
+                        return proxy == arguments[0];
+                    }
+                    break;
+                case "hashCode":
+                    if (arguments.length == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    break;
+                case "toString":
+                    if (arguments.length == 0) {
+                        return type.getSimpleName() + "Stub@" + Integer.toHexString(System.identityHashCode(proxy));
+                    }
+                    break;
+                default:
+                    break;
+            }
+            Object result = answer.answer(method.getName(), arguments);
+            if (result != DEFAULT) {
+                return result;
+            }
+            Class<?> returned = method.getReturnType();
+            if (returned == void.class) {
+                return null;
+            }
+            if (returned.isPrimitive()) {
+                return Array.get(Array.newInstance(returned, 1), 0);
+            }
+            return returned == Point3D.class ? Point3D.ZERO : null;
+        }));
+    }
+
+    /**
+     * Answer the calls made on a stub.
+     */
+    @FunctionalInterface
+    public interface Answer {
+
+        /**
+         * @param method Called method name.
+         * @param args   Call arguments.
+         * @return The call result, or DEFAULT.
+         * @throws Throwable To make the call fail.
+         */
+        Object answer(String method, Object[] args) throws Throwable;
+    }
+}
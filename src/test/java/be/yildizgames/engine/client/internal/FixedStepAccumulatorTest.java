@@ -0,0 +1,79 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.internal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class FixedStepAccumulatorTest {
+
+    private static final long STEP = 1_000_000_000L / 50;
+
+    @Nested
+    public class Constructor {
+
+        @Test
+        public void zeroTickRate() {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> new FixedStepAccumulator(0, 5));
+        }
+
+        @Test
+        public void zeroCatchUp() {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> new FixedStepAccumulator(50, 0));
+        }
+    }
+
+    @Nested
+    public class Advance {
+
+        @Test
+        public void firstCallRunOneStep() {
+            FixedStepAccumulator accumulator = new FixedStepAccumulator(50, 5);
+            Assertions.assertEquals(1, accumulator.advance(1000));
+        }
+
+        @Test
+        public void keepRemainingTime() {
+            FixedStepAccumulator accumulator = new FixedStepAccumulator(50, 5);
+            accumulator.advance(0);
+            Assertions.assertEquals(0, accumulator.advance(STEP / 2));
+            Assertions.assertEquals(0.5f, accumulator.getAlpha(), 0.001f);
+            Assertions.assertEquals(2, accumulator.advance(STEP * 2 + STEP / 4));
+            Assertions.assertEquals(0.25f, accumulator.getAlpha(), 0.001f);
+        }
+
+        @Test
+        public void limitCatchUp() {
+            FixedStepAccumulator accumulator = new FixedStepAccumulator(50, 3);
+            accumulator.advance(0);
+            Assertions.assertEquals(3, accumulator.advance(STEP * 10));
+            Assertions.assertEquals(0, accumulator.getAlpha(), 0.001f);
+        }
+    }
+}
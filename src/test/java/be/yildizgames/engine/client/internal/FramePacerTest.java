@@ -0,0 +1,95 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.internal;
+
+import be.yildizgames.engine.client.FramePacingMode;
+import be.yildizgames.engine.client.GameEngineOptions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class FramePacerTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Nested
+    public class Constructor {
+
+        @Test
+        public void defaultIsFixed() {
+            FramePacer pacer = new FramePacer(GameEngineOptions.defaultOptions());
+            Assertions.assertEquals(FramePacingMode.FIXED, pacer.getMode());
+            Assertions.assertEquals(GameEngineOptions.DEFAULT_FRAME_RATE, pacer.getTargetFrameRate());
+        }
+
+        @Test
+        public void fixedPhysicStepIsUnlimited() {
+            FramePacer pacer = new FramePacer(GameEngineOptions.defaultOptions().withFixedPhysicStep(60, 5));
+            Assertions.assertEquals(FramePacingMode.UNLIMITED, pacer.getMode());
+            Assertions.assertEquals(0, pacer.getTargetFrameRate());
+        }
+    }
+
+    @Nested
+    public class FrameDone {
+
+        @Test
+        public void fixedNeverChange() {
+            FramePacer pacer = new FramePacer(GameEngineOptions.defaultOptions().withFixedFrameRate(30));
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertFalse(pacer.frameDone(50 * MS));
+            }
+            Assertions.assertEquals(30, pacer.getTargetFrameRate());
+            Assertions.assertEquals(10, pacer.getMissedFrames());
+        }
+
+        @Test
+        public void adaptiveDecreaseThenIncrease() {
+            FramePacer pacer = new FramePacer(GameEngineOptions.defaultOptions().withAdaptiveFrameRate(30, 60, 3));
+            Assertions.assertFalse(pacer.frameDone(20 * MS));
+            Assertions.assertFalse(pacer.frameDone(20 * MS));
+            Assertions.assertTrue(pacer.frameDone(20 * MS));
+            Assertions.assertEquals(54, pacer.getTargetFrameRate());
+            Assertions.assertEquals(1, pacer.getDecreases());
+            Assertions.assertFalse(pacer.frameDone(10 * MS));
+            Assertions.assertFalse(pacer.frameDone(10 * MS));
+            Assertions.assertTrue(pacer.frameDone(10 * MS));
+            Assertions.assertEquals(59, pacer.getTargetFrameRate());
+            Assertions.assertEquals(1, pacer.getIncreases());
+        }
+
+        @Test
+        public void adaptiveNotBelowMin() {
+            FramePacer pacer = new FramePacer(GameEngineOptions.defaultOptions().withAdaptiveFrameRate(50, 60, 1));
+            for (int i = 0; i < 10; i++) {
+                pacer.frameDone(100 * MS);
+            }
+            Assertions.assertEquals(50, pacer.getTargetFrameRate());
+        }
+    }
+}
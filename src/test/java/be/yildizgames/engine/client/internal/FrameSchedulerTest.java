@@ -0,0 +1,102 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.internal;
+
+import be.yildizgames.engine.client.EngineSubsystem;
+import be.yildizgames.engine.client.GameEngineOptions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class FrameSchedulerTest {
+
+    private static Map<EngineSubsystem, Runnable> updates(List<EngineSubsystem> log) {
+        Map<EngineSubsystem, Runnable> updates = new EnumMap<>(EngineSubsystem.class);
+        for (EngineSubsystem subsystem : EngineSubsystem.values()) {
+            updates.put(subsystem, () -> log.add(subsystem));
+        }
+        return updates;
+    }
+
+    @Nested
+    public class Constructor {
+
+        @Test
+        public void withCycle() {
+            GameEngineOptions options = GameEngineOptions.defaultOptions().withUpdateDependency(EngineSubsystem.WINDOW, EngineSubsystem.GRAPHIC);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> new FrameScheduler(updates(new ArrayList<>()), options, new FrameMetricsRecorder()));
+        }
+    }
+
+    @Nested
+    public class RunFrame {
+
+        @Test
+        public void sequential() {
+            List<EngineSubsystem> log = new ArrayList<>();
+            FrameScheduler scheduler = new FrameScheduler(updates(log), GameEngineOptions.defaultOptions(), new FrameMetricsRecorder());
+            scheduler.runFrame();
+            Assertions.assertEquals(List.of(EngineSubsystem.values()), log);
+        }
+
+        @Test
+        public void parallelRespectDependencies() {
+            List<EngineSubsystem> log = Collections.synchronizedList(new ArrayList<>());
+            GameEngineOptions options = GameEngineOptions.defaultOptions()
+                    .withParallelUpdate(2)
+                    .withUpdateDependency(EngineSubsystem.SOUND, EngineSubsystem.PHYSIC);
+            FrameScheduler scheduler = new FrameScheduler(updates(log), options, new FrameMetricsRecorder());
+            for (int i = 0; i < 100; i++) {
+                log.clear();
+                scheduler.runFrame();
+                Assertions.assertEquals(EngineSubsystem.values().length, log.size());
+                Assertions.assertTrue(log.indexOf(EngineSubsystem.WINDOW) < log.indexOf(EngineSubsystem.PHYSIC));
+                Assertions.assertTrue(log.indexOf(EngineSubsystem.PHYSIC) < log.indexOf(EngineSubsystem.GRAPHIC));
+                Assertions.assertTrue(log.indexOf(EngineSubsystem.PHYSIC) < log.indexOf(EngineSubsystem.SOUND));
+            }
+            scheduler.close();
+        }
+
+        @Test
+        public void failureRethrown() {
+            Map<EngineSubsystem, Runnable> updates = updates(new ArrayList<>());
+            updates.put(EngineSubsystem.NETWORK, () -> {
+                throw new IllegalStateException("network");
+            });
+            FrameScheduler scheduler = new FrameScheduler(updates, GameEngineOptions.defaultOptions().withParallelUpdate(1), new FrameMetricsRecorder());
+            Assertions.assertThrows(IllegalStateException.class, scheduler::runFrame);
+            scheduler.close();
+        }
+    }
+}
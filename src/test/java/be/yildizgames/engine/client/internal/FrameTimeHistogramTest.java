@@ -0,0 +1,86 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.internal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class FrameTimeHistogramTest {
+
+    @Nested
+    public class Record {
+
+        @Test
+        public void empty() {
+            FrameTimeHistogram histogram = new FrameTimeHistogram();
+            Assertions.assertEquals(0, histogram.getCount());
+            Assertions.assertEquals(0, histogram.getP50());
+            Assertions.assertEquals(0, histogram.getMax());
+        }
+
+        @Test
+        public void percentiles() {
+            FrameTimeHistogram histogram = new FrameTimeHistogram();
+            for (int i = 1; i <= 1000; i++) {
+                histogram.record(i * 1000L);
+            }
+            Assertions.assertEquals(1000, histogram.getCount());
+            Assertions.assertEquals(1_000_000L, histogram.getMax());
+            Assertions.assertEquals(500_000L, histogram.getP50(), 500_000L * 0.07);
+            Assertions.assertEquals(990_000L, histogram.getP99(), 990_000L * 0.07);
+        }
+
+        @Test
+        public void smallValuesAreExact() {
+            FrameTimeHistogram histogram = new FrameTimeHistogram();
+            histogram.record(3);
+            histogram.record(-5);
+            Assertions.assertEquals(3, histogram.getMax());
+            Assertions.assertEquals(0, histogram.getP50());
+        }
+
+        @Test
+        public void hugeValue() {
+            FrameTimeHistogram histogram = new FrameTimeHistogram();
+            histogram.record(Long.MAX_VALUE);
+            Assertions.assertEquals(Long.MAX_VALUE, histogram.getMax());
+            Assertions.assertTrue(histogram.getP99() > 0);
+        }
+
+        @Test
+        public void valuesAboveLastPowerInLastBucket() {
+            FrameTimeHistogram histogram = new FrameTimeHistogram();
+            histogram.record(1L << 42);
+            Assertions.assertEquals(1L << 42, histogram.getP50());
+            histogram.record(1L << 50);
+            histogram.record(1L << 50);
+            Assertions.assertEquals(1L << 50, histogram.getP50());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal;
+
+import be.yildizgames.common.client.config.Configuration;
+import be.yildizgames.common.file.ResourcePath;
+import be.yildizgames.common.model.Version;
+import be.yildizgames.engine.client.EngineSubsystem;
+import be.yildizgames.engine.client.GameEngineOptions;
+import be.yildizgames.engine.client.HeadlessBackend;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The window and rendering engines cannot be created in the tests, the frame loop is tested with the headless engine.
+ *
+ * @author Grégory Van den Borre
+ */
+public class SimpleHeadlessGameEngineTest {
+
+    private static final Version VERSION = new Version(Version.VersionType.RELEASE, 1, 1, 1, 1);
+
+    private static SimpleHeadlessGameEngine create(HeadlessBackend backend) {
+        return new SimpleHeadlessGameEngine(Configuration.getInstance(), VERSION, GameEngineOptions.defaultOptions(), backend);
+    }
+
+    @Nested
+    public class Constructor {
+
+        @Test
+        public void happyFlow() {
+            SimpleHeadlessGameEngine engine = create(HeadlessBackend.noOp());
+            Assertions.assertEquals(VERSION, engine.getGameVersion());
+            Assertions.assertEquals(Configuration.getInstance(), engine.getConfiguration());
+            Assertions.assertFalse(engine.isClosed());
+        }
+
+        @Test
+        public void withNullBackend() {
+            Assertions.assertThrows(NullPointerException.class, () -> create(null));
+        }
+
+        @Test
+        public void withNullConfiguration() {
+            Assertions.assertThrows(NullPointerException.class,
+                    () -> new SimpleHeadlessGameEngine(null, VERSION, GameEngineOptions.defaultOptions(), HeadlessBackend.noOp()));
+        }
+
+        @Test
+        public void missingSubsystem() {
+            SimpleHeadlessGameEngine engine = create(HeadlessBackend.noOp());
+            Assertions.assertThrows(UnsupportedOperationException.class, engine::getScriptingEngine);
+            Assertions.assertNotNull(engine.getAudioEngine());
+            Assertions.assertNotNull(engine.getGraphicEngine());
+        }
+    }
+
+    @Nested
+    public class RunFrames {
+
+        @Test
+        public void negative() {
+            SimpleHeadlessGameEngine engine = create(HeadlessBackend.noOp());
+            Assertions.assertThrows(IllegalArgumentException.class, () -> engine.runFrames(-1));
+        }
+
+        @Test
+        public void closed() {
+            List<String> calls = new ArrayList<>();
+            SimpleHeadlessGameEngine engine = create(new HeadlessBackend() {
+                @Override
+                public void close() {
+                    calls.add("close");
+                }
+            });
+            engine.runFrames(2);
+            engine.close();
+            engine.close();
+            Assertions.assertEquals(List.of("close"), calls);
+            Assertions.assertThrows(IllegalStateException.class, () -> engine.runFrames(1));
+        }
+    }
+
+    @Nested
+    public class AddResourcePath {
+
+        @Test
+        public void happyFlow() throws IOException {
+            Path temp = Files.createTempDirectory("resource");
+            List<Thread> registered = new ArrayList<>();
+            SimpleHeadlessGameEngine engine = create(new HeadlessBackend() {
+                @Override
+                public void addResourcePath(ResourcePath resource) {
+                    registered.add(Thread.currentThread());
+                }
+            });
+            engine.addResourcePath(ResourcePath.directory("temp", temp.toString()));
+            Assertions.assertEquals(List.of(Thread.currentThread()), registered);
+        }
+
+        @Test
+        public void fromFrame() throws IOException {
+            Path temp = Files.createTempDirectory("resource");
+            ResourcePath resource = ResourcePath.directory("temp", temp.toString());
+            List<Thread> registered = new ArrayList<>();
+            List<SimpleHeadlessGameEngine> engines = new ArrayList<>();
+            SimpleHeadlessGameEngine engine = create(new HeadlessBackend() {
+                @Override
+                public void update(EngineSubsystem subsystem) {
+                    if (subsystem == EngineSubsystem.GRAPHIC && registered.isEmpty()) {
+                        engines.get(0).addResourcePath(resource);
+                    }
+                }
+
+                @Override
+                public void addResourcePath(ResourcePath r) {
+                    registered.add(Thread.currentThread());
+                }
+            });
+            engines.add(engine);
+            engine.runFrames(1);
+            Assertions.assertEquals(List.of(Thread.currentThread()), registered);
+        }
+
+        @Test
+        public void asyncRegisteredByFrame() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+            Path temp = Files.createTempDirectory("resource");
+            List<Thread> registered = new ArrayList<>();
+            SimpleHeadlessGameEngine engine = create(new HeadlessBackend() {
+                @Override
+                public void addResourcePath(ResourcePath resource) {
+                    registered.add(Thread.currentThread());
+                }
+            });
+            ResourcePath resource = ResourcePath.directory("temp", temp.toString());
+            CompletableFuture<ResourcePath> future = engine.addResourcePathAsync(resource);
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!future.isDone() && System.nanoTime() < end) {
+                engine.runFrames(1);
+                Thread.sleep(1);
+            }
+            Assertions.assertEquals(resource, future.get(0, TimeUnit.SECONDS));
+            Assertions.assertEquals(List.of(Thread.currentThread()), registered);
+        }
+
+        @Test
+        public void asyncNotRegisteredWithoutFrame() throws IOException, InterruptedException {
+            Path temp = Files.createTempDirectory("resource");
+            List<Thread> registered = new ArrayList<>();
+            SimpleHeadlessGameEngine engine = create(new HeadlessBackend() {
+                @Override
+                public void addResourcePath(ResourcePath resource) {
+                    registered.add(Thread.currentThread());
+                }
+            });
+            CompletableFuture<ResourcePath> future = engine.addResourcePathAsync(ResourcePath.directory("temp", temp.toString()));
+            Thread.sleep(50);
+            Assertions.assertFalse(future.isDone());
+            Assertions.assertTrue(registered.isEmpty());
+        }
+
+        @Test
+        public void asyncFileNotExists() throws InterruptedException, TimeoutException {
+            SimpleHeadlessGameEngine engine = create(HeadlessBackend.noOp());
+            CompletableFuture<ResourcePath> future = engine.addResourcePathAsync(ResourcePath.directory("azerty", "azerty"));
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        @Test
+        public void fileNotExists() {
+            SimpleHeadlessGameEngine engine = create(HeadlessBackend.noOp());
+            Assertions.assertThrows(IllegalStateException.class, () -> engine.addResourcePath(ResourcePath.directory("azerty", "azerty")));
+        }
+    }
+}
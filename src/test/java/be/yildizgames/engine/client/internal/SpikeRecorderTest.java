@@ -0,0 +1,165 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.internal;
+
+import be.yildizgames.engine.client.EngineSubsystem;
+import be.yildizgames.engine.client.SpikeDumpReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class SpikeRecorderTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final Path directory = createDirectory();
+
+    private final FrameMetricsRecorder metrics = new FrameMetricsRecorder();
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("spike");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void record(SpikeRecorder recorder, long frame, long frameTime, long interval) {
+        this.metrics.recordStage(EngineSubsystem.PHYSIC, frame * 100);
+        this.metrics.recordStage(EngineSubsystem.GRAPHIC, frame * 200);
+        recorder.record(frame, frameTime, interval, this.metrics, (int) frame, (int) frame * 2);
+    }
+
+    private List<Path> dumps() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    @Nested
+    public class RoundTrip {
+
+        @Test
+        public void wrappedBuffer() throws IOException {
+            SpikeRecorder recorder = new SpikeRecorder(directory, 10, 4);
+            for (long frame = 1; frame <= 8; frame++) {
+                record(recorder, frame, frame == 6 ? 20 * MS : MS, MS);
+            }
+            recorder.close();
+            List<Path> dumps = dumps();
+            Assertions.assertEquals(List.of(directory.resolve("spike-6.bin")), dumps);
+            SpikeDumpReader dump = SpikeDumpReader.read(dumps.get(0));
+            Assertions.assertEquals(6L, dump.getSpikeFrame());
+            Assertions.assertEquals(10 * MS, dump.getThreshold());
+            List<SpikeDumpReader.FrameRecord> records = dump.getRecords();
+            Assertions.assertEquals(4, records.size());
+            for (int i = 0; i < records.size(); i++) {
+                SpikeDumpReader.FrameRecord r = records.get(i);
+                long frame = i + 5;
+                Assertions.assertEquals(frame, r.getFrame());
+                Assertions.assertEquals(frame == 6 ? 20 * MS : MS, r.getFrameTime());
+                Assertions.assertEquals(MS, r.getInterval());
+                Assertions.assertEquals(frame * 100, r.getStageTime(EngineSubsystem.PHYSIC));
+                Assertions.assertEquals(frame * 200, r.getStageTime(EngineSubsystem.GRAPHIC));
+                Assertions.assertEquals(frame, r.getCreated());
+                Assertions.assertEquals(frame * 2, r.getDeleted());
+            }
+        }
+
+        @Test
+        public void partialBuffer() throws IOException {
+            SpikeRecorder recorder = new SpikeRecorder(directory, 10, 4);
+            for (long frame = 1; frame <= 3; frame++) {
+                record(recorder, frame, frame == 1 ? 20 * MS : MS, MS);
+            }
+            recorder.close();
+            SpikeDumpReader dump = SpikeDumpReader.read(directory.resolve("spike-1.bin"));
+            Assertions.assertEquals(List.of(1L, 2L, 3L), dump.getRecords().stream().map(SpikeDumpReader.FrameRecord::getFrame).collect(Collectors.toList()));
+        }
+
+        @Test
+        public void notADump() throws IOException {
+            Path file = directory.resolve("other.bin");
+            Files.write(file, new byte[64]);
+            Assertions.assertThrows(IllegalStateException.class, () -> SpikeDumpReader.read(file));
+        }
+    }
+
+    @Nested
+    public class Threshold {
+
+        @Test
+        public void belowThreshold() throws IOException {
+            SpikeRecorder recorder = new SpikeRecorder(directory, 10, 4);
+            for (long frame = 1; frame <= 20; frame++) {
+                record(recorder, frame, 10 * MS, 10 * MS);
+            }
+            recorder.close();
+            Assertions.assertTrue(dumps().isEmpty());
+        }
+
+        @Test
+        public void intervalAboveThreshold() throws IOException {
+            SpikeRecorder recorder = new SpikeRecorder(directory, 10, 4);
+            for (long frame = 1; frame <= 4; frame++) {
+                record(recorder, frame, MS, frame == 2 ? 11 * MS : MS);
+            }
+            recorder.close();
+            Assertions.assertEquals(List.of(directory.resolve("spike-2.bin")), dumps());
+        }
+
+        @Test
+        public void waitHalfBufferAfterSpike() throws IOException {
+            SpikeRecorder recorder = new SpikeRecorder(directory, 10, 4);
+            for (long frame = 1; frame <= 3; frame++) {
+                record(recorder, frame, frame == 2 ? 20 * MS : MS, MS);
+            }
+            recorder.close();
+            Assertions.assertTrue(dumps().isEmpty());
+        }
+
+        @Test
+        public void spikeDuringPendingDumpIgnored() throws IOException {
+            SpikeRecorder recorder = new SpikeRecorder(directory, 10, 4);
+            for (long frame = 1; frame <= 4; frame++) {
+                record(recorder, frame, frame >= 2 ? 20 * MS : MS, MS);
+            }
+            recorder.close();
+            Assertions.assertEquals(List.of(directory.resolve("spike-2.bin")), dumps());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.world;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ClientGameObjectDescriptorTest {
+
+    @Nested
+    public class Of {
+
+        @Test
+        public void happyFlow() {
+            ClientGameObjectDescriptor d = ClientGameObjectDescriptor.of(ClientGameObjectKind.DYNAMIC);
+            Assertions.assertEquals(ClientGameObjectKind.DYNAMIC, d.getKind());
+            Assertions.assertEquals(Point3D.ZERO, d.getPosition());
+            Assertions.assertNull(d.getDirection());
+            Assertions.assertNull(d.getId());
+            Assertions.assertEquals(0, d.getMass());
+        }
+
+        @Test
+        public void withNull() {
+            Assertions.assertThrows(NullPointerException.class, () -> ClientGameObjectDescriptor.of(null));
+        }
+    }
+
+    @Nested
+    public class Overrides {
+
+        @Test
+        public void sameAttributes() {
+            ClientGameObjectDescriptor d1 = ClientGameObjectDescriptor.of(ClientGameObjectKind.STATIC).withId(EntityId.valueOf(1)).withDirection(Point3D.valueOf(0, 0, 1));
+            ClientGameObjectDescriptor d2 = ClientGameObjectDescriptor.of(ClientGameObjectKind.MOVABLE).withId(EntityId.valueOf(2)).withDirection(Point3D.valueOf(1, 0, 0));
+            Assertions.assertTrue(d2.overrides(d1));
+        }
+
+        @Test
+        public void missingAttribute() {
+            ClientGameObjectDescriptor d1 = ClientGameObjectDescriptor.of(ClientGameObjectKind.STATIC).withId(EntityId.valueOf(1)).withDirection(Point3D.valueOf(0, 0, 1));
+            ClientGameObjectDescriptor d2 = ClientGameObjectDescriptor.of(ClientGameObjectKind.STATIC).withId(EntityId.valueOf(2));
+            Assertions.assertFalse(d2.overrides(d1));
+            Assertions.assertTrue(d1.overrides(d2));
+        }
+    }
+
+    @Nested
+    public class CopyModel {
+
+        @Test
+        public void happyFlow() {
+            ClientGameObjectDescriptor d = ClientGameObjectDescriptor.of(ClientGameObjectKind.DYNAMIC).withMass(5).withId(EntityId.valueOf(1)).atPosition(Point3D.valueOf(1, 2, 3));
+            ClientGameObjectDescriptor copy = d.copyModel();
+            Assertions.assertEquals(ClientGameObjectKind.DYNAMIC, copy.getKind());
+            Assertions.assertEquals(5, copy.getMass());
+            Assertions.assertNull(copy.getId());
+            Assertions.assertEquals(Point3D.ZERO, copy.getPosition());
+            Assertions.assertTrue(d.hasSameModel(copy));
+        }
+    }
+
+    @Nested
+    public class HasSameModel {
+
+        @Test
+        public void transformIgnored() {
+            ClientGameObjectDescriptor d1 = ClientGameObjectDescriptor.of(ClientGameObjectKind.STATIC).withId(EntityId.valueOf(1)).atPosition(Point3D.valueOf(1, 2, 3));
+            ClientGameObjectDescriptor d2 = ClientGameObjectDescriptor.of(ClientGameObjectKind.STATIC).withDirection(Point3D.valueOf(1, 0, 0));
+            Assertions.assertTrue(d1.hasSameModel(d2));
+        }
+
+        @Test
+        public void differentKind() {
+            ClientGameObjectDescriptor d1 = ClientGameObjectDescriptor.of(ClientGameObjectKind.STATIC);
+            ClientGameObjectDescriptor d2 = ClientGameObjectDescriptor.of(ClientGameObjectKind.MOVABLE);
+            Assertions.assertFalse(d1.hasSameModel(d2));
+        }
+
+        @Test
+        public void differentMass() {
+            ClientGameObjectDescriptor d1 = ClientGameObjectDescriptor.of(ClientGameObjectKind.DYNAMIC).withMass(1);
+            ClientGameObjectDescriptor d2 = ClientGameObjectDescriptor.of(ClientGameObjectKind.DYNAMIC).withMass(2);
+            Assertions.assertFalse(d1.hasSameModel(d2));
+        }
+    }
+}
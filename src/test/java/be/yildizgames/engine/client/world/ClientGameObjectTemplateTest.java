@@ -0,0 +1,75 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.world;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ClientGameObjectTemplateTest {
+
+    @Nested
+    public class From {
+
+        @Test
+        public void dynamic() {
+            ClientGameObjectDescriptor d = ClientGameObjectDescriptor.of(ClientGameObjectKind.DYNAMIC).withMass(2);
+            ClientGameObjectTemplate t = ClientGameObjectTemplate.from(d);
+            Assertions.assertSame(d, t.getDescriptor());
+            Assertions.assertTrue(t.isDynamic());
+            Assertions.assertFalse(t.isMovable());
+            Assertions.assertFalse(t.isStatic());
+        }
+
+        @Test
+        public void movable() {
+            ClientGameObjectTemplate t = ClientGameObjectTemplate.from(ClientGameObjectDescriptor.of(ClientGameObjectKind.MOVABLE));
+            Assertions.assertFalse(t.isDynamic());
+            Assertions.assertTrue(t.isMovable());
+            Assertions.assertFalse(t.isStatic());
+        }
+
+        @Test
+        public void withNull() {
+            Assertions.assertThrows(NullPointerException.class, () -> ClientGameObjectTemplate.from(null));
+        }
+    }
+
+    @Nested
+    public class WithoutDescriptor {
+
+        @Test
+        public void happyFlow() {
+            ClientGameObjectTemplate t = new ClientGameObjectTemplate() {};
+            Assertions.assertNull(t.getDescriptor());
+            Assertions.assertFalse(t.isDynamic());
+            Assertions.assertFalse(t.isMovable());
+            Assertions.assertFalse(t.isStatic());
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world;
+
+import be.yildizgames.common.gameobject.CollisionResult;
+import be.yildizgames.common.model.EntityId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class CollisionDispatcherTest {
+
+    private static CollisionResult contact(long first, long second) {
+        return new CollisionResult(EntityId.valueOf(first), EntityId.valueOf(second));
+    }
+
+    /**
+     * Run a frame and provide its events as text.
+     */
+    private static List<String> frame(CollisionDispatcher dispatcher) {
+        List<String> events = new ArrayList<>();
+        CollisionBatchListener listener = (batch, count) -> {
+            for (int i = 0; i < count; i++) {
+                events.add(batch[i].getType() + " " + batch[i].getFirst().value + " " + batch[i].getSecond().value);
+            }
+        };
+        dispatcher.addListener(listener);
+        dispatcher.frameStarted();
+        dispatcher.removeListener(listener);
+        return events;
+    }
+
+    @Nested
+    public class Constructor {
+
+        @Test
+        public void emptyFirstMask() {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> new CollisionDispatcher(0, 1));
+        }
+
+        @Test
+        public void emptySecondMask() {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> new CollisionDispatcher(1, 0));
+        }
+    }
+
+    @Nested
+    public class Contacts {
+
+        @Test
+        public void beginThenEnd() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(-1, -1);
+            dispatcher.newCollision(contact(1, 2));
+            Assertions.assertEquals(List.of("BEGIN 1 2"), frame(dispatcher));
+            Assertions.assertEquals(1, dispatcher.getActivePairs());
+            Assertions.assertEquals(List.of(), frame(dispatcher));
+            dispatcher.lostCollision(contact(1, 2));
+            Assertions.assertEquals(List.of("END 1 2"), frame(dispatcher));
+            Assertions.assertEquals(0, dispatcher.getActivePairs());
+            Assertions.assertEquals(2, dispatcher.getDeliveredEvents());
+        }
+
+        @Test
+        public void severalContactsCounted() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(-1, -1);
+            dispatcher.newCollision(contact(1, 2));
+            dispatcher.newCollision(contact(1, 2));
+            dispatcher.lostCollision(contact(1, 2));
+            Assertions.assertEquals(List.of("BEGIN 1 2"), frame(dispatcher));
+            dispatcher.newCollision(contact(2, 1));
+            dispatcher.lostCollision(contact(1, 2));
+            Assertions.assertEquals(List.of(), frame(dispatcher));
+            dispatcher.lostCollision(contact(2, 1));
+            Assertions.assertEquals(List.of("END 1 2"), frame(dispatcher));
+        }
+
+        @Test
+        public void beginAndEndInOneFrame() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(-1, -1);
+            dispatcher.newCollision(contact(1, 2));
+            dispatcher.lostCollision(contact(1, 2));
+            Assertions.assertEquals(List.of("BEGIN 1 2", "END 1 2"), frame(dispatcher));
+            Assertions.assertEquals(0, dispatcher.getActivePairs());
+            Assertions.assertEquals(List.of(), frame(dispatcher));
+        }
+
+        @Test
+        public void endAndBeginAgainInOneFrame() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(-1, -1);
+            dispatcher.newCollision(contact(1, 2));
+            frame(dispatcher);
+            dispatcher.lostCollision(contact(1, 2));
+            dispatcher.newCollision(contact(1, 2));
+            Assertions.assertEquals(List.of(), frame(dispatcher));
+            Assertions.assertEquals(1, dispatcher.getActivePairs());
+        }
+
+        @Test
+        public void lostWithoutContact() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(-1, -1);
+            dispatcher.lostCollision(contact(1, 2));
+            Assertions.assertEquals(List.of(), frame(dispatcher));
+            Assertions.assertEquals(1, dispatcher.getContacts());
+        }
+    }
+
+    @Nested
+    public class Persist {
+
+        @Test
+        public void disabledByDefault() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(-1, -1);
+            dispatcher.newCollision(contact(1, 2));
+            frame(dispatcher);
+            Assertions.assertEquals(List.of(), frame(dispatcher));
+        }
+
+        @Test
+        public void everyFrameWhileTouching() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(-1, -1);
+            dispatcher.setPersistEvents(true);
+            dispatcher.newCollision(contact(1, 2));
+            Assertions.assertEquals(List.of("BEGIN 1 2"), frame(dispatcher));
+            Assertions.assertEquals(List.of("PERSIST 1 2"), frame(dispatcher));
+            Assertions.assertEquals(List.of("PERSIST 1 2"), frame(dispatcher));
+            dispatcher.lostCollision(contact(1, 2));
+            Assertions.assertEquals(List.of("END 1 2"), frame(dispatcher));
+        }
+
+        @Test
+        public void activePairsAfterRemoval() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(-1, -1);
+            dispatcher.setPersistEvents(true);
+            dispatcher.newCollision(contact(1, 2));
+            dispatcher.newCollision(contact(3, 4));
+            dispatcher.newCollision(contact(5, 6));
+            frame(dispatcher);
+            dispatcher.lostCollision(contact(1, 2));
+            Assertions.assertEquals(List.of("PERSIST 3 4", "PERSIST 5 6", "END 1 2"), frame(dispatcher));
+            Assertions.assertEquals(2, dispatcher.getActivePairs());
+            Assertions.assertEquals(List.of("PERSIST 5 6", "PERSIST 3 4"), frame(dispatcher));
+            dispatcher.lostCollision(contact(5, 6));
+            dispatcher.lostCollision(contact(3, 4));
+            Assertions.assertEquals(List.of("END 5 6", "END 3 4"), frame(dispatcher));
+            Assertions.assertEquals(0, dispatcher.getActivePairs());
+            Assertions.assertEquals(List.of(), frame(dispatcher));
+        }
+    }
+
+    @Nested
+    public class Recycling {
+
+        @Test
+        public void endedPairReused() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(-1, -1);
+            dispatcher.newCollision(contact(1, 2));
+            frame(dispatcher);
+            dispatcher.lostCollision(contact(1, 2));
+            frame(dispatcher);
+            dispatcher.newCollision(contact(7, 8));
+            dispatcher.lostCollision(contact(1, 2));
+            Assertions.assertEquals(List.of("BEGIN 7 8"), frame(dispatcher));
+            dispatcher.newCollision(contact(1, 2));
+            Assertions.assertEquals(List.of("BEGIN 1 2"), frame(dispatcher));
+            Assertions.assertEquals(2, dispatcher.getActivePairs());
+        }
+
+        @Test
+        public void manyPairs() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(-1, -1);
+            for (int i = 0; i < 200; i++) {
+                dispatcher.newCollision(contact(i * 2, i * 2 + 1));
+            }
+            Assertions.assertEquals(200, frame(dispatcher).size());
+            Assertions.assertEquals(200, dispatcher.getActivePairs());
+        }
+    }
+
+    @Nested
+    public class Filter {
+
+        @Test
+        public void orderedByMasks() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(1, 2);
+            dispatcher.setCategory(EntityId.valueOf(9), 1);
+            dispatcher.setCategory(EntityId.valueOf(3), 2);
+            dispatcher.newCollision(contact(3, 9));
+            Assertions.assertEquals(List.of("BEGIN 9 3"), frame(dispatcher));
+            dispatcher.lostCollision(contact(9, 3));
+            Assertions.assertEquals(List.of("END 9 3"), frame(dispatcher));
+        }
+
+        @Test
+        public void bothOrdersMatchSmallerIdFirst() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(-1, -1);
+            dispatcher.newCollision(contact(9, 3));
+            Assertions.assertEquals(List.of("BEGIN 3 9"), frame(dispatcher));
+            dispatcher.lostCollision(contact(3, 9));
+            Assertions.assertEquals(List.of("END 3 9"), frame(dispatcher));
+        }
+
+        @Test
+        public void notMatching() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(1, 2);
+            dispatcher.setDefaultCategory(4);
+            dispatcher.setCategory(EntityId.valueOf(1), 1);
+            dispatcher.newCollision(contact(1, 2));
+            dispatcher.newCollision(contact(2, 3));
+            Assertions.assertEquals(List.of(), frame(dispatcher));
+            Assertions.assertEquals(2, dispatcher.getFilteredContacts());
+            dispatcher.removeCategory(EntityId.valueOf(1));
+            dispatcher.setCategory(EntityId.valueOf(2), 2);
+            dispatcher.setCategory(EntityId.valueOf(3), 1);
+            dispatcher.newCollision(contact(2, 3));
+            Assertions.assertEquals(List.of("BEGIN 3 2"), frame(dispatcher));
+        }
+
+        @Test
+        public void withoutId() {
+            CollisionDispatcher dispatcher = new CollisionDispatcher(-1, -1);
+            dispatcher.newCollision(new CollisionResult(EntityId.valueOf(1), null));
+            Assertions.assertEquals(List.of(), frame(dispatcher));
+            Assertions.assertEquals(1, dispatcher.getFilteredContacts());
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
+import be.yildizgames.engine.client.TestStubs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class KinematicMoverTest {
+
+    /**
+     * Transforms of the fake objects, by id value, x, y, z and direction x, y, z.
+     */
+    private final Map<Long, float[]> transforms = new HashMap<>();
+
+    /**
+     * Ids moved by each applyTransforms call.
+     */
+    private final List<List<Long>> applied = new ArrayList<>();
+
+    private final ClientWorld world = TestStubs.stub(ClientWorld.class,
+            (method, args) -> {
+                if (!"applyTransforms".equals(method) || args.length != 4) {
+                    throw new UnsupportedOperationException(method);
+                }
+                EntityId[] ids = (EntityId[]) args[0];
+                int count = (Integer) args[1];
+                FloatBuffer positions = (FloatBuffer) args[2];
+                FloatBuffer directions = (FloatBuffer) args[3];
+                List<Long> moved = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    float[] t = transforms.get(ids[i].value);
+                    t[0] = positions.get();
+                    t[1] = positions.get();
+                    t[2] = positions.get();
+                    t[3] = directions.get();
+                    t[4] = directions.get();
+                    t[5] = directions.get();
+                    moved.add(ids[i].value);
+                }
+                applied.add(moved);
+                return count;
+            });
+
+    private ClientGameObject object(long id, float x, float y, float z) {
+        float[] t = {x, y, z, 0, 0, 1};
+        EntityId entityId = id < 0 ? null : EntityId.valueOf(id);
+        if (entityId != null) {
+            this.transforms.put(id, t);
+        }
+        return TestStubs.stub(ClientGameObject.class,
+                (method, args) -> {
+                    switch (method) {
+                        case "getId":
+                            return entityId;
+                        case "readPosition":
+                            System.arraycopy(t, 0, (float[]) args[0], (Integer) args[1], 3);
+                            return null;
+                        case "readDirection":
+                            System.arraycopy(t, 3, (float[]) args[0], (Integer) args[1], 3);
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method);
+                    }
+                });
+    }
+
+    private void assertPosition(long id, float x, float y, float z) {
+        float[] t = this.transforms.get(id);
+        Assertions.assertEquals(x, t[0], 0.0001f);
+        Assertions.assertEquals(y, t[1], 0.0001f);
+        Assertions.assertEquals(z, t[2], 0.0001f);
+    }
+
+    private void assertDirection(long id, float x, float y, float z) {
+        float[] t = this.transforms.get(id);
+        Assertions.assertEquals(x, t[3], 0.0001f);
+        Assertions.assertEquals(y, t[4], 0.0001f);
+        Assertions.assertEquals(z, t[5], 0.0001f);
+    }
+
+    @Nested
+    public class Add {
+
+        @Test
+        public void withoutId() {
+            KinematicMover mover = new KinematicMover(world);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> mover.add(object(-1, 0, 0, 0)));
+        }
+
+        @Test
+        public void twice() {
+            KinematicMover mover = new KinematicMover(world);
+            ClientGameObject o = object(1, 0, 0, 0);
+            mover.add(o);
+            Assertions.assertThrows(IllegalStateException.class, () -> mover.add(o));
+        }
+
+        @Test
+        public void idleUntilMoved() {
+            KinematicMover mover = new KinematicMover(world);
+            ClientGameObject o = object(1, 0, 0, 0);
+            mover.add(o);
+            mover.update(1);
+            Assertions.assertFalse(mover.isMoving(o));
+            Assertions.assertTrue(applied.isEmpty());
+        }
+
+        @Test
+        public void notManaged() {
+            KinematicMover mover = new KinematicMover(world);
+            Assertions.assertThrows(IllegalStateException.class, () -> mover.stop(object(1, 0, 0, 0)));
+            Assertions.assertThrows(IllegalStateException.class, () -> mover.moveLinear(object(2, 0, 0, 0), Point3D.valueOf(1, 0, 0)));
+        }
+    }
+
+    @Nested
+    public class MoveLinear {
+
+        @Test
+        public void happyFlow() {
+            KinematicMover mover = new KinematicMover(world);
+            ClientGameObject o = object(1, 1, 0, 0);
+            mover.add(o);
+            mover.moveLinear(o, Point3D.valueOf(0, 0, 4));
+            mover.update(0.5f);
+            assertPosition(1, 1, 0, 2);
+            assertDirection(1, 0, 0, 1);
+            mover.update(0.25f);
+            assertPosition(1, 1, 0, 3);
+            Assertions.assertTrue(mover.isMoving(o));
+        }
+    }
+
+    @Nested
+    public class Partition {
+
+        @Test
+        public void onlyMovingObjectsApplied() {
+            KinematicMover mover = new KinematicMover(world);
+            ClientGameObject a = object(1, 0, 0, 0);
+            ClientGameObject b = object(2, 10, 0, 0);
+            ClientGameObject c = object(3, 20, 0, 0);
+            mover.add(a);
+            mover.add(b);
+            mover.add(c);
+            mover.moveLinear(c, Point3D.valueOf(1, 0, 0));
+            mover.moveLinear(a, Point3D.valueOf(0, 1, 0));
+            Assertions.assertEquals(2, mover.getMovingCount());
+            mover.stop(c);
+            Assertions.assertFalse(mover.isMoving(c));
+            Assertions.assertTrue(mover.isMoving(a));
+            mover.update(1);
+            Assertions.assertEquals(List.of(List.of(1L)), applied);
+            assertPosition(1, 0, 1, 0);
+            assertPosition(3, 20, 0, 0);
+        }
+
+        @Test
+        public void removeMoving() {
+            KinematicMover mover = new KinematicMover(world);
+            ClientGameObject a = object(1, 0, 0, 0);
+            ClientGameObject b = object(2, 10, 0, 0);
+            ClientGameObject c = object(3, 20, 0, 0);
+            mover.add(a);
+            mover.add(b);
+            mover.add(c);
+            mover.moveLinear(a, Point3D.valueOf(1, 0, 0));
+            mover.moveLinear(b, Point3D.valueOf(0, 1, 0));
+            Assertions.assertTrue(mover.remove(a));
+            Assertions.assertFalse(mover.remove(a));
+            Assertions.assertEquals(2, mover.getObjectCount());
+            Assertions.assertEquals(1, mover.getMovingCount());
+            mover.update(1);
+            Assertions.assertEquals(List.of(List.of(2L)), applied);
+            assertPosition(1, 0, 0, 0);
+            assertPosition(2, 10, 1, 0);
+            mover.moveLinear(c, Point3D.valueOf(0, 0, 1));
+            mover.update(1);
+            assertPosition(2, 10, 2, 0);
+            assertPosition(3, 20, 0, 1);
+        }
+
+        @Test
+        public void removeIdleKeepsMoving() {
+            KinematicMover mover = new KinematicMover(world);
+            ClientGameObject a = object(1, 0, 0, 0);
+            ClientGameObject b = object(2, 10, 0, 0);
+            ClientGameObject c = object(3, 20, 0, 0);
+            mover.add(c);
+            mover.add(a);
+            mover.add(b);
+            mover.moveLinear(a, Point3D.valueOf(1, 0, 0));
+            mover.moveLinear(b, Point3D.valueOf(0, 1, 0));
+            Assertions.assertTrue(mover.remove(c));
+            Assertions.assertTrue(mover.isMoving(a));
+            Assertions.assertTrue(mover.isMoving(b));
+            mover.update(1);
+            assertPosition(1, 1, 0, 0);
+            assertPosition(2, 10, 1, 0);
+        }
+
+        @Test
+        public void manyObjects() {
+            KinematicMover mover = new KinematicMover(world);
+            List<ClientGameObject> objects = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                ClientGameObject o = object(i, i, 0, 0);
+                objects.add(o);
+                mover.add(o);
+                if (i % 3 == 0) {
+                    mover.moveLinear(o, Point3D.valueOf(0, 1, 0));
+                }
+            }
+            for (int i = 0; i < 100; i += 6) {
+                mover.remove(objects.get(i));
+            }
+            mover.update(1);
+            for (int i = 0; i < 100; i++) {
+                assertPosition(i, i, i % 3 == 0 && i % 6 != 0 ? 1 : 0, 0);
+            }
+        }
+    }
+
+    @Nested
+    public class MoveAlong {
+
+        @Test
+        public void noWaypoint() {
+            KinematicMover mover = new KinematicMover(world);
+            ClientGameObject o = object(1, 0, 0, 0);
+            mover.add(o);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> mover.moveAlong(o, List.of(), 1));
+        }
+
+        @Test
+        public void invalidSpeed() {
+            KinematicMover mover = new KinematicMover(world);
+            ClientGameObject o = object(1, 0, 0, 0);
+            mover.add(o);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> mover.moveAlong(o, List.of(Point3D.valueOf(1, 0, 0)), 0));
+        }
+
+        @Test
+        public void throughSeveralWaypoints() {
+            KinematicMover mover = new KinematicMover(world);
+            ClientGameObject o = object(1, 0, 0, 0);
+            mover.add(o);
+            mover.moveAlong(o, List.of(Point3D.valueOf(1, 0, 0), Point3D.valueOf(1, 1, 0), Point3D.valueOf(1, 1, 5)), 3);
+            mover.update(1);
+            assertPosition(1, 1, 1, 1);
+            assertDirection(1, 0, 0, 1);
+            Assertions.assertTrue(mover.isMoving(o));
+            mover.update(10);
+            assertPosition(1, 1, 1, 5);
+            Assertions.assertFalse(mover.isMoving(o));
+        }
+
+        @Test
+        public void arrivalsCompacted() {
+            KinematicMover mover = new KinematicMover(world);
+            ClientGameObject a = object(1, 0, 0, 0);
+            ClientGameObject b = object(2, 0, 10, 0);
+            ClientGameObject c = object(3, 0, 20, 0);
+            mover.add(a);
+            mover.add(b);
+            mover.add(c);
+            mover.moveAlong(a, List.of(Point3D.valueOf(1, 0, 0)), 2);
+            mover.moveAlong(b, List.of(Point3D.valueOf(10, 10, 0)), 2);
+            mover.moveAlong(c, List.of(Point3D.valueOf(1, 20, 0)), 2);
+            mover.update(1);
+            Assertions.assertFalse(mover.isMoving(a));
+            Assertions.assertTrue(mover.isMoving(b));
+            Assertions.assertFalse(mover.isMoving(c));
+            Assertions.assertEquals(1, mover.getMovingCount());
+            assertPosition(1, 1, 0, 0);
+            assertPosition(2, 2, 10, 0);
+            assertPosition(3, 1, 20, 0);
+            mover.update(1);
+            Assertions.assertEquals(List.of(2L), applied.get(1));
+            assertPosition(2, 4, 10, 0);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.world;
+
+import be.yildizgames.engine.client.TestStubs;
+import be.yildizgames.engine.client.internal.headless.NoOpCamera;
+import be.yildizgames.module.graphic.camera.BehavioredCamera;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class LevelOfDetailManagerTest {
+
+    private final LevelOfDetailTier near = LevelOfDetailTier.from(0);
+
+    private final LevelOfDetailTier middle = LevelOfDetailTier.from(10).withCastShadow(false);
+
+    private final LevelOfDetailTier far = LevelOfDetailTier.from(20).hidden().asleep();
+
+    private LevelOfDetailManager manager;
+
+    private LevelOfDetailManager givenAManager(long budget) {
+        this.manager = new LevelOfDetailManager(new BehavioredCamera(new NoOpCamera("lod")), List.of(far, near, middle), budget);
+        return this.manager;
+    }
+
+    /**
+     * Object on the X axis, the camera being at the origin.
+     */
+    private static final class Stub {
+
+        private final ClientGameObject object;
+
+        private float x;
+
+        /**
+         * Calls changing the object state, as method name and argument.
+         */
+        private final List<String> calls = new ArrayList<>();
+
+        /**
+         * Manager passes count at every visit.
+         */
+        private final List<Long> visits = new ArrayList<>();
+
+        private Stub(float x, LevelOfDetailManagerTest test) {
+            this.x = x;
+            this.object = TestStubs.stub(ClientGameObject.class, (method, args) -> {
+                switch (method) {
+                    case "getPositionX":
+                        this.visits.add(test.manager.getPasses());
+                        spin();
+                        return this.x;
+                    case "setVisible":
+                    case "sleep":
+                    case "setCastShadow":
+                        this.calls.add(method + " " + args[0]);
+                        return TestStubs.DEFAULT;
+                    default:
+                        return TestStubs.DEFAULT;
+                }
+            });
+        }
+    }
+
+    /**
+     * Wait a few hundred nanoseconds, so a visit of 32 objects always consumes a 1 microsecond budget.
+     */
+    private static void spin() {
+        long end = System.nanoTime() + 200;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private Stub givenAnObject(float x) {
+        Stub stub = new Stub(x, this);
+        this.manager.add(stub.object);
+        return stub;
+    }
+
+    @Nested
+    public class Tiers {
+
+        @Test
+        public void selectedByDistance() {
+            givenAManager(1_000_000);
+            Stub a = givenAnObject(5);
+            Stub b = givenAnObject(15);
+            Stub c = givenAnObject(25);
+            Assertions.assertNull(manager.getTier(a.object));
+            manager.frameStarted();
+            Assertions.assertSame(near, manager.getTier(a.object));
+            Assertions.assertSame(middle, manager.getTier(b.object));
+            Assertions.assertSame(far, manager.getTier(c.object));
+            Assertions.assertEquals(List.of("setVisible true"), a.calls);
+            Assertions.assertEquals(List.of("setCastShadow false", "setVisible true"), b.calls);
+            Assertions.assertEquals(List.of("setVisible false", "sleep true"), c.calls);
+            Assertions.assertEquals(3, manager.getTierChanges());
+        }
+
+        @Test
+        public void appliedOnlyOnChange() {
+            givenAManager(1_000_000);
+            Stub a = givenAnObject(5);
+            manager.frameStarted();
+            manager.frameStarted();
+            a.x = 6;
+            manager.frameStarted();
+            Assertions.assertEquals(1, a.calls.size());
+            Assertions.assertEquals(1, manager.getTierChanges());
+        }
+
+        @Test
+        public void nearerThanFirstTier() {
+            manager = new LevelOfDetailManager(new BehavioredCamera(new NoOpCamera("lod")), List.of(middle, far), 1_000_000);
+            Stub a = givenAnObject(1);
+            manager.frameStarted();
+            Assertions.assertSame(middle, manager.getTier(a.object));
+        }
+    }
+
+    @Nested
+    public class Hysteresis {
+
+        @Test
+        public void changedOnceMarginCrossed() {
+            givenAManager(1_000_000).setHysteresis(2);
+            Stub a = givenAnObject(9);
+            manager.frameStarted();
+            Assertions.assertSame(near, manager.getTier(a.object));
+            a.x = 11;
+            manager.frameStarted();
+            Assertions.assertSame(near, manager.getTier(a.object));
+            a.x = 12.5f;
+            manager.frameStarted();
+            Assertions.assertSame(middle, manager.getTier(a.object));
+            a.x = 9;
+            manager.frameStarted();
+            Assertions.assertSame(middle, manager.getTier(a.object));
+            a.x = 7;
+            manager.frameStarted();
+            Assertions.assertSame(near, manager.getTier(a.object));
+        }
+
+        @Test
+        public void firstVisitWithoutMargin() {
+            givenAManager(1_000_000).setHysteresis(2);
+            Stub a = givenAnObject(11);
+            manager.frameStarted();
+            Assertions.assertSame(middle, manager.getTier(a.object));
+        }
+
+        @Test
+        public void negative() {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> givenAManager(1).setHysteresis(-1));
+        }
+    }
+
+    @Nested
+    public class Sleep {
+
+        @Test
+        public void wokenOnlyWhenLeavingAsleepTier() {
+            givenAManager(1_000_000);
+            Stub a = givenAnObject(15);
+            manager.frameStarted();
+            a.x = 5;
+            manager.frameStarted();
+            Assertions.assertFalse(a.calls.stream().anyMatch(c -> c.startsWith("sleep")));
+            a.x = 25;
+            manager.frameStarted();
+            a.x = 15;
+            manager.frameStarted();
+            Assertions.assertEquals(List.of("sleep true", "sleep false"), a.calls.stream().filter(c -> c.startsWith("sleep")).collect(Collectors.toList()));
+        }
+    }
+
+    @Nested
+    public class Budget {
+
+        @Test
+        public void passSpreadOnFrames() {
+            givenAManager(1);
+            List<Stub> stubs = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                stubs.add(givenAnObject(i));
+            }
+            manager.frameStarted();
+            Assertions.assertEquals(32, stubs.stream().filter(s -> !s.visits.isEmpty()).count());
+            Assertions.assertEquals(0, manager.getPasses());
+            for (int i = 0; i < 3; i++) {
+                manager.frameStarted();
+            }
+            Assertions.assertEquals(1, manager.getPasses());
+            Assertions.assertTrue(stubs.stream().allMatch(s -> !s.visits.isEmpty()));
+        }
+
+        @Test
+        public void wrappedInOneFrame() {
+            givenAManager(1_000_000);
+            Stub a = givenAnObject(1);
+            givenAnObject(2);
+            manager.frameStarted();
+            manager.frameStarted();
+            Assertions.assertEquals(2, manager.getPasses());
+            Assertions.assertEquals(List.of(0L, 1L), a.visits);
+        }
+    }
+
+    @Nested
+    public class Remove {
+
+        @Test
+        public void behindCursorNotSkipped() {
+            givenAManager(1);
+            List<Stub> stubs = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                stubs.add(givenAnObject(i));
+            }
+            manager.frameStarted();
+            Assertions.assertTrue(manager.remove(stubs.get(0).object));
+            stubs.remove(0);
+            while (manager.getPasses() == 0) {
+                manager.frameStarted();
+            }
+            for (Stub stub : stubs) {
+                Assertions.assertEquals(1, stub.visits.stream().filter(p -> p == 0).count());
+            }
+        }
+
+        @Test
+        public void aheadOfCursor() {
+            givenAManager(1);
+            List<Stub> stubs = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                stubs.add(givenAnObject(i));
+            }
+            manager.frameStarted();
+            manager.remove(stubs.get(40).object);
+            stubs.remove(40);
+            while (manager.getPasses() == 0) {
+                manager.frameStarted();
+            }
+            for (Stub stub : stubs) {
+                Assertions.assertEquals(1, stub.visits.stream().filter(p -> p == 0).count());
+            }
+        }
+
+        @Test
+        public void lastUnvisited() {
+            givenAManager(1);
+            List<Stub> stubs = new ArrayList<>();
+            for (int i = 0; i < 33; i++) {
+                stubs.add(givenAnObject(i));
+            }
+            manager.frameStarted();
+            manager.remove(stubs.get(32).object);
+            Assertions.assertEquals(1, manager.getPasses());
+            manager.frameStarted();
+            Assertions.assertEquals(32, manager.getObjectCount());
+        }
+
+        @Test
+        public void notManaged() {
+            givenAManager(1);
+            Stub a = new Stub(0, LevelOfDetailManagerTest.this);
+            Assertions.assertFalse(manager.remove(a.object));
+        }
+
+        @Test
+        public void addedTwice() {
+            givenAManager(1);
+            Stub a = givenAnObject(0);
+            Assertions.assertThrows(IllegalStateException.class, () -> manager.add(a.object));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class CameraRegistryTest {
+
+    @Nested
+    public class Add {
+
+        @Test
+        public void happyFlow() {
+            CameraRegistry<Object> registry = new CameraRegistry<>();
+            Object camera = new Object();
+            int handle = registry.add("main", camera);
+            Assertions.assertSame(camera, registry.get(handle));
+            Assertions.assertSame(camera, registry.get("main"));
+            Assertions.assertEquals(handle, registry.getHandle(camera));
+            Assertions.assertTrue(registry.contains(camera));
+            Assertions.assertEquals(1, registry.size());
+        }
+
+        @Test
+        public void withoutName() {
+            CameraRegistry<Object> registry = new CameraRegistry<>();
+            Object camera = new Object();
+            int handle = registry.add(null, camera);
+            Assertions.assertSame(camera, registry.get(handle));
+            Assertions.assertNull(registry.get("main"));
+        }
+
+        @Test
+        public void nameAlreadyUsed() {
+            CameraRegistry<Object> registry = new CameraRegistry<>();
+            registry.add("main", new Object());
+            Assertions.assertThrows(IllegalStateException.class, () -> registry.add("main", new Object()));
+        }
+
+        @Test
+        public void manyCameras() {
+            CameraRegistry<Object> registry = new CameraRegistry<>();
+            Object[] cameras = new Object[100];
+            int[] handles = new int[100];
+            for (int i = 0; i < 100; i++) {
+                cameras[i] = new Object();
+                handles[i] = registry.add("c" + i, cameras[i]);
+            }
+            for (int i = 0; i < 100; i++) {
+                Assertions.assertSame(cameras[i], registry.get(handles[i]));
+                Assertions.assertSame(cameras[i], registry.get("c" + i));
+            }
+        }
+    }
+
+    @Nested
+    public class Get {
+
+        @Test
+        public void unknownHandle() {
+            CameraRegistry<Object> registry = new CameraRegistry<>();
+            registry.add("main", new Object());
+            Assertions.assertNull(registry.get(5));
+            Assertions.assertNull(registry.get(-1));
+            Assertions.assertNull(registry.get(1 << 16));
+        }
+
+        @Test
+        public void unknownCamera() {
+            CameraRegistry<Object> registry = new CameraRegistry<>();
+            Assertions.assertEquals(-1, registry.getHandle(new Object()));
+            Assertions.assertFalse(registry.contains(new Object()));
+        }
+    }
+
+    @Nested
+    public class Remove {
+
+        @Test
+        public void happyFlow() {
+            CameraRegistry<Object> registry = new CameraRegistry<>();
+            Object camera = new Object();
+            int handle = registry.add("main", camera);
+            Assertions.assertSame(camera, registry.remove(handle));
+            Assertions.assertNull(registry.get(handle));
+            Assertions.assertNull(registry.get("main"));
+            Assertions.assertEquals(-1, registry.getHandle(camera));
+            Assertions.assertEquals(0, registry.size());
+            Assertions.assertNull(registry.remove(handle));
+        }
+
+        @Test
+        public void nameReusable() {
+            CameraRegistry<Object> registry = new CameraRegistry<>();
+            registry.remove(registry.add("main", new Object()));
+            Object camera = new Object();
+            registry.add("main", camera);
+            Assertions.assertSame(camera, registry.get("main"));
+        }
+
+        @Test
+        public void staleHandleRejected() {
+            CameraRegistry<Object> registry = new CameraRegistry<>();
+            registry.add("first", new Object());
+            int stale = registry.add("second", new Object());
+            registry.remove(stale);
+            Object camera = new Object();
+            int handle = registry.add("third", camera);
+            Assertions.assertEquals(stale & 0xFFFF, handle & 0xFFFF);
+            Assertions.assertNotEquals(stale, handle);
+            Assertions.assertNull(registry.get(stale));
+            Assertions.assertNull(registry.remove(stale));
+            Assertions.assertSame(camera, registry.get(handle));
+        }
+
+        @Test
+        public void lastFreedSlotReusedFirst() {
+            CameraRegistry<Object> registry = new CameraRegistry<>();
+            int a = registry.add("a", new Object());
+            int b = registry.add("b", new Object());
+            registry.remove(a);
+            registry.remove(b);
+            Assertions.assertEquals(b & 0xFFFF, registry.add("c", new Object()) & 0xFFFF);
+            Assertions.assertEquals(a & 0xFFFF, registry.add("d", new Object()) & 0xFFFF);
+        }
+
+        @Test
+        public void generationWrapsPositive() {
+            CameraRegistry<Object> registry = new CameraRegistry<>();
+            for (int i = 0; i < 40000; i++) {
+                int handle = registry.add("main", new Object());
+                Assertions.assertTrue(handle >= 0);
+                Assertions.assertNotNull(registry.remove(handle));
+            }
+        }
+
+        @Test
+        public void allButOne() {
+            CameraRegistry<Object> registry = new CameraRegistry<>();
+            Object kept = new Object();
+            int keptHandle = registry.add(null, kept);
+            int other = registry.add("other", new Object());
+            registry.add("third", new Object());
+            registry.removeAllBut(kept);
+            Assertions.assertEquals(1, registry.size());
+            Assertions.assertSame(kept, registry.get(keptHandle));
+            Assertions.assertNull(registry.get(other));
+            Assertions.assertNull(registry.get("third"));
+        }
+    }
+}
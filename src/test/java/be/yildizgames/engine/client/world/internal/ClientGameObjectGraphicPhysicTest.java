@@ -0,0 +1,137 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.engine.client.TestStubs;
+import be.yildizgames.engine.client.internal.headless.NoOpGraphicWorld;
+import be.yildizgames.engine.client.internal.headless.NoOpPhysicWorld;
+import be.yildizgames.module.graphic.GraphicObject;
+import be.yildizgames.module.physics.BaseBody;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ClientGameObjectGraphicPhysicTest {
+
+    private final GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), false);
+
+    /**
+     * Position of the graphic, moved by the test as the physic body would.
+     */
+    private final float[] position = {1, 2, 3};
+
+    /**
+     * Number of transform reads on the graphic.
+     */
+    private int reads;
+
+    private GraphicObject graphic() {
+        return TestStubs.stub(GraphicObject.class, (method, args) -> {
+            if (method.equals("getPosition")) {
+                this.reads++;
+                return Point3D.valueOf(this.position[0], this.position[1], this.position[2]);
+            }
+            if (method.equals("getDirection")) {
+                this.reads++;
+                return Point3D.valueOf(0, 0, 1);
+            }
+            return TestStubs.DEFAULT;
+        });
+    }
+
+    private ClientGameObjectGraphicPhysic givenADynamicObject() {
+        return ClientGameObjectGraphicPhysic.withDynamicMaster(this.world, TestStubs.noOp(BaseBody.class), this.graphic());
+    }
+
+    @Nested
+    public class PhysicMasterCache {
+
+        @Test
+        public void readOncePerPhysicUpdate() {
+            ClientGameObjectGraphicPhysic object = givenADynamicObject();
+            Assertions.assertEquals(1, object.getPositionX());
+            Assertions.assertEquals(2, object.getPositionY());
+            Assertions.assertEquals(3, object.getPositionZ());
+            float[] dst = new float[3];
+            object.readPosition(dst, 0);
+            Assertions.assertEquals(1, reads);
+        }
+
+        @Test
+        public void readAgainAfterPhysicUpdate() {
+            ClientGameObjectGraphicPhysic object = givenADynamicObject();
+            object.getPositionX();
+            position[0] = 10;
+            Assertions.assertEquals(1, object.getPositionX());
+            world.physicUpdated();
+            Assertions.assertEquals(10, object.getPositionX());
+            Assertions.assertEquals(3, object.getPositionZ());
+            Assertions.assertEquals(2, reads);
+        }
+
+        @Test
+        public void directionReadOncePerPhysicUpdate() {
+            ClientGameObjectGraphicPhysic object = givenADynamicObject();
+            float[] dst = new float[6];
+            object.readDirection(dst, 3);
+            object.readDirection(dst, 3);
+            Assertions.assertEquals(1, dst[5]);
+            world.physicUpdated();
+            object.readDirection(dst, 3);
+            Assertions.assertEquals(2, reads);
+        }
+
+        @Test
+        public void readAgainAfterTeleport() {
+            ClientGameObjectGraphicPhysic object = givenADynamicObject();
+            object.getPositionX();
+            position[0] = 7;
+            object.setPosition(7, 2, 3);
+            Assertions.assertEquals(7, object.getPositionX());
+            Assertions.assertEquals(2, reads);
+        }
+    }
+
+    @Nested
+    public class GraphicMasterCache {
+
+        @Test
+        public void notReadOnceSet() {
+            ClientGameObjectGraphicPhysic object = ClientGameObjectGraphicPhysic.withGraphicMaster(world, TestStubs.noOp(BaseBody.class), graphic());
+            object.setPosition(4, 5, 6);
+            object.setDirection(1, 0, 0);
+            world.physicUpdated();
+            float[] dst = new float[6];
+            object.readPosition(dst, 0);
+            object.readDirection(dst, 3);
+            Assertions.assertArrayEquals(new float[]{4, 5, 6, 1, 0, 0}, dst);
+            Assertions.assertEquals(0, reads);
+        }
+    }
+}
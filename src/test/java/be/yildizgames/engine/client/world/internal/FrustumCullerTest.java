@@ -0,0 +1,223 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.engine.client.TestStubs;
+import be.yildizgames.engine.client.internal.headless.NoOpCamera;
+import be.yildizgames.engine.client.internal.headless.NoOpGraphicWorld;
+import be.yildizgames.engine.client.internal.headless.NoOpPhysicWorld;
+import be.yildizgames.module.graphic.GraphicObject;
+import be.yildizgames.module.graphic.camera.BehavioredCamera;
+import be.yildizgames.module.physics.BaseBody;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class FrustumCullerTest {
+
+    private final GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), false);
+
+    private final SpatialGrid<ClientGameObjectGraphicPhysic> grid = new SpatialGrid<>(10);
+
+    /**
+     * Show and hide calls received by the graphics, in call order.
+     */
+    private final List<String> calls = new ArrayList<>();
+
+    private final Map<ClientGameObjectGraphicPhysic, SpatialGrid.Entry<ClientGameObjectGraphicPhysic>> entries = new IdentityHashMap<>();
+
+    /**
+     * Culler using a camera at the origin looking to -Z, 90 degrees vertical field of view, square view.
+     */
+    private FrustumCuller givenACuller() {
+        FrustumCuller culler = new FrustumCuller();
+        culler.enable(new BehavioredCamera(new NoOpCamera("cull")), 90, 1, 1, 100, 0);
+        return culler;
+    }
+
+    private ClientGameObjectGraphicPhysic givenAnObject(String name, float x, float y, float z) {
+        GraphicObject graphic = TestStubs.stub(GraphicObject.class, (method, args) -> {
+            if (method.equals("show") || method.equals("hide")) {
+                this.calls.add(name + "." + method);
+            }
+            return TestStubs.DEFAULT;
+        });
+        ClientGameObjectGraphicPhysic object = ClientGameObjectGraphicPhysic.withGraphicMaster(this.world, TestStubs.noOp(BaseBody.class), graphic);
+        this.entries.put(object, this.grid.add(object, x, y, z));
+        return object;
+    }
+
+    private void move(ClientGameObjectGraphicPhysic object, float x, float y, float z) {
+        this.grid.move(this.entries.get(object), x, y, z);
+    }
+
+    @Nested
+    public class Cull {
+
+        @Test
+        public void hideOutOfView() {
+            FrustumCuller culler = givenACuller();
+            givenAnObject("front", 0, 0, -50);
+            givenAnObject("behind", 0, 0, 50);
+            culler.cull(grid);
+            Assertions.assertEquals(List.of("behind.hide"), calls);
+            Assertions.assertEquals(1, culler.getVisibleObjects());
+            Assertions.assertEquals(1, culler.getCulledObjects());
+            Assertions.assertEquals(1, culler.getVisibilityChanges());
+        }
+
+        @Test
+        public void onlyChangedObjectsFlipped() {
+            FrustumCuller culler = givenACuller();
+            givenAnObject("front", 0, 0, -50);
+            ClientGameObjectGraphicPhysic behind = givenAnObject("behind", 0, 0, 50);
+            culler.cull(grid);
+            calls.clear();
+            culler.cull(grid);
+            Assertions.assertTrue(calls.isEmpty());
+            Assertions.assertEquals(0, culler.getVisibilityChanges());
+            move(behind, 0, 0, -20);
+            culler.cull(grid);
+            Assertions.assertEquals(List.of("behind.show"), calls);
+            Assertions.assertEquals(1, culler.getVisibilityChanges());
+            Assertions.assertEquals(2, culler.getVisibleObjects());
+        }
+
+        @Test
+        public void parallel() {
+            FrustumCuller culler = givenACuller();
+            for (int i = 0; i < 5000; i++) {
+                givenAnObject("object" + i, i % 50, 0, i % 2 == 0 ? -50 : 50);
+            }
+            culler.cull(grid);
+            Assertions.assertEquals(2500, culler.getVisibleObjects());
+            Assertions.assertEquals(2500, culler.getCulledObjects());
+            Assertions.assertEquals(2500, calls.size());
+            calls.clear();
+            culler.cull(grid);
+            Assertions.assertTrue(calls.isEmpty());
+        }
+
+        @Test
+        public void notEnabled() {
+            FrustumCuller culler = new FrustumCuller();
+            givenAnObject("behind", 0, 0, 50);
+            culler.cull(grid);
+            Assertions.assertTrue(calls.isEmpty());
+            Assertions.assertFalse(culler.isCullingEnabled());
+        }
+    }
+
+    @Nested
+    public class Hidden {
+
+        @Test
+        public void staysHiddenWhenEnteringView() {
+            FrustumCuller culler = givenACuller();
+            ClientGameObjectGraphicPhysic object = givenAnObject("object", 0, 0, 50);
+            culler.cull(grid);
+            object.hide();
+            calls.clear();
+            move(object, 0, 0, -50);
+            culler.cull(grid);
+            Assertions.assertTrue(calls.isEmpty());
+            Assertions.assertFalse(object.isCulled());
+        }
+
+        @Test
+        public void hiddenInViewNotShownWhenCulled() {
+            FrustumCuller culler = givenACuller();
+            ClientGameObjectGraphicPhysic object = givenAnObject("object", 0, 0, -50);
+            object.hide();
+            calls.clear();
+            move(object, 0, 0, 50);
+            culler.cull(grid);
+            move(object, 0, 0, -50);
+            culler.cull(grid);
+            Assertions.assertTrue(calls.isEmpty());
+        }
+
+        @Test
+        public void shownWhileCulledStaysHidden() {
+            FrustumCuller culler = givenACuller();
+            ClientGameObjectGraphicPhysic object = givenAnObject("object", 0, 0, 50);
+            object.hide();
+            culler.cull(grid);
+            calls.clear();
+            object.show();
+            Assertions.assertTrue(calls.isEmpty());
+            move(object, 0, 0, -50);
+            culler.cull(grid);
+            Assertions.assertEquals(List.of("object.show"), calls);
+        }
+    }
+
+    @Nested
+    public class Disable {
+
+        @Test
+        public void culledShownBack() {
+            FrustumCuller culler = givenACuller();
+            givenAnObject("front", 0, 0, -50);
+            givenAnObject("behind", 0, 0, 50);
+            culler.cull(grid);
+            calls.clear();
+            culler.disable(grid);
+            Assertions.assertEquals(List.of("behind.show"), calls);
+            Assertions.assertFalse(culler.isCullingEnabled());
+            Assertions.assertEquals(0, culler.getCulledObjects());
+        }
+
+        @Test
+        public void hiddenNotShownBack() {
+            FrustumCuller culler = givenACuller();
+            ClientGameObjectGraphicPhysic object = givenAnObject("behind", 0, 0, 50);
+            culler.cull(grid);
+            object.hide();
+            calls.clear();
+            culler.disable(grid);
+            Assertions.assertTrue(calls.isEmpty());
+            Assertions.assertFalse(object.isCulled());
+        }
+
+        @Test
+        public void noCullAfterDisable() {
+            FrustumCuller culler = givenACuller();
+            givenAnObject("behind", 0, 0, 50);
+            culler.disable(grid);
+            culler.cull(grid);
+            Assertions.assertTrue(calls.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,454 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.common.gameobject.CollisionListener;
+import be.yildizgames.common.model.EntityId;
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.engine.client.TestStubs;
+import be.yildizgames.engine.client.internal.headless.NoOpGraphicWorld;
+import be.yildizgames.engine.client.internal.headless.NoOpPhysicWorld;
+import be.yildizgames.engine.client.world.ClientGameObject;
+import be.yildizgames.module.graphic.GraphicObject;
+import be.yildizgames.module.physics.BaseBody;
+import be.yildizgames.module.physics.PhysicWorld;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class GraphicPhysicWorldTest {
+
+    /**
+     * Names of the graphics moved by the interpolation.
+     */
+    private final Set<Integer> interpolated = new HashSet<>();
+
+    /**
+     * Create a graphic adding its name in the interpolated set when it is moved.
+     */
+    private GraphicObject graphic(int name) {
+        return TestStubs.stub(GraphicObject.class, (method, args) -> {
+            if (method.equals("setPosition")) {
+                this.interpolated.add(name);
+            }
+            return TestStubs.DEFAULT;
+        });
+    }
+
+    private static List<ClientGameObjectGraphicPhysic> givenDynamicObjects(GraphicPhysicWorld world, List<GraphicObject> graphics) {
+        List<ClientGameObjectGraphicPhysic> objects = new ArrayList<>();
+        for (GraphicObject graphic : graphics) {
+            objects.add(world.register(ClientGameObjectGraphicPhysic.withDynamicMaster(world, TestStubs.noOp(BaseBody.class), graphic)));
+        }
+        return objects;
+    }
+
+    private static void assertIndexes(List<ClientGameObjectGraphicPhysic> objects) {
+        Set<Integer> indexes = new HashSet<>();
+        for (ClientGameObjectGraphicPhysic object : objects) {
+            Assertions.assertTrue(object.getUpdateIndex() >= 0 && object.getUpdateIndex() < objects.size());
+            indexes.add(object.getUpdateIndex());
+        }
+        Assertions.assertEquals(objects.size(), indexes.size());
+    }
+
+    @Nested
+    public class Delete {
+
+        @Test
+        public void interpolatedRemoved() {
+            GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), true);
+            List<GraphicObject> graphics = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                graphics.add(graphic(i));
+            }
+            List<ClientGameObjectGraphicPhysic> objects = givenDynamicObjects(world, graphics);
+            assertIndexes(objects);
+            objects.get(0).delete();
+            objects.get(3).delete();
+            objects.get(5).delete();
+            Assertions.assertEquals(-1, objects.get(0).getUpdateIndex());
+            List<ClientGameObjectGraphicPhysic> kept = List.of(objects.get(1), objects.get(2), objects.get(4));
+            assertIndexes(kept);
+            world.interpolate(1);
+            Assertions.assertEquals(Set.of(1, 2, 4), interpolated);
+        }
+
+        @Test
+        public void deletedTwice() {
+            GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), true);
+            List<ClientGameObjectGraphicPhysic> objects = givenDynamicObjects(world, List.of(graphic(0), graphic(0)));
+            objects.get(0).delete();
+            objects.get(0).delete();
+            Assertions.assertEquals(0, objects.get(1).getUpdateIndex());
+        }
+
+        @Test
+        public void physicDrivenRemoved() {
+            GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), false);
+            List<ClientGameObjectGraphicPhysic> objects = givenDynamicObjects(world, List.of(graphic(0), graphic(0), graphic(0), graphic(0)));
+            objects.get(1).delete();
+            objects.get(2).delete();
+            assertIndexes(List.of(objects.get(0), objects.get(3)));
+            Assertions.assertEquals(-1, objects.get(2).getUpdateIndex());
+        }
+    }
+
+    @Nested
+    public class Clear {
+
+        @Test
+        public void objectsRemoved() {
+            GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), true);
+            List<ClientGameObjectGraphicPhysic> objects = givenDynamicObjects(world, List.of(graphic(0), graphic(0), graphic(0)));
+            world.clear();
+            for (ClientGameObjectGraphicPhysic object : objects) {
+                Assertions.assertEquals(-1, object.getUpdateIndex());
+            }
+            interpolated.clear();
+            world.interpolate(1);
+            Assertions.assertTrue(interpolated.isEmpty());
+            List<ClientGameObjectGraphicPhysic> added = givenDynamicObjects(world, List.of(graphic(0)));
+            Assertions.assertEquals(0, added.get(0).getUpdateIndex());
+        }
+    }
+
+    @Nested
+    public class SpatialIndex {
+
+        /**
+         * Position of the graphic, moved by the test as a physic step would.
+         */
+        private final float[] position = new float[3];
+
+        /**
+         * Number of positions read from the graphic.
+         */
+        private int reads;
+
+        private ClientGameObjectGraphicPhysic givenAPhysicDrivenObject(GraphicPhysicWorld world) {
+            GraphicObject graphic = TestStubs.stub(GraphicObject.class, (method, args) -> {
+                if (method.equals("getPosition")) {
+                    this.reads++;
+                    return Point3D.valueOf(this.position[0], this.position[1], this.position[2]);
+                }
+                return TestStubs.DEFAULT;
+            });
+            return world.register(ClientGameObjectGraphicPhysic.withDynamicMaster(world, TestStubs.noOp(BaseBody.class), graphic));
+        }
+
+        @Test
+        public void notRefreshedWithoutQuery() {
+            GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), false);
+            givenAPhysicDrivenObject(world);
+            int registered = this.reads;
+            for (int i = 0; i < 10; i++) {
+                this.position[0] = i;
+                world.physicUpdated();
+                world.cull();
+            }
+            Assertions.assertEquals(registered, this.reads);
+        }
+
+        @Test
+        public void refreshedOnQuery() {
+            GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), false);
+            ClientGameObjectGraphicPhysic object = givenAPhysicDrivenObject(world);
+            this.position[0] = 500;
+            world.physicUpdated();
+            world.physicUpdated();
+            List<ClientGameObject> result = new ArrayList<>();
+            Assertions.assertEquals(0, world.querySphere(0, 0, 0, 10, result));
+            Assertions.assertEquals(1, world.querySphere(500, 0, 0, 10, result));
+            Assertions.assertEquals(List.of(object), result);
+        }
+
+        @Test
+        public void refreshedOncePerUpdate() {
+            GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), false);
+            givenAPhysicDrivenObject(world);
+            world.physicUpdated();
+            List<ClientGameObject> result = new ArrayList<>();
+            world.querySphere(0, 0, 0, 10, result);
+            int refreshed = this.reads;
+            world.querySphere(0, 0, 0, 10, result);
+            world.nearestK(0, 0, 0, 1, result);
+            Assertions.assertEquals(refreshed, this.reads);
+        }
+    }
+
+    @Nested
+    public class ReadTransforms {
+
+        private final GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), false);
+
+        private ClientGameObjectGraphicPhysic givenAnObject(float x, float y, float z) {
+            ClientGameObjectGraphicPhysic object = world.register(ClientGameObjectGraphicPhysic.withGraphicMaster(world, TestStubs.noOp(BaseBody.class), TestStubs.noOp(GraphicObject.class)));
+            object.setPosition(x, y, z);
+            object.setDirection(0, 0, x);
+            return object;
+        }
+
+        @Test
+        public void positions() {
+            List<ClientGameObject> objects = List.of(givenAnObject(1, 2, 3), givenAnObject(4, 5, 6));
+            FloatBuffer buffer = FloatBuffer.allocate(7);
+            buffer.put(-1);
+            world.readPositions(objects, buffer);
+            Assertions.assertEquals(7, buffer.position());
+            Assertions.assertArrayEquals(new float[]{-1, 1, 2, 3, 4, 5, 6}, buffer.array());
+        }
+
+        @Test
+        public void transforms() {
+            List<ClientGameObject> objects = List.of(givenAnObject(1, 2, 3), givenAnObject(4, 5, 6));
+            FloatBuffer buffer = FloatBuffer.allocate(12);
+            world.readTransforms(objects, buffer);
+            Assertions.assertEquals(12, buffer.position());
+            Assertions.assertArrayEquals(new float[]{1, 2, 3, 0, 0, 1, 4, 5, 6, 0, 0, 4}, buffer.array());
+        }
+
+        @Test
+        public void positionsOverflow() {
+            List<ClientGameObject> objects = List.of(givenAnObject(1, 2, 3), givenAnObject(4, 5, 6));
+            FloatBuffer buffer = FloatBuffer.allocate(5);
+            Assertions.assertThrows(BufferOverflowException.class, () -> world.readPositions(objects, buffer));
+            Assertions.assertEquals(0, buffer.position());
+        }
+
+        @Test
+        public void transformsOverflow() {
+            List<ClientGameObject> objects = List.of(givenAnObject(1, 2, 3), givenAnObject(4, 5, 6));
+            FloatBuffer buffer = FloatBuffer.allocate(11);
+            Assertions.assertThrows(BufferOverflowException.class, () -> world.readTransforms(objects, buffer));
+            Assertions.assertEquals(0, buffer.position());
+        }
+
+        @Test
+        public void empty() {
+            FloatBuffer buffer = FloatBuffer.allocate(0);
+            world.readTransforms(List.of(), buffer);
+            Assertions.assertEquals(0, buffer.position());
+        }
+    }
+
+    @Nested
+    public class ApplyTransforms {
+
+        private final GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), false);
+
+        /**
+         * Moves received by the graphics and the bodies, in call order.
+         */
+        private final List<String> moves = new ArrayList<>();
+
+        private <T> T logged(Class<T> type, String name, int id) {
+            return TestStubs.stub(type, (method, args) -> {
+                if (method.equals("getId")) {
+                    return EntityId.valueOf(id);
+                }
+                if ((method.equals("setPosition") || method.equals("setDirection")) && args.length == 3) {
+                    this.moves.add(name + "." + method + args[0] + "," + args[1] + "," + args[2]);
+                }
+                return TestStubs.DEFAULT;
+            });
+        }
+
+        private void givenAGraphicMaster(int id) {
+            world.register(ClientGameObjectGraphicPhysic.withGraphicMaster(world, logged(BaseBody.class, "body" + id, id), logged(GraphicObject.class, "graphic" + id, id)));
+        }
+
+        private void givenAPhysicMaster(int id) {
+            world.register(ClientGameObjectGraphicPhysic.withDynamicMaster(world, logged(BaseBody.class, "body" + id, id), logged(GraphicObject.class, "graphic" + id, id)));
+        }
+
+        @Test
+        public void graphicMastersBeforePhysicMasters() {
+            givenAPhysicMaster(1);
+            givenAGraphicMaster(2);
+            FloatBuffer positions = FloatBuffer.wrap(new float[]{1, 2, 3, 4, 5, 6});
+            FloatBuffer directions = FloatBuffer.wrap(new float[]{7, 8, 9, 10, 11, 12});
+            Assertions.assertEquals(2, world.applyTransforms(new EntityId[]{EntityId.valueOf(1), EntityId.valueOf(2)}, positions, directions));
+            Assertions.assertEquals(List.of(
+                    "graphic2.setPosition4.0,5.0,6.0", "graphic2.setDirection10.0,11.0,12.0",
+                    "body1.setPosition1.0,2.0,3.0", "body1.setDirection7.0,8.0,9.0"), this.moves);
+            Assertions.assertEquals(6, positions.position());
+            Assertions.assertEquals(6, directions.position());
+        }
+
+        @Test
+        public void positionsOnly() {
+            givenAPhysicMaster(1);
+            givenAGraphicMaster(2);
+            FloatBuffer positions = FloatBuffer.wrap(new float[]{1, 2, 3, 4, 5, 6});
+            Assertions.assertEquals(2, world.applyTransforms(new EntityId[]{EntityId.valueOf(1), EntityId.valueOf(2)}, positions, null));
+            Assertions.assertEquals(List.of("graphic2.setPosition4.0,5.0,6.0", "body1.setPosition1.0,2.0,3.0"), this.moves);
+        }
+
+        @Test
+        public void unknownIdsIgnored() {
+            givenAGraphicMaster(2);
+            FloatBuffer positions = FloatBuffer.wrap(new float[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+            Assertions.assertEquals(1, world.applyTransforms(new EntityId[]{EntityId.valueOf(7), EntityId.valueOf(2), EntityId.valueOf(8)}, positions, null));
+            Assertions.assertEquals(List.of("graphic2.setPosition4.0,5.0,6.0"), this.moves);
+            Assertions.assertEquals(9, positions.position());
+        }
+
+        @Test
+        public void countSmallerThanIds() {
+            givenAGraphicMaster(1);
+            givenAGraphicMaster(2);
+            givenAPhysicMaster(3);
+            FloatBuffer positions = FloatBuffer.wrap(new float[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9});
+            positions.position(1);
+            EntityId[] ids = {EntityId.valueOf(1), EntityId.valueOf(2), EntityId.valueOf(3)};
+            Assertions.assertEquals(2, world.applyTransforms(ids, 2, positions, null));
+            Assertions.assertEquals(List.of("graphic1.setPosition1.0,2.0,3.0", "graphic2.setPosition4.0,5.0,6.0"), this.moves);
+            Assertions.assertEquals(7, positions.position());
+        }
+
+        @Test
+        public void countOutOfBounds() {
+            givenAGraphicMaster(1);
+            EntityId[] ids = {EntityId.valueOf(1)};
+            FloatBuffer positions = FloatBuffer.allocate(6);
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> world.applyTransforms(ids, 2, positions, null));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> world.applyTransforms(ids, -1, positions, null));
+            Assertions.assertTrue(this.moves.isEmpty());
+        }
+
+        @Test
+        public void underflowMovesNothing() {
+            givenAGraphicMaster(1);
+            givenAGraphicMaster(2);
+            EntityId[] ids = {EntityId.valueOf(1), EntityId.valueOf(2)};
+            FloatBuffer positions = FloatBuffer.allocate(6);
+            FloatBuffer directions = FloatBuffer.allocate(5);
+            Assertions.assertThrows(BufferUnderflowException.class, () -> world.applyTransforms(ids, positions, directions));
+            Assertions.assertTrue(this.moves.isEmpty());
+            Assertions.assertEquals(0, positions.position());
+        }
+    }
+
+    @Nested
+    public class Reuse {
+
+        /**
+         * Listeners registered on the physic world.
+         */
+        private final List<CollisionListener> registered = new ArrayList<>();
+
+        /**
+         * Gravities set on the physic world, as x y z.
+         */
+        private final List<String> gravities = new ArrayList<>();
+
+        private final GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), TestStubs.stub(PhysicWorld.class, (method, args) -> {
+            if (method.equals("addCollisionListener") || method.equals("addGhostCollisionListener")) {
+                this.registered.add((CollisionListener) args[0]);
+            } else if (method.equals("setGravity") && args.length == 3) {
+                this.gravities.add(args[0] + " " + args[1] + " " + args[2]);
+            }
+            return TestStubs.DEFAULT;
+        }), false);
+
+        /**
+         * Create a listener recording its calls, with its name, in a list.
+         */
+        private CollisionListener listener(List<String> calls, String name) {
+            return TestStubs.stub(CollisionListener.class, (method, args) -> {
+                calls.add(name + " " + method);
+                return TestStubs.DEFAULT;
+            });
+        }
+
+        private void collide() {
+            for (CollisionListener listener : this.registered) {
+                listener.newCollision(null);
+            }
+        }
+
+        @Test
+        public void listenersForwarded() {
+            List<String> calls = new ArrayList<>();
+            world.addCollisionListener(listener(calls, "a"));
+            world.addCollisionListener(listener(calls, "b"));
+            world.addGhostCollisionListener(listener(calls, "g"));
+            Assertions.assertEquals(2, registered.size());
+            collide();
+            Assertions.assertEquals(List.of("a newCollision", "b newCollision", "g newCollision"), calls);
+        }
+
+        @Test
+        public void listenersRemovedOnDispose() {
+            List<String> calls = new ArrayList<>();
+            world.setReusable(true);
+            world.addCollisionListener(listener(calls, "old"));
+            world.addGhostCollisionListener(listener(calls, "oldGhost"));
+            world.dispose();
+            Assertions.assertEquals(0, world.getCollisionListenerCount());
+            world.reuse();
+            world.addCollisionListener(listener(calls, "new"));
+            Assertions.assertEquals(2, registered.size());
+            collide();
+            Assertions.assertEquals(List.of("new newCollision"), calls);
+        }
+
+        @Test
+        public void gravityRemovedOnReuse() {
+            world.setReusable(true);
+            world.setGravity(0, -9, 0);
+            world.dispose();
+            world.reuse();
+            Assertions.assertEquals(List.of("0.0 -9.0 0.0", "0.0 0.0 0.0"), gravities);
+            world.dispose();
+            world.reuse();
+            Assertions.assertEquals(2, gravities.size());
+        }
+
+        @Test
+        public void keptOnClear() {
+            List<String> calls = new ArrayList<>();
+            world.setGravity(0, -9, 0);
+            world.addCollisionListener(listener(calls, "a"));
+            world.clear();
+            collide();
+            Assertions.assertEquals(List.of("a newCollision"), calls);
+            Assertions.assertEquals(1, gravities.size());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.world.internal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class LongObjectMapTest {
+
+    @Nested
+    public class Put {
+
+        @Test
+        public void happyFlow() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            Assertions.assertNull(map.put(5, "a"));
+            Assertions.assertEquals("a", map.get(5));
+            Assertions.assertEquals(1, map.size());
+        }
+
+        @Test
+        public void replace() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            map.put(5, "a");
+            Assertions.assertEquals("a", map.put(5, "b"));
+            Assertions.assertEquals("b", map.get(5));
+            Assertions.assertEquals(1, map.size());
+        }
+
+        @Test
+        public void grow() {
+            LongObjectMap<Long> map = new LongObjectMap<>();
+            for (long i = -1000; i < 1000; i++) {
+                map.put(i, i);
+            }
+            Assertions.assertEquals(2000, map.size());
+            for (long i = -1000; i < 1000; i++) {
+                Assertions.assertEquals(Long.valueOf(i), map.get(i));
+            }
+        }
+    }
+
+    @Nested
+    public class Remove {
+
+        @Test
+        public void happyFlow() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            map.put(5, "a");
+            Assertions.assertEquals("a", map.remove(5));
+            Assertions.assertNull(map.get(5));
+            Assertions.assertEquals(0, map.size());
+        }
+
+        @Test
+        public void notExisting() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            Assertions.assertNull(map.remove(5));
+        }
+
+        @Test
+        public void otherValue() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            map.put(5, "a");
+            Assertions.assertFalse(map.remove(5, "b"));
+            Assertions.assertTrue(map.remove(5, "a"));
+            Assertions.assertEquals(0, map.size());
+        }
+
+        @Test
+        public void sameAsHashMap() {
+            LongObjectMap<Long> map = new LongObjectMap<>();
+            Map<Long, Long> expected = new HashMap<>();
+            Random random = new Random(42);
+            for (int i = 0; i < 100_000; i++) {
+                long key = random.nextInt(500);
+                if (random.nextBoolean()) {
+                    Assertions.assertEquals(expected.put(key, key), map.put(key, key));
+                } else {
+                    Assertions.assertEquals(expected.remove(key), map.remove(key));
+                }
+            }
+            Assertions.assertEquals(expected.size(), map.size());
+            for (long key = 0; key < 500; key++) {
+                Assertions.assertEquals(expected.get(key), map.get(key));
+            }
+        }
+    }
+
+    @Nested
+    public class GetValueAt {
+
+        @Test
+        public void iterateAll() {
+            LongObjectMap<Long> map = new LongObjectMap<>();
+            for (long i = 0; i < 100; i++) {
+                map.put(i * 31, i);
+            }
+            long sum = 0;
+            int count = 0;
+            for (int slot = 0; slot < map.getCapacity(); slot++) {
+                Long value = map.getValueAt(slot);
+                if (value != null) {
+                    Assertions.assertEquals(value * 31, map.getKeyAt(slot));
+                    sum += value;
+                    count++;
+                }
+            }
+            Assertions.assertEquals(100, count);
+            Assertions.assertEquals(4950, sum);
+        }
+    }
+}
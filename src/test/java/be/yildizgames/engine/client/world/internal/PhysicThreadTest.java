@@ -0,0 +1,142 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.engine.client.TestStubs;
+import be.yildizgames.module.physics.BaseBody;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class PhysicThreadTest {
+
+    private static BaseBody body(List<String> log, String name) {
+        return TestStubs.stub(BaseBody.class, (method, args) -> {
+            if ("sleep".equals(method) && "broken".equals(name)) {
+                throw new IllegalStateException("Deleted body");
+            }
+            log.add(name + "." + method);
+            return TestStubs.DEFAULT;
+        });
+    }
+
+    private static void awaitIdle(PhysicThread thread) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.isBusy()) {
+            Assertions.assertTrue(System.nanoTime() < end, "Step not done");
+            Thread.sleep(1);
+        }
+    }
+
+    @Nested
+    public class Update {
+
+        @Test
+        public void commandsRunBeforeTheirStep() throws InterruptedException {
+            List<String> log = new CopyOnWriteArrayList<>();
+            CountDownLatch release = new CountDownLatch(1);
+            PhysicThread thread = new PhysicThread(() -> {
+                log.add("step");
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            try {
+                thread.queue(new PhysicCommand(PhysicCommand.POSITION, body(log, "a")));
+                Assertions.assertTrue(thread.update(List.of()));
+                thread.queue(new PhysicCommand(PhysicCommand.SLEEP, body(log, "b")));
+                Assertions.assertFalse(thread.update(List.of()));
+                Assertions.assertEquals(1, thread.getSkippedRequests());
+                release.countDown();
+                awaitIdle(thread);
+                Assertions.assertEquals(List.of("a.setPosition", "step"), log);
+                Assertions.assertTrue(thread.update(List.of()));
+                awaitIdle(thread);
+                Assertions.assertEquals(List.of("a.setPosition", "step", "b.sleep", "step"), log);
+                Assertions.assertEquals(2, thread.getSteps());
+                Assertions.assertEquals(2, thread.getRequests());
+            } finally {
+                thread.close();
+            }
+        }
+
+        @Test
+        public void failingCommandDoesNotDelayNextSteps() throws InterruptedException {
+            List<String> log = new CopyOnWriteArrayList<>();
+            PhysicThread thread = new PhysicThread(() -> log.add("step"));
+            try {
+                thread.queue(new PhysicCommand(PhysicCommand.SLEEP, body(log, "broken")));
+                thread.queue(new PhysicCommand(PhysicCommand.DELETE, body(log, "a")));
+                thread.update(List.of());
+                awaitIdle(thread);
+                thread.queue(new PhysicCommand(PhysicCommand.SCALE, body(log, "b")));
+                thread.update(List.of());
+                awaitIdle(thread);
+                Assertions.assertEquals(List.of("a.delete", "step", "b.scale", "step"), log);
+            } finally {
+                thread.close();
+            }
+        }
+
+        @Test
+        public void failingStepIsCounted() throws InterruptedException {
+            PhysicThread thread = new PhysicThread(() -> {
+                throw new IllegalStateException("Step failed");
+            });
+            try {
+                Assertions.assertTrue(thread.update(List.of()));
+                awaitIdle(thread);
+                Assertions.assertEquals(1, thread.getSteps());
+                Assertions.assertTrue(thread.update(List.of()));
+            } finally {
+                thread.close();
+            }
+        }
+    }
+
+    @Nested
+    public class Close {
+
+        @Test
+        public void stopsTheThread() {
+            List<String> log = new CopyOnWriteArrayList<>();
+            PhysicThread thread = new PhysicThread(() -> log.add("step"));
+            thread.close();
+            Assertions.assertTrue(Thread.getAllStackTraces().keySet().stream()
+                    .noneMatch(t -> t.isAlive() && "engine-physic".equals(t.getName())));
+        }
+    }
+}
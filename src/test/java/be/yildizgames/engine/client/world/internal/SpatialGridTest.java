@@ -0,0 +1,243 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.world.internal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class SpatialGridTest {
+
+    private static final int COUNT = 2000;
+
+    private final float[][] positions = new float[COUNT][3];
+
+    private SpatialGrid<Integer> createGrid() {
+        SpatialGrid<Integer> grid = new SpatialGrid<>(10);
+        Random random = new Random(7);
+        for (int i = 0; i < COUNT; i++) {
+            this.positions[i][0] = random.nextFloat() * 400 - 200;
+            this.positions[i][1] = random.nextFloat() * 40 - 20;
+            this.positions[i][2] = random.nextFloat() * 400 - 200;
+            grid.add(i, this.positions[i][0], this.positions[i][1], this.positions[i][2]);
+        }
+        return grid;
+    }
+
+    private float squaredDistance(int i, float x, float y, float z) {
+        float dx = this.positions[i][0] - x;
+        float dy = this.positions[i][1] - y;
+        float dz = this.positions[i][2] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    @Nested
+    public class Constructor {
+
+        @Test
+        public void invalidCellSize() {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> new SpatialGrid<Integer>(0));
+        }
+    }
+
+    @Nested
+    public class QueryBox {
+
+        @Test
+        public void sameAsScan() {
+            SpatialGrid<Integer> grid = createGrid();
+            List<Integer> result = new ArrayList<>();
+            Assertions.assertEquals(grid.queryBox(-50, -5, -30, 25, 5, 60, result), result.size());
+            HashSet<Integer> expected = new HashSet<>();
+            for (int i = 0; i < COUNT; i++) {
+                float[] p = positions[i];
+                if (p[0] >= -50 && p[0] <= 25 && p[1] >= -5 && p[1] <= 5 && p[2] >= -30 && p[2] <= 60) {
+                    expected.add(i);
+                }
+            }
+            Assertions.assertEquals(expected, new HashSet<>(result));
+        }
+
+        @Test
+        public void largeBox() {
+            SpatialGrid<Integer> grid = createGrid();
+            List<Integer> result = new ArrayList<>();
+            Assertions.assertEquals(COUNT, grid.queryBox(-1e6f, -1e6f, -1e6f, 1e6f, 1e6f, 1e6f, result));
+        }
+
+        @Test
+        public void resultIsCleared() {
+            SpatialGrid<Integer> grid = createGrid();
+            List<Integer> result = new ArrayList<>();
+            result.add(-1);
+            grid.queryBox(1000, 1000, 1000, 1001, 1001, 1001, result);
+            Assertions.assertTrue(result.isEmpty());
+        }
+    }
+
+    @Nested
+    public class QuerySphere {
+
+        @Test
+        public void sameAsScan() {
+            SpatialGrid<Integer> grid = createGrid();
+            List<Integer> result = new ArrayList<>();
+            grid.querySphere(12, 0, -40, 35, result);
+            HashSet<Integer> expected = new HashSet<>();
+            for (int i = 0; i < COUNT; i++) {
+                if (squaredDistance(i, 12, 0, -40) <= 35 * 35) {
+                    expected.add(i);
+                }
+            }
+            Assertions.assertEquals(expected, new HashSet<>(result));
+        }
+    }
+
+    @Nested
+    public class Nearest {
+
+        @Test
+        public void sameAsSort() {
+            SpatialGrid<Integer> grid = createGrid();
+            List<Integer> result = new ArrayList<>();
+            Assertions.assertEquals(15, grid.nearest(33, 2, 71, 15, result));
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < COUNT; i++) {
+                expected.add(i);
+            }
+            expected.sort(Comparator.comparingDouble(i -> squaredDistance(i, 33, 2, 71)));
+            Assertions.assertEquals(expected.subList(0, 15), result);
+        }
+
+        @Test
+        public void pointOutside() {
+            SpatialGrid<Integer> grid = createGrid();
+            List<Integer> result = new ArrayList<>();
+            grid.nearest(5000, 0, 5000, 3, result);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < COUNT; i++) {
+                expected.add(i);
+            }
+            expected.sort(Comparator.comparingDouble(i -> squaredDistance(i, 5000, 0, 5000)));
+            Assertions.assertEquals(expected.subList(0, 3), result);
+        }
+
+        @Test
+        public void lessObjectsThanK() {
+            SpatialGrid<Integer> grid = new SpatialGrid<>(10);
+            grid.add(1, 0, 0, 0);
+            grid.add(2, 50, 0, 0);
+            List<Integer> result = new ArrayList<>();
+            Assertions.assertEquals(2, grid.nearest(45, 0, 0, 10, result));
+            Assertions.assertEquals(List.of(2, 1), result);
+        }
+
+        @Test
+        public void farApartLessObjectsThanK() {
+            SpatialGrid<Integer> grid = new SpatialGrid<>(32);
+            grid.add(1, 0, 0, 0);
+            grid.add(2, 12800, 0, 12800);
+            List<Integer> result = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                Assertions.assertEquals(2, grid.nearest(0, 0, 0, 5, result));
+            }
+            Assertions.assertTrue(System.nanoTime() - start < 1_000_000_000L);
+            Assertions.assertEquals(List.of(1, 2), result);
+        }
+
+        @Test
+        public void sparseSameAsSort() {
+            SpatialGrid<Integer> grid = new SpatialGrid<>(10);
+            Random random = new Random(3);
+            for (int i = 0; i < 50; i++) {
+                positions[i][0] = random.nextFloat() * 20000 - 10000;
+                positions[i][1] = random.nextFloat() * 100;
+                positions[i][2] = random.nextFloat() * 20000 - 10000;
+                grid.add(i, positions[i][0], positions[i][1], positions[i][2]);
+            }
+            List<Integer> result = new ArrayList<>();
+            Assertions.assertEquals(20, grid.nearest(150, 10, -300, 20, result));
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                expected.add(i);
+            }
+            expected.sort(Comparator.comparingDouble(i -> squaredDistance(i, 150, 10, -300)));
+            Assertions.assertEquals(expected.subList(0, 20), result);
+        }
+    }
+
+    @Nested
+    public class Move {
+
+        @Test
+        public void toOtherCell() {
+            SpatialGrid<Integer> grid = new SpatialGrid<>(10);
+            SpatialGrid.Entry<Integer> entry = grid.add(1, 0, 0, 0);
+            grid.add(2, 1, 1, 1);
+            grid.move(entry, 100, 0, 0);
+            List<Integer> result = new ArrayList<>();
+            grid.querySphere(0, 0, 0, 5, result);
+            Assertions.assertEquals(List.of(2), result);
+            grid.querySphere(100, 0, 0, 5, result);
+            Assertions.assertEquals(List.of(1), result);
+        }
+
+        @Test
+        public void removed() {
+            SpatialGrid<Integer> grid = new SpatialGrid<>(10);
+            SpatialGrid.Entry<Integer> entry = grid.add(1, 0, 0, 0);
+            grid.remove(entry);
+            grid.move(entry, 1, 1, 1);
+            List<Integer> result = new ArrayList<>();
+            Assertions.assertEquals(0, grid.querySphere(0, 0, 0, 5, result));
+            Assertions.assertEquals(0, grid.size());
+        }
+
+        @Test
+        public void emptyCellsPruned() {
+            SpatialGrid<Integer> grid = new SpatialGrid<>(10);
+            SpatialGrid.Entry<Integer> entry = grid.add(1, 0, 0, 0);
+            grid.add(2, -5, 0, 0);
+            for (int i = 1; i <= 1000; i++) {
+                grid.move(entry, i * 10, 0, 0);
+            }
+            Assertions.assertTrue(grid.getCellCount() < 200);
+            List<Integer> result = new ArrayList<>();
+            Assertions.assertEquals(2, grid.nearest(10000, 0, 0, 5, result));
+            Assertions.assertEquals(List.of(1, 2), result);
+            Assertions.assertEquals(1, grid.queryBox(9990, -1, -1, 10010, 1, 1, result));
+        }
+    }
+}
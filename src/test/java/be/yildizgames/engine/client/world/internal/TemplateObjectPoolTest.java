@@ -0,0 +1,254 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
+import be.yildizgames.engine.client.TestStubs;
+import be.yildizgames.engine.client.internal.headless.NoOpBody;
+import be.yildizgames.engine.client.internal.headless.NoOpGraphicWorld;
+import be.yildizgames.engine.client.world.ClientGameObject;
+import be.yildizgames.engine.client.world.ClientGameObjectDescriptor;
+import be.yildizgames.engine.client.world.ClientGameObjectKind;
+import be.yildizgames.engine.client.world.ClientGameObjectPool;
+import be.yildizgames.engine.client.world.ClientGameObjectTemplate;
+import be.yildizgames.module.physics.PhysicObjectBuilder;
+import be.yildizgames.module.physics.PhysicWorld;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class TemplateObjectPoolTest {
+
+    private static final Point3D DIRECTION = Point3D.valueOf(0, 0, 1);
+
+    private final ClientGameObjectTemplate template = ClientGameObjectTemplate.from(ClientGameObjectDescriptor.of(ClientGameObjectKind.DYNAMIC));
+
+    /**
+     * Id of the next built body.
+     */
+    private int nextId = 1;
+
+    private final GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), TestStubs.stub(PhysicWorld.class, (method, args) ->
+            method.equals("createObject") ? this.idBuilder() : TestStubs.DEFAULT), true);
+
+    /**
+     * Create a physic builder giving a new id to every body it builds, as the templates cannot have one.
+     */
+    private PhysicObjectBuilder idBuilder() {
+        PhysicObjectBuilder[] builder = new PhysicObjectBuilder[1];
+        builder[0] = TestStubs.stub(PhysicObjectBuilder.class, (method, args) -> method.startsWith("build")
+                ? new NoOpBody(EntityId.valueOf(this.nextId++), Point3D.ZERO, DIRECTION)
+                : builder[0]);
+        return builder[0];
+    }
+
+    private ClientGameObject acquire(ClientGameObjectPool pool, float x) {
+        return pool.acquire(Point3D.valueOf(x, 0, 0), DIRECTION);
+    }
+
+    private int queryAll() {
+        return world.querySphere(0, 0, 0, 1000, new ArrayList<>());
+    }
+
+    @Nested
+    public class Acquire {
+
+        @Test
+        public void miss() {
+            ClientGameObjectPool pool = world.createPool(template, 0, 4);
+            ClientGameObject object = acquire(pool, 5);
+            Assertions.assertEquals(5, object.getPositionX());
+            Assertions.assertEquals(1, pool.getMisses());
+            Assertions.assertEquals(0, pool.getHits());
+            Assertions.assertEquals(1, world.getCreatedObjects());
+        }
+
+        @Test
+        public void hit() {
+            ClientGameObjectPool pool = world.createPool(template, 0, 4);
+            ClientGameObject object = acquire(pool, 5);
+            pool.release(object);
+            Assertions.assertEquals(1, pool.getAvailable());
+            ClientGameObject acquired = acquire(pool, 8);
+            Assertions.assertSame(object, acquired);
+            Assertions.assertEquals(8, acquired.getPositionX());
+            Assertions.assertTrue(acquired.isVisible());
+            Assertions.assertEquals(1, pool.getHits());
+            Assertions.assertEquals(1, pool.getMisses());
+            Assertions.assertEquals(0, pool.getAvailable());
+            Assertions.assertEquals(1, world.getCreatedObjects());
+        }
+
+        @Test
+        public void mostRecentFirst() {
+            ClientGameObjectPool pool = world.createPool(template, 0, 4);
+            ClientGameObject first = acquire(pool, 1);
+            ClientGameObject second = acquire(pool, 2);
+            pool.release(first);
+            pool.release(second);
+            Assertions.assertSame(second, acquire(pool, 3));
+        }
+
+        @Test
+        public void releasedTwice() {
+            ClientGameObjectPool pool = world.createPool(template, 0, 4);
+            ClientGameObject object = acquire(pool, 1);
+            pool.release(object);
+            Assertions.assertThrows(IllegalStateException.class, () -> pool.release(object));
+        }
+
+        @Test
+        public void releasedInOtherPool() {
+            ClientGameObjectPool pool = world.createPool(template, 0, 4);
+            ClientGameObjectPool other = world.createPool(ClientGameObjectTemplate.from(ClientGameObjectDescriptor.of(ClientGameObjectKind.DYNAMIC)), 0, 4);
+            ClientGameObject object = acquire(pool, 1);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> other.release(object));
+        }
+    }
+
+    @Nested
+    public class Watermarks {
+
+        @Test
+        public void prewarmedToLow() {
+            ClientGameObjectPool pool = world.createPool(template, 2, 4);
+            Assertions.assertEquals(2, pool.getAvailable());
+            Assertions.assertEquals(2, world.getCreatedObjects());
+            acquire(pool, 1);
+            Assertions.assertEquals(1, pool.getHits());
+            Assertions.assertEquals(0, pool.getMisses());
+        }
+
+        @Test
+        public void prewarmLimitedToHigh() {
+            ClientGameObjectPool pool = world.createPool(template, 0, 3);
+            pool.prewarm(10);
+            Assertions.assertEquals(3, pool.getAvailable());
+            pool.prewarm(1);
+            Assertions.assertEquals(3, pool.getAvailable());
+        }
+
+        @Test
+        public void releaseAboveHighDiscarded() {
+            ClientGameObjectPool pool = world.createPool(template, 0, 2);
+            List<ClientGameObject> objects = List.of(acquire(pool, 1), acquire(pool, 2), acquire(pool, 3));
+            objects.forEach(pool::release);
+            Assertions.assertEquals(2, pool.getAvailable());
+            Assertions.assertEquals(1, pool.getDiscarded());
+            Assertions.assertEquals(1, world.getDeletedObjects());
+        }
+
+        @Test
+        public void trimToLow() {
+            ClientGameObjectPool pool = world.createPool(template, 1, 4);
+            pool.prewarm(4);
+            ClientGameObject used = acquire(pool, 1);
+            pool.trim();
+            Assertions.assertEquals(1, pool.getAvailable());
+            Assertions.assertEquals(2, world.getDeletedObjects());
+            Assertions.assertEquals(1, world.getObjectCount());
+            Assertions.assertEquals(1, queryAll());
+            Assertions.assertSame(used, world.getObject(used.getId()));
+        }
+
+        @Test
+        public void invalidWatermarks() {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> world.createPool(template, -1, 4));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> world.createPool(template, 3, 2));
+        }
+    }
+
+    @Nested
+    public class Parked {
+
+        @Test
+        public void notTracked() {
+            ClientGameObjectPool pool = world.createPool(template, 0, 4);
+            ClientGameObjectGraphicPhysic object = (ClientGameObjectGraphicPhysic) acquire(pool, 1);
+            ClientGameObject other = acquire(pool, 2);
+            pool.release(object);
+            Assertions.assertNull(world.getObject(object.getId()));
+            Assertions.assertEquals(1, world.getObjectCount());
+            List<ClientGameObject> all = new ArrayList<>();
+            world.forEachObject(all::add);
+            Assertions.assertEquals(List.of(other), all);
+            Assertions.assertEquals(1, queryAll());
+            Assertions.assertEquals(-1, object.getUpdateIndex());
+            Assertions.assertEquals(0, ((ClientGameObjectGraphicPhysic) other).getUpdateIndex());
+        }
+
+        @Test
+        public void trackedOnceAcquired() {
+            ClientGameObjectPool pool = world.createPool(template, 0, 4);
+            ClientGameObjectGraphicPhysic object = (ClientGameObjectGraphicPhysic) acquire(pool, 1);
+            pool.release(object);
+            acquire(pool, 2);
+            Assertions.assertSame(object, world.getObject(object.getId()));
+            Assertions.assertEquals(1, world.getObjectCount());
+            Assertions.assertEquals(1, queryAll());
+            Assertions.assertEquals(0, object.getUpdateIndex());
+        }
+
+        @Test
+        public void deletedDirectly() {
+            ClientGameObjectPool pool = world.createPool(template, 0, 4);
+            ClientGameObject object = acquire(pool, 1);
+            pool.release(object);
+            object.delete();
+            Assertions.assertEquals(0, pool.getAvailable());
+            Assertions.assertEquals(1, world.getDeletedObjects());
+            Assertions.assertEquals(0, world.getObjectCount());
+            Assertions.assertNotSame(object, acquire(pool, 2));
+            Assertions.assertEquals(2, pool.getMisses());
+        }
+
+        @Test
+        public void releasedByClear() {
+            ClientGameObjectPool pool = world.createPool(template, 0, 4);
+            ClientGameObjectGraphicPhysic object = (ClientGameObjectGraphicPhysic) acquire(pool, 1);
+            world.clear();
+            Assertions.assertEquals(1, pool.getAvailable());
+            Assertions.assertEquals(0, world.getObjectCount());
+            Assertions.assertEquals(-1, object.getUpdateIndex());
+            Assertions.assertSame(object, acquire(pool, 2));
+            Assertions.assertEquals(0, object.getUpdateIndex());
+        }
+
+        @Test
+        public void deletedOnDispose() {
+            ClientGameObjectPool pool = world.createPool(template, 3, 4);
+            world.dispose();
+            Assertions.assertEquals(0, pool.getAvailable());
+            Assertions.assertEquals(3, world.getDeletedObjects());
+        }
+    }
+}
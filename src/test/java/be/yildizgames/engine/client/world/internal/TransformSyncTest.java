@@ -0,0 +1,222 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.engine.client.TestStubs;
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
+import be.yildizgames.engine.client.internal.headless.NoOpGraphicObject;
+import be.yildizgames.engine.client.internal.headless.NoOpGraphicWorld;
+import be.yildizgames.engine.client.internal.headless.NoOpPhysicWorld;
+import be.yildizgames.module.graphic.GraphicObject;
+import be.yildizgames.module.physics.BaseBody;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class TransformSyncTest {
+
+    /**
+     * Positions set on the physic bodies, as body name followed by x, y, z.
+     */
+    private final List<String> bodyMoves = new ArrayList<>();
+
+    private final GraphicPhysicWorld world = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), false, 10, true);
+
+    private BaseBody body(String name) {
+        return TestStubs.stub(BaseBody.class, (method, args) -> {
+            if (method.equals("setPosition") && args.length == 3) {
+                this.bodyMoves.add(name + " " + args[0] + " " + args[1] + " " + args[2]);
+            }
+            return TestStubs.DEFAULT;
+        });
+    }
+
+    private ClientGameObjectGraphicPhysic givenAnObject(String name) {
+        return ClientGameObjectGraphicPhysic.withGraphicMaster(this.world, this.body(name), TestStubs.noOp(GraphicObject.class));
+    }
+
+    @Nested
+    public class Sync {
+
+        @Test
+        public void movedManyTimesSyncedOnce() {
+            ClientGameObjectGraphicPhysic object = givenAnObject("a");
+            object.setPosition(1, 2, 3);
+            object.setPosition(4, 5, 6);
+            object.setPosition(7, 8, 9);
+            Assertions.assertTrue(bodyMoves.isEmpty());
+            world.syncTransforms();
+            Assertions.assertEquals(List.of("a 7.0 8.0 9.0"), bodyMoves);
+            Assertions.assertFalse(object.isDirty());
+            Assertions.assertEquals(1, world.getTransformSyncMetrics().getLastSyncedObjects());
+            Assertions.assertEquals(1, world.getTransformSyncMetrics().getSyncedObjects());
+            Assertions.assertEquals(2, world.getTransformSyncMetrics().getSavedUpdates());
+        }
+
+        @Test
+        public void movedAgainAfterSync() {
+            ClientGameObjectGraphicPhysic object = givenAnObject("a");
+            object.setPosition(1, 2, 3);
+            world.syncTransforms();
+            object.setPosition(4, 5, 6);
+            world.syncTransforms();
+            Assertions.assertEquals(List.of("a 1.0 2.0 3.0", "a 4.0 5.0 6.0"), bodyMoves);
+            Assertions.assertEquals(2, world.getTransformSyncMetrics().getSyncedObjects());
+            Assertions.assertEquals(0, world.getTransformSyncMetrics().getSavedUpdates());
+        }
+
+        @Test
+        public void deletedObjectSkipped() {
+            ClientGameObjectGraphicPhysic deleted = givenAnObject("a");
+            ClientGameObjectGraphicPhysic kept = givenAnObject("b");
+            deleted.setPosition(1, 2, 3);
+            kept.setPosition(4, 5, 6);
+            deleted.delete();
+            world.syncTransforms();
+            Assertions.assertEquals(List.of("b 4.0 5.0 6.0"), bodyMoves);
+            Assertions.assertEquals(1, world.getTransformSyncMetrics().getLastSyncedObjects());
+            Assertions.assertEquals(1, world.getTransformSyncMetrics().getSavedUpdates());
+        }
+
+        @Test
+        public void nothingMoved() {
+            givenAnObject("a").setPosition(1, 2, 3);
+            world.syncTransforms();
+            world.syncTransforms();
+            Assertions.assertEquals(1, bodyMoves.size());
+            Assertions.assertEquals(1, world.getTransformSyncMetrics().getLastSyncedObjects());
+        }
+
+        @Test
+        public void manyObjects() {
+            for (int i = 0; i < 100; i++) {
+                ClientGameObjectGraphicPhysic object = givenAnObject(String.valueOf(i));
+                object.setPosition(i, 0, 0);
+                object.setDirection(0, 0, 1);
+            }
+            world.syncTransforms();
+            Assertions.assertEquals(100, bodyMoves.size());
+            Assertions.assertEquals("99 99.0 0.0 0.0", bodyMoves.get(99));
+            Assertions.assertEquals(100, world.getTransformSyncMetrics().getSyncedObjects());
+            Assertions.assertEquals(100, world.getTransformSyncMetrics().getSavedUpdates());
+        }
+    }
+
+    @Nested
+    public class Attached {
+
+        /**
+         * Create an object whose graphic is one unit in front of its parent on X.
+         */
+        private ClientGameObjectGraphicPhysic givenAChild(String name, ClientGameObjectGraphicPhysic parent) {
+            GraphicObject graphic = TestStubs.stub(GraphicObject.class, (method, args) -> {
+                if (method.equals("getAbsolutePosition")) {
+                    Point3D position = parent.getPosition();
+                    return Point3D.valueOf(position.x + 1, position.y, position.z);
+                }
+                return TestStubs.DEFAULT;
+            });
+            return ClientGameObjectGraphicPhysic.withGraphicMaster(world, body(name), graphic);
+        }
+
+        private ClientGameObjectGraphicPhysic givenAParent() {
+            return ClientGameObjectGraphicPhysic.withGraphicMaster(world, body("p"),
+                    new NoOpGraphicObject(EntityId.valueOf(1), Point3D.ZERO, Point3D.valueOf(0, 0, 1)));
+        }
+
+        @Test
+        public void followsMovedParent() {
+            ClientGameObjectGraphicPhysic parent = givenAParent();
+            ClientGameObjectGraphicPhysic child = givenAChild("c", parent);
+            child.attachTo(parent);
+            world.syncTransforms();
+            Assertions.assertEquals(List.of("c 1.0 0.0 0.0"), bodyMoves);
+            bodyMoves.clear();
+            parent.setPosition(5, 6, 7);
+            world.syncTransforms();
+            Assertions.assertTrue(bodyMoves.contains("p 5.0 6.0 7.0"));
+            Assertions.assertTrue(bodyMoves.contains("c 6.0 6.0 7.0"));
+        }
+
+        @Test
+        public void notFollowedOnceDetached() {
+            ClientGameObjectGraphicPhysic parent = givenAParent();
+            ClientGameObjectGraphicPhysic child = givenAChild("c", parent);
+            child.attachTo(parent);
+            world.syncTransforms();
+            child.detachFromParent();
+            world.syncTransforms();
+            Assertions.assertFalse(child.isFollowed());
+            bodyMoves.clear();
+            parent.setPosition(5, 6, 7);
+            world.syncTransforms();
+            Assertions.assertEquals(List.of("p 5.0 6.0 7.0"), bodyMoves);
+        }
+
+        @Test
+        public void notFollowedOnceDeleted() {
+            ClientGameObjectGraphicPhysic parent = givenAParent();
+            ClientGameObjectGraphicPhysic child = givenAChild("c", parent);
+            child.attachTo(parent);
+            child.delete();
+            world.syncTransforms();
+            Assertions.assertFalse(child.isFollowed());
+            Assertions.assertTrue(bodyMoves.isEmpty());
+        }
+
+        @Test
+        public void attachedTwiceFollowedOnce() {
+            ClientGameObjectGraphicPhysic parent = givenAParent();
+            ClientGameObjectGraphicPhysic child = givenAChild("c", parent);
+            child.attachTo(parent);
+            child.attachToOptional(parent);
+            world.syncTransforms();
+            Assertions.assertEquals(List.of("c 1.0 0.0 0.0"), bodyMoves);
+        }
+    }
+
+    @Nested
+    public class Disabled {
+
+        @Test
+        public void bodyMovedImmediately() {
+            GraphicPhysicWorld immediate = new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), false, 10, false);
+            Assertions.assertFalse(immediate.getTransformSyncMetrics().isDeferredTransformSync());
+            ClientGameObjectGraphicPhysic object = ClientGameObjectGraphicPhysic.withGraphicMaster(immediate, body("a"), TestStubs.noOp(GraphicObject.class));
+            object.setPosition(1, 2, 3);
+            Assertions.assertFalse(object.isDirty());
+            immediate.syncTransforms();
+            Assertions.assertEquals(0, immediate.getTransformSyncMetrics().getSyncedObjects());
+        }
+    }
+}
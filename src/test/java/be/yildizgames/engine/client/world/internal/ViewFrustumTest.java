@@ -0,0 +1,108 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.world.internal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ViewFrustumTest {
+
+    /**
+     * Camera at the origin looking to -Z, 90 degrees vertical field of view, square view.
+     */
+    private static ViewFrustum givenAFrustum() {
+        ViewFrustum frustum = new ViewFrustum();
+        frustum.set(0, 0, 0, 0, 0, -1, (float) Math.toRadians(90), 1, 1, 100);
+        return frustum;
+    }
+
+    @Nested
+    public class IntersectsSphere {
+
+        @Test
+        public void inFront() {
+            Assertions.assertTrue(givenAFrustum().intersectsSphere(0, 0, -50, 0));
+        }
+
+        @Test
+        public void behind() {
+            Assertions.assertFalse(givenAFrustum().intersectsSphere(0, 0, 50, 0));
+        }
+
+        @Test
+        public void beforeNear() {
+            Assertions.assertFalse(givenAFrustum().intersectsSphere(0, 0, -0.5f, 0));
+        }
+
+        @Test
+        public void afterFar() {
+            Assertions.assertFalse(givenAFrustum().intersectsSphere(0, 0, -101, 0));
+        }
+
+        @Test
+        public void onTheSide() {
+            Assertions.assertTrue(givenAFrustum().intersectsSphere(9, 0, -10, 0));
+            Assertions.assertFalse(givenAFrustum().intersectsSphere(11, 0, -10, 0));
+            Assertions.assertTrue(givenAFrustum().intersectsSphere(0, -9, -10, 0));
+            Assertions.assertFalse(givenAFrustum().intersectsSphere(0, -11, -10, 0));
+        }
+
+        @Test
+        public void radiusReachingTheView() {
+            Assertions.assertTrue(givenAFrustum().intersectsSphere(11, 0, -10, 1));
+        }
+
+        @Test
+        public void lookingUp() {
+            ViewFrustum frustum = new ViewFrustum();
+            frustum.set(0, 0, 0, 0, 1, 0, (float) Math.toRadians(60), 1, 1, 100);
+            Assertions.assertTrue(frustum.intersectsSphere(0, 50, 0, 0));
+            Assertions.assertFalse(frustum.intersectsSphere(0, -50, 0, 0));
+        }
+    }
+
+    @Nested
+    public class ClassifyBox {
+
+        @Test
+        public void inside() {
+            Assertions.assertEquals(ViewFrustum.INSIDE, givenAFrustum().classifyBox(-1, -1, -20, 1, 1, -10));
+        }
+
+        @Test
+        public void outside() {
+            Assertions.assertEquals(ViewFrustum.OUTSIDE, givenAFrustum().classifyBox(-1, -1, 10, 1, 1, 20));
+        }
+
+        @Test
+        public void intersecting() {
+            Assertions.assertEquals(ViewFrustum.INTERSECTING, givenAFrustum().classifyBox(5, -1, -11, 15, 1, -9));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.common.model.EntityId;
+import be.yildizgames.engine.client.internal.headless.NoOpGraphicWorld;
+import be.yildizgames.engine.client.internal.headless.NoOpPhysicWorld;
+import be.yildizgames.engine.client.world.ClientGameObject;
+import be.yildizgames.engine.client.world.ClientGameObjectDescriptor;
+import be.yildizgames.engine.client.world.ClientGameObjectKind;
+import be.yildizgames.engine.client.world.ClientGameObjectTemplate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class WorldSnapshotTest {
+
+    private static Path file(ByteBuffer content) throws IOException {
+        Path file = Files.createTempFile("snapshot", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.array());
+        return file;
+    }
+
+    private static ByteBuffer header(int magic, short version, byte flags, int objects, int lights, int extra) {
+        ByteBuffer b = ByteBuffer.allocate(WorldSnapshot.HEADER_SIZE + extra);
+        b.putInt(magic).putShort(version).put(flags).putInt(1).putInt(objects).putInt(lights);
+        return b;
+    }
+
+    @Nested
+    public class Read {
+
+        @Test
+        public void happyFlow() throws IOException {
+            byte[] name = "sun".getBytes(StandardCharsets.UTF_8);
+            ByteBuffer b = header(WorldSnapshot.MAGIC, WorldSnapshot.VERSION, (byte) 3, 2, 1, 3 + name.length + 24 + WorldSnapshot.OBJECT_SIZE * 2);
+            b.put(WorldLight.DIRECTIONAL).putShort((short) name.length).put(name);
+            WorldSnapshot snapshot = WorldSnapshot.read(file(b));
+            Assertions.assertEquals(2, snapshot.getObjectCount());
+            Assertions.assertEquals(1, snapshot.getLightCount());
+            Assertions.assertTrue(snapshot.hasSky());
+            Assertions.assertTrue(snapshot.hasOcean());
+        }
+
+        @Test
+        public void empty() throws IOException {
+            WorldSnapshot snapshot = WorldSnapshot.read(file(header(WorldSnapshot.MAGIC, WorldSnapshot.VERSION, (byte) 0, 0, 0, 0)));
+            Assertions.assertEquals(0, snapshot.getObjectCount());
+            Assertions.assertEquals(0, snapshot.getLightCount());
+            Assertions.assertFalse(snapshot.hasSky());
+            Assertions.assertFalse(snapshot.hasOcean());
+        }
+
+        @Test
+        public void wrongMagic() throws IOException {
+            Path file = file(header(0x12345678, WorldSnapshot.VERSION, (byte) 0, 0, 0, 0));
+            Assertions.assertThrows(IllegalStateException.class, () -> WorldSnapshot.read(file));
+        }
+
+        @Test
+        public void unsupportedVersion() throws IOException {
+            Path file = file(header(WorldSnapshot.MAGIC, (short) (WorldSnapshot.VERSION + 1), (byte) 0, 0, 0, 0));
+            Assertions.assertThrows(IllegalStateException.class, () -> WorldSnapshot.read(file));
+        }
+
+        @Test
+        public void truncatedHeader() throws IOException {
+            Path file = file(ByteBuffer.allocate(WorldSnapshot.HEADER_SIZE - 1).putInt(WorldSnapshot.MAGIC));
+            Assertions.assertThrows(IllegalStateException.class, () -> WorldSnapshot.read(file));
+        }
+
+        @Test
+        public void truncatedObjects() throws IOException {
+            Path file = file(header(WorldSnapshot.MAGIC, WorldSnapshot.VERSION, (byte) 0, 2, 0, WorldSnapshot.OBJECT_SIZE));
+            Assertions.assertThrows(IllegalStateException.class, () -> WorldSnapshot.read(file));
+        }
+
+        @Test
+        public void truncatedLight() throws IOException {
+            ByteBuffer b = header(WorldSnapshot.MAGIC, WorldSnapshot.VERSION, (byte) 0, 0, 1, 3 + 24);
+            b.put(WorldLight.POINT).putShort((short) 10);
+            Path file = file(b);
+            Assertions.assertThrows(IllegalStateException.class, () -> WorldSnapshot.read(file));
+        }
+    }
+
+    @Nested
+    public class RoundTrip {
+
+        private final List<ClientGameObjectDescriptor> palette = List.of(
+                ClientGameObjectDescriptor.of(ClientGameObjectKind.STATIC),
+                ClientGameObjectDescriptor.of(ClientGameObjectKind.DYNAMIC).withMass(2),
+                ClientGameObjectDescriptor.of(ClientGameObjectKind.MOVABLE));
+
+        private GraphicPhysicWorld world() {
+            return new GraphicPhysicWorld(new NoOpGraphicWorld(), new NoOpPhysicWorld(), false);
+        }
+
+        private void assertObject(GraphicPhysicWorld world, long id, float x, ClientGameObjectKind kind) {
+            ClientGameObjectGraphicPhysic object = (ClientGameObjectGraphicPhysic) world.getObject(EntityId.valueOf(id));
+            Assertions.assertEquals(x, object.getPositionX());
+            Assertions.assertEquals(kind, object.getDescriptor().getKind());
+        }
+
+        @Test
+        public void builderObjects() throws IOException {
+            GraphicPhysicWorld source = world();
+            source.createObject().withId(EntityId.valueOf(1)).atPosition(Point3D.valueOf(1, 0, 0)).buildStaticObject();
+            source.createObject().withId(EntityId.valueOf(2)).atPosition(Point3D.valueOf(2, 0, 0)).withMass(2).buildDynamicObject();
+            source.createObject().withId(EntityId.valueOf(3)).atPosition(Point3D.valueOf(3, 0, 0)).buildMovableObject();
+            Path file = Files.createTempFile("snapshot", ".bin");
+            file.toFile().deleteOnExit();
+            Assertions.assertEquals(3, source.writeSnapshot(file, palette));
+            GraphicPhysicWorld target = world();
+            Assertions.assertEquals(3, target.readSnapshot(file, palette));
+            Assertions.assertEquals(3, target.getObjectCount());
+            assertObject(target, 1, 1, ClientGameObjectKind.STATIC);
+            assertObject(target, 2, 2, ClientGameObjectKind.DYNAMIC);
+            assertObject(target, 3, 3, ClientGameObjectKind.MOVABLE);
+        }
+
+        @Test
+        public void descriptorAndTemplateObjects() throws IOException {
+            GraphicPhysicWorld source = world();
+            source.createObjects(List.of(ClientGameObjectDescriptor.of(ClientGameObjectKind.STATIC).withId(EntityId.valueOf(1)).atPosition(Point3D.valueOf(1, 0, 0))));
+            source.createObject(ClientGameObjectTemplate.from(ClientGameObjectDescriptor.of(ClientGameObjectKind.MOVABLE))).setPosition(3, 0, 0);
+            Path file = Files.createTempFile("snapshot", ".bin");
+            file.toFile().deleteOnExit();
+            Assertions.assertEquals(2, source.writeSnapshot(file, palette));
+            GraphicPhysicWorld target = world();
+            Assertions.assertEquals(2, target.readSnapshot(file, palette));
+            assertObject(target, 1, 1, ClientGameObjectKind.STATIC);
+            List<ClientGameObject> movable = new ArrayList<>();
+            Assertions.assertEquals(1, target.querySphere(3, 0, 0, 0.5f, movable));
+        }
+
+        @Test
+        public void modelNotInPalette() throws IOException {
+            GraphicPhysicWorld source = world();
+            source.createObject().withId(EntityId.valueOf(1)).buildStaticObject();
+            source.createObject().withId(EntityId.valueOf(2)).withMass(5).buildDynamicObject();
+            Path file = Files.createTempFile("snapshot", ".bin");
+            Files.delete(file);
+            Assertions.assertThrows(IllegalStateException.class, () -> source.writeSnapshot(file, palette));
+            Assertions.assertFalse(Files.exists(file));
+        }
+    }
+}
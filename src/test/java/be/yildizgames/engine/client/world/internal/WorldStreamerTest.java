@@ -0,0 +1,322 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+
+package be.yildizgames.engine.client.world.internal;
+
+import be.yildizgames.common.geometry.Point3D;
+import be.yildizgames.engine.client.TestStubs;
+import be.yildizgames.engine.client.world.ClientGameObject;
+import be.yildizgames.engine.client.world.ClientGameObjectDescriptor;
+import be.yildizgames.engine.client.world.ClientGameObjectKind;
+import be.yildizgames.engine.client.world.ClientWorld;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class WorldStreamerTest {
+
+    private static final float CELL_SIZE = 10;
+
+    /**
+     * Positions of the objects built, in build order.
+     */
+    private final List<Point3D> built = new ArrayList<>();
+
+    /**
+     * Positions of the objects deleted, in delete order.
+     */
+    private final List<Point3D> deleted = new ArrayList<>();
+
+    private final ManualExecutor loader = new ManualExecutor();
+
+    private Point3D camera = Point3D.valueOf(5, 0, 5);
+
+    private final ClientWorld world = TestStubs.stub(ClientWorld.class,
+            (method, args) -> {
+                if (!"createObjects".equals(method)) {
+                    throw new UnsupportedOperationException(method);
+                }
+                List<ClientGameObject> result = new ArrayList<>();
+                for (Object descriptor : (List<?>) args[0]) {
+                    Point3D position = ((ClientGameObjectDescriptor) descriptor).getPosition();
+                    this.built.add(position);
+                    result.add(this.object(position));
+                }
+                return result;
+            });
+
+    /**
+     * Create a streamer reading two objects at the center of each cell, with a budget large enough to build everything in one frame.
+     */
+    private WorldStreamer givenAStreamer(float radius) {
+        return new WorldStreamer(this.world, () -> this.camera, (x, z) -> List.of(descriptor(x, z), descriptor(x, z)),
+                CELL_SIZE, radius, TimeUnit.SECONDS.toMicros(10), this.loader);
+    }
+
+    private static ClientGameObjectDescriptor descriptor(int x, int z) {
+        return ClientGameObjectDescriptor.of(ClientGameObjectKind.STATIC)
+                .atPosition(Point3D.valueOf((x + 0.5f) * CELL_SIZE, 0, (z + 0.5f) * CELL_SIZE));
+    }
+
+    private ClientGameObject object(Point3D position) {
+        return TestStubs.stub(ClientGameObject.class,
+                (method, args) -> {
+                    if (!"delete".equals(method)) {
+                        throw new UnsupportedOperationException(method);
+                    }
+                    this.deleted.add(position);
+                    return null;
+                });
+    }
+
+    /**
+     * Read the requested cells, then build them.
+     */
+    private void load(WorldStreamer streamer) {
+        streamer.update();
+        this.loader.runPending();
+        streamer.update();
+    }
+
+    private float squaredDistanceToCamera(Point3D position) {
+        float dx = position.x - this.camera.x;
+        float dz = position.z - this.camera.z;
+        return dx * dx + dz * dz;
+    }
+
+    @Nested
+    public class Constructor {
+
+        @Test
+        public void negativeRadius() {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> givenAStreamer(-1));
+        }
+
+        @Test
+        public void zeroCellSize() {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> new WorldStreamer(world, () -> camera, (x, z) -> List.of(), 0, 10, 100, loader));
+        }
+    }
+
+    @Nested
+    public class Update {
+
+        @Test
+        public void cellsInRadiusLoaded() {
+            WorldStreamer streamer = givenAStreamer(25);
+            streamer.update();
+            Assertions.assertEquals(21, loader.pending.size());
+            Assertions.assertEquals(21, streamer.getPendingCells());
+            Assertions.assertEquals(0, streamer.getLoadedCells());
+            loader.runPending();
+            streamer.update();
+            Assertions.assertEquals(21, streamer.getLoadedCells());
+            Assertions.assertEquals(0, streamer.getPendingCells());
+            Assertions.assertEquals(42, streamer.getStreamedObjects());
+            Assertions.assertEquals(42, built.size());
+        }
+
+        @Test
+        public void nearestCellBuiltFirst() {
+            WorldStreamer streamer = givenAStreamer(25);
+            load(streamer);
+            Assertions.assertEquals(Point3D.valueOf(5, 0, 5), built.get(0));
+            for (int i = 1; i < built.size(); i++) {
+                Assertions.assertTrue(squaredDistanceToCamera(built.get(i - 1)) <= squaredDistanceToCamera(built.get(i)));
+            }
+        }
+
+        @Test
+        public void sameCellNoNewRequest() {
+            WorldStreamer streamer = givenAStreamer(10);
+            load(streamer);
+            camera = Point3D.valueOf(9, 0, 1);
+            streamer.update();
+            Assertions.assertTrue(loader.pending.isEmpty());
+            Assertions.assertEquals(5, streamer.getLoadedCells());
+        }
+
+        @Test
+        public void cellOutOfLoadRadiusKeptInUnloadRadius() {
+            WorldStreamer streamer = givenAStreamer(10);
+            load(streamer);
+            Assertions.assertEquals(5, streamer.getLoadedCells());
+            camera = Point3D.valueOf(10.5f, 0, 5);
+            streamer.update();
+            Assertions.assertTrue(deleted.isEmpty());
+            Assertions.assertEquals(5, streamer.getLoadedCells());
+            Assertions.assertEquals(10, streamer.getStreamedObjects());
+        }
+
+        @Test
+        public void cellOutOfUnloadRadiusDeleted() {
+            WorldStreamer streamer = givenAStreamer(10);
+            load(streamer);
+            camera = Point3D.valueOf(30.5f, 0, 5);
+            streamer.update();
+            Assertions.assertEquals(8, deleted.size());
+            Assertions.assertFalse(deleted.contains(Point3D.valueOf(15, 0, 5)));
+            Assertions.assertEquals(1, streamer.getLoadedCells());
+            Assertions.assertEquals(2, streamer.getPendingCells());
+            Assertions.assertEquals(2, streamer.getStreamedObjects());
+            loader.runPending();
+            streamer.update();
+            Assertions.assertEquals(3, streamer.getLoadedCells());
+            Assertions.assertEquals(6, streamer.getStreamedObjects());
+        }
+
+        @Test
+        public void cellUnloadedWhileReadIgnored() {
+            WorldStreamer streamer = givenAStreamer(10);
+            streamer.update();
+            camera = Point3D.valueOf(1005, 0, 5);
+            streamer.update();
+            Assertions.assertEquals(10, loader.pending.size());
+            Assertions.assertEquals(5, streamer.getPendingCells());
+            loader.runPending();
+            streamer.update();
+            Assertions.assertEquals(10, built.size());
+            for (Point3D position : built) {
+                Assertions.assertTrue(position.x > 900);
+            }
+            Assertions.assertEquals(5, streamer.getLoadedCells());
+            Assertions.assertEquals(0, streamer.getPendingCells());
+            Assertions.assertTrue(deleted.isEmpty());
+        }
+
+        @Test
+        public void failedReadLoadedEmpty() {
+            WorldStreamer streamer = new WorldStreamer(world, () -> camera, (x, z) -> {
+                throw new IllegalStateException("test");
+            }, CELL_SIZE, 0, 100, loader);
+            load(streamer);
+            Assertions.assertEquals(1, streamer.getLoadedCells());
+            Assertions.assertEquals(0, streamer.getStreamedObjects());
+        }
+    }
+
+    @Nested
+    public class Close {
+
+        @Test
+        public void objectsDeleted() {
+            WorldStreamer streamer = givenAStreamer(10);
+            load(streamer);
+            streamer.close();
+            Assertions.assertEquals(10, deleted.size());
+            Assertions.assertTrue(deleted.containsAll(built));
+            Assertions.assertFalse(streamer.isStreamingEnabled());
+            Assertions.assertTrue(loader.isShutdown());
+            Assertions.assertEquals(0, streamer.getLoadedCells());
+            Assertions.assertEquals(0, streamer.getPendingCells());
+            Assertions.assertEquals(0, streamer.getStreamedObjects());
+        }
+
+        @Test
+        public void pendingReadNotBuilt() {
+            WorldStreamer streamer = givenAStreamer(10);
+            streamer.update();
+            streamer.close();
+            loader.runPending();
+            streamer.update();
+            Assertions.assertTrue(built.isEmpty());
+        }
+    }
+
+    @Nested
+    public class Forget {
+
+        @Test
+        public void objectsNotDeleted() {
+            WorldStreamer streamer = givenAStreamer(10);
+            load(streamer);
+            streamer.forget();
+            Assertions.assertTrue(deleted.isEmpty());
+            Assertions.assertFalse(streamer.isStreamingEnabled());
+            Assertions.assertTrue(loader.isShutdown());
+            Assertions.assertEquals(0, streamer.getLoadedCells());
+            Assertions.assertEquals(0, streamer.getPendingCells());
+            Assertions.assertEquals(0, streamer.getStreamedObjects());
+        }
+    }
+
+    /**
+     * Executor running the submitted tasks only when asked, on the calling thread.
+     */
+    private static final class ManualExecutor extends AbstractExecutorService {
+
+        private final List<Runnable> pending = new ArrayList<>();
+
+        private boolean shutdown;
+
+        private void runPending() {
+            List<Runnable> tasks = new ArrayList<>(this.pending);
+            this.pending.clear();
+            tasks.forEach(Runnable::run);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            this.pending.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+            this.shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            this.shutdown = true;
+            List<Runnable> tasks = new ArrayList<>(this.pending);
+            this.pending.clear();
+            return tasks;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return this.shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return this.shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return this.shutdown;
+        }
+    }
+}